@@ -0,0 +1,92 @@
+package com.pointsystem.point.benchmark;
+
+import com.pointsystem.point.domain.entity.AmountPlan;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.PointSpendAllocation;
+import com.pointsystem.point.domain.entity.UsableGrants;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용 차감 계산을 엔티티 순회(이전 UsableGrants 구현)와 원시 배열 계산(AmountPlan)으로 비교한다.
+ * <ul>
+ *     <li>entityLoop: 적립 엔티티를 돌며 차감하고 배분을 만드는 이전 구현</li>
+ *     <li>planOnly: AmountPlan 으로 배분만 계산 (엔티티 반영 없음)</li>
+ *     <li>usableGrants: AmountPlan 으로 계산한 뒤 엔티티에 반영하는 현재 구현</li>
+ * </ul>
+ * gc 프로파일러의 gc.alloc.rate.norm 으로 호출당 할당량을 함께 본다.
+ * <p>
+ * 호출 단위 @Setup 은 나노초 단위 측정을 왜곡하므로 쓰지 않는다. 적립 잔액을 바꾸는 entityLoop 와 usableGrants 만
+ * 호출 안에서 차감분을 되돌리며, 두 경로가 같은 복원 비용을 포함하므로 서로 비교할 수 있다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class AmountPlanBenchmark {
+
+    @Param({"1", "10", "100", "10000"})
+    private int grantCount;
+
+    /**
+     * 전체 보유 잔액 대비 사용 금액 비율(%).
+     */
+    @Param({"1", "50", "100"})
+    private int spendPercent;
+
+    private long spendAmount;
+    private List<PointGrant> grants;
+    private AmountPlan plan;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        spendAmount = BenchmarkFixtures.amountOf(grantCount, spendPercent);
+        grants = BenchmarkFixtures.grants(grantCount);
+        plan = new AmountPlan(grantCount);
+        for (PointGrant grant : grants) {
+            plan.add(grant.getAmountAvailable(), grant.getExpiresAt().toEpochMilli());
+        }
+    }
+
+    @Benchmark
+    public long totalAvailableEntityStream() {
+        return grants.stream().mapToLong(PointGrant::getAmountAvailable).sum();
+    }
+
+    @Benchmark
+    public long totalAvailablePlan() {
+        return plan.total();
+    }
+
+    @Benchmark
+    public List<PointSpendAllocation> entityLoop() {
+        List<PointSpendAllocation> allocations = new ArrayList<>();
+        long remaining = spendAmount;
+        for (PointGrant grant : grants) {
+            if (remaining <= 0) break;
+
+            long deducted = grant.debit(remaining);
+            if (deducted > 0) {
+                allocations.add(PointSpendAllocation.create(grant, deducted, BenchmarkFixtures.NOW));
+                remaining -= deducted;
+            }
+        }
+        BenchmarkFixtures.restore(allocations);
+        return allocations;
+    }
+
+    // commit 하지 않으므로 매 호출이 같은 한도에서 계산한다.
+    @Benchmark
+    public long planOnly() {
+        return plan.fill(spendAmount, BenchmarkFixtures.NOW.toEpochMilli());
+    }
+
+    @Benchmark
+    public List<PointSpendAllocation> usableGrants() {
+        List<PointSpendAllocation> allocations = new UsableGrants(grants).deduct(spendAmount, BenchmarkFixtures.NOW);
+        BenchmarkFixtures.restore(allocations);
+        return allocations;
+    }
+}
@@ -0,0 +1,75 @@
+package com.pointsystem.point.benchmark;
+
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.PointSpend;
+import com.pointsystem.point.domain.entity.PointSpendAllocation;
+import com.pointsystem.point.domain.entity.UsableGrants;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 인메모리 도메인 객체 생성기.
+ * findUsableGrantsWithLock 의 정렬 순서(MANUAL 우선, 만료 임박순)를 흉내 내어 적립 목록을 만든다.
+ */
+final class BenchmarkFixtures {
+
+    static final String CUSTOMER_ID = "bench-customer";
+    static final long GRANT_AMOUNT = 1_000L;
+    static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<PointGrant> grants(int count) {
+        List<PointGrant> grants = new ArrayList<>(count);
+        int manualCount = Math.max(1, count / 10);
+        for (int i = 0; i < count; i++) {
+            GrantType type = i < manualCount ? GrantType.MANUAL : GrantType.SYSTEM;
+            Instant expiresAt = NOW.plus(30 + i, ChronoUnit.DAYS);
+            grants.add(PointGrant.create(CUSTOMER_ID, type, GRANT_AMOUNT, expiresAt, NOW));
+        }
+        return grants;
+    }
+
+    static long amountOf(int grantCount, int percent) {
+        return Math.max(1L, GRANT_AMOUNT * grantCount * percent / 100);
+    }
+
+    /**
+     * 모든 적립을 전액 사용한 사용건을 만든다.
+     */
+    static PointSpend fullySpent(int grantCount) {
+        List<PointGrant> grants = grants(grantCount);
+        long total = GRANT_AMOUNT * grantCount;
+        PointSpend spend = PointSpend.create(CUSTOMER_ID, "bench-order", total, NOW);
+        List<PointSpendAllocation> allocations = new UsableGrants(grants).deduct(total, NOW);
+        allocations.forEach(spend::addAllocation);
+        return spend;
+    }
+
+    /**
+     * 적립을 전액 사용한 상태로 되돌리고 적립별 전액 사용 배분을 새로 만든다.
+     * 취소가 배분을 바꾸므로 적립은 한 번만 만들어 두고 배분만 다시 만든다.
+     */
+    static List<PointSpendAllocation> fullySpentAllocations(List<PointGrant> grants) {
+        List<PointSpendAllocation> allocations = new ArrayList<>(grants.size());
+        for (PointGrant grant : grants) {
+            grant.debit(grant.getAmountAvailable());
+            allocations.add(PointSpendAllocation.create(grant, GRANT_AMOUNT, NOW));
+        }
+        return allocations;
+    }
+
+    /**
+     * 차감 결과 배분만큼 적립 잔액을 되돌린다. 적립 목록을 다시 만들지 않고 다음 호출을 같은 잔액에서 시작하게 한다.
+     */
+    static void restore(List<PointSpendAllocation> allocations) {
+        for (PointSpendAllocation allocation : allocations) {
+            allocation.getGrant().credit(allocation.getAmountUsed());
+        }
+    }
+}
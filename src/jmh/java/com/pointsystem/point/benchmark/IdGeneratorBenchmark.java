@@ -0,0 +1,35 @@
+package com.pointsystem.point.benchmark;
+
+import com.pointsystem.common.id.SnowflakeIdGenerator;
+import com.pointsystem.common.id.UuidV7IdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 식별자 생성 비용 비교.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    private final UuidV7IdGenerator uuidV7 = new UuidV7IdGenerator();
+    private final SnowflakeIdGenerator snowflake = new SnowflakeIdGenerator(1);
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String uuidV7() {
+        return uuidV7.nextId();
+    }
+
+    @Benchmark
+    public String snowflake() {
+        return snowflake.nextId();
+    }
+}
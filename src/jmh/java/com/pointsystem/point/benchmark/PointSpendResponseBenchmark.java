@@ -0,0 +1,31 @@
+package com.pointsystem.point.benchmark;
+
+import com.pointsystem.point.controller.dto.PointSpendResponse;
+import com.pointsystem.point.domain.entity.PointSpend;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용 응답 DTO 변환 벤치마크.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PointSpendResponseBenchmark {
+
+    @Param({"1", "10", "100", "10000"})
+    private int grantCount;
+
+    private PointSpend spend;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        spend = BenchmarkFixtures.fullySpent(grantCount);
+    }
+
+    @Benchmark
+    public PointSpendResponse from() {
+        return PointSpendResponse.from(spend);
+    }
+}
@@ -0,0 +1,73 @@
+package com.pointsystem.point.benchmark;
+
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.SpendAllocations;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용취소 시 배분별 복원 분배(PointSpendService.cancelSpend 의 배분 루프) 벤치마크.
+ * 취소는 배분을 되돌릴 수 없게 바꾸므로, 반복마다 배치 크기만큼 새 배분을 만들어 두고 호출마다 하나씩 취소한다.
+ * 호출 단위 @Setup 없이 배치 한 번의 실행 시간을 잰다(SingleShotTime).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(batchSize = SpendAllocationsBenchmark.BATCH_SIZE)
+@Measurement(batchSize = SpendAllocationsBenchmark.BATCH_SIZE)
+public class SpendAllocationsBenchmark {
+
+    static final int BATCH_SIZE = 100;
+
+    @Param({"1", "10", "100", "10000"})
+    private int grantCount;
+
+    /**
+     * 사용 금액 대비 취소 금액 비율(%).
+     */
+    @Param({"1", "50", "100"})
+    private int cancelPercent;
+
+    /**
+     * 원 적립 중 취소 시점에 만료된 비율(%). 만료분은 신규 적립 대상으로 분류된다.
+     * 만료 건수는 적립 수 x 비율을 내림한 값이므로 grantCount=1 에서는 50 도 만료 0건이다.
+     */
+    @Param({"0", "50"})
+    private int expiredPercent;
+
+    private long cancelAmount;
+    private Instant cancelAt;
+    private List<PointGrant> grants;
+    private List<SpendAllocations> batch;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        cancelAmount = BenchmarkFixtures.amountOf(grantCount, cancelPercent);
+        // 적립 만료일이 30일부터 하루씩 늘어나므로, 만료일이 취소 시점 이전인 적립(만료일 <= 취소 시점)이
+        // 앞에서부터 정확히 expired 건이 되도록 취소 시점을 그 다음 적립의 만료일 직전으로 둔다.
+        long expired = (long) grantCount * expiredPercent / 100;
+        cancelAt = BenchmarkFixtures.NOW.plus(30 + expired, ChronoUnit.DAYS).minusMillis(1);
+        grants = BenchmarkFixtures.grants(grantCount);
+    }
+
+    // 배치 안의 배분은 적립을 공유한다. 취소 분배는 적립의 만료/상태만 보므로 앞선 취소의 잔액 복원이 결과를 바꾸지 않는다.
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new SpendAllocations(BenchmarkFixtures.fullySpentAllocations(grants)));
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public SpendAllocations.CancelDistribution cancel() {
+        return batch.get(next++).cancel(cancelAmount, cancelAt);
+    }
+}
@@ -0,0 +1,86 @@
+package com.pointsystem.point.benchmark;
+
+import com.pointsystem.PointSystemApplication;
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.service.PointCommandService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비관적/낙관적 락 모드별 포인트 사용 처리량 비교.
+ * contention=high 는 모든 스레드가 한 고객을, low 는 1000명의 고객을 나눠 사용한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class SpendContentionBenchmark {
+
+    private static final long GRANT_AMOUNT = 100_000L;
+
+    @Param({"pessimistic", "optimistic"})
+    public String mode;
+
+    @Param({"low", "high"})
+    public String contention;
+
+    private ConfigurableApplicationContext context;
+    private PointCommandService commandService;
+    private String[] customerIds;
+    private final AtomicLong orderSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PointSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.pointsystem=WARN",
+                        "--point.lock.mode=" + mode);
+        commandService = context.getBean(PointCommandService.class);
+
+        int customers = "high".equals(contention) ? 1 : 1000;
+        customerIds = new String[customers];
+        for (int i = 0; i < customers; i++) {
+            customerIds[i] = "bench-customer-" + i;
+            grant(customerIds[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object spend() {
+        String customerId = customerIds[ThreadLocalRandom.current().nextInt(customerIds.length)];
+        PointSpendRequest request = new PointSpendRequest(customerId, "order-" + orderSequence.incrementAndGet(), 1L);
+        try {
+            return commandService.spendPoint(request);
+        } catch (BusinessException e) {
+            if (e.getErrorCode() != ErrorCode.SPEND_INSUFFICIENT_BALANCE) {
+                throw e;
+            }
+            grant(customerId);
+            return e;
+        }
+    }
+
+    private void grant(String customerId) {
+        commandService.grantPoint(new PointGrantRequest(customerId, GRANT_AMOUNT, GrantType.SYSTEM, null));
+    }
+}
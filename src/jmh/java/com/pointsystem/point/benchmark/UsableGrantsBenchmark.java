@@ -0,0 +1,56 @@
+package com.pointsystem.point.benchmark;
+
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.PointSpendAllocation;
+import com.pointsystem.point.domain.entity.UsableGrants;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용 시 적립 차감(MANUAL 우선, 만료 임박순) 경로 벤치마크.
+ * 호출 단위 @Setup 은 나노초 단위 측정에서 타임스탬프 비용이 더 커지므로 쓰지 않고,
+ * 적립을 바꾸는 deduct 는 호출 안에서 차감분을 되돌린다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class UsableGrantsBenchmark {
+
+    @Param({"1", "10", "100", "10000"})
+    private int grantCount;
+
+    /**
+     * 전체 보유 잔액 대비 사용 금액 비율(%).
+     */
+    @Param({"1", "50", "100"})
+    private int spendPercent;
+
+    private long spendAmount;
+    private List<PointGrant> grants;
+    private UsableGrants usableGrants;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        spendAmount = BenchmarkFixtures.amountOf(grantCount, spendPercent);
+        grants = BenchmarkFixtures.grants(grantCount);
+        usableGrants = new UsableGrants(grants);
+    }
+
+    @Benchmark
+    public long totalAvailable() {
+        return usableGrants.totalAvailable();
+    }
+
+    /**
+     * 사용 경로처럼 적립 목록으로 차감 계획을 만들고 차감한다.
+     * 매 호출이 같은 잔액에서 시작하도록 차감분을 바로 되돌리므로, 측정값에는 배분 건수만큼의 잔액 복원이 포함된다.
+     */
+    @Benchmark
+    public List<PointSpendAllocation> deduct() {
+        List<PointSpendAllocation> allocations = new UsableGrants(grants).deduct(spendAmount, BenchmarkFixtures.NOW);
+        BenchmarkFixtures.restore(allocations);
+        return allocations;
+    }
+}
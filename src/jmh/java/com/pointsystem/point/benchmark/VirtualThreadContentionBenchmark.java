@@ -0,0 +1,183 @@
+package com.pointsystem.point.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pointsystem.PointSystemApplication;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.service.PointCommandService;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 행 락 경합 상황에서 Tomcat 요청 스레드(플랫폼 스레드 풀/가상 스레드)와 DB 벌크헤드 적용 여부별 요청 한 건의 꼬리 지연 비교.
+ * 애플리케이션을 임의 포트로 띄우고, 백그라운드에서 사용 요청을 항상 400건씩 동시에 보내는 동안
+ * 측정 스레드가 보낸 사용 요청 한 건의 응답 시간을 샘플링한다. 결과의 p0.99/p0.999 는 요청 단위 지연이다.
+ * 요청의 1/4 은 한 고객에 몰려 행 락을 기다리고, 나머지는 1000명의 고객에 흩어진다.
+ * platform 은 Tomcat 기본 최대 스레드 수(200)의 요청 스레드 풀, virtual 은 spring.threads.virtual.enabled=true 이다.
+ * 벌크헤드 거절(503)이나 행 락 대기 초과(409) 응답도 응답까지의 시간으로 샘플링되므로, 상태 코드별 건수를 함께 로그로 남긴다.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class VirtualThreadContentionBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadContentionBenchmark.class);
+
+    private static final long GRANT_AMOUNT = 100_000L;
+    private static final int BACKGROUND_REQUESTS = 400;
+    private static final int HOT_REQUEST_RATIO = 4;
+    private static final int COLD_CUSTOMERS = 1000;
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"off", "on"})
+    public String bulkhead;
+
+    private ConfigurableApplicationContext context;
+    private PointCommandService commandService;
+    private ObjectMapper objectMapper;
+    private HttpClient httpClient;
+    private URI spendUri;
+    private String hotCustomerId;
+    private String[] coldCustomerIds;
+    private final AtomicLong requestSequence = new AtomicLong();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+    private Semaphore backgroundPermits;
+    private volatile boolean backgroundRunning;
+    private Thread backgroundThread;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PointSystemApplication.class)
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.pointsystem=WARN",
+                        "--logging.level.com.pointsystem.point.benchmark=INFO",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                        "--point.db-bulkhead.enabled=" + "on".equals(bulkhead),
+                        "--point.db-bulkhead.timeout-ms=10000");
+        commandService = context.getBean(PointCommandService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        spendUri = URI.create("http://localhost:" + port + "/v1/points/spends");
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        hotCustomerId = "bench-hot-customer";
+        grant(hotCustomerId);
+        coldCustomerIds = new String[COLD_CUSTOMERS];
+        for (int i = 0; i < COLD_CUSTOMERS; i++) {
+            coldCustomerIds[i] = "bench-customer-" + i;
+            grant(coldCustomerIds[i]);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void startBackgroundLoad() {
+        backgroundPermits = new Semaphore(BACKGROUND_REQUESTS);
+        backgroundRunning = true;
+        backgroundThread = Thread.ofPlatform().name("bench-background-load").start(this::sendBackgroundLoad);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopBackgroundLoad() throws InterruptedException {
+        backgroundRunning = false;
+        backgroundThread.interrupt();
+        backgroundThread.join();
+        // 다음 반복이 이전 반복의 요청과 겹치지 않도록 보낸 요청이 모두 끝날 때까지 기다린다.
+        backgroundPermits.acquire(BACKGROUND_REQUESTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        log.info("응답 상태별 요청 수: threads={}, bulkhead={}, counts={}", threads, bulkhead, new TreeMap<>(statusCounts));
+        context.close();
+    }
+
+    @Benchmark
+    public int spend() throws IOException, InterruptedException {
+        String customerId = nextCustomerId();
+        HttpResponse<Void> response = httpClient.send(spendRequest(customerId), HttpResponse.BodyHandlers.discarding());
+        record(customerId, response.statusCode());
+        return response.statusCode();
+    }
+
+    private void sendBackgroundLoad() {
+        while (backgroundRunning) {
+            try {
+                backgroundPermits.acquire();
+            } catch (InterruptedException e) {
+                return;
+            }
+            String customerId = nextCustomerId();
+            httpClient.sendAsync(spendRequest(customerId), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        record(customerId, error == null ? response.statusCode() : -1);
+                        backgroundPermits.release();
+                    });
+        }
+    }
+
+    private String nextCustomerId() {
+        long sequence = requestSequence.incrementAndGet();
+        return sequence % HOT_REQUEST_RATIO == 0
+                ? hotCustomerId
+                : coldCustomerIds[(int) (sequence % COLD_CUSTOMERS)];
+    }
+
+    private HttpRequest spendRequest(String customerId) {
+        PointSpendRequest request = new PointSpendRequest(customerId, "order-" + requestSequence.incrementAndGet(), 1L);
+        try {
+            return HttpRequest.newBuilder(spendUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void record(String customerId, int status) {
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status == 400) {
+            // 사용 API 의 400 은 잔액 부족뿐이므로 다시 적립해 둔다.
+            grant(customerId);
+        }
+    }
+
+    private void grant(String customerId) {
+        commandService.grantPoint(new PointGrantRequest(customerId, GRANT_AMOUNT, GrantType.SYSTEM, null));
+    }
+}
@@ -0,0 +1,86 @@
+package com.pointsystem.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 부하 종료 후 테이블 간 금액 정합성을 점검한다. 각 쿼리는 어긋난 행 수를 센다.
+ */
+final class ConsistencyChecker {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    ConsistencyChecker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    List<Check> run() {
+        List<Check> checks = new ArrayList<>();
+
+        checks.add(check("적립 잔액이 0 ~ 적립 금액 범위를 벗어난 적립", """
+                SELECT COUNT(*) FROM point_grant
+                WHERE amount_available < 0 OR amount_available > amount_total
+                """));
+
+        checks.add(check("잔액 프로젝션과 ACTIVE 적립 잔액 합이 다른 고객", """
+                SELECT COUNT(*)
+                FROM point_balance b
+                LEFT JOIN (SELECT customer_id, SUM(amount_available) AS amount
+                           FROM point_grant WHERE status = 'ACTIVE' GROUP BY customer_id) g
+                       ON g.customer_id = b.customer_id
+                WHERE b.balance <> COALESCE(g.amount, 0)
+                """));
+
+        checks.add(check("ACTIVE 적립이 있으나 잔액 프로젝션이 없는 고객", """
+                SELECT COUNT(DISTINCT g.customer_id)
+                FROM point_grant g
+                LEFT JOIN point_balance b ON b.customer_id = g.customer_id
+                WHERE g.status = 'ACTIVE' AND g.amount_available > 0 AND b.customer_id IS NULL
+                """));
+
+        // 만료 적립의 사용취소는 SPEND_CANCEL 과 RESTORE_GRANT 가 같은 금액을 함께 기록하므로 RESTORE_GRANT 는 제외한다.
+        checks.add(check("원장 합계와 ACTIVE 적립 잔액 합이 다른 고객", """
+                SELECT COUNT(*)
+                FROM (SELECT customer_id, SUM(amount) AS amount
+                      FROM point_ledger WHERE event_type <> 'RESTORE_GRANT' GROUP BY customer_id) l
+                LEFT JOIN (SELECT customer_id, SUM(amount_available) AS amount
+                           FROM point_grant WHERE status = 'ACTIVE' GROUP BY customer_id) g
+                       ON g.customer_id = l.customer_id
+                WHERE l.amount <> COALESCE(g.amount, 0)
+                """));
+
+        // 원장과 아웃박스는 같은 트랜잭션에서 기록되므로 보관 기간 안에서는 건수가 같다.
+        checks.add(check("원장 건수와 아웃박스 이벤트 건수 차이", """
+                SELECT ABS((SELECT COUNT(*) FROM point_ledger) - (SELECT COUNT(*) FROM point_ledger_outbox))
+                """));
+
+        checks.add(check("사용 잔여 금액과 배분 잔여 금액 합이 다른 사용", """
+                SELECT COUNT(*)
+                FROM point_spend s
+                LEFT JOIN (SELECT spend_id, SUM(amount_used - amount_canceled) AS amount
+                           FROM point_spend_allocation GROUP BY spend_id) a
+                       ON a.spend_id = s.spend_id
+                WHERE s.amount_total - s.amount_canceled <> COALESCE(a.amount, 0)
+                """));
+
+        checks.add(check("취소 금액이 사용 금액을 넘은 사용", """
+                SELECT COUNT(*) FROM point_spend
+                WHERE amount_canceled < 0 OR amount_canceled > amount_total
+                """));
+
+        return checks;
+    }
+
+    private Check check(String name, String sql) {
+        Long violations = jdbcTemplate.queryForObject(sql, Long.class);
+        return new Check(name, violations == null ? 0 : violations);
+    }
+
+    record Check(String name, long violations) {
+        boolean passed() {
+            return violations == 0;
+        }
+    }
+}
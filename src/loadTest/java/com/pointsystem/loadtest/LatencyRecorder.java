@@ -0,0 +1,59 @@
+package com.pointsystem.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 엔드포인트 하나의 응답 시간과 결과 코드를 모은다. 작업 스레드마다 하나씩 두고 마지막에 합친다.
+ */
+final class LatencyRecorder {
+
+    static final String OK = "OK";
+
+    private long[] latenciesNanos = new long[1024];
+    private int size;
+    private final Map<String, Long> outcomes = new TreeMap<>();
+
+    void record(long latencyNanos, String outcome) {
+        if (size == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, size * 2);
+        }
+        latenciesNanos[size++] = latencyNanos;
+        outcomes.merge(outcome, 1L, Long::sum);
+    }
+
+    void merge(LatencyRecorder other) {
+        if (size + other.size > latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, Math.max(latenciesNanos.length * 2, size + other.size));
+        }
+        System.arraycopy(other.latenciesNanos, 0, latenciesNanos, size, other.size);
+        size += other.size;
+        other.outcomes.forEach((outcome, count) -> outcomes.merge(outcome, count, Long::sum));
+    }
+
+    Summary summarize() {
+        long[] sorted = Arrays.copyOf(latenciesNanos, size);
+        Arrays.sort(sorted);
+        return new Summary(size, outcomes.getOrDefault(OK, 0L), Map.copyOf(outcomes),
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                size == 0 ? 0 : sorted[size - 1]);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * @param count    요청 수
+     * @param ok       2xx 응답 수
+     * @param outcomes 결과별 건수 (OK, 에러 코드, 또는 HTTP 상태)
+     */
+    record Summary(long count, long ok, Map<String, Long> outcomes,
+                   long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+    }
+}
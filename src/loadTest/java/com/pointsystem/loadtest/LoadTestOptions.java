@@ -0,0 +1,100 @@
+package com.pointsystem.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 부하 테스트 설정. 시스템 프로퍼티 loadTest.* 로 받으며 Gradle 에서는 -PloadTest.* 로 넘긴다.
+ *
+ * @param durationSeconds    측정 시간
+ * @param warmupSeconds      측정 전 예열 시간 (결과에서 제외)
+ * @param concurrency        동시에 요청을 보내는 가상 스레드 수
+ * @param customers          고객 수
+ * @param zipfExponent       고객 분포의 Zipf 지수 (클수록 소수 고객에 요청이 몰림)
+ * @param grantWeight        적립 요청 비중
+ * @param spendWeight        사용 요청 비중
+ * @param cancelWeight       사용취소 요청 비중
+ * @param partialCancelRatio 사용취소 중 부분 취소 비율
+ * @param expirySpreadDays   적립 만료일을 1 ~ 이 일수 사이에서 고르게 분포 (0 이면 기본 만료일)
+ * @param seed               난수 시드
+ * @param springArgs         애플리케이션에 넘길 추가 인자 (예: --point.lock.mode=optimistic)
+ */
+record LoadTestOptions(int durationSeconds,
+                       int warmupSeconds,
+                       int concurrency,
+                       int customers,
+                       double zipfExponent,
+                       int grantWeight,
+                       int spendWeight,
+                       int cancelWeight,
+                       double partialCancelRatio,
+                       int expirySpreadDays,
+                       long seed,
+                       List<String> springArgs) {
+
+    private static final String PREFIX = "loadTest.";
+
+    static LoadTestOptions fromSystemProperties() {
+        int[] mix = parseMix(property("mix", "grant=20,spend=60,cancel=20"));
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(property("durationSeconds", "30")),
+                Integer.parseInt(property("warmupSeconds", "5")),
+                Integer.parseInt(property("concurrency", "64")),
+                Integer.parseInt(property("customers", "10000")),
+                Double.parseDouble(property("zipfExponent", "1.1")),
+                mix[0], mix[1], mix[2],
+                Double.parseDouble(property("partialCancelRatio", "0.5")),
+                Integer.parseInt(property("expirySpreadDays", "365")),
+                Long.parseLong(property("seed", "42")),
+                splitArgs(property("springArgs", "")));
+        options.validate();
+        return options;
+    }
+
+    int totalWeight() {
+        return grantWeight + spendWeight + cancelWeight;
+    }
+
+    private void validate() {
+        if (durationSeconds <= 0 || concurrency <= 0 || customers <= 0) {
+            throw new IllegalArgumentException("durationSeconds, concurrency, customers 는 1 이상이어야 합니다.");
+        }
+        if (grantWeight < 0 || spendWeight < 0 || cancelWeight < 0 || totalWeight() == 0) {
+            throw new IllegalArgumentException("요청 비중(mix)은 0 이상이고 합이 1 이상이어야 합니다.");
+        }
+        if (partialCancelRatio < 0 || partialCancelRatio > 1) {
+            throw new IllegalArgumentException("partialCancelRatio 는 0 ~ 1 사이여야 합니다: " + partialCancelRatio);
+        }
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static int[] parseMix(String value) {
+        int[] weights = new int[3];
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("mix 형식은 grant=20,spend=60,cancel=20 이어야 합니다: " + value);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            switch (pair[0].trim()) {
+                case "grant" -> weights[0] = weight;
+                case "spend" -> weights[1] = weight;
+                case "cancel" -> weights[2] = weight;
+                default -> throw new IllegalArgumentException("알 수 없는 요청 종류: " + pair[0]);
+            }
+        }
+        return weights;
+    }
+
+    private static List<String> splitArgs(String value) {
+        if (value.isBlank()) {
+            return List.of();
+        }
+        return new ArrayList<>(Arrays.asList(value.trim().split("\\s+")));
+    }
+}
@@ -0,0 +1,319 @@
+package com.pointsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pointsystem.PointSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * H2(MySQL 모드)로 애플리케이션을 띄우고 PointController 에 적립/사용/부분취소 요청을 섞어 보낸다.
+ * 고객은 Zipf 분포로 고르고, 종료 후 엔드포인트별 처리량과 p50/p99/p999 지연, 결과 코드별 건수,
+ * 락 충돌(교착/락 대기 시간 초과) 건수와 금액 정합성 점검 결과를 출력한다. 점검이 하나라도 실패하면 종료 코드 1 로 끝난다.
+ */
+public final class LoadTestRunner {
+
+    private static final String LOCK_CONFLICT_CODE = "COMMON_006";
+    private static final int SEED_CHUNK_SIZE = 10_000;
+    private static final long SEED_AMOUNT = 50_000L;
+    private static final long MIN_GRANT_AMOUNT = 100L;
+    private static final long MAX_GRANT_AMOUNT = 10_000L;
+    private static final long MIN_SPEND_AMOUNT = 10L;
+    private static final long MAX_SPEND_AMOUNT = 5_000L;
+    private static final int CACHED_BALANCE_SAMPLE = 100;
+
+    private final LoadTestOptions options;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final ZipfDistribution customerDistribution;
+    private final ConcurrentLinkedDeque<OpenSpend> openSpends = new ConcurrentLinkedDeque<>();
+
+    private LoadTestRunner(LoadTestOptions options, URI baseUri, ObjectMapper objectMapper) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.customerDistribution = new ZipfDistribution(options.customers(), options.zipfExponent());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.com.pointsystem=WARN"));
+        appArgs.addAll(options.springArgs());
+
+        int exitCode;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PointSystemApplication.class)
+                .run(appArgs.toArray(String[]::new))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestRunner runner = new LoadTestRunner(options, URI.create("http://localhost:" + port),
+                    context.getBean(ObjectMapper.class));
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            System.out.printf("부하 테스트 시작: %s%n", options);
+            runner.seedCustomers();
+            Result result = runner.run();
+
+            List<ConsistencyChecker.Check> checks = new ArrayList<>(new ConsistencyChecker(jdbcTemplate).run());
+            checks.add(runner.checkCachedBalances(jdbcTemplate));
+            report(result, checks);
+            exitCode = checks.stream().allMatch(ConsistencyChecker.Check::passed) ? 0 : 1;
+        }
+        System.exit(exitCode);
+    }
+
+    private void seedCustomers() throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        Instant now = Instant.now();
+        for (int from = 0; from < options.customers(); from += SEED_CHUNK_SIZE) {
+            List<Map<String, Object>> grants = new ArrayList<>();
+            for (int rank = from; rank < Math.min(from + SEED_CHUNK_SIZE, options.customers()); rank++) {
+                grants.add(grantBody(customerId(rank), SEED_AMOUNT, random, now));
+            }
+            HttpResponse<String> response = post("/v1/points/grants/bulk", Map.of("grants", grants));
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("초기 적립 실패: status=" + response.statusCode() + ", body=" + response.body());
+            }
+        }
+    }
+
+    private Result run() throws Exception {
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + Duration.ofSeconds(options.warmupSeconds()).toNanos();
+        long endAt = measureFrom + Duration.ofSeconds(options.durationSeconds()).toNanos();
+
+        List<Future<Map<Endpoint, LatencyRecorder>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < options.concurrency(); worker++) {
+                SplittableRandom random = new SplittableRandom(options.seed() + worker + 1);
+                futures.add(executor.submit(() -> work(random, measureFrom, endAt)));
+            }
+        }
+
+        Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+        for (Future<Map<Endpoint, LatencyRecorder>> future : futures) {
+            future.get().forEach((endpoint, recorder) ->
+                    merged.computeIfAbsent(endpoint, key -> new LatencyRecorder()).merge(recorder));
+        }
+        Map<Endpoint, LatencyRecorder.Summary> summaries = new EnumMap<>(Endpoint.class);
+        merged.forEach((endpoint, recorder) -> summaries.put(endpoint, recorder.summarize()));
+        return new Result(Duration.ofSeconds(options.durationSeconds()), summaries);
+    }
+
+    private Map<Endpoint, LatencyRecorder> work(SplittableRandom random, long measureFrom, long endAt) {
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        long orderSequence = 0;
+        while (System.nanoTime() < endAt) {
+            String customerId = customerId(customerDistribution.sample(random));
+            int pick = random.nextInt(options.totalWeight());
+
+            Endpoint endpoint;
+            Call call;
+            if (pick < options.grantWeight()) {
+                endpoint = Endpoint.GRANT;
+                Map<String, Object> body = grantBody(customerId,
+                        random.nextLong(MIN_GRANT_AMOUNT, MAX_GRANT_AMOUNT + 1), random, Instant.now());
+                call = () -> post("/v1/points/grants", body);
+            } else {
+                OpenSpend open = pick >= options.grantWeight() + options.spendWeight() ? openSpends.pollLast() : null;
+                if (open != null) {
+                    endpoint = Endpoint.SPEND_CANCEL;
+                    long cancelAmount = open.remaining() > 1 && random.nextDouble() < options.partialCancelRatio()
+                            ? random.nextLong(1, open.remaining())
+                            : open.remaining();
+                    call = () -> {
+                        HttpResponse<String> response = post("/v1/points/spends/" + open.spendId() + "/cancellations",
+                                Map.of("cancelAmount", cancelAmount));
+                        if (isSuccess(response) && cancelAmount < open.remaining()) {
+                            openSpends.offerLast(new OpenSpend(open.spendId(), open.remaining() - cancelAmount));
+                        }
+                        return response;
+                    };
+                } else {
+                    endpoint = Endpoint.SPEND;
+                    long amount = random.nextLong(MIN_SPEND_AMOUNT, MAX_SPEND_AMOUNT + 1);
+                    String orderId = "lt-" + Thread.currentThread().threadId() + "-" + (++orderSequence);
+                    call = () -> {
+                        HttpResponse<String> response = post("/v1/points/spends",
+                                Map.of("customerId", customerId, "orderId", orderId, "amount", amount));
+                        if (isSuccess(response)) {
+                            openSpends.offerLast(new OpenSpend(readField(response, "spendId"), amount));
+                        }
+                        return response;
+                    };
+                }
+            }
+
+            long requestedAt = System.nanoTime();
+            String outcome = execute(call);
+            if (requestedAt >= measureFrom) {
+                recorders.computeIfAbsent(endpoint, key -> new LatencyRecorder())
+                        .record(System.nanoTime() - requestedAt, outcome);
+            }
+        }
+        return recorders;
+    }
+
+    private String execute(Call call) {
+        try {
+            HttpResponse<String> response = call.send();
+            if (isSuccess(response)) {
+                return LatencyRecorder.OK;
+            }
+            String code = readField(response, "code");
+            return code == null ? "HTTP_" + response.statusCode() : code;
+        } catch (IOException e) {
+            return "IO_ERROR";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "INTERRUPTED";
+        }
+    }
+
+    /**
+     * 요청이 가장 많이 몰리는 고객들의 잔액 조회 API(캐시) 결과를 DB 합계와 비교한다.
+     */
+    private ConsistencyChecker.Check checkCachedBalances(JdbcTemplate jdbcTemplate) throws IOException, InterruptedException {
+        long mismatches = 0;
+        for (int rank = 0; rank < Math.min(CACHED_BALANCE_SAMPLE, options.customers()); rank++) {
+            String customerId = customerId(rank);
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(
+                            baseUri.resolve("/v1/points/customers/" + customerId + "/balance")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Long expected = jdbcTemplate.queryForObject("""
+                    SELECT COALESCE(SUM(amount_available), 0) FROM point_grant
+                    WHERE customer_id = ? AND status = 'ACTIVE' AND expires_at > CURRENT_TIMESTAMP
+                    """, Long.class, customerId);
+            String available = isSuccess(response) ? readField(response, "available") : null;
+            if (available == null || Long.parseLong(available) != (expected == null ? 0 : expected)) {
+                mismatches++;
+            }
+        }
+        return new ConsistencyChecker.Check("잔액 조회 API(캐시)와 DB 합계가 다른 고객 (상위 " + CACHED_BALANCE_SAMPLE + "명)", mismatches);
+    }
+
+    private Map<String, Object> grantBody(String customerId, long amount, SplittableRandom random, Instant now) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("customerId", customerId);
+        body.put("amount", amount);
+        body.put("grantType", random.nextBoolean() ? "MANUAL" : "SYSTEM");
+        if (options.expirySpreadDays() > 0) {
+            // 최소 만료 기간(1일)보다 조금 뒤부터 고르게 흩어 만료 임박순 차감 경로가 섞이도록 한다.
+            long minutes = random.nextLong(24 * 60 + 1, (long) Math.max(options.expirySpreadDays(), 2) * 24 * 60);
+            body.put("expiresAt", now.plus(minutes, ChronoUnit.MINUTES));
+        }
+        return body;
+    }
+
+    private HttpResponse<String> post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String readField(HttpResponse<String> response, String field) {
+        try {
+            JsonNode node = objectMapper.readTree(response.body()).get(field);
+            return node == null || node.isNull() ? null : node.asText();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean isSuccess(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static String customerId(int rank) {
+        return "lt-customer-" + rank;
+    }
+
+    private static void report(Result result, List<ConsistencyChecker.Check> checks) {
+        double seconds = result.duration().toMillis() / 1000.0;
+        long total = 0;
+        long lockConflicts = 0;
+
+        System.out.println();
+        System.out.println("=== 부하 테스트 결과 ===");
+        System.out.printf("%-14s %10s %10s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "ok", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (Map.Entry<Endpoint, LatencyRecorder.Summary> entry : result.summaries().entrySet()) {
+            LatencyRecorder.Summary summary = entry.getValue();
+            total += summary.count();
+            lockConflicts += summary.outcomes().getOrDefault(LOCK_CONFLICT_CODE, 0L);
+            System.out.printf("%-14s %10d %10d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey().label, summary.count(), summary.ok(), summary.count() / seconds,
+                    millis(summary.p50Nanos()), millis(summary.p99Nanos()), millis(summary.p999Nanos()), millis(summary.maxNanos()));
+        }
+        System.out.printf("전체 처리량: %.1f req/s (%d건 / %.0f초)%n", total / seconds, total, seconds);
+        System.out.printf("락 충돌(교착/락 대기 시간 초과, %s): %d건%n", LOCK_CONFLICT_CODE, lockConflicts);
+
+        System.out.println();
+        System.out.println("결과 코드별 건수");
+        result.summaries().forEach((endpoint, summary) ->
+                summary.outcomes().forEach((outcome, count) ->
+                        System.out.printf("  %-14s %-24s %d%n", endpoint.label, outcome, count)));
+
+        System.out.println();
+        System.out.println("정합성 점검");
+        for (ConsistencyChecker.Check check : checks) {
+            System.out.printf("  [%s] %s%s%n", check.passed() ? "PASS" : "FAIL", check.name(),
+                    check.passed() ? "" : " (" + check.violations() + "건)");
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private enum Endpoint {
+        GRANT("grant"),
+        SPEND("spend"),
+        SPEND_CANCEL("spend-cancel");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> send() throws IOException, InterruptedException;
+    }
+
+    private record OpenSpend(String spendId, long remaining) {
+    }
+
+    private record Result(Duration duration, Map<Endpoint, LatencyRecorder.Summary> summaries) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.pointsystem.common.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 동시에 실행할 수 있는 작업 수를 세마포어로 제한한다.
+ * DB 커넥션 풀 크기에 맞춰 두면 행 락 대기가 몰려도 커넥션 풀 대기열 대신 여기서 기다렸다가 제한 시간 안에 실패한다.
+ * 가상 스레드에서도 캐리어 스레드를 점유하지 않도록 Semaphore 로 대기한다.
+ */
+public class Bulkhead {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public Bulkhead(int maxConcurrent) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("동시 실행 수는 1 이상이어야 합니다: " + maxConcurrent);
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * 허가를 얻은 상태로 작업을 실행한다.
+     *
+     * @throws BulkheadFullException 대기 시간 안에 허가를 얻지 못한 경우
+     */
+    public <T> T execute(Duration timeout, Supplier<T> action) {
+        waiting.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        if (!acquired) {
+            rejections.increment();
+            throw new BulkheadFullException(null);
+        }
+        acquisitions.increment();
+
+        try {
+            return action.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int inUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public Stats stats() {
+        return new Stats(maxConcurrent, inUse(), waiting.get(), acquisitions.sum(), rejections.sum());
+    }
+
+    /**
+     * @param maxConcurrent 최대 동시 실행 수
+     * @param inUse         현재 실행 중인 작업 수
+     * @param waiting       허가를 기다리는 요청 수
+     * @param acquisitions  허가 획득 횟수
+     * @param rejections    대기 시간 초과 횟수
+     */
+    public record Stats(int maxConcurrent, int inUse, int waiting, long acquisitions, long rejections) {
+    }
+
+    public static class BulkheadFullException extends RuntimeException {
+        public BulkheadFullException(Throwable cause) {
+            super("동시 실행 한도 초과", cause);
+        }
+    }
+}
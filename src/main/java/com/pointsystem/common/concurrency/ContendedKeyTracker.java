@@ -0,0 +1,52 @@
+package com.pointsystem.common.concurrency;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 최근 충돌이 발생한 키를 일정 시간 동안 기억한다.
+ * 메모리를 제한하기 위해 최대 키 수를 넘으면 만료된 항목을 정리하고, 그래도 가득 차 있으면 새 키를 기록하지 않는다.
+ */
+public class ContendedKeyTracker {
+
+    private final Map<String, Long> expiresAtNanos = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxKeys;
+
+    public ContendedKeyTracker(Duration ttl, int maxKeys) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxKeys = maxKeys;
+    }
+
+    public void markContended(String key) {
+        long now = System.nanoTime();
+        if (expiresAtNanos.size() >= maxKeys && !expiresAtNanos.containsKey(key)) {
+            evictExpired(now);
+            if (expiresAtNanos.size() >= maxKeys) {
+                return;
+            }
+        }
+        expiresAtNanos.put(key, now + ttlNanos);
+    }
+
+    public boolean isContended(String key) {
+        Long expiresAt = expiresAtNanos.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() <= 0) {
+            expiresAtNanos.remove(key, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return expiresAtNanos.size();
+    }
+
+    private void evictExpired(long now) {
+        expiresAtNanos.entrySet().removeIf(e -> e.getValue() - now <= 0);
+    }
+}
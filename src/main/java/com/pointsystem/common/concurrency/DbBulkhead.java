@@ -0,0 +1,71 @@
+package com.pointsystem.common.concurrency;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.common.metrics.PointMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * DB 커넥션을 쓰는 구간의 동시 실행 수를 커넥션 풀 크기로 제한한다 (point.db-bulkhead.enabled=true).
+ * 명령, Idempotency-Key 선점/완료, 조회, 일괄 처리 청크처럼 트랜잭션을 시작하는 요청 경로는 모두 이 빈을 거친다.
+ * <p>
+ * 허가는 트랜잭션 하나를 감쌀 만큼만 잡고, 재시도 대기처럼 커넥션을 쓰지 않는 구간에서는 놓는다.
+ * 이미 허가를 가진 스레드가 다시 들어오면 허가를 새로 얻지 않고 실행하여, 중첩된 호출이 자기 허가를 기다리며 막히지 않게 한다.
+ * 허가를 얻지 못하면 COMMON_005(503)로 실패한다.
+ */
+@Slf4j
+@Component
+public class DbBulkhead {
+
+    private static final ThreadLocal<Boolean> HOLDING = new ThreadLocal<>();
+
+    private final Bulkhead bulkhead;
+    private final Duration timeout;
+
+    public DbBulkhead(PointMetrics metrics,
+                      @Value("${point.db-bulkhead.enabled:false}") boolean enabled,
+                      @Value("${point.db-bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+                      @Value("${point.db-bulkhead.timeout-ms:1000}") long timeoutMillis) {
+        this.bulkhead = enabled ? new Bulkhead(maxConcurrent) : null;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        if (bulkhead != null) {
+            metrics.gauge("point.db.bulkhead.in.use", bulkhead, Bulkhead::inUse);
+        }
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        if (bulkhead == null || Boolean.TRUE.equals(HOLDING.get())) {
+            return action.get();
+        }
+        try {
+            return bulkhead.execute(timeout, () -> {
+                HOLDING.set(Boolean.TRUE);
+                try {
+                    return action.get();
+                } finally {
+                    HOLDING.remove();
+                }
+            });
+        } catch (Bulkhead.BulkheadFullException e) {
+            log.warn("DB 동시 실행 한도 초과: maxConcurrent={}, timeout={}", bulkhead.maxConcurrent(), timeout);
+            throw new BusinessException(ErrorCode.DB_CONNECTION_BUSY);
+        }
+    }
+
+    public void run(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public Optional<Bulkhead.Stats> stats() {
+        return Optional.ofNullable(bulkhead).map(Bulkhead::stats);
+    }
+}
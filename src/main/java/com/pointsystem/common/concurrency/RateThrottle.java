@@ -0,0 +1,45 @@
+package com.pointsystem.common.concurrency;
+
+import java.time.Duration;
+
+/**
+ * 배치 작업의 누적 처리량이 초당 상한을 넘지 않도록 대기한다. 실행마다 {@link #start(int)} 로 새로 만든다.
+ * 상한이 0 이하이면 대기하지 않는다.
+ */
+public final class RateThrottle {
+
+    private final int maxPerSecond;
+    private final long startedAtNanos;
+
+    private RateThrottle(int maxPerSecond, long startedAtNanos) {
+        this.maxPerSecond = maxPerSecond;
+        this.startedAtNanos = startedAtNanos;
+    }
+
+    public static RateThrottle start(int maxPerSecond) {
+        return new RateThrottle(maxPerSecond, System.nanoTime());
+    }
+
+    /**
+     * 시작 후 누적 처리 건수가 경과 시간에 허용된 건수를 넘으면 그만큼 대기한다.
+     *
+     * @return 대기 중 인터럽트되면 false
+     */
+    public boolean await(long processed) {
+        if (maxPerSecond <= 0) {
+            return true;
+        }
+        long expectedNanos = Duration.ofSeconds(1).toNanos() * processed / maxPerSecond;
+        long sleepNanos = expectedNanos - (System.nanoTime() - startedAtNanos);
+        if (sleepNanos <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(sleepNanos));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
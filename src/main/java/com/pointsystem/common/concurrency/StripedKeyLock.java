@@ -0,0 +1,125 @@
+package com.pointsystem.common.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 키 해시로 고정 개수의 공정(fair) 락 중 하나를 골라 같은 키의 작업을 JVM 안에서 직렬화한다.
+ * 키마다 락을 만들지 않으므로 메모리가 일정하며, 서로 다른 키가 같은 스트라이프를 공유할 수 있다.
+ * synchronized 대신 ReentrantLock 을 사용하여 가상 스레드에서도 캐리어 스레드를 점유하지 않는다.
+ */
+public class StripedKeyLock {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger maxWaiting = new AtomicInteger();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public StripedKeyLock(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("스트라이프 수는 1 이상이어야 합니다: " + stripeCount);
+        }
+        int size = Integer.highestOneBit(stripeCount - 1) << 1;
+        if (size <= 0) {
+            size = 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 키에 해당하는 스트라이프 락을 잡은 상태로 작업을 실행한다.
+     *
+     * @throws LockTimeoutException 대기 시간 안에 락을 얻지 못한 경우
+     */
+    public <T> T execute(String key, Duration timeout, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(key);
+        long startedAt = System.nanoTime();
+        int depth = waiting.incrementAndGet();
+        maxWaiting.accumulateAndGet(depth, Math::max);
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockTimeoutException(key, e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        long waited = System.nanoTime() - startedAt;
+        if (!acquired) {
+            timeouts.increment();
+            throw new LockTimeoutException(key, null);
+        }
+        acquisitions.increment();
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금 락을 기다리는 요청 수.
+     */
+    public int queueDepth() {
+        return waiting.get();
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    public Stats stats() {
+        long count = acquisitions.sum();
+        return new Stats(
+                waiting.get(),
+                maxWaiting.get(),
+                count,
+                timeouts.sum(),
+                count == 0 ? 0 : totalWaitNanos.sum() / count,
+                maxWaitNanos.get()
+        );
+    }
+
+    private ReentrantLock stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & mask];
+    }
+
+    /**
+     * @param queueDepth      현재 락을 기다리는 요청 수
+     * @param maxQueueDepth   관측된 최대 대기 요청 수
+     * @param acquisitions    락 획득 횟수
+     * @param timeouts        대기 시간 초과 횟수
+     * @param avgWaitNanos    평균 대기 시간
+     * @param maxWaitNanos    최대 대기 시간
+     */
+    public record Stats(int queueDepth, int maxQueueDepth, long acquisitions, long timeouts,
+                        long avgWaitNanos, long maxWaitNanos) {
+    }
+
+    public static class LockTimeoutException extends RuntimeException {
+        public LockTimeoutException(String key, Throwable cause) {
+            super("락 대기 시간 초과: key=" + key, cause);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.pointsystem.common.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.pointsystem.common.replica.ReplicaContext;
+import com.pointsystem.common.replica.ReplicaRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 복제본을 요청한 읽기 전용 트랜잭션을 복제본 DB 로 보낸다. point.datasource.replica.jdbc-url 이 있을 때만 켜진다.
+ * <p>
+ * {@link LazyConnectionDataSourceProxy} 는 첫 SQL 을 실행할 때 커넥션을 얻으므로, 그 시점에 트랜잭션이
+ * readOnly 이고 {@link ReplicaContext#read} 안이면 복제본 풀에서, 아니면 기본 풀에서 가져온다.
+ * 읽기 전용이라도 복제본을 요청하지 않은 조회와 Flyway, 쓰기 트랜잭션은 기본 DB 를 사용한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "point.datasource.replica.jdbc-url")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("point.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource));
+        log.info("조회 엔드포인트 복제본 라우팅 사용: replica={}", replicaDataSource.getJdbcUrl());
+        return dataSource;
+    }
+}
@@ -0,0 +1,84 @@
+package com.pointsystem.common.config;
+
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.common.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 고객 샤드별 DB 를 point.shard.datasources[n] 으로 설정한다. point.shard.enabled=true 일 때만 켜진다.
+ * <p>
+ * {@link ShardRoutingDataSource} 를 {@link LazyConnectionDataSourceProxy} 로 감싸 첫 SQL 을 실행할 때 커넥션을 얻으므로,
+ * 그 시점의 샤드 번호로 커넥션 풀이 정해진다. Flyway 는 모든 샤드에 같은 마이그레이션을 적용한다.
+ * <p>
+ * 메모리 엔진(point.engine.mode=memory)은 여러 고객의 사용을 한 트랜잭션으로 반영하고,
+ * 읽기 복제본(point.datasource.replica)은 단일 DB 를 전제로 하므로 함께 쓸 수 없다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "point.shard.enabled", havingValue = "true")
+public class ShardDataSourceConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(Environment environment,
+                                                         ShardRouter shardRouter,
+                                                         @Value("${point.engine.mode:jpa}") String engineMode,
+                                                         @Value("${point.datasource.replica.jdbc-url:}") String replicaUrl) {
+        if ("memory".equalsIgnoreCase(engineMode)) {
+            throw new IllegalStateException("샤딩 모드에서는 메모리 엔진을 사용할 수 없습니다.");
+        }
+        if (!replicaUrl.isBlank()) {
+            throw new IllegalStateException("샤딩 모드에서는 읽기 복제본 라우팅을 사용할 수 없습니다.");
+        }
+        List<HikariDataSource> shards = Binder.get(environment)
+                .bind("point.shard.datasources", Bindable.listOf(HikariDataSource.class))
+                .orElseThrow(() -> new IllegalStateException("point.shard.datasources 설정이 없습니다."));
+        if (shards.size() != shardRouter.count()) {
+            throw new IllegalStateException(String.format(
+                    "샤드 데이터소스 수가 point.shard.count 와 다릅니다: datasources=%d, count=%d", shards.size(), shardRouter.count()));
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (shards.get(shard).getPoolName() == null) {
+                shards.get(shard).setPoolName("shard-" + shard);
+            }
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        log.info("고객 샤드 라우팅 사용: shards={}", shardRoutingDataSource.shards().stream().map(HikariDataSource::getJdbcUrl).toList());
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardFlywayMigrationStrategy(ShardRoutingDataSource shardRoutingDataSource) {
+        return flyway -> {
+            List<HikariDataSource> shards = shardRoutingDataSource.shards();
+            for (int shard = 0; shard < shards.size(); shard++) {
+                int applied = Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shards.get(shard))
+                        .load()
+                        .migrate()
+                        .migrationsExecuted;
+                log.info("샤드 마이그레이션 완료: shard={}, migrationsExecuted={}", shard, applied);
+            }
+        };
+    }
+}
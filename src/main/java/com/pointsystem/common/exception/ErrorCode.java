@@ -10,6 +10,12 @@ public enum ErrorCode {
 
     // 공통
     INVALID_INPUT(HttpStatus.BAD_REQUEST, "COMMON_001", "입력값이 유효하지 않습니다."),
+    CUSTOMER_REQUEST_BUSY(HttpStatus.TOO_MANY_REQUESTS, "COMMON_002", "같은 고객의 다른 요청을 처리 중입니다. 잠시 후 다시 시도해주세요."),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "COMMON_003", "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS(HttpStatus.CONFLICT, "COMMON_004", "같은 Idempotency-Key 의 요청을 처리 중입니다. 잠시 후 다시 시도해주세요."),
+    DB_CONNECTION_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "COMMON_005", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    LOCK_CONFLICT(HttpStatus.CONFLICT, "COMMON_006", "다른 요청과 잠금이 충돌했습니다. 잠시 후 다시 시도해주세요."),
+    ENGINE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "COMMON_007", "포인트 사용을 처리할 수 없는 상태입니다. 잠시 후 다시 시도해주세요."),
 
     //적립
     GRANT_AMOUNT_OUT_OF_RANGE(HttpStatus.BAD_REQUEST, "GRANT_001", "적립 금액은 1원 이상, 정책 상한 이하여야 합니다."),
@@ -18,6 +24,7 @@ public enum ErrorCode {
     GRANT_NOT_FOUND(HttpStatus.NOT_FOUND, "GRANT_004", "적립 내역을 찾을 수 없습니다."),
     GRANT_ALREADY_USED(HttpStatus.CONFLICT, "GRANT_005", "이미 사용된 적립은 취소할 수 없습니다."),
     GRANT_ALREADY_CANCELED(HttpStatus.CONFLICT, "GRANT_006", "이미 취소된 적립입니다."),
+    GRANT_ALREADY_EXPIRED(HttpStatus.CONFLICT, "GRANT_007", "이미 만료된 적립입니다."),
 
     //사용
     SPEND_INSUFFICIENT_BALANCE(HttpStatus.BAD_REQUEST, "SPEND_001", "포인트 잔액이 부족합니다."),
@@ -1,19 +1,29 @@
 package com.pointsystem.common.exception;
 
+import com.pointsystem.common.metrics.PointMetrics;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final PointMetrics metrics;
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException e, HttpServletRequest request) {
         log.warn("Business exception: {} - {}", e.getErrorCode().getCode(), e.getMessage());
+        metrics.countError(e.getErrorCode().getCode(), e.getErrorCode().getHttpStatus().value());
         ErrorResponse response = ErrorResponse.of(e.getErrorCode(), request.getRequestURI());
         return ResponseEntity.status(e.getErrorCode().getHttpStatus()).body(response);
     }
@@ -25,13 +35,36 @@ public class GlobalExceptionHandler {
                 .findFirst()
                 .orElse("입력값이 유효하지 않습니다.");
         log.warn("Validation exception: {}", message);
+        metrics.countError(ErrorCode.INVALID_INPUT.getCode(), ErrorCode.INVALID_INPUT.getHttpStatus().value());
         ErrorResponse response = ErrorResponse.of(ErrorCode.INVALID_INPUT.getCode(), message, request.getRequestURI());
         return ResponseEntity.badRequest().body(response);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatchException(MethodArgumentTypeMismatchException e, HttpServletRequest request) {
+        String message = e.getName() + ": 값의 형식이 올바르지 않습니다.";
+        log.warn("Type mismatch exception: {}", message);
+        metrics.countError(ErrorCode.INVALID_INPUT.getCode(), ErrorCode.INVALID_INPUT.getHttpStatus().value());
+        ErrorResponse response = ErrorResponse.of(ErrorCode.INVALID_INPUT.getCode(), message, request.getRequestURI());
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * 교착 상태나 행 락 대기 시간 초과로 트랜잭션이 실패한 경우. 재시도하면 성공할 수 있으므로 서버 오류와 구분한다.
+     * 비관적 모드의 사용취소처럼 잠그지 않고 읽은 적립을 커밋할 때 동시에 바뀐 적립의 @Version 충돌도 같게 응답한다.
+     */
+    @ExceptionHandler({PessimisticLockingFailureException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handleLockFailureException(ConcurrencyFailureException e, HttpServletRequest request) {
+        log.warn("Lock failure exception: {}", e.getMessage());
+        metrics.countError(ErrorCode.LOCK_CONFLICT.getCode(), ErrorCode.LOCK_CONFLICT.getHttpStatus().value());
+        ErrorResponse response = ErrorResponse.of(ErrorCode.LOCK_CONFLICT, request.getRequestURI());
+        return ResponseEntity.status(ErrorCode.LOCK_CONFLICT.getHttpStatus()).body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e, HttpServletRequest request) {
         log.error("Unexpected exception: ", e);
+        metrics.countError("INTERNAL_ERROR", 500);
         ErrorResponse response = ErrorResponse.of("INTERNAL_ERROR", "서버 오류가 발생했습니다.", request.getRequestURI());
         return ResponseEntity.internalServerError().body(response);
     }
@@ -0,0 +1,22 @@
+package com.pointsystem.common.id;
+
+/**
+ * 엔티티 식별자 생성기.
+ * 생성되는 값은 시간 순으로 증가하여 B-tree 인덱스 끝에 삽입되도록 한다.
+ */
+public interface IdGenerator {
+
+    String nextId();
+
+    /**
+     * 샤드 번호를 담은 식별자. 적립/사용 ID 만으로 소유 샤드를 찾을 수 있게 한다.
+     */
+    String nextId(int shard);
+
+    /**
+     * {@link #nextId(int)} 로 만든 식별자에서 샤드 번호를 꺼낸다.
+     *
+     * @throws IllegalArgumentException 이 생성기의 형식이 아닌 경우
+     */
+    int shardOf(String id);
+}
@@ -0,0 +1,25 @@
+package com.pointsystem.common.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(
+            @Value("${point.id.generator:uuid-v7}") String type,
+            @Value("${point.id.node-id:0}") long nodeId) {
+        IdGenerator generator = switch (type) {
+            case "uuid-v7" -> new UuidV7IdGenerator();
+            case "snowflake" -> new SnowflakeIdGenerator(nodeId);
+            default -> throw new IllegalArgumentException("지원하지 않는 ID 생성 방식입니다: " + type);
+        };
+        IdGenerators.install(generator);
+        log.info("ID 생성기 설정: type={}, nodeId={}", type, nodeId);
+        return generator;
+    }
+}
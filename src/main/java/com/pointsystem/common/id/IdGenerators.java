@@ -0,0 +1,30 @@
+package com.pointsystem.common.id;
+
+import com.pointsystem.common.shard.ShardContext;
+
+/**
+ * 엔티티의 @PrePersist 에서 사용하는 식별자 생성기 보관소.
+ * 애플리케이션 기동 시 IdGeneratorConfig 가 설정값에 맞는 생성기로 교체하며,
+ * 스프링 컨텍스트 없이 도메인 객체를 다루는 경우에는 UUIDv7 을 사용한다.
+ * 샤드 안에서 실행 중이면({@link ShardContext}) 그 샤드 번호를 담은 식별자를 만든다.
+ */
+public final class IdGenerators {
+
+    private static volatile IdGenerator current = new UuidV7IdGenerator();
+
+    private IdGenerators() {
+    }
+
+    public static String nextId() {
+        Integer shard = ShardContext.current();
+        return shard == null ? current.nextId() : current.nextId(shard);
+    }
+
+    public static void install(IdGenerator generator) {
+        current = generator;
+    }
+
+    public static IdGenerator current() {
+        return current;
+    }
+}
@@ -0,0 +1,114 @@
+package com.pointsystem.common.id;
+
+import java.time.Instant;
+
+/**
+ * Snowflake 방식 64비트 식별자 생성기.
+ * [41비트 밀리초 타임스탬프][10비트 노드 ID][12비트 시퀀스] 로 구성되며,
+ * 노드 ID 가 인스턴스마다 다르면 별도 조율 없이 전역 유일성이 보장된다.
+ * 값은 13자리 고정 길이 Crockford Base32 문자열로 표현하여 문자열 정렬과 숫자 정렬이 같도록 한다.
+ * 샤드 번호를 담을 때는 Base32 2자리(0 ~ 1023)를 뒤에 붙인다.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    public static final Instant DEFAULT_EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+    private static final int SHARD_LENGTH = 2;
+    static final int MAX_SHARD = (1 << (5 * SHARD_LENGTH)) - 1;
+
+    private final long nodeId;
+    private final long epochMillis;
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    public SnowflakeIdGenerator(long nodeId) {
+        this(nodeId, DEFAULT_EPOCH);
+    }
+
+    public SnowflakeIdGenerator(long nodeId, Instant epoch) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("노드 ID 는 0 ~ " + MAX_NODE_ID + " 범위여야 합니다: " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.epochMillis = epoch.toEpochMilli();
+    }
+
+    @Override
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    @Override
+    public String nextId(int shard) {
+        if (shard < 0 || shard > MAX_SHARD) {
+            throw new IllegalArgumentException("샤드 번호는 0 ~ " + MAX_SHARD + " 범위여야 합니다: " + shard);
+        }
+        return encode(nextLong()) + ALPHABET[shard >>> 5] + ALPHABET[shard & 0x1F];
+    }
+
+    @Override
+    public int shardOf(String id) {
+        if (id == null || id.length() != ENCODED_LENGTH + SHARD_LENGTH) {
+            throw new IllegalArgumentException("샤드 번호가 담긴 Snowflake ID 형식이 아닙니다: " + id);
+        }
+        return (decode(id.charAt(ENCODED_LENGTH)) << 5) | decode(id.charAt(ENCODED_LENGTH + 1));
+    }
+
+    public synchronized long nextLong() {
+        long timestamp = currentMillis();
+        if (timestamp < lastTimestamp) {
+            // 시계가 뒤로 간 경우 중복을 막기 위해 마지막 시각을 그대로 사용한다.
+            timestamp = lastTimestamp;
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                timestamp = waitNextMillis(lastTimestamp);
+            }
+        } else {
+            sequence = 0L;
+        }
+        lastTimestamp = timestamp;
+
+        return ((timestamp - epochMillis) << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    static String encode(long value) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (value & 0x1F)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static int decode(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Base32 문자가 아닙니다: " + c);
+    }
+
+    private long waitNextMillis(long last) {
+        long timestamp = currentMillis();
+        while (timestamp <= last) {
+            Thread.onSpinWait();
+            timestamp = currentMillis();
+        }
+        return timestamp;
+    }
+
+    long currentMillis() {
+        return System.currentTimeMillis();
+    }
+}
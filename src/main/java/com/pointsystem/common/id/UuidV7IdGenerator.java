@@ -0,0 +1,54 @@
+package com.pointsystem.common.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * RFC 9562 UUID version 7 생성기.
+ * 상위 48비트가 Unix epoch 밀리초이므로 문자열 정렬 순서가 생성 시각 순서와 일치한다.
+ * 나머지 74비트는 난수로 채워져 노드 설정 없이도 인스턴스 간 충돌 가능성이 무시할 수준이다.
+ * <p>
+ * 샤드 번호를 담을 때는 rand_a 12비트(문자열의 15~17번째 16진수 자리)에 넣고, 나머지 62비트 난수로 유일성을 유지한다.
+ */
+public class UuidV7IdGenerator implements IdGenerator {
+
+    static final int MAX_SHARD = (1 << 12) - 1;
+    private static final int SHARD_OFFSET = 15;
+    private static final int VERSION_OFFSET = 14;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Override
+    public String nextId() {
+        return next().toString();
+    }
+
+    @Override
+    public String nextId(int shard) {
+        if (shard < 0 || shard > MAX_SHARD) {
+            throw new IllegalArgumentException("샤드 번호는 0 ~ " + MAX_SHARD + " 범위여야 합니다: " + shard);
+        }
+        return next(shard).toString();
+    }
+
+    @Override
+    public int shardOf(String id) {
+        if (id == null || id.length() != 36 || id.charAt(VERSION_OFFSET) != '7') {
+            throw new IllegalArgumentException("UUIDv7 형식이 아닙니다: " + id);
+        }
+        return Integer.parseInt(id, SHARD_OFFSET, SHARD_OFFSET + 3, 16);
+    }
+
+    UUID next() {
+        return next(random.nextInt(1 << 12));
+    }
+
+    private UUID next(long randA) {
+        long timestamp = System.currentTimeMillis();
+        long randB = random.nextLong();
+
+        long msb = (timestamp << 16) | (0x7L << 12) | randA;
+        long lsb = (randB & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+}
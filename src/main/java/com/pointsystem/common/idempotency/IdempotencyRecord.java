@@ -0,0 +1,93 @@
+package com.pointsystem.common.idempotency;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Idempotency-Key 별 처리 결과.
+ * 키가 PK(유니크 인덱스)이므로 같은 키로 동시에 들어온 요청 중 하나만 선점(IN_PROGRESS)할 수 있다.
+ */
+@Entity
+@Table(name = "idempotency_record", indexes = @Index(name = "idx_idempotency_record_expires_at", columnList = "expiresAt"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(length = 100)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 50)
+    private String operation;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    private Integer responseStatus;
+
+    @Lob
+    private String responseBody;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // 키를 직접 부여하므로 save() 가 merge 로 기존 행을 덮어쓰지 않고 persist(INSERT) 하도록 신규 여부를 따로 관리한다.
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
+    private IdempotencyRecord(String idempotencyKey, String operation, String requestHash, Instant createdAt, Instant expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.operation = operation;
+        this.requestHash = requestHash;
+        this.status = IdempotencyStatus.IN_PROGRESS;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public static IdempotencyRecord start(String idempotencyKey, String operation, String requestHash, Instant now, Instant expiresAt) {
+        return new IdempotencyRecord(idempotencyKey, operation, requestHash, now, expiresAt);
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markPersisted() {
+        this.persisted = true;
+    }
+
+    public void complete(int responseStatus, String responseBody) {
+        this.status = IdempotencyStatus.COMPLETED;
+        this.responseStatus = responseStatus;
+        this.responseBody = responseBody;
+    }
+
+    public boolean isCompleted() {
+        return status == IdempotencyStatus.COMPLETED;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+}
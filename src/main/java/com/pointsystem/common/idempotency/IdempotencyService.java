@@ -0,0 +1,281 @@
+package com.pointsystem.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pointsystem.common.concurrency.DbBulkhead;
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더 기반 중복 요청 처리.
+ * <p>
+ * 처음 들어온 키는 idempotency_record 에 IN_PROGRESS 로 선점한 뒤 요청을 실행하고, 성공 응답을 저장한다.
+ * 같은 키로 재시도하면 트랜잭션을 다시 실행하지 않고 저장된 응답을 돌려준다.
+ * 최근 응답은 TTL 이 있는 메모리 캐시에 두어 재시도 시 DB 조회도 생략한다.
+ * 실패한 요청은 선점을 해제하므로 같은 키로 다시 시도할 수 있다.
+ * <p>
+ * 선점, 요청 실행, 응답 저장은 각각 다른 트랜잭션이므로 요청이 커밋된 뒤 응답 저장 전에 프로세스가 죽으면 IN_PROGRESS 가 남는다.
+ * 선점 후 claim-timeout 이 지나도록 완료되지 않은 키는 같은 요청으로 다시 선점할 수 있게 하여 TTL 동안 막히지 않게 한다.
+ * 이때 요청이 다시 실행될 수 있으므로 claim-timeout 은 요청 처리 최대 시간보다 충분히 길게 둔다.
+ * 사용은 주문번호 유니크 제약으로 중복 반영이 막히지만, 적립과 부분 취소는 다시 반영될 수 있다.
+ * <p>
+ * 선점, 응답 저장, 선점 해제 트랜잭션은 각각 {@link DbBulkhead} 허가를 얻어 실행한다.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final DbBulkhead dbBulkhead;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final long cacheTtlNanos;
+    private final int cacheMaxSize;
+    private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              TransactionTemplate transactionTemplate,
+                              DbBulkhead dbBulkhead,
+                              ObjectMapper objectMapper,
+                              @Value("${point.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${point.idempotency.claim-timeout-seconds:60}") long claimTimeoutSeconds,
+                              @Value("${point.idempotency.cache.ttl-ms:600000}") long cacheTtlMillis,
+                              @Value("${point.idempotency.cache.max-size:10000}") int cacheMaxSize) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.dbBulkhead = dbBulkhead;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.claimTimeout = Duration.ofSeconds(claimTimeoutSeconds);
+        this.cacheTtlNanos = Duration.ofMillis(cacheTtlMillis).toNanos();
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    /**
+     * 키가 없으면 요청을 그대로 실행한다.
+     *
+     * @param operation 엔드포인트 구분값. 같은 키를 다른 엔드포인트에 재사용하면 다른 요청으로 본다.
+     * @param request   요청 동일성 판단에 사용할 값 (요청 본문, 경로 변수)
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String operation, Object request,
+                                         Class<T> responseType, Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        validateKey(idempotencyKey);
+        String requestHash = hash(operation, request);
+
+        ResponseEntity<T> cached = replayFromCache(idempotencyKey, requestHash, responseType);
+        if (cached != null) {
+            return cached;
+        }
+
+        Instant now = Instant.now();
+        IdempotencyRecord existing = dbBulkhead.execute(() -> claim(idempotencyKey, operation, requestHash, now));
+        if (existing != null) {
+            return replay(existing, requestHash, responseType);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(idempotencyKey);
+            throw e;
+        }
+        dbBulkhead.run(() -> complete(idempotencyKey, requestHash, response));
+        return response;
+    }
+
+    @Scheduled(cron = "${point.idempotency.purge-cron:0 0 * * * *}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteExpired(now));
+        cache.values().removeIf(c -> c.isExpired(System.nanoTime()));
+        log.info("만료된 Idempotency-Key 정리: deleted={}", deleted);
+    }
+
+    void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * 키를 선점한다. 이미 다른 요청이 선점한 키면 해당 기록을 반환한다.
+     * 만료된 기록과, 같은 요청이 선점한 채 claim-timeout 이 지난 기록은 지우고 다시 선점한다.
+     */
+    private IdempotencyRecord claim(String idempotencyKey, String operation, String requestHash, Instant now) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.findById(idempotencyKey)
+                        .filter(r -> r.isExpired(now) || isStaleClaim(r, requestHash, now))
+                        .ifPresent(stale -> {
+                            if (!stale.isExpired(now)) {
+                                log.warn("완료되지 않은 Idempotency-Key 선점을 회수: key={}, operation={}, claimedAt={}",
+                                        stale.getIdempotencyKey(), stale.getOperation(), stale.getCreatedAt());
+                            }
+                            repository.delete(stale);
+                            repository.flush();
+                        });
+                repository.saveAndFlush(IdempotencyRecord.start(idempotencyKey, operation, requestHash, now, now.plus(ttl)));
+            });
+            return null;
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateKey(e)) {
+                throw e;
+            }
+            return repository.findById(idempotencyKey)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS));
+        }
+    }
+
+    private boolean isStaleClaim(IdempotencyRecord record, String requestHash, Instant now) {
+        return !record.isCompleted()
+                && record.getRequestHash().equals(requestHash)
+                && !record.getCreatedAt().plus(claimTimeout).isAfter(now);
+    }
+
+    /**
+     * 키(PK) 중복으로 INSERT 가 실패했는지 확인한다. idempotency_record 의 유니크 제약은 PK 뿐이다.
+     * 컬럼 길이 초과 같은 다른 무결성 오류를 선점 중으로 오인하지 않도록 나머지는 그대로 던진다.
+     */
+    private static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                // H2: 23505, MySQL: 1062 (ER_DUP_ENTRY)
+                return "23505".equals(sqlException.getSQLState()) || sqlException.getErrorCode() == 1062;
+            }
+        }
+        return false;
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        if (!record.isCompleted()) {
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+        }
+        T body = deserialize(record.getResponseBody(), responseType);
+        cache(record.getIdempotencyKey(), requestHash, record.getResponseStatus(), body);
+        log.info("Idempotency-Key 재요청, 저장된 응답 반환: key={}, operation={}", record.getIdempotencyKey(), record.getOperation());
+        return replayed(record.getResponseStatus(), body);
+    }
+
+    private <T> ResponseEntity<T> replayFromCache(String idempotencyKey, String requestHash, Class<T> responseType) {
+        CachedResponse cached = cache.get(idempotencyKey);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.nanoTime())) {
+            cache.remove(idempotencyKey, cached);
+            return null;
+        }
+        if (!cached.requestHash().equals(requestHash)) {
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        return replayed(cached.status(), responseType.cast(cached.body()));
+    }
+
+    private void complete(String idempotencyKey, String requestHash, ResponseEntity<?> response) {
+        String body = serialize(response.getBody());
+        int status = response.getStatusCode().value();
+        transactionTemplate.executeWithoutResult(tx -> repository.findById(idempotencyKey)
+                .ifPresent(record -> record.complete(status, body)));
+        cache(idempotencyKey, requestHash, status, response.getBody());
+    }
+
+    private void release(String idempotencyKey) {
+        try {
+            dbBulkhead.run(() -> transactionTemplate.executeWithoutResult(status -> repository.deleteById(idempotencyKey)));
+        } catch (RuntimeException e) {
+            // 해제에 실패해도 TTL 이 지나면 다시 선점할 수 있으므로 원래 예외를 우선한다.
+            log.warn("Idempotency-Key 선점 해제 실패: key={}", idempotencyKey, e);
+        }
+    }
+
+    private void cache(String idempotencyKey, String requestHash, int status, Object body) {
+        long now = System.nanoTime();
+        if (cache.size() >= cacheMaxSize) {
+            cache.values().removeIf(c -> c.isExpired(now));
+            if (cache.size() >= cacheMaxSize) {
+                // 메모리 캐시가 가득 차면 DB 기록만으로 처리한다.
+                return;
+            }
+        }
+        cache.put(idempotencyKey, new CachedResponse(requestHash, status, body, now + cacheTtlNanos));
+    }
+
+    private static <T> ResponseEntity<T> replayed(int status, T body) {
+        return ResponseEntity.status(status).header(REPLAYED_HEADER, "true").body(body);
+    }
+
+    private static void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    String.format("(%s 는 1~%d자여야 합니다.)", HEADER, MAX_KEY_LENGTH));
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("요청 해시 계산 실패", e);
+        }
+    }
+
+    private String serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 직렬화 실패", e);
+        }
+    }
+
+    private <T> T deserialize(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 응답 역직렬화 실패", e);
+        }
+    }
+
+    private record CachedResponse(String requestHash, int status, Object body, long expiresAtNanos) {
+
+        boolean isExpired(long nowNanos) {
+            return expiresAtNanos - nowNanos <= 0;
+        }
+    }
+}
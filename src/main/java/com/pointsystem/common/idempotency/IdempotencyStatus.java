@@ -0,0 +1,6 @@
+package com.pointsystem.common.idempotency;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,196 @@
+package com.pointsystem.common.metrics;
+
+import com.pointsystem.common.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 포인트 처리 지표를 Micrometer 에 기록한다.
+ * 태그는 작업 이름, 쿼리 이름, 에러 코드처럼 값의 종류가 고정된 것만 사용하고 고객 ID 는 태그로 붙이지 않는다.
+ * 고객별 적립 건수의 영향은 적립 조회 건수 분포(point.spend.grants.scanned)와 명령 처리 시간 분포로 본다.
+ */
+@Component
+public class PointMetrics {
+
+    public static final String GRANT = "grant";
+    public static final String GRANT_CANCEL = "grant_cancel";
+    public static final String SPEND = "spend";
+    public static final String SPEND_CANCEL = "spend_cancel";
+    public static final String RESTORE = "restore";
+
+    static final String COMMAND_TIMER = "point.command";
+    static final String LOCK_WAIT_TIMER = "point.lock.wait";
+    static final String GRANTS_SCANNED = "point.spend.grants.scanned";
+    static final String ALLOCATIONS_CREATED = "point.spend.allocations";
+    static final String RESTORE_GRANTS_CREATED = "point.spend.cancel.restore.grants";
+    static final String ERRORS = "point.errors";
+    static final String ENGINE_APPLY_CONFLICTS = "point.engine.apply.conflicts";
+    static final String ENGINE_DEAD_LETTERS = "point.engine.dead.letters";
+    static final String CUSTOMER_LOCK_QUEUE = "point.customer.lock.queue";
+    static final String CUSTOMER_LOCK_WAIT = "point.customer.lock.wait";
+    static final String CUSTOMER_LOCK_TIMEOUTS = "point.customer.lock.timeouts";
+    static final String POLICY_CACHE = "point.policy.cache";
+    static final String RECONCILIATION_RECHECKS = "point.balance.reconciliation.rechecks";
+
+    private static final String SUCCESS = "success";
+    private static final String UNEXPECTED = "unexpected";
+
+    private final MeterRegistry registry;
+    private final DistributionSummary grantsScanned;
+    private final DistributionSummary allocationsCreated;
+    private final DistributionSummary restoreGrantsCreated;
+    private final Counter reconciliationRechecks;
+    private final Timer customerLockWait;
+    private final Counter customerLockTimeouts;
+
+    public PointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.grantsScanned = DistributionSummary.builder(GRANTS_SCANNED)
+                .description("사용 1건에서 조회한 적립 건수")
+                .baseUnit("grants")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.allocationsCreated = DistributionSummary.builder(ALLOCATIONS_CREATED)
+                .description("사용 1건에서 생성한 배분 건수")
+                .baseUnit("allocations")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.restoreGrantsCreated = DistributionSummary.builder(RESTORE_GRANTS_CREATED)
+                .description("사용취소 1건에서 생성한 복원 적립 건수")
+                .baseUnit("grants")
+                .register(registry);
+        this.reconciliationRechecks = Counter.builder(RECONCILIATION_RECHECKS)
+                .description("잔액 정합성 점검에서 잔액 행을 잠그고 다시 비교한 고객 수")
+                .register(registry);
+        this.customerLockWait = Timer.builder(CUSTOMER_LOCK_WAIT)
+                .description("고객 락 획득까지 기다린 시간")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.customerLockTimeouts = Counter.builder(CUSTOMER_LOCK_TIMEOUTS)
+                .description("고객 락 대기 시간 초과 건수")
+                .register(registry);
+    }
+
+    /**
+     * 명령 처리 시간을 기록한다. outcome 태그는 성공 시 success, 업무 예외면 에러 코드, 그 외 예외면 unexpected 이다.
+     */
+    public <T> T timeCommand(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = UNEXPECTED;
+        try {
+            T result = action.get();
+            outcome = SUCCESS;
+            return result;
+        } catch (BusinessException e) {
+            outcome = e.getErrorCode().getCode();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(COMMAND_TIMER)
+                    .description("적립/사용/취소 명령 처리 시간")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    /**
+     * 잠금 조회(…WithLock) 시간을 기록한다. 쿼리 실행 시간이 포함되지만 경합 시에는 대부분 행 잠금 대기 시간이다.
+     */
+    public <T> T timeLockQuery(String query, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            return action.get();
+        } finally {
+            sample.stop(Timer.builder(LOCK_WAIT_TIMER)
+                    .description("잠금 조회 대기 시간")
+                    .tag("query", query)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public void recordGrantsScanned(int count) {
+        grantsScanned.record(count);
+    }
+
+    public void recordAllocationsCreated(int count) {
+        allocationsCreated.record(count);
+    }
+
+    public void recordRestoreGrantsCreated(int count) {
+        restoreGrantsCreated.record(count);
+    }
+
+    /**
+     * 고객 락 대기열 길이를 게이지로 등록한다. 고객 락을 쓰는 경우에만 호출한다.
+     */
+    public <T> void registerCustomerLockQueue(T lock, ToDoubleFunction<T> queueDepth) {
+        gauge(CUSTOMER_LOCK_QUEUE, lock, queueDepth);
+    }
+
+    public void recordCustomerLockWait(long waitNanos) {
+        customerLockWait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countCustomerLockTimeout() {
+        customerLockTimeouts.increment();
+    }
+
+    /**
+     * 정책 키별 스냅샷 조회 결과 카운터. result 태그는 hit, 또는 스냅샷에 값이 없거나 읽지 못해 기본값을 쓴 miss 이다.
+     * 조회마다 등록 비용을 들이지 않도록 호출자가 키별로 받아 두고 쓴다.
+     */
+    public Counter policyCacheCounter(String key, boolean hit) {
+        return Counter.builder(POLICY_CACHE)
+                .description("정책 스냅샷 조회 결과 건수")
+                .tag("key", key)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry);
+    }
+
+    public void countReconciliationRecheck() {
+        reconciliationRechecks.increment();
+    }
+
+    public <T> void gauge(String name, T target, ToDoubleFunction<T> value) {
+        registry.gauge(name, target, value);
+    }
+
+    public void countError(String code, int httpStatus) {
+        Counter.builder(ERRORS)
+                .description("GlobalExceptionHandler 에서 응답한 에러 건수")
+                .tag("code", code)
+                .tag("status", String.valueOf(httpStatus))
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 메모리 엔진의 사용을 DB 에 반영할 때 적립 잔액 차감이 맞지 않아 배분을 다시 계산한 건수 (DB 경로에서 같은 적립을 바꾼 경우).
+     */
+    public void countEngineApplyConflicts(int count) {
+        Counter.builder(ENGINE_APPLY_CONFLICTS)
+                .description("메모리 엔진 DB 반영 시 적립 차감 충돌 건수")
+                .register(registry)
+                .increment(count);
+    }
+
+    /**
+     * 메모리 엔진이 DB 에 반영하지 못해 수동 처리 대기열에 넣은 사용 건수. 0 이 아니면 운영자 확인이 필요하다.
+     */
+    public void countEngineDeadLetter(String reason) {
+        Counter.builder(ENGINE_DEAD_LETTERS)
+                .description("메모리 엔진 수동 처리 대기열에 넣은 사용 건수")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+}
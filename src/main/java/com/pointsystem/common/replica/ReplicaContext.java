@@ -0,0 +1,33 @@
+package com.pointsystem.common.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드의 읽기 전용 트랜잭션을 복제본으로 보내도 되는지 표시한다. {@link ReplicaRoutingDataSource} 가 커넥션을 얻을 때 읽는다.
+ * <p>
+ * 복제 지연을 허용할 수 있는 조회 엔드포인트만 {@link #read(Supplier)} 로 감싸 복제본을 쓴다.
+ * 표시하지 않은 읽기 전용 트랜잭션(잔액과 캐시 채우기, 정책, 메모리 엔진 반영을 기다린 뒤의 조회 등)은 기본 DB 를 쓴다.
+ */
+public final class ReplicaContext {
+
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+
+    private ReplicaContext() {
+    }
+
+    public static boolean isRequested() {
+        return Boolean.TRUE.equals(REQUESTED.get());
+    }
+
+    public static <T> T read(Supplier<T> action) {
+        if (isRequested()) {
+            return action.get();
+        }
+        REQUESTED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            REQUESTED.remove();
+        }
+    }
+}
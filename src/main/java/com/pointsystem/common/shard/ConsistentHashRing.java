@@ -0,0 +1,88 @@
+package com.pointsystem.common.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 키를 샤드 번호에 배정하는 일관된 해시 링.
+ * <p>
+ * 샤드마다 virtualNodes 개의 점을 링에 두고, 키의 해시보다 크거나 같은 첫 점의 샤드를 고른다.
+ * 샤드를 하나 늘리면 새 샤드가 가져가는 구간의 키(약 1/N)만 옮겨지고 나머지 키의 배정은 바뀌지 않는다.
+ * 점과 소유 샤드는 정렬된 원시 배열에 두고 이진 탐색한다. 만든 뒤에는 바뀌지 않으므로 여러 스레드가 함께 쓴다.
+ */
+public final class ConsistentHashRing {
+
+    private final int shards;
+    private final long[] points;
+    private final int[] owners;
+
+    public ConsistentHashRing(int shards, int virtualNodes) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("샤드 수는 1 이상이어야 합니다: " + shards);
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("가상 노드 수는 1 이상이어야 합니다: " + virtualNodes);
+        }
+        this.shards = shards;
+        int size = shards * virtualNodes;
+        long[] keys = new long[size];
+        for (int shard = 0; shard < shards; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                keys[shard * virtualNodes + node] = hash("shard-" + shard + "#" + node);
+            }
+        }
+        // 점 순서로 정렬하면서 소유 샤드를 함께 옮기기 위해 인덱스를 정렬한다.
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compareUnsigned(keys[a], keys[b]));
+        this.points = new long[size];
+        this.owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = keys[order[i]];
+            owners[i] = order[i] / virtualNodes;
+        }
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public int shardOf(String key) {
+        if (shards == 1) {
+            return 0;
+        }
+        long hash = hash(key);
+        int low = 0;
+        int high = points.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(points[mid], hash) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        // 마지막 점보다 크면 링을 한 바퀴 돌아 첫 점으로 간다.
+        return owners[low == points.length ? 0 : low];
+    }
+
+    /**
+     * UTF-8 바이트의 FNV-1a 64비트 해시에 murmur3 fmix64 를 적용해 비슷한 키도 링 전체에 고르게 퍼지게 한다.
+     * JVM 과 무관하게 같은 값이 나와야 하므로 String.hashCode 는 쓰지 않는다.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,55 @@
+package com.pointsystem.common.shard;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호. {@link ShardRoutingDataSource} 가 커넥션을 얻을 때,
+ * {@link com.pointsystem.common.id.IdGenerators} 가 식별자를 만들 때 읽는다.
+ * <p>
+ * 트랜잭션은 시작한 샤드의 커넥션을 끝까지 쓰므로, 트랜잭션 안에서 다른 샤드로 바꾸려 하면 예외를 던진다.
+ * 샤드는 트랜잭션을 시작하기 전에 정한다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return 설정되지 않았으면 null
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 이미 그 샤드에 있거나 진행 중인 트랜잭션이 없어 샤드를 바꿀 수 있으면 true.
+     */
+    static boolean canEnter(int shard) {
+        Integer current = CURRENT.get();
+        return (current != null && current == shard) || !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    static <T> T call(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        if (previous != null && previous == shard) {
+            return action.get();
+        }
+        if (!canEnter(shard)) {
+            throw new IllegalStateException("트랜잭션 안에서 샤드를 바꿀 수 없습니다: current=" + previous + ", requested=" + shard);
+        }
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
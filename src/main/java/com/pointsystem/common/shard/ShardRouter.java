@@ -0,0 +1,106 @@
+package com.pointsystem.common.shard;
+
+import com.pointsystem.common.id.IdGenerators;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 고객 ID 를 일관된 해시로 샤드에 배정하고, 작업을 그 샤드에서 실행한다 (point.shard.enabled=true).
+ * <p>
+ * 모든 명령과 조회는 한 고객 범위이므로 진입점에서 고객 ID(또는 적립/사용 ID 에 담긴 샤드 번호)로 샤드를 정한 뒤
+ * 트랜잭션을 시작하고, 샤드를 넘나드는 트랜잭션은 없다. 여러 고객을 훑는 배치 작업은 {@link #sumOverShards} 로 샤드마다 실행한다.
+ * 샤딩을 쓰지 않으면 샤드는 1개이고 모든 메서드는 작업을 그대로 실행한다.
+ */
+@Slf4j
+@Component
+public class ShardRouter {
+
+    public static final int DEFAULT_SHARD = 0;
+
+    private final ConsistentHashRing ring;
+
+    public ShardRouter(@Value("${point.shard.enabled:false}") boolean enabled,
+                       @Value("${point.shard.count:1}") int count,
+                       @Value("${point.shard.virtual-nodes:128}") int virtualNodes) {
+        this.ring = new ConsistentHashRing(enabled ? count : 1, virtualNodes);
+        if (enabled) {
+            log.info("고객 샤딩 사용: shards={}, virtualNodes={}", count, virtualNodes);
+        }
+    }
+
+    public int count() {
+        return ring.shards();
+    }
+
+    public boolean isSharded() {
+        return ring.shards() > 1;
+    }
+
+    public int shardOf(String customerId) {
+        return ring.shardOf(customerId);
+    }
+
+    /**
+     * 적립/사용 ID 에 담긴 샤드 번호. 형식이 맞지 않거나 범위를 벗어난 ID 는 기본 샤드로 보내 조회 결과 없음으로 응답하게 한다.
+     */
+    public int shardOfId(String id) {
+        if (!isSharded()) {
+            return DEFAULT_SHARD;
+        }
+        try {
+            int shard = IdGenerators.current().shardOf(id);
+            return shard < count() ? shard : DEFAULT_SHARD;
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_SHARD;
+        }
+    }
+
+    /**
+     * 지금 실행 중인 샤드. 샤드 밖이면 기본 샤드.
+     */
+    public int currentShard() {
+        Integer shard = ShardContext.current();
+        return shard == null ? DEFAULT_SHARD : shard;
+    }
+
+    public <T> T inCustomerShard(String customerId, Supplier<T> action) {
+        return isSharded() && customerId != null ? ShardContext.call(shardOf(customerId), action) : action.get();
+    }
+
+    public <T> T inIdShard(String id, Supplier<T> action) {
+        return isSharded() && id != null ? ShardContext.call(shardOfId(id), action) : action.get();
+    }
+
+    /**
+     * 지금 스레드에서 {@link #inShard} 로 해당 샤드에 들어갈 수 있는지. 다른 샤드의 트랜잭션 안이면 false.
+     */
+    public boolean canEnter(int shard) {
+        return !isSharded() || ShardContext.canEnter(shard);
+    }
+
+    public <T> T inShard(int shard, Supplier<T> action) {
+        return isSharded() ? ShardContext.call(shard, action) : action.get();
+    }
+
+    public void runInShard(int shard, Runnable action) {
+        inShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 샤드마다 차례로 실행하고 결과를 더한다. 배치 작업의 처리 건수 집계에 쓴다.
+     */
+    public int sumOverShards(IntSupplier action) {
+        int sum = 0;
+        for (int shard = 0; shard < count(); shard++) {
+            sum += inShard(shard, action::getAsInt);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,43 @@
+package com.pointsystem.common.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ShardContext} 의 샤드 번호로 커넥션 풀을 고른다. 샤드가 정해지지 않은 작업(멱등성 키, 정책 조회, Flyway 검증 등)은
+ * 기본 샤드({@link ShardRouter#DEFAULT_SHARD})를 쓴다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<HikariDataSource> shards;
+
+    public ShardRoutingDataSource(List<HikariDataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(ShardRouter.DEFAULT_SHARD));
+        // 샤드 번호가 잘못되면 기본 샤드로 보내지 않고 실패시킨다.
+        setLenientFallback(false);
+    }
+
+    public List<HikariDataSource> shards() {
+        return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
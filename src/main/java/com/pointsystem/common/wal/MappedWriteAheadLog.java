@@ -0,0 +1,444 @@
+package com.pointsystem.common.wal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑 세그먼트 파일에 레코드를 덧붙이는 선행 기록 로그(WAL).
+ * <p>
+ * 레코드는 [길이 4B][CRC32C 4B][LSN 8B][payload] 형식이며 LSN 은 1 부터 1 씩 증가한다.
+ * 세그먼트는 첫 LSN 을 파일 이름으로 쓰는 고정 크기 파일이고, 가득 차면 강제 기록 후 다음 세그먼트로 넘어간다.
+ * <p>
+ * append 는 매핑된 버퍼에 쓰기만 하고 반환하며, 전용 flush 스레드가 그 사이 쌓인 레코드를 한 번의 force 로
+ * 디스크에 내린다(그룹 fsync). 호출자는 {@link #awaitDurable(long)} 으로 자기 LSN 이 내려갈 때까지 기다린다.
+ * <p>
+ * 열 때 마지막 세그먼트의 끝에서 길이/CRC/LSN 이 맞지 않는 레코드를 만나면 그 지점을 로그의 끝으로 보고
+ * 나머지를 0 으로 지운다(쓰다 만 레코드 제거).
+ */
+@Slf4j
+public final class MappedWriteAheadLog implements AutoCloseable {
+
+    static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long groupCommitDelayNanos;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition durableAdvanced = durableLock.newCondition();
+
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment active;
+    private long nextLsn;
+    private volatile long appendedLsn;
+    private volatile long durableLsn;
+    private volatile long checkpointLsn;
+    private volatile IOException flushFailure;
+    private volatile boolean closed;
+    private final Thread flusher;
+
+    private MappedWriteAheadLog(Path directory, int segmentBytes, Duration groupCommitDelay) throws IOException {
+        if (segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("세그먼트 크기가 너무 작습니다: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.groupCommitDelayNanos = groupCommitDelay.toNanos();
+        Files.createDirectories(directory);
+        this.checkpointLsn = readCheckpoint();
+        recover();
+        this.flusher = Thread.ofPlatform().name("wal-flusher").daemon().unstarted(this::flushLoop);
+        this.flusher.start();
+    }
+
+    /**
+     * 디렉터리의 기존 세그먼트를 검사해 로그 끝을 찾고 덧붙이기를 준비한다.
+     *
+     * @param groupCommitDelay flush 스레드가 깨어난 뒤 다른 레코드가 더 쌓이기를 기다리는 시간. 0 이면 바로 내린다.
+     */
+    public static MappedWriteAheadLog open(Path directory, int segmentBytes, Duration groupCommitDelay) {
+        try {
+            return new MappedWriteAheadLog(directory, segmentBytes, groupCommitDelay);
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 열기 실패: " + directory, e);
+        }
+    }
+
+    /**
+     * 레코드를 덧붙이고 LSN 을 반환한다. 반환 시점에는 아직 디스크에 내려가지 않았을 수 있다.
+     */
+    public long append(byte[] payload) {
+        if (payload.length > segmentBytes - HEADER_BYTES) {
+            throw new IllegalArgumentException("레코드가 세그먼트보다 큽니다: " + payload.length);
+        }
+        appendLock.lock();
+        try {
+            ensureOpen();
+            if (active.remaining() < HEADER_BYTES + payload.length) {
+                roll();
+            }
+            long lsn = nextLsn++;
+            active.write(lsn, payload);
+            appendedLsn = lsn;
+            LockSupport.unpark(flusher);
+            return lsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 기록 실패", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 해당 LSN 까지 디스크에 내려갈 때까지 기다린다.
+     *
+     * @throws UncheckedIOException flush 가 실패한 경우. 이후의 모든 기록도 실패한다.
+     */
+    public void awaitDurable(long lsn) {
+        if (durableLsn >= lsn) {
+            return;
+        }
+        durableLock.lock();
+        try {
+            while (durableLsn < lsn) {
+                if (flushFailure != null) {
+                    throw new UncheckedIOException("WAL flush 실패", flushFailure);
+                }
+                if (closed) {
+                    throw new IllegalStateException("WAL 이 닫혔습니다.");
+                }
+                durableAdvanced.awaitUninterruptibly();
+            }
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    /**
+     * 체크포인트 이후의 레코드를 LSN 순서로 읽는다. 덧붙이기를 시작하기 전(복구 시점)에만 호출한다.
+     */
+    public void replay(Consumer<Entry> consumer) {
+        for (Segment segment : segments) {
+            segment.read(checkpointLsn, consumer);
+        }
+    }
+
+    /**
+     * 해당 LSN 까지의 레코드가 더 이상 필요 없음을 기록하고, 그 안에 모두 포함되는 세그먼트를 지운다.
+     * 체크포인트 파일은 임시 파일을 쓴 뒤 이동해 한 번에 바꾼다.
+     */
+    public void checkpoint(long lsn) {
+        if (lsn <= checkpointLsn) {
+            return;
+        }
+        try {
+            Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.writeString(temp, Long.toString(lsn), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            checkpointLsn = lsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 체크포인트 기록 실패", e);
+        }
+
+        appendLock.lock();
+        try {
+            // 다음 세그먼트의 첫 LSN 이 체크포인트 이하이면 이 세그먼트의 레코드는 모두 반영된 것이다.
+            while (segments.size() > 1 && segments.get(1).firstLsn <= lsn + 1) {
+                Segment obsolete = segments.removeFirst();
+                obsolete.close();
+                Files.deleteIfExists(obsolete.path);
+                log.debug("WAL 세그먼트 삭제: path={}", obsolete.path);
+            }
+        } catch (IOException e) {
+            log.warn("WAL 세그먼트 삭제 실패", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long appendedLsn() {
+        return appendedLsn;
+    }
+
+    public long durableLsn() {
+        return durableLsn;
+    }
+
+    public long checkpointLsn() {
+        return checkpointLsn;
+    }
+
+    /**
+     * 남은 레코드를 디스크에 내리고 파일을 닫는다.
+     */
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Segment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("WAL 세그먼트 닫기 실패: path={}", segment.path, e);
+            }
+        }
+        signalDurable();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("WAL 이 닫혔습니다.");
+        }
+        if (flushFailure != null) {
+            throw new UncheckedIOException("WAL flush 실패", flushFailure);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long target = appendedLsn;
+            if (target > durableLsn) {
+                if (groupCommitDelayNanos > 0 && !closed) {
+                    LockSupport.parkNanos(groupCommitDelayNanos);
+                }
+                flush();
+            } else if (closed) {
+                return;
+            } else {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    private void flush() {
+        Segment segment;
+        int from;
+        int to;
+        long target;
+        appendLock.lock();
+        try {
+            segment = active;
+            target = appendedLsn;
+            from = segment.flushedOffset;
+            to = segment.writeOffset;
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            // 이전 세그먼트는 넘어갈 때 이미 내려갔으므로 현재 세그먼트의 새로 쓴 구간만 내린다.
+            if (to > from) {
+                segment.buffer.force(from, to - from);
+                segment.flushedOffset = to;
+            }
+            durableLsn = target;
+        } catch (RuntimeException e) {
+            log.error("WAL flush 실패: path={}", segment.path, e);
+            flushFailure = new IOException(e);
+            closed = true;
+        }
+        signalDurable();
+    }
+
+    private void signalDurable() {
+        durableLock.lock();
+        try {
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        active.buffer.force();
+        active.flushedOffset = active.writeOffset;
+        active = Segment.create(directory, nextLsn, segmentBytes);
+        segments.add(active);
+        log.info("WAL 세그먼트 전환: path={}", active.path);
+    }
+
+    private void recover() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+
+        long expectedLsn = 0;
+        for (Path path : paths) {
+            Segment segment = Segment.open(path);
+            // 체크포인트 이전에 지워지지 못한 세그먼트는 LSN 연속성 검사에서 제외한다.
+            if (expectedLsn != 0 && segment.firstLsn != expectedLsn) {
+                throw new IllegalStateException("WAL 세그먼트 LSN 이 연속되지 않습니다: " + path + ", expected=" + expectedLsn);
+            }
+            expectedLsn = segment.scan() + 1;
+            segments.add(segment);
+        }
+
+        if (segments.isEmpty()) {
+            nextLsn = checkpointLsn + 1;
+            active = Segment.create(directory, nextLsn, segmentBytes);
+            segments.add(active);
+        } else {
+            active = segments.getLast();
+            nextLsn = expectedLsn;
+            active.truncateTail();
+        }
+        appendedLsn = nextLsn - 1;
+        durableLsn = appendedLsn;
+        log.info("WAL 열기: directory={}, segments={}, checkpointLsn={}, lastLsn={}",
+                directory, segments.size(), checkpointLsn, appendedLsn);
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(path, StandardCharsets.UTF_8).trim());
+    }
+
+    /**
+     * @param lsn     레코드 순번
+     * @param payload 기록한 바이트
+     */
+    public record Entry(long lsn, byte[] payload) {
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final long firstLsn;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+        private volatile int flushedOffset;
+
+        private Segment(Path path, long firstLsn, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstLsn = firstLsn;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path directory, long firstLsn, int segmentBytes) throws IOException {
+            Path path = directory.resolve(String.format("%020d%s", firstLsn, SEGMENT_SUFFIX));
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            return new Segment(path, firstLsn, channel, buffer);
+        }
+
+        static Segment open(Path path) throws IOException {
+            String name = path.getFileName().toString();
+            long firstLsn = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            return new Segment(path, firstLsn, channel, buffer);
+        }
+
+        int remaining() {
+            return buffer.capacity() - writeOffset;
+        }
+
+        void write(long lsn, byte[] payload) {
+            ByteBuffer record = buffer.duplicate();
+            record.position(writeOffset + Integer.BYTES);
+            record.putInt(checksum(lsn, payload));
+            record.putLong(lsn);
+            record.put(payload);
+            // 길이를 마지막에 써서, 쓰다 만 레코드는 길이 0 또는 CRC 불일치로 보이게 한다.
+            buffer.putInt(writeOffset, payload.length);
+            writeOffset += HEADER_BYTES + payload.length;
+        }
+
+        /**
+         * 유효한 레코드의 끝까지 읽어 쓰기 위치를 정하고 마지막 LSN 을 반환한다.
+         */
+        long scan() {
+            long[] last = {firstLsn - 1};
+            writeOffset = read(0, entry -> last[0] = entry.lsn());
+            flushedOffset = writeOffset;
+            return last[0];
+        }
+
+        /**
+         * @return 마지막 유효 레코드 다음 위치
+         */
+        int read(long afterLsn, Consumer<Entry> consumer) {
+            int offset = 0;
+            long expectedLsn = firstLsn;
+            while (offset + HEADER_BYTES <= buffer.capacity()) {
+                int length = buffer.getInt(offset);
+                if (length <= 0 || offset + HEADER_BYTES + length > buffer.capacity()) {
+                    break;
+                }
+                int crc = buffer.getInt(offset + Integer.BYTES);
+                long lsn = buffer.getLong(offset + Integer.BYTES * 2);
+                byte[] payload = new byte[length];
+                buffer.get(offset + HEADER_BYTES, payload);
+                if (lsn != expectedLsn || crc != checksum(lsn, payload)) {
+                    break;
+                }
+                if (lsn > afterLsn) {
+                    consumer.accept(new Entry(lsn, payload));
+                }
+                offset += HEADER_BYTES + length;
+                expectedLsn++;
+            }
+            return offset;
+        }
+
+        void truncateTail() {
+            if (writeOffset < buffer.capacity()) {
+                buffer.put(writeOffset, new byte[buffer.capacity() - writeOffset]);
+                buffer.force();
+            }
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+
+        private static int checksum(long lsn, byte[] payload) {
+            CRC32C crc = new CRC32C();
+            crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, lsn));
+            crc.update(payload);
+            return (int) crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.pointsystem.point.archive;
+
+import com.pointsystem.common.metrics.PointMetrics;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.repository.LedgerArchiveRow;
+import com.pointsystem.point.domain.repository.LedgerEntry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 보관 기간이 지나 point_ledger 에서 옮긴 원장을 담는 로컬 세그먼트 파일 모음.
+ * <p>
+ * 세그먼트는 만든 뒤 바뀌지 않으며, 목록은 최대 createdAt 내림차순으로 유지한다(copy-on-write).
+ * 고객 원장 조회는 최신 세그먼트부터 읽다가, 이미 모은 limit 번째 항목보다 다음 세그먼트의 최대 createdAt 이
+ * 오래되면 멈춘다. 아카이버는 오래된 원장부터 옮기므로 보통 최신 세그먼트 몇 개만 읽는다.
+ * 이력이 짧은 고객은 멈출 조건을 채우지 못하므로, 세그먼트마다 메모리에 둔 고객 필터로 그 고객이 없는 세그먼트는 파일을 읽지 않고 건너뛴다.
+ */
+@Slf4j
+@Component
+public class LedgerArchive {
+
+    /**
+     * 원장 조회 순서 (createdAt DESC, ledgerId DESC). point_ledger 키셋 페이지와 같다.
+     */
+    public static final Comparator<LedgerEntry> NEWEST_FIRST = Comparator
+            .comparing(LedgerEntry::createdAt, Comparator.reverseOrder())
+            .thenComparing(LedgerEntry::ledgerId, Comparator.reverseOrder());
+
+    private static final Comparator<LedgerSegment> LATEST_SEGMENT_FIRST = Comparator
+            .comparing(LedgerSegment::maxCreatedAt, Comparator.reverseOrder())
+            .thenComparing(LedgerSegment::sequence, Comparator.reverseOrder());
+
+    private final Path directory;
+    private final PointMetrics metrics;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile List<LedgerSegment> segments = List.of();
+    private long nextSequence = 1;
+
+    public LedgerArchive(@Value("${point.ledger.archive.directory:build/ledger-archive}") String directory,
+                         PointMetrics metrics) {
+        this.directory = Path.of(directory);
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    void load() {
+        List<LedgerSegment> loaded = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path path : files.toList()) {
+                    String name = path.getFileName().toString();
+                    if (name.endsWith(LedgerSegment.SUFFIX + ".tmp")) {
+                        // 이름을 바꾸기 전에 멈춘 세그먼트. 원장은 아직 point_ledger 에 남아 있다.
+                        Files.delete(path);
+                    } else if (name.endsWith(LedgerSegment.SUFFIX)) {
+                        loaded.add(LedgerSegment.open(path));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("원장 아카이브 열기 실패: " + directory, e);
+        }
+        loaded.sort(LATEST_SEGMENT_FIRST);
+        segments = List.copyOf(loaded);
+        nextSequence = loaded.stream().mapToLong(LedgerSegment::sequence).max().orElse(0) + 1;
+        metrics.gauge("point.ledger.archive.rows", this, archive -> archive.segments.stream().mapToLong(LedgerSegment::rowCount).sum());
+        metrics.gauge("point.ledger.archive.segments", this, archive -> archive.segments.size());
+        log.info("원장 아카이브 로드: directory={}, segments={}", directory, loaded.size());
+    }
+
+    /**
+     * 아카이브된 원장 중 가장 최근 createdAt. 비어 있으면 null.
+     */
+    public Instant maxCreatedAt() {
+        List<LedgerSegment> current = segments;
+        return current.isEmpty() ? null : current.getFirst().maxCreatedAt();
+    }
+
+    /**
+     * 고객의 아카이브 원장을 최신순으로 최대 limit 건 읽는다. 커서가 있으면 (afterCreatedAt, afterLedgerId) 다음부터 읽는다.
+     */
+    public List<LedgerEntry> findPage(String customerId, LedgerEventType eventType,
+                                      Instant afterCreatedAt, String afterLedgerId, int limit) {
+        List<LedgerEntry> collected = new ArrayList<>();
+        try {
+            for (LedgerSegment segment : segments) {
+                if (collected.size() >= limit) {
+                    collected.sort(NEWEST_FIRST);
+                    if (segment.maxCreatedAt().isBefore(collected.get(limit - 1).createdAt())) {
+                        break;
+                    }
+                }
+                if (afterCreatedAt != null && segment.minCreatedAt().isAfter(afterCreatedAt)) {
+                    continue;
+                }
+                if (!segment.mightContain(customerId)) {
+                    continue;
+                }
+                for (LedgerEntry entry : segment.read(customerId)) {
+                    if ((eventType == null || entry.eventType() == eventType)
+                            && (afterCreatedAt == null || isBefore(entry, afterCreatedAt, afterLedgerId))) {
+                        collected.add(entry);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("원장 아카이브 조회 실패: customerId=" + customerId, e);
+        }
+        collected.sort(NEWEST_FIRST);
+        return collected.size() > limit ? List.copyOf(collected.subList(0, limit)) : collected;
+    }
+
+    /**
+     * 원장을 새 세그먼트로 쓴다. 반환 시점에는 파일이 디스크에 내려가 있으므로 point_ledger 에서 지워도 된다.
+     */
+    LedgerSegment append(List<LedgerArchiveRow> rows) {
+        appendLock.lock();
+        try {
+            LedgerSegment segment = LedgerSegment.write(directory, nextSequence, rows);
+            nextSequence++;
+            List<LedgerSegment> updated = new ArrayList<>(segments);
+            updated.add(segment);
+            updated.sort(LATEST_SEGMENT_FIRST);
+            segments = List.copyOf(updated);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("원장 세그먼트 쓰기 실패: directory=" + directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막으로 쓴 세그먼트의 원장 ID. 세그먼트를 쓴 뒤 point_ledger 삭제 전에 멈췄을 때 남은 행을 지우는 데 쓴다.
+     */
+    List<String> lastAppendedLedgerIds() {
+        LedgerSegment last = segments.stream().max(Comparator.comparingLong(LedgerSegment::sequence)).orElse(null);
+        if (last == null) {
+            return List.of();
+        }
+        try {
+            return last.ledgerIds();
+        } catch (IOException e) {
+            throw new UncheckedIOException("원장 세그먼트 읽기 실패: " + last.path(), e);
+        }
+    }
+
+    private static boolean isBefore(LedgerEntry entry, Instant createdAt, String ledgerId) {
+        int compared = entry.createdAt().compareTo(createdAt);
+        return compared < 0 || (compared == 0 && entry.ledgerId().compareTo(ledgerId) < 0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.pointsystem.point.archive;
+
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.point.domain.repository.LedgerArchiveRow;
+import com.pointsystem.point.domain.repository.PointLedgerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 보관 기간(horizon-days)이 지난 원장을 오래된 순으로 읽어 세그먼트 파일로 쓰고 point_ledger 에서 지운다.
+ * <p>
+ * 세그먼트를 디스크에 내린 뒤에 삭제하므로, 그 사이에 멈추면 같은 원장이 양쪽에 남는다.
+ * 조회는 ledgerId 로 중복을 걸러 내고, 다음 실행은 시작할 때 마지막 세그먼트의 원장을 point_ledger 에서 다시 지운다.
+ * 샤딩 모드에서는 샤드마다 차례로 옮기며, 세그먼트는 모든 샤드가 함께 쓴다(고객은 한 샤드에만 있다).
+ */
+@Slf4j
+@Component
+public class LedgerArchiver {
+
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final PointLedgerRepository ledgerRepository;
+    private final LedgerArchive archive;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final int segmentMaxRows;
+    private final int maxSegmentsPerRun;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public LedgerArchiver(PointLedgerRepository ledgerRepository,
+                          LedgerArchive archive,
+                          TransactionTemplate transactionTemplate,
+                          ShardRouter shardRouter,
+                          @Value("${point.ledger.archive.enabled:false}") boolean enabled,
+                          @Value("${point.ledger.archive.horizon-days:365}") long horizonDays,
+                          @Value("${point.ledger.archive.segment-max-rows:100000}") int segmentMaxRows,
+                          @Value("${point.ledger.archive.max-segments-per-run:10}") int maxSegmentsPerRun) {
+        this.ledgerRepository = ledgerRepository;
+        this.archive = archive;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.horizon = Duration.ofDays(horizonDays);
+        this.segmentMaxRows = segmentMaxRows;
+        this.maxSegmentsPerRun = maxSegmentsPerRun;
+    }
+
+    @Scheduled(cron = "${point.ledger.archive.cron:0 30 4 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive(Instant.now());
+        }
+    }
+
+    /**
+     * @return 이번 실행에서 세그먼트로 옮긴 원장 수
+     */
+    public int archive(Instant now) {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            // 마지막 세그먼트가 어느 샤드의 원장인지 모르므로 모든 샤드에서 지운다. 없는 ID 는 지워지지 않는다.
+            List<String> lastSegment = archive.lastAppendedLedgerIds();
+            int leftover = shardRouter.sumOverShards(() -> deleteHot(lastSegment));
+            if (leftover > 0) {
+                log.warn("이전 아카이브 실행이 남긴 원장 삭제: count={}", leftover);
+            }
+            return shardRouter.sumOverShards(() -> archiveShard(now.minus(horizon)));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveShard(Instant before) {
+        long startedAt = System.nanoTime();
+        int archived = 0;
+        int segments = 0;
+        while (segments < maxSegmentsPerRun) {
+            List<LedgerArchiveRow> rows = ledgerRepository.findArchiveCandidates(before, Limit.of(segmentMaxRows));
+            if (rows.isEmpty()) {
+                break;
+            }
+            LedgerSegment segment = archive.append(rows);
+            deleteHot(rows.stream().map(LedgerArchiveRow::ledgerId).toList());
+            archived += rows.size();
+            segments++;
+            log.info("원장 세그먼트 생성: file={}, rows={}, createdAt=[{}, {}]",
+                    segment.path().getFileName(), segment.rowCount(), segment.minCreatedAt(), segment.maxCreatedAt());
+            if (rows.size() < segmentMaxRows) {
+                break;
+            }
+        }
+        log.info("원장 아카이브 완료: shard={}, before={}, archived={}, segments={}, elapsedMs={}",
+                shardRouter.currentShard(), before, archived, segments, (System.nanoTime() - startedAt) / 1_000_000);
+        return archived;
+    }
+
+    private int deleteHot(List<String> ledgerIds) {
+        int deleted = 0;
+        for (int from = 0; from < ledgerIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<String> chunk = ledgerIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ledgerIds.size()));
+            Integer count = transactionTemplate.execute(status -> ledgerRepository.deleteByLedgerIds(chunk));
+            deleted += count == null ? 0 : count;
+        }
+        return deleted;
+    }
+}
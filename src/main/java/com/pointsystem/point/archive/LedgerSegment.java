@@ -0,0 +1,532 @@
+package com.pointsystem.point.archive;
+
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.repository.LedgerArchiveRow;
+import com.pointsystem.point.domain.repository.LedgerEntry;
+
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 아카이브된 원장 세그먼트 파일. 한 번 쓰면 바뀌지 않는다.
+ * <pre>
+ * [헤더]   MAGIC, VERSION, 행 수, 최소/최대 createdAt(마이크로초), footer 위치/길이, 고객 필터 크기(long 수)/해시 수
+ * [필터]   고객 ID 블룸 필터 (비압축, 열 때 메모리에 올린다)
+ * [블록]   행을 BLOCK_ROWS 개씩 나누어 컬럼별로 모은 뒤 Deflate 로 압축
+ * [footer] Deflate 압축: 이벤트 타입 사전, 블록 위치, 고객 색인(고객 ID, 첫 행, 행 수)
+ * </pre>
+ * 행은 (customerId, createdAt DESC, ledgerId DESC) 순으로 정렬해 한 고객의 이력이 이어진 블록에 모이게 하고,
+ * 조회 시에는 고객 색인을 이진 탐색해 해당 블록만 푼다. footer 는 처음 조회할 때 읽어 soft reference 로 보관한다.
+ * 고객 필터로 그 고객이 없는 세그먼트는 footer 를 읽지 않고 건너뛴다.
+ */
+final class LedgerSegment {
+
+    static final int BLOCK_ROWS = 4096;
+    static final String SUFFIX = ".seg";
+    private static final int MAGIC = 0x504C5347;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 3 + Long.BYTES * 3 + Integer.BYTES * 3;
+
+    private static final Comparator<LedgerArchiveRow> SEGMENT_ORDER = Comparator
+            .comparing(LedgerArchiveRow::customerId)
+            .thenComparing(LedgerArchiveRow::createdAt, Comparator.reverseOrder())
+            .thenComparing(LedgerArchiveRow::ledgerId, Comparator.reverseOrder());
+
+    private final Path path;
+    private final long sequence;
+    private final int rowCount;
+    private final Instant minCreatedAt;
+    private final Instant maxCreatedAt;
+    private final long footerOffset;
+    private final int footerLength;
+    private final CustomerFilter customerFilter;
+    private volatile SoftReference<Footer> footer = new SoftReference<>(null);
+
+    private LedgerSegment(Path path, long sequence, int rowCount, Instant minCreatedAt, Instant maxCreatedAt,
+                          long footerOffset, int footerLength, CustomerFilter customerFilter) {
+        this.path = path;
+        this.sequence = sequence;
+        this.rowCount = rowCount;
+        this.minCreatedAt = minCreatedAt;
+        this.maxCreatedAt = maxCreatedAt;
+        this.footerOffset = footerOffset;
+        this.footerLength = footerLength;
+        this.customerFilter = customerFilter;
+    }
+
+    static Path pathOf(Path directory, long sequence) {
+        return directory.resolve(String.format("%020d%s", sequence, SUFFIX));
+    }
+
+    /**
+     * 원장 행을 새 세그먼트 파일로 쓴다. 임시 파일에 쓰고 fsync 한 뒤 이름을 바꾸므로 중간에 멈추면 파일이 남지 않는다.
+     * 이름 변경도 디렉터리를 fsync 해 내려야 하므로, 반환 후 point_ledger 에서 지워도 전원이 나가 세그먼트가 사라지지 않는다.
+     */
+    static LedgerSegment write(Path directory, long sequence, List<LedgerArchiveRow> rows) throws IOException {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("빈 세그먼트는 만들 수 없습니다.");
+        }
+        List<LedgerArchiveRow> sorted = new ArrayList<>(rows);
+        sorted.sort(SEGMENT_ORDER);
+
+        long minMicros = Long.MAX_VALUE;
+        long maxMicros = Long.MIN_VALUE;
+        for (LedgerArchiveRow row : sorted) {
+            long micros = toMicros(row.createdAt());
+            minMicros = Math.min(minMicros, micros);
+            maxMicros = Math.max(maxMicros, micros);
+        }
+
+        CustomerFilter customerFilter = CustomerFilter.of(sorted);
+        Path target = pathOf(directory, sequence);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        int blockCount = (sorted.size() + BLOCK_ROWS - 1) / BLOCK_ROWS;
+        long[] blockOffsets = new long[blockCount];
+        int[] blockLengths = new int[blockCount];
+        long footerOffset;
+        int footerLength;
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer filter = customerFilter.encode();
+            writeFully(channel, filter, HEADER_BYTES);
+            long position = HEADER_BYTES + (long) filter.capacity();
+            for (int block = 0; block < blockCount; block++) {
+                int from = block * BLOCK_ROWS;
+                byte[] compressed = deflate(encodeBlock(sorted.subList(from, Math.min(from + BLOCK_ROWS, sorted.size()))));
+                writeFully(channel, ByteBuffer.wrap(compressed), position);
+                blockOffsets[block] = position;
+                blockLengths[block] = compressed.length;
+                position += compressed.length;
+            }
+
+            byte[] footerBytes = deflate(encodeFooter(sorted, blockOffsets, blockLengths));
+            writeFully(channel, ByteBuffer.wrap(footerBytes), position);
+            footerOffset = position;
+            footerLength = footerBytes.length;
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putInt(VERSION).putInt(sorted.size())
+                    .putLong(minMicros).putLong(maxMicros)
+                    .putLong(footerOffset).putInt(footerLength)
+                    .putInt(customerFilter.words().length).putInt(customerFilter.hashes())
+                    .flip();
+            writeFully(channel, header, 0);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+        return new LedgerSegment(target, sequence, sorted.size(), fromMicros(minMicros), fromMicros(maxMicros),
+                footerOffset, footerLength, customerFilter);
+    }
+
+    /**
+     * 헤더와 고객 필터만 읽어 연다. 블록과 footer 는 조회할 때 읽는다.
+     */
+    static LedgerSegment open(Path path) throws IOException {
+        String name = path.getFileName().toString();
+        long sequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("원장 세그먼트 파일이 아닙니다: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 원장 세그먼트 버전입니다: " + version + ", path=" + path);
+            }
+            int rowCount = header.getInt();
+            Instant minCreatedAt = fromMicros(header.getLong());
+            Instant maxCreatedAt = fromMicros(header.getLong());
+            long footerOffset = header.getLong();
+            int footerLength = header.getInt();
+            int words = header.getInt();
+            int hashes = header.getInt();
+            CustomerFilter customerFilter = CustomerFilter.decode(readFully(channel, HEADER_BYTES, words * Long.BYTES), words, hashes);
+            return new LedgerSegment(path, sequence, rowCount, minCreatedAt, maxCreatedAt, footerOffset, footerLength,
+                    customerFilter);
+        }
+    }
+
+    /**
+     * 고객이 세그먼트에 있을 수 있는지. false 면 확실히 없다.
+     */
+    boolean mightContain(String customerId) {
+        return customerFilter.mightContain(customerId);
+    }
+
+    /**
+     * 고객의 원장을 최신순으로 읽는다. 세그먼트에 없는 고객이면 빈 목록.
+     */
+    List<LedgerEntry> read(String customerId) throws IOException {
+        if (!mightContain(customerId)) {
+            return List.of();
+        }
+        Footer footer = footer();
+        int index = Arrays.binarySearch(footer.customerIds, customerId);
+        if (index < 0) {
+            return List.of();
+        }
+        int firstRow = footer.firstRows[index];
+        int lastRow = firstRow + footer.rowCounts[index] - 1;
+        List<LedgerEntry> entries = new ArrayList<>(footer.rowCounts[index]);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int block = firstRow / BLOCK_ROWS; block <= lastRow / BLOCK_ROWS; block++) {
+                int blockStart = block * BLOCK_ROWS;
+                Block decoded = readBlock(channel, footer, block);
+                for (int row = Math.max(firstRow, blockStart); row <= Math.min(lastRow, blockStart + decoded.size() - 1); row++) {
+                    entries.add(decoded.entry(row - blockStart));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 세그먼트에 들어 있는 모든 원장 ID.
+     */
+    List<String> ledgerIds() throws IOException {
+        Footer footer = footer();
+        List<String> ledgerIds = new ArrayList<>(rowCount);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int block = 0; block < footer.blockOffsets.length; block++) {
+                ledgerIds.addAll(Arrays.asList(readBlock(channel, footer, block).ledgerIds));
+            }
+        }
+        return ledgerIds;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    Instant minCreatedAt() {
+        return minCreatedAt;
+    }
+
+    Instant maxCreatedAt() {
+        return maxCreatedAt;
+    }
+
+    private Footer footer() throws IOException {
+        Footer loaded = footer.get();
+        if (loaded != null) {
+            return loaded;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            byte[] compressed = readFully(channel, footerOffset, footerLength).array();
+            loaded = Footer.decode(new DataInputStream(new ByteArrayInputStream(inflate(compressed))));
+        }
+        footer = new SoftReference<>(loaded);
+        return loaded;
+    }
+
+    private Block readBlock(FileChannel channel, Footer footer, int block) throws IOException {
+        byte[] compressed = readFully(channel, footer.blockOffsets[block], footer.blockLengths[block]).array();
+        return Block.decode(new DataInputStream(new ByteArrayInputStream(inflate(compressed))), footer.eventTypes);
+    }
+
+    /**
+     * 블록 안에서는 컬럼별로 값을 모아 쓴다. 같은 종류의 값이 이어지므로 행 단위로 쓸 때보다 잘 압축된다.
+     * createdAt 은 앞 행과의 차이로 쓴다.
+     */
+    private static byte[] encodeBlock(List<LedgerArchiveRow> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(rows.size() * 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(rows.size());
+        for (LedgerArchiveRow row : rows) {
+            out.writeUTF(row.ledgerId());
+        }
+        for (LedgerArchiveRow row : rows) {
+            out.writeByte(row.eventType().ordinal());
+        }
+        for (LedgerArchiveRow row : rows) {
+            writeNullableUTF(out, row.refId());
+        }
+        for (LedgerArchiveRow row : rows) {
+            out.writeLong(row.amount());
+        }
+        for (LedgerArchiveRow row : rows) {
+            writeNullableUTF(out, row.orderId());
+        }
+        long previous = 0;
+        for (LedgerArchiveRow row : rows) {
+            long micros = toMicros(row.createdAt());
+            out.writeLong(micros - previous);
+            previous = micros;
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeFooter(List<LedgerArchiveRow> sorted, long[] blockOffsets, int[] blockLengths) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        // 이벤트 타입은 이름 사전으로 남겨 enum 순서가 바뀌어도 읽을 수 있게 한다.
+        LedgerEventType[] types = LedgerEventType.values();
+        out.writeInt(types.length);
+        for (LedgerEventType type : types) {
+            out.writeUTF(type.name());
+        }
+        out.writeInt(blockOffsets.length);
+        for (int i = 0; i < blockOffsets.length; i++) {
+            out.writeLong(blockOffsets[i]);
+            out.writeInt(blockLengths[i]);
+        }
+
+        List<Integer> runStarts = new ArrayList<>();
+        for (int row = 0; row < sorted.size(); row++) {
+            if (row == 0 || !sorted.get(row).customerId().equals(sorted.get(row - 1).customerId())) {
+                runStarts.add(row);
+            }
+        }
+        out.writeInt(runStarts.size());
+        for (int i = 0; i < runStarts.size(); i++) {
+            int start = runStarts.get(i);
+            int end = i + 1 < runStarts.size() ? runStarts.get(i + 1) : sorted.size();
+            out.writeUTF(sorted.get(start).customerId());
+            out.writeInt(start);
+            out.writeInt(end - start);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("원장 세그먼트 블록이 잘렸습니다.");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("원장 세그먼트 블록을 풀 수 없습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("원장 세그먼트 파일이 잘렸습니다.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000L);
+    }
+
+    private static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    /**
+     * 고객 ID 블룸 필터. 고객당 약 10비트, 해시 7개로 오탐률은 1% 안팎이다.
+     * 해시는 UTF-8 바이트의 64비트 FNV-1a 를 둘로 나누어 이중 해싱한다.
+     */
+    private record CustomerFilter(long[] words, int hashes) {
+
+        private static final int BITS_PER_CUSTOMER = 10;
+        private static final int HASHES = 7;
+
+        static CustomerFilter of(List<LedgerArchiveRow> sorted) {
+            int customers = 0;
+            for (int row = 0; row < sorted.size(); row++) {
+                if (row == 0 || !sorted.get(row).customerId().equals(sorted.get(row - 1).customerId())) {
+                    customers++;
+                }
+            }
+            long bits = Math.max(Long.SIZE, (long) customers * BITS_PER_CUSTOMER);
+            CustomerFilter filter = new CustomerFilter(new long[(int) ((bits + Long.SIZE - 1) / Long.SIZE)], HASHES);
+            for (int row = 0; row < sorted.size(); row++) {
+                if (row == 0 || !sorted.get(row).customerId().equals(sorted.get(row - 1).customerId())) {
+                    filter.add(sorted.get(row).customerId());
+                }
+            }
+            return filter;
+        }
+
+        static CustomerFilter decode(ByteBuffer buffer, int words, int hashes) {
+            long[] decoded = new long[words];
+            buffer.asLongBuffer().get(decoded);
+            return new CustomerFilter(decoded, hashes);
+        }
+
+        ByteBuffer encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES);
+            buffer.asLongBuffer().put(words);
+            return buffer;
+        }
+
+        boolean mightContain(String customerId) {
+            long hash = hash(customerId);
+            long bits = (long) words.length * Long.SIZE;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod((int) hash + i * (int) (hash >>> 32), bits);
+                if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void add(String customerId) {
+            long hash = hash(customerId);
+            long bits = (long) words.length * Long.SIZE;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod((int) hash + i * (int) (hash >>> 32), bits);
+                words[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        private static long hash(String customerId) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : customerId.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+
+    private record Footer(LedgerEventType[] eventTypes, long[] blockOffsets, int[] blockLengths,
+                          String[] customerIds, int[] firstRows, int[] rowCounts) {
+
+        static Footer decode(DataInputStream in) throws IOException {
+            LedgerEventType[] eventTypes = new LedgerEventType[in.readInt()];
+            for (int i = 0; i < eventTypes.length; i++) {
+                eventTypes[i] = LedgerEventType.valueOf(in.readUTF());
+            }
+            int blockCount = in.readInt();
+            long[] blockOffsets = new long[blockCount];
+            int[] blockLengths = new int[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                blockOffsets[i] = in.readLong();
+                blockLengths[i] = in.readInt();
+            }
+            int customerCount = in.readInt();
+            String[] customerIds = new String[customerCount];
+            int[] firstRows = new int[customerCount];
+            int[] rowCounts = new int[customerCount];
+            for (int i = 0; i < customerCount; i++) {
+                customerIds[i] = in.readUTF();
+                firstRows[i] = in.readInt();
+                rowCounts[i] = in.readInt();
+            }
+            return new Footer(eventTypes, blockOffsets, blockLengths, customerIds, firstRows, rowCounts);
+        }
+    }
+
+    private record Block(String[] ledgerIds, LedgerEventType[] eventTypes, String[] refIds, long[] amounts,
+                         String[] orderIds, long[] createdAtMicros) {
+
+        static Block decode(DataInputStream in, LedgerEventType[] dictionary) throws IOException {
+            int size = in.readInt();
+            String[] ledgerIds = new String[size];
+            for (int i = 0; i < size; i++) {
+                ledgerIds[i] = in.readUTF();
+            }
+            LedgerEventType[] eventTypes = new LedgerEventType[size];
+            for (int i = 0; i < size; i++) {
+                eventTypes[i] = dictionary[in.readUnsignedByte()];
+            }
+            String[] refIds = new String[size];
+            for (int i = 0; i < size; i++) {
+                refIds[i] = readNullableUTF(in);
+            }
+            long[] amounts = new long[size];
+            for (int i = 0; i < size; i++) {
+                amounts[i] = in.readLong();
+            }
+            String[] orderIds = new String[size];
+            for (int i = 0; i < size; i++) {
+                orderIds[i] = readNullableUTF(in);
+            }
+            long[] createdAtMicros = new long[size];
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                previous += in.readLong();
+                createdAtMicros[i] = previous;
+            }
+            return new Block(ledgerIds, eventTypes, refIds, amounts, orderIds, createdAtMicros);
+        }
+
+        int size() {
+            return ledgerIds.length;
+        }
+
+        LedgerEntry entry(int row) {
+            return new LedgerEntry(ledgerIds[row], eventTypes[row], refIds[row], amounts[row], orderIds[row],
+                    fromMicros(createdAtMicros[row]));
+        }
+    }
+}
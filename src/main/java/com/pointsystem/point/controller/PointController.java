@@ -1,10 +1,11 @@
 package com.pointsystem.point.controller;
 
+import com.pointsystem.common.idempotency.IdempotencyService;
 import com.pointsystem.point.controller.dto.*;
 import com.pointsystem.point.domain.entity.PointGrant;
-import com.pointsystem.point.domain.entity.PointSpend;
-import com.pointsystem.point.service.PointGrantService;
-import com.pointsystem.point.service.PointSpendService;
+import com.pointsystem.point.service.PointBulkGrantService;
+import com.pointsystem.point.service.PointBulkSpendCancelService;
+import com.pointsystem.point.service.PointCommandService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -13,42 +14,74 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Tag(name = "포인트 API", description = "포인트 적립/사용/취소 관련 API")
 @RestController
 @RequestMapping("/v1/points")
 @RequiredArgsConstructor
 public class PointController {
 
-    private final PointGrantService pointGrantService;
-    private final PointSpendService pointSpendService;
+    private final PointCommandService pointCommandService;
+    private final PointBulkGrantService pointBulkGrantService;
+    private final PointBulkSpendCancelService pointBulkSpendCancelService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(summary = "포인트 적립", description = "고객에게 포인트를 적립합니다. 수기(MANUAL)/시스템(SYSTEM) 지급을 구분합니다.")
     @PostMapping("/grants")
-    public ResponseEntity<PointGrantResponse> createGrant(@Valid @RequestBody PointGrantRequest request) {
-        PointGrant grant = pointGrantService.grantPoint(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(PointGrantResponse.from(grant));
+    public ResponseEntity<PointGrantResponse> createGrant(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody PointGrantRequest request) {
+        return idempotencyService.execute(idempotencyKey, "grant", request, PointGrantResponse.class, () -> {
+            PointGrant grant = pointCommandService.grantPoint(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(PointGrantResponse.from(grant));
+        });
+    }
+
+    @Operation(summary = "포인트 일괄 적립", description = "캠페인 등 대량 적립을 한 번에 처리합니다. 일부 건이 실패해도 나머지는 적립되며 건별 결과를 반환합니다.")
+    @PostMapping("/grants/bulk")
+    public ResponseEntity<PointBulkGrantResponse> createGrants(@Valid @RequestBody PointBulkGrantRequest request) {
+        List<PointBulkGrantItemResult> results = pointBulkGrantService.grantPoints(request.grants());
+        return ResponseEntity.ok(PointBulkGrantResponse.from(results));
     }
 
     @Operation(summary = "적립 취소", description = "미사용 적립건을 취소합니다. 일부라도 사용된 경우 취소할 수 없습니다.")
     @PostMapping("/grants/{grantId}/cancellations")
-    public ResponseEntity<PointGrantResponse> cancelGrant(@PathVariable String grantId) {
-        PointGrant grant = pointGrantService.cancelPointGrant(grantId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(PointGrantResponse.from(grant));
+    public ResponseEntity<PointGrantResponse> cancelGrant(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @PathVariable String grantId) {
+        return idempotencyService.execute(idempotencyKey, "grant-cancel", grantId, PointGrantResponse.class, () -> {
+            PointGrant grant = pointCommandService.cancelPointGrant(grantId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(PointGrantResponse.from(grant));
+        });
     }
 
     @Operation(summary = "포인트 사용", description = "주문 시 포인트를 사용합니다. MANUAL 우선, 만료 임박순으로 차감됩니다.")
     @PostMapping("/spends")
-    public ResponseEntity<PointSpendResponse> createSpend(@Valid @RequestBody PointSpendRequest request) {
-        PointSpend spend = pointSpendService.spendPoint(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(PointSpendResponse.from(spend));
+    public ResponseEntity<PointSpendResponse> createSpend(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody PointSpendRequest request) {
+        return idempotencyService.execute(idempotencyKey, "spend", request, PointSpendResponse.class, () -> {
+            return ResponseEntity.status(HttpStatus.CREATED).body(pointCommandService.spend(request));
+        });
     }
 
     @Operation(summary = "사용 취소", description = "포인트 사용을 전체 또는 부분 취소합니다. 만료된 적립은 신규 적립으로 복원됩니다.")
     @PostMapping("/spends/{spendId}/cancellations")
     public ResponseEntity<PointSpendCancelResponse> cancelSpend(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable String spendId,
             @Valid @RequestBody PointSpendCancelRequest request) {
-        PointSpendCancelResult result = pointSpendService.cancelSpend(spendId, request.cancelAmount());
-        return ResponseEntity.status(HttpStatus.CREATED).body(PointSpendCancelResponse.from(result));
+        return idempotencyService.execute(idempotencyKey, "spend-cancel", List.of(spendId, request), PointSpendCancelResponse.class, () -> {
+            PointSpendCancelResult result = pointCommandService.cancelSpend(spendId, request.cancelAmount());
+            return ResponseEntity.status(HttpStatus.CREATED).body(PointSpendCancelResponse.from(result));
+        });
+    }
+
+    @Operation(summary = "사용 일괄 취소", description = "주문 대량 환불 등 여러 사용건을 한 번에 취소합니다. 일부 건이 실패해도 나머지는 취소되며 건별 결과를 반환합니다.")
+    @PostMapping("/spends/cancellations/bulk")
+    public ResponseEntity<PointBulkSpendCancelResponse> cancelSpends(@Valid @RequestBody PointBulkSpendCancelRequest request) {
+        List<PointBulkSpendCancelItemResult> results = pointBulkSpendCancelService.cancelSpends(request.cancellations());
+        return ResponseEntity.ok(PointBulkSpendCancelResponse.from(results));
     }
 }
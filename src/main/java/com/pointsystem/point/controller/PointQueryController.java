@@ -0,0 +1,72 @@
+package com.pointsystem.point.controller;
+
+import com.pointsystem.common.concurrency.DbBulkhead;
+import com.pointsystem.common.replica.ReplicaContext;
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.point.controller.dto.*;
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.service.PointBalanceQueryService;
+import com.pointsystem.point.service.PointGrantQueryService;
+import com.pointsystem.point.service.PointLedgerQueryService;
+import com.pointsystem.point.service.PointSpendQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "포인트 조회 API", description = "적립/사용 내역과 고객별 포인트 원장/잔액 조회 API")
+@RestController
+@RequestMapping("/v1/points")
+@RequiredArgsConstructor
+public class PointQueryController {
+
+    private final PointLedgerQueryService ledgerQueryService;
+    private final PointBalanceQueryService balanceQueryService;
+    private final PointGrantQueryService grantQueryService;
+    private final PointSpendQueryService spendQueryService;
+    private final ShardRouter shardRouter;
+    private final DbBulkhead dbBulkhead;
+
+    @Operation(summary = "적립 조회", description = "적립건의 현재 잔액과 상태를 조회합니다.")
+    @GetMapping("/grants/{grantId}")
+    public ResponseEntity<PointGrantResponse> getGrant(@PathVariable String grantId) {
+        return ResponseEntity.ok(shardRouter.inIdShard(grantId, () -> dbBulkhead.execute(() -> grantQueryService.getGrant(grantId))));
+    }
+
+    @Operation(summary = "사용 조회", description = "사용건의 취소 금액, 상태와 적립건별 차감 내역을 조회합니다.")
+    @GetMapping("/spends/{spendId}")
+    public ResponseEntity<PointSpendResponse> getSpend(@PathVariable String spendId) {
+        return ResponseEntity.ok(shardRouter.inIdShard(spendId, () -> dbBulkhead.execute(() -> spendQueryService.getSpend(spendId))));
+    }
+
+    @Operation(summary = "잔액 조회", description = "사용 가능 잔액과 적립 타입별 잔액, 7/30/90일 이내 만료 예정 금액을 조회합니다.")
+    @GetMapping("/customers/{customerId}/balance")
+    public ResponseEntity<PointBalanceResponse> getBalance(@PathVariable String customerId) {
+        return ResponseEntity.ok(shardRouter.inCustomerShard(customerId, () -> dbBulkhead.execute(() -> balanceQueryService.getBalance(customerId))));
+    }
+
+    @Operation(summary = "원장 이력 조회", description = "고객의 포인트 변동 이력을 최신순으로 조회합니다. 응답의 nextCursor 로 다음 페이지를 조회합니다.")
+    @GetMapping("/customers/{customerId}/ledger")
+    public ResponseEntity<PointLedgerPageResponse> getLedger(
+            @PathVariable String customerId,
+            @Parameter(description = "이벤트 타입 필터") @RequestParam(required = false) LedgerEventType eventType,
+            @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (1~100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(shardRouter.inCustomerShard(customerId,
+                () -> dbBulkhead.execute(() -> ReplicaContext.read(() -> ledgerQueryService.getLedger(customerId, eventType, cursor, size)))));
+    }
+
+    @Operation(summary = "적립 목록 조회", description = "고객의 적립건을 최신순으로 조회합니다. 응답의 nextCursor 로 다음 페이지를 조회합니다.")
+    @GetMapping("/customers/{customerId}/grants")
+    public ResponseEntity<PointGrantPageResponse> getGrants(
+            @PathVariable String customerId,
+            @Parameter(description = "적립 상태 필터") @RequestParam(required = false) GrantStatus status,
+            @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (1~100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(shardRouter.inCustomerShard(customerId,
+                () -> dbBulkhead.execute(() -> ReplicaContext.read(() -> grantQueryService.getGrants(customerId, status, cursor, size)))));
+    }
+}
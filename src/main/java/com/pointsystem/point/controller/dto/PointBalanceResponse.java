@@ -0,0 +1,23 @@
+package com.pointsystem.point.controller.dto;
+
+import com.pointsystem.point.domain.entity.GrantType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "포인트 잔액 응답")
+public record PointBalanceResponse(
+        @Schema(description = "고객 식별자") String customerId,
+        @Schema(description = "사용 가능 잔액") long available,
+        @Schema(description = "적립 타입별 사용 가능 잔액") Map<GrantType, Long> byGrantType,
+        @Schema(description = "만료 임박 금액 (기간 내 만료 누적)") ExpiringAmounts expiring,
+        @Schema(description = "집계 기준 시각") Instant asOf
+) {
+    public record ExpiringAmounts(
+            @Schema(description = "7일 이내 만료") long within7Days,
+            @Schema(description = "30일 이내 만료") long within30Days,
+            @Schema(description = "90일 이내 만료") long within90Days
+    ) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.pointsystem.point.controller.dto;
+
+import com.pointsystem.common.exception.ErrorCode;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "일괄 적립 건별 결과")
+public record PointBulkGrantItemResult(
+        @Schema(description = "요청 목록 내 순번 (0부터 시작)") int index,
+        @Schema(description = "고객 식별자") String customerId,
+        @Schema(description = "성공 여부") boolean success,
+        @Schema(description = "생성된 적립 ID (성공 시)") String grantId,
+        @Schema(description = "에러 코드 (실패 시)") String errorCode,
+        @Schema(description = "에러 메시지 (실패 시)") String message
+) {
+    public static PointBulkGrantItemResult success(int index, String customerId, String grantId) {
+        return new PointBulkGrantItemResult(index, customerId, true, grantId, null, null);
+    }
+
+    public static PointBulkGrantItemResult failure(int index, String customerId, ErrorCode errorCode, String message) {
+        return new PointBulkGrantItemResult(index, customerId, false, null, errorCode.getCode(), message);
+    }
+
+    public static PointBulkGrantItemResult failure(int index, String customerId, String errorCode, String message) {
+        return new PointBulkGrantItemResult(index, customerId, false, null, errorCode, message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.pointsystem.point.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "포인트 일괄 적립 요청")
+public record PointBulkGrantRequest(
+        @Schema(description = "적립 요청 목록 (최대 100,000건)")
+        @NotEmpty(message = "적립 요청 목록은 필수입니다.")
+        @Size(max = 100_000, message = "한 번에 최대 100,000건까지 적립할 수 있습니다.")
+        List<@Valid PointGrantRequest> grants
+) {
+}
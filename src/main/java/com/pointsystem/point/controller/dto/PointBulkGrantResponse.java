@@ -0,0 +1,18 @@
+package com.pointsystem.point.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "포인트 일괄 적립 응답")
+public record PointBulkGrantResponse(
+        @Schema(description = "요청 건수") int requested,
+        @Schema(description = "성공 건수") int succeeded,
+        @Schema(description = "실패 건수") int failed,
+        @Schema(description = "건별 결과 (요청 순서)") List<PointBulkGrantItemResult> results
+) {
+    public static PointBulkGrantResponse from(List<PointBulkGrantItemResult> results) {
+        int succeeded = (int) results.stream().filter(PointBulkGrantItemResult::success).count();
+        return new PointBulkGrantResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,38 @@
+package com.pointsystem.point.controller.dto;
+
+import com.pointsystem.common.exception.ErrorCode;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "일괄 사용 취소 건별 결과")
+public record PointBulkSpendCancelItemResult(
+        @Schema(description = "요청 목록 내 순번 (0부터 시작)") int index,
+        @Schema(description = "사용 ID") String spendId,
+        @Schema(description = "성공 여부") boolean success,
+        @Schema(description = "취소된 금액 (성공 시)") Long canceledAmount,
+        @Schema(description = "원래 적립건에 복원된 금액 (성공 시)") Long restoredToOriginalGrants,
+        @Schema(description = "만료로 인해 신규 적립된 금액 (성공 시)") Long restoredAsNewGrants,
+        @Schema(description = "신규 복원 적립 ID (만료분이 있을 때)") String restoreGrantId,
+        @Schema(description = "에러 코드 (실패 시)") String errorCode,
+        @Schema(description = "에러 메시지 (실패 시)") String message
+) {
+    public static PointBulkSpendCancelItemResult success(int index, String spendId, long canceledAmount,
+                                                         long restoredToOriginalGrants, long restoredAsNewGrants,
+                                                         String restoreGrantId) {
+        return new PointBulkSpendCancelItemResult(index, spendId, true, canceledAmount,
+                restoredToOriginalGrants, restoredAsNewGrants, restoreGrantId, null, null);
+    }
+
+    public static PointBulkSpendCancelItemResult from(int index, PointSpendCancelResult result) {
+        String restoreGrantId = result.newRestoreGrants().isEmpty() ? null : result.newRestoreGrants().getFirst().getGrantId();
+        return success(index, result.spend().getSpendId(), result.canceledAmount(),
+                result.restoredToOriginalGrants(), result.restoredAsNewGrants(), restoreGrantId);
+    }
+
+    public static PointBulkSpendCancelItemResult failure(int index, String spendId, ErrorCode errorCode, String message) {
+        return failure(index, spendId, errorCode.getCode(), message);
+    }
+
+    public static PointBulkSpendCancelItemResult failure(int index, String spendId, String errorCode, String message) {
+        return new PointBulkSpendCancelItemResult(index, spendId, false, null, null, null, null, errorCode, message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.pointsystem.point.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "포인트 사용 일괄 취소 요청")
+public record PointBulkSpendCancelRequest(
+        @Schema(description = "취소 요청 목록 (최대 10,000건)")
+        @NotEmpty(message = "취소 요청 목록은 필수입니다.")
+        @Size(max = 10_000, message = "한 번에 최대 10,000건까지 취소할 수 있습니다.")
+        List<@Valid Item> cancellations
+) {
+
+    @Schema(description = "사용 취소 건")
+    public record Item(
+            @Schema(description = "사용 ID")
+            @NotBlank(message = "사용 ID는 필수입니다.") String spendId,
+
+            @Schema(description = "취소 금액", example = "1100")
+            @NotNull(message = "취소 금액은 필수입니다.") @Min(value = 1, message = "취소 금액은 1원 이상이어야 합니다.") Long cancelAmount
+    ) {
+    }
+}
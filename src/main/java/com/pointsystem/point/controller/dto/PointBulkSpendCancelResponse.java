@@ -0,0 +1,18 @@
+package com.pointsystem.point.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "포인트 사용 일괄 취소 응답")
+public record PointBulkSpendCancelResponse(
+        @Schema(description = "요청 건수") int requested,
+        @Schema(description = "성공 건수") int succeeded,
+        @Schema(description = "실패 건수") int failed,
+        @Schema(description = "건별 결과 (요청 순서)") List<PointBulkSpendCancelItemResult> results
+) {
+    public static PointBulkSpendCancelResponse from(List<PointBulkSpendCancelItemResult> results) {
+        int succeeded = (int) results.stream().filter(PointBulkSpendCancelItemResult::success).count();
+        return new PointBulkSpendCancelResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,13 @@
+package com.pointsystem.point.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "포인트 적립 목록 페이지 응답")
+public record PointGrantPageResponse(
+        @Schema(description = "적립 (최신순)") List<PointGrantResponse> grants,
+        @Schema(description = "다음 페이지 커서. 마지막 페이지면 null") String nextCursor,
+        @Schema(description = "다음 페이지 존재 여부") boolean hasNext
+) {
+}
@@ -3,6 +3,7 @@ package com.pointsystem.point.controller.dto;
 import com.pointsystem.point.domain.entity.GrantStatus;
 import com.pointsystem.point.domain.entity.GrantType;
 import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.repository.GrantView;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.Instant;
@@ -30,4 +31,17 @@ public record PointGrantResponse(
                 grant.getCreatedAt()
         );
     }
+
+    public static PointGrantResponse from(GrantView grant) {
+        return new PointGrantResponse(
+                grant.grantId(),
+                grant.customerId(),
+                grant.grantType(),
+                grant.amountTotal(),
+                grant.amountAvailable(),
+                grant.expiresAt(),
+                grant.status(),
+                grant.createdAt()
+        );
+    }
 }
@@ -0,0 +1,28 @@
+package com.pointsystem.point.controller.dto;
+
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.repository.LedgerEntry;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "포인트 원장 항목")
+public record PointLedgerEntryResponse(
+        @Schema(description = "원장 ID") String ledgerId,
+        @Schema(description = "이벤트 타입") LedgerEventType eventType,
+        @Schema(description = "관련 적립/사용 ID") String refId,
+        @Schema(description = "변동 금액 (차감은 음수)") Long amount,
+        @Schema(description = "주문번호") String orderId,
+        @Schema(description = "발생일시") Instant createdAt
+) {
+    public static PointLedgerEntryResponse from(LedgerEntry entry) {
+        return new PointLedgerEntryResponse(
+                entry.ledgerId(),
+                entry.eventType(),
+                entry.refId(),
+                entry.amount(),
+                entry.orderId(),
+                entry.createdAt()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.pointsystem.point.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "포인트 원장 페이지 응답")
+public record PointLedgerPageResponse(
+        @Schema(description = "원장 항목 (최신순)") List<PointLedgerEntryResponse> entries,
+        @Schema(description = "다음 페이지 커서. 마지막 페이지면 null") String nextCursor,
+        @Schema(description = "다음 페이지 존재 여부") boolean hasNext
+) {
+}
@@ -2,6 +2,8 @@ package com.pointsystem.point.controller.dto;
 
 import com.pointsystem.point.domain.entity.PointSpend;
 import com.pointsystem.point.domain.entity.SpendStatus;
+import com.pointsystem.point.domain.repository.SpendAllocationView;
+import com.pointsystem.point.domain.repository.SpendView;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.Instant;
@@ -39,6 +41,23 @@ public record PointSpendResponse(
         );
     }
 
+    public static PointSpendResponse from(SpendView spend, List<SpendAllocationView> allocationViews) {
+        List<AllocationInfo> allocations = allocationViews.stream()
+                .map(a -> new AllocationInfo(a.allocationId(), a.grantId(), a.amountUsed(), a.amountCanceled()))
+                .toList();
+
+        return new PointSpendResponse(
+                spend.spendId(),
+                spend.customerId(),
+                spend.orderId(),
+                spend.amountTotal(),
+                spend.amountCanceled(),
+                spend.status(),
+                spend.createdAt(),
+                allocations
+        );
+    }
+
     @Schema(description = "적립건별 차감 내역")
     public record AllocationInfo(
             @Schema(description = "배분 ID") String allocationId,
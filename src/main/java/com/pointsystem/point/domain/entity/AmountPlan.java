@@ -0,0 +1,126 @@
+package com.pointsystem.point.domain.entity;
+
+import java.util.Arrays;
+
+/**
+ * 한도가 있는 칸들을 앞에서부터 순서대로 채우는 금액 배분 계산기.
+ * 사용 시 적립 차감({@link UsableGrants})이 쓴다. 사용취소 시 배분별 취소({@link SpendAllocations})는 만료를 보지 않는
+ * 같은 순차 채우기라 계산기를 만들지 않고 배분을 돌며 바로 계산한다.
+ * <p>
+ * 한도와 만료 시각, 계산 결과를 원시 배열에 나란히 두고(structure of arrays) 계산하므로 {@link #fill} 은 객체를 만들지 않는다.
+ * 우선순위는 칸을 넣는 순서로 표현하며(적립 조회 쿼리의 ORDER BY), 결과는 {@link #taken(int)} 으로 읽어 호출자가 엔티티에 반영한다.
+ * 한 스레드에서만 사용한다.
+ */
+public final class AmountPlan {
+
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+    private static final long IGNORE_EXPIRY = Long.MIN_VALUE;
+
+    private long[] limits;
+    private long[] expiresAt;
+    private long[] taken;
+    private int size;
+    // 마지막 fill 에서 금액을 채운 마지막 칸 다음 위치
+    private int end;
+
+    public AmountPlan(int capacity) {
+        int initial = Math.max(capacity, 1);
+        this.limits = new long[initial];
+        this.expiresAt = new long[initial];
+        this.taken = new long[initial];
+    }
+
+    public void add(long limit) {
+        add(limit, NO_EXPIRY);
+    }
+
+    /**
+     * @param expiresAtMillis 이 시각(epoch millis) 이후로는 {@link #fill(long, long)} 에서 건너뛴다.
+     */
+    public void add(long limit, long expiresAtMillis) {
+        if (size == limits.length) {
+            int grown = size * 2;
+            limits = Arrays.copyOf(limits, grown);
+            expiresAt = Arrays.copyOf(expiresAt, grown);
+            taken = Arrays.copyOf(taken, grown);
+        }
+        limits[size] = limit;
+        expiresAt[size] = expiresAtMillis;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long limit(int index) {
+        return limits[index];
+    }
+
+    public long total() {
+        return total(IGNORE_EXPIRY);
+    }
+
+    /**
+     * 만료되지 않은 칸의 한도 합계.
+     */
+    public long total(long nowMillis) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            if (expiresAt[i] > nowMillis) {
+                total += limits[i];
+            }
+        }
+        return total;
+    }
+
+    public long fill(long amount) {
+        return fill(amount, IGNORE_EXPIRY);
+    }
+
+    /**
+     * 만료되지 않은 칸을 앞에서부터 한도까지 채운다. 이전 계산 결과는 지운다.
+     *
+     * @return 채운 금액. 한도 합계가 모자라면 요청 금액보다 작다.
+     */
+    public long fill(long amount, long nowMillis) {
+        Arrays.fill(taken, 0, end, 0L);
+        long remaining = amount;
+        int i = 0;
+        for (; i < size && remaining > 0; i++) {
+            if (expiresAt[i] <= nowMillis) {
+                continue;
+            }
+            long take = Math.min(remaining, limits[i]);
+            taken[i] = take;
+            remaining -= take;
+        }
+        end = i;
+        return amount - remaining;
+    }
+
+    /**
+     * 마지막 fill 에서 금액을 채운 칸은 이 위치보다 앞에 있다.
+     */
+    public int end() {
+        return end;
+    }
+
+    /**
+     * 마지막 fill 에서 해당 칸에 채운 금액. 0 이면 건너뛴 칸이다.
+     */
+    public long taken(int index) {
+        return index < end ? taken[index] : 0L;
+    }
+
+    /**
+     * 마지막 fill 결과만큼 한도를 줄인다. 같은 계산기로 다음 금액을 이어서 배분할 때 호출한다.
+     */
+    public void commit() {
+        for (int i = 0; i < end; i++) {
+            limits[i] -= taken[i];
+            taken[i] = 0L;
+        }
+        end = 0;
+    }
+}
@@ -2,5 +2,7 @@ package com.pointsystem.point.domain.entity;
 
 public enum GrantStatus {
     ACTIVE,
-    CANCELED
+    CANCELED,
+    EXPIRED,
+    COMPACTED
 }
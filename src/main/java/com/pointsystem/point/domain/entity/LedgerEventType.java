@@ -5,5 +5,7 @@ public enum LedgerEventType {
     GRANT_CANCEL,
     SPEND,
     SPEND_CANCEL,
-    RESTORE_GRANT
+    RESTORE_GRANT,
+    EXPIRE,
+    COMPACT
 }
@@ -0,0 +1,6 @@
+package com.pointsystem.point.domain.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    DELIVERED
+}
@@ -0,0 +1,67 @@
+package com.pointsystem.point.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * 고객별 보유 잔액 프로젝션.
+ * ACTIVE 적립건의 amountAvailable 합계를 유지하며, 적립/사용/취소 트랜잭션 안에서 함께 갱신된다.
+ * 만료 여부는 반영하지 않으므로 정확한 사용 가능 잔액이 필요하면 point_grant 를 다시 계산해야 한다.
+ */
+@Entity
+@Table(name = "point_balance")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PointBalance implements Persistable<String> {
+
+    @Id
+    @Column(length = 50)
+    private String customerId;
+
+    @Column(nullable = false)
+    private Long balance;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    // 식별자를 직접 부여하므로 save() 가 merge(SELECT) 대신 persist 하도록 신규 여부를 따로 관리한다.
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
+    private PointBalance(String customerId, long balance, Instant updatedAt) {
+        this.customerId = customerId;
+        this.balance = balance;
+        this.updatedAt = updatedAt;
+    }
+
+    public static PointBalance create(String customerId, long balance, Instant now) {
+        return new PointBalance(customerId, balance, now);
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markPersisted() {
+        this.persisted = true;
+    }
+
+    public void add(long delta, Instant now) {
+        this.balance += delta;
+        this.updatedAt = now;
+    }
+
+    @Override
+    public String getId() {
+        return customerId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+}
@@ -1,15 +1,21 @@
 package com.pointsystem.point.domain.entity;
 
+import com.pointsystem.common.id.IdGenerators;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
-import java.util.UUID;
+import java.util.List;
 
 @Entity
-@Table(name = "point_grant")
+@Table(name = "point_grant", indexes = {
+        @Index(name = "idx_point_grant_customer_status_expires", columnList = "customerId, status, expiresAt"),
+        @Index(name = "idx_point_grant_status_expires", columnList = "status, expiresAt, grantId"),
+        @Index(name = "idx_point_grant_merged_into", columnList = "mergedIntoGrantId"),
+        @Index(name = "idx_point_grant_customer_created", columnList = "customerId, createdAt, grantId")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class PointGrant {
@@ -26,10 +32,10 @@ public class PointGrant {
     private GrantType grantType;
 
     @Column(nullable = false)
-    private Long amountTotal;
+    private long amountTotal;
 
     @Column(nullable = false)
-    private Long amountAvailable;
+    private long amountAvailable;
 
     @Column(nullable = false)
     private Instant expiresAt;
@@ -41,6 +47,13 @@ public class PointGrant {
     @Column(nullable = false, updatable = false) // 생성시간 수정할 수 없음
     private Instant createdAt;
 
+    @Version
+    private Long version;
+
+    // 병합(COMPACTED)된 적립이 합쳐진 후속 적립 ID
+    @Column(length = 36)
+    private String mergedIntoGrantId;
+
     private PointGrant(String customerId, GrantType grantType, long amount, Instant expiresAt, Instant createdAt) {
         this.customerId = customerId;
         this.grantType = grantType;
@@ -55,11 +68,32 @@ public class PointGrant {
         return new PointGrant(customerId, grantType, amount, expiresAt, now);
     }
 
+    /**
+     * 병합 대상 적립들을 합친 후속 적립을 만든다.
+     * 총액은 원 적립 총액의 합이므로 잔액이 총액보다 작아 적립 취소 대상이 되지 않는다.
+     */
+    public static PointGrant createSuccessor(List<PointGrant> sources, Instant now) {
+        PointGrant first = sources.getFirst();
+        PointGrant successor = new PointGrant(first.customerId, first.grantType, 0L, first.expiresAt, now);
+        long amountTotal = 0;
+        long amountAvailable = 0;
+        for (PointGrant source : sources) {
+            amountTotal += source.amountTotal;
+            amountAvailable += source.amountAvailable;
+            // 같은 만료일 안에서는 가장 이른 만료 시각을 따라 유효기간이 늘어나지 않도록 한다.
+            if (source.expiresAt.isBefore(successor.expiresAt)) {
+                successor.expiresAt = source.expiresAt;
+            }
+        }
+        successor.amountTotal = amountTotal;
+        successor.amountAvailable = amountAvailable;
+        return successor;
+    }
+
     @PrePersist
     protected void onCreate() {
         if (this.grantId == null) {
-            //TODO multi instance환경에서 uuid uniqueness 보장 어려울수도, 추후 고민
-            this.grantId = UUID.randomUUID().toString();
+            this.grantId = IdGenerators.nextId();
         }
     }
 
@@ -69,7 +103,7 @@ public class PointGrant {
 
     public boolean isCancelable() {
         return this.status == GrantStatus.ACTIVE
-                && this.amountAvailable.equals(this.amountTotal);
+                && this.amountAvailable == this.amountTotal;
     }
 
     public void cancel() {
@@ -90,6 +124,39 @@ public class PointGrant {
         return !this.expiresAt.isAfter(now);
     }
 
+    /**
+     * 만료일이 지난 적립을 종료하고 소멸된 잔액을 반환한다.
+     */
+    public long expire(Instant now) {
+        if (!isActive() || !isExpired(now)) {
+            throw new IllegalStateException("만료 처리할 수 없는 적립입니다.");
+        }
+        long expiredAmount = this.amountAvailable;
+        this.status = GrantStatus.EXPIRED;
+        this.amountAvailable = 0L;
+        return expiredAmount;
+    }
+
+    /**
+     * 일부 사용되어 적립 취소가 불가능한 ACTIVE 적립만 병합할 수 있다.
+     */
+    public boolean isCompactable(Instant now) {
+        return isActive() && !isExpired(now)
+                && this.amountAvailable > 0 && this.amountAvailable < this.amountTotal;
+    }
+
+    /**
+     * 후속 적립으로 잔액을 넘기고 종료한다.
+     */
+    public void compactInto(PointGrant successor) {
+        if (!isActive()) {
+            throw new IllegalStateException("병합할 수 없는 적립입니다.");
+        }
+        this.status = GrantStatus.COMPACTED;
+        this.amountAvailable = 0L;
+        this.mergedIntoGrantId = successor.getGrantId();
+    }
+
     public void credit(long amount) {
         this.amountAvailable += amount;
     }
@@ -0,0 +1,39 @@
+package com.pointsystem.point.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 배치 작업이 다음 실행에서 이어서 처리할 위치. 샤딩 모드에서는 샤드 DB 마다 한 행씩 둔다.
+ */
+@Entity
+@Table(name = "point_job_state")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PointJobState {
+
+    @Id
+    @Column(length = 50)
+    private String jobName;
+
+    @Column(name = "cursor_value", nullable = false, length = 100)
+    private String cursor;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public PointJobState(String jobName, String cursor) {
+        this.jobName = jobName;
+        this.cursor = cursor;
+        this.updatedAt = Instant.now();
+    }
+
+    public void moveTo(String cursor) {
+        this.cursor = cursor;
+        this.updatedAt = Instant.now();
+    }
+}
@@ -1,15 +1,20 @@
 package com.pointsystem.point.domain.entity;
 
+import com.pointsystem.common.id.IdGenerators;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
-import java.util.UUID;
 
 @Entity
-@Table(name = "point_ledger")
+@Table(name = "point_ledger",
+        indexes = {
+                @Index(name = "idx_point_ledger_customer_created", columnList = "customerId, createdAt, ledgerId"),
+                @Index(name = "idx_point_ledger_customer_type_created", columnList = "customerId, eventType, createdAt, ledgerId"),
+                @Index(name = "idx_point_ledger_created", columnList = "createdAt, ledgerId")
+        })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class PointLedger {
@@ -53,7 +58,7 @@ public class PointLedger {
     @PrePersist
     protected void onCreate() {
         if (this.ledgerId == null) {
-            this.ledgerId = UUID.randomUUID().toString();
+            this.ledgerId = IdGenerators.nextId();
         }
     }
 }
@@ -0,0 +1,76 @@
+package com.pointsystem.point.domain.entity;
+
+import com.pointsystem.common.id.IdGenerators;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 외부 시스템으로 전달할 원장 이벤트.
+ * 원장과 같은 트랜잭션에서 기록되므로 커밋된 원장만 전달되며, 릴레이가 전달 후 DELIVERED 로 표시한다.
+ * 릴레이는 전달 전에 claimToken/claimedUntil 로 배치를 선점하므로 여러 인스턴스가 같은 이벤트를 동시에 전달하지 않는다.
+ */
+@Entity
+@Table(name = "point_ledger_outbox", indexes = {
+        @Index(name = "idx_point_ledger_outbox_status_id", columnList = "status, outboxId"),
+        @Index(name = "idx_point_ledger_outbox_status_delivered", columnList = "status, deliveredAt")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PointLedgerOutbox {
+
+    @Id
+    @Column(length = 36)
+    private String outboxId;
+
+    @Column(nullable = false, length = 36)
+    private String ledgerId;
+
+    @Column(nullable = false, length = 50)
+    private String customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private LedgerEventType eventType;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    private Instant deliveredAt;
+
+    @Column(length = 36)
+    private String claimToken;
+
+    private Instant claimedUntil;
+
+    private PointLedgerOutbox(PointLedger ledger, String payload) {
+        this.ledgerId = ledger.getLedgerId();
+        this.customerId = ledger.getCustomerId();
+        this.eventType = ledger.getEventType();
+        this.payload = payload;
+        this.status = OutboxStatus.PENDING;
+        this.createdAt = ledger.getCreatedAt();
+    }
+
+    public static PointLedgerOutbox of(PointLedger ledger, String payload) {
+        return new PointLedgerOutbox(ledger, payload);
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.outboxId == null) {
+            this.outboxId = IdGenerators.nextId();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.pointsystem.point.domain.entity;
 
+import com.pointsystem.common.id.IdGenerators;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -8,10 +9,11 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Entity
-@Table(name = "point_spend")
+@Table(name = "point_spend",
+        uniqueConstraints = @UniqueConstraint(name = "uk_point_spend_customer_order", columnNames = {"customerId", "orderId"}),
+        indexes = @Index(name = "idx_point_spend_customer_created", columnList = "customerId, createdAt"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class PointSpend {
@@ -39,6 +41,9 @@ public class PointSpend {
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "spend", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PointSpendAllocation> allocations = new ArrayList<>();
 
@@ -58,7 +63,7 @@ public class PointSpend {
     @PrePersist
     protected void onCreate() {
         if (this.spendId == null) {
-            this.spendId = UUID.randomUUID().toString();
+            this.spendId = IdGenerators.nextId();
         }
     }
 
@@ -1,15 +1,18 @@
 package com.pointsystem.point.domain.entity;
 
+import com.pointsystem.common.id.IdGenerators;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
-import java.util.UUID;
 
 @Entity
-@Table(name = "point_spend_allocation")
+@Table(name = "point_spend_allocation", indexes = {
+        @Index(name = "idx_point_spend_allocation_spend", columnList = "spend_id"),
+        @Index(name = "idx_point_spend_allocation_grant", columnList = "grant_id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class PointSpendAllocation {
@@ -27,10 +30,10 @@ public class PointSpendAllocation {
     private PointGrant grant;
 
     @Column(nullable = false)
-    private Long amountUsed;
+    private long amountUsed;
 
     @Column(nullable = false)
-    private Long amountCanceled;
+    private long amountCanceled;
 
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
@@ -38,7 +41,6 @@ public class PointSpendAllocation {
     private PointSpendAllocation(PointGrant grant, long usedAmount, Instant createdAt) {
         this.grant = grant;
         this.amountUsed = usedAmount;
-        this.amountCanceled = 0L;
         this.createdAt = createdAt;
     }
 
@@ -49,7 +51,7 @@ public class PointSpendAllocation {
     @PrePersist
     protected void onCreate() {
         if (this.allocationId == null) {
-            this.allocationId = UUID.randomUUID().toString();
+            this.allocationId = IdGenerators.nextId();
         }
     }
 
@@ -61,9 +63,13 @@ public class PointSpendAllocation {
         return this.amountUsed - this.amountCanceled;
     }
 
-    public long cancelAsPossible(long requestAmount) {
-        long toCancel = Math.min(remainingCancelable(), requestAmount);
-        this.amountCanceled += toCancel;
-        return toCancel;
+    /**
+     * 배분 계산에서 이미 취소 가능 금액 이내로 정한 금액을 취소한다.
+     */
+    void cancel(long amount) {
+        if (amount > remainingCancelable()) {
+            throw new IllegalStateException("취소 가능 금액을 넘었습니다.");
+        }
+        this.amountCanceled += amount;
     }
 }
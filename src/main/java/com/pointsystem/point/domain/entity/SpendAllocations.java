@@ -0,0 +1,71 @@
+package com.pointsystem.point.domain.entity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용건의 적립 배분 목록.
+ * 취소 시 유효한 적립부터 복원되도록 findBySpendIdWithGrantForCancel 의 정렬 순서를 그대로 따른다.
+ */
+public class SpendAllocations {
+
+    private final List<PointSpendAllocation> allocations;
+    // 병합(COMPACTED)된 원 적립 ID -> 잔액을 넘겨받은 후속 적립
+    private final Map<String, PointGrant> successors;
+
+    public SpendAllocations(List<PointSpendAllocation> allocations) {
+        this(allocations, Map.of());
+    }
+
+    public SpendAllocations(List<PointSpendAllocation> allocations, Map<String, PointGrant> successors) {
+        this.allocations = allocations;
+        this.successors = successors;
+    }
+
+    /**
+     * 취소 금액을 배분 순서대로 취소 가능 금액까지 나누어 취소한다.
+     * 원 적립이 유효하면 해당 적립에 바로 복원하고, 만료/취소된 경우 신규 적립이 필요한 금액으로 더한다.
+     * 금액은 원시 값으로만 누적하므로 결과 외에 객체를 만들지 않는다.
+     */
+    public CancelDistribution cancel(long cancelAmount, Instant now) {
+        long remaining = cancelAmount;
+        long restoredToOriginal = 0;
+        long restoredAsNew = 0;
+        for (int i = 0, size = allocations.size(); i < size && remaining > 0; i++) {
+            PointSpendAllocation allocation = allocations.get(i);
+            long toCancel = Math.min(remaining, allocation.remainingCancelable());
+            if (toCancel <= 0) continue;
+
+            allocation.cancel(toCancel);
+            remaining -= toCancel;
+            PointGrant originalGrant = restoreTarget(allocation.getGrant());
+
+            if (!originalGrant.isExpired(now) && originalGrant.isActive()) {
+                originalGrant.credit(toCancel);
+                restoredToOriginal += toCancel;
+            } else {
+                restoredAsNew += toCancel;
+            }
+        }
+
+        return new CancelDistribution(restoredToOriginal, restoredAsNew);
+    }
+
+    /**
+     * 병합된 적립은 후속 적립에 복원한다.
+     */
+    private PointGrant restoreTarget(PointGrant grant) {
+        if (grant.getStatus() == GrantStatus.COMPACTED) {
+            return successors.getOrDefault(grant.getGrantId(), grant);
+        }
+        return grant;
+    }
+
+    /**
+     * @param restoredToOriginal 원래 적립건에 복원된 금액
+     * @param restoredAsNew      만료/취소된 적립에 해당하여 신규 적립으로 복원해야 하는 금액
+     */
+    public record CancelDistribution(long restoredToOriginal, long restoredAsNew) {
+    }
+}
@@ -7,18 +7,29 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * 사용 가능 적립 목록. 차감 계산은 {@link AmountPlan} 에서 원시 배열로 하고, 결과만 적립 엔티티와 배분에 반영한다.
+ * 적립은 조회 쿼리의 우선순위(MANUAL 우선, 만료 임박순, 적립순)대로 들어온다고 가정한다.
+ */
 public class UsableGrants {
 
     private final List<PointGrant> grants;
+    private final AmountPlan plan;
 
     public UsableGrants(List<PointGrant> grants) {
         this.grants = grants;
+        this.plan = new AmountPlan(grants.size());
+        for (PointGrant grant : grants) {
+            plan.add(grant.getAmountAvailable());
+        }
+    }
+
+    public int size() {
+        return grants.size();
     }
 
     public long totalAvailable() {
-        return grants.stream()
-                .mapToLong(PointGrant::getAmountAvailable)
-                .sum();
+        return plan.total();
     }
 
     public void validateSufficientBalance(long requiredAmount) {
@@ -30,19 +41,18 @@ public class UsableGrants {
     }
 
     public List<PointSpendAllocation> deduct(long amount, Instant now) {
-        List<PointSpendAllocation> allocations = new ArrayList<>();
-        long remaining = amount;
-
-        for (PointGrant grant : grants) {
-            if (remaining <= 0) break;
-
-            long deducted = grant.debit(remaining);
+        plan.fill(amount);
+        int end = plan.end();
+        List<PointSpendAllocation> allocations = new ArrayList<>(end);
+        for (int i = 0; i < end; i++) {
+            long deducted = plan.taken(i);
             if (deducted > 0) {
+                PointGrant grant = grants.get(i);
+                grant.debit(deducted);
                 allocations.add(PointSpendAllocation.create(grant, deducted, now));
-                remaining -= deducted;
             }
         }
-
+        plan.commit();
         return allocations;
     }
 }
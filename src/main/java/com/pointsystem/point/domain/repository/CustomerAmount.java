@@ -0,0 +1,11 @@
+package com.pointsystem.point.domain.repository;
+
+/**
+ * 고객별 금액 집계 프로젝션.
+ */
+public interface CustomerAmount {
+
+    String getCustomerId();
+
+    Long getAmount();
+}
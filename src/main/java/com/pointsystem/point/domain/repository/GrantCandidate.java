@@ -0,0 +1,11 @@
+package com.pointsystem.point.domain.repository;
+
+/**
+ * 차감 대상 선정용 프로젝션. 락 없이 식별자와 잔액만 읽는다.
+ */
+public interface GrantCandidate {
+
+    String getGrantId();
+
+    Long getAmountAvailable();
+}
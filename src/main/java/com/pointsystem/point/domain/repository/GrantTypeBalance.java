@@ -0,0 +1,23 @@
+package com.pointsystem.point.domain.repository;
+
+import com.pointsystem.point.domain.entity.GrantType;
+
+import java.time.Instant;
+
+/**
+ * 적립 타입별 사용 가능 잔액과 만료 임박 금액 집계 프로젝션.
+ */
+public interface GrantTypeBalance {
+
+    GrantType getGrantType();
+
+    Long getAmount();
+
+    Long getExpiringWithin7Days();
+
+    Long getExpiringWithin30Days();
+
+    Long getExpiringWithin90Days();
+
+    Instant getNextExpiresAt();
+}
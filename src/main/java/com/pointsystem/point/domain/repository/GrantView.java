@@ -0,0 +1,21 @@
+package com.pointsystem.point.domain.repository;
+
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.entity.GrantType;
+
+import java.time.Instant;
+
+/**
+ * 적립 조회용 프로젝션. 엔티티를 영속성 컨텍스트에 올리지 않고 응답에 필요한 컬럼만 읽는다.
+ */
+public record GrantView(
+        String grantId,
+        String customerId,
+        GrantType grantType,
+        long amountTotal,
+        long amountAvailable,
+        Instant expiresAt,
+        GrantStatus status,
+        Instant createdAt
+) {
+}
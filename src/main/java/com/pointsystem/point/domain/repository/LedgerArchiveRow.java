@@ -0,0 +1,19 @@
+package com.pointsystem.point.domain.repository;
+
+import com.pointsystem.point.domain.entity.LedgerEventType;
+
+import java.time.Instant;
+
+/**
+ * 아카이브 대상 원장 행. {@link LedgerEntry} 에 고객 ID 를 더한 것으로, 세그먼트 파일의 고객 색인을 만들 때 쓴다.
+ */
+public record LedgerArchiveRow(
+        String ledgerId,
+        String customerId,
+        LedgerEventType eventType,
+        String refId,
+        Long amount,
+        String orderId,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,18 @@
+package com.pointsystem.point.domain.repository;
+
+import com.pointsystem.point.domain.entity.LedgerEventType;
+
+import java.time.Instant;
+
+/**
+ * 원장 조회용 프로젝션. 엔티티를 영속성 컨텍스트에 올리지 않고 필요한 컬럼만 읽는다.
+ */
+public record LedgerEntry(
+        String ledgerId,
+        LedgerEventType eventType,
+        String refId,
+        Long amount,
+        String orderId,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,15 @@
+package com.pointsystem.point.domain.repository;
+
+import com.pointsystem.point.domain.entity.LedgerEventType;
+
+/**
+ * 릴레이 전달용 프로젝션. 아웃박스 행을 영속성 컨텍스트에 올리지 않고 전달에 필요한 컬럼만 읽는다.
+ */
+public record LedgerOutboxEvent(
+        String outboxId,
+        String ledgerId,
+        String customerId,
+        LedgerEventType eventType,
+        String payload
+) {
+}
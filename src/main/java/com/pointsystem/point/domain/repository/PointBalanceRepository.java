@@ -0,0 +1,71 @@
+package com.pointsystem.point.domain.repository;
+
+import com.pointsystem.point.domain.entity.PointBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PointBalanceRepository extends JpaRepository<PointBalance, String> {
+
+    @Query("SELECT b.balance FROM PointBalance b WHERE b.customerId = :customerId")
+    Optional<Long> findBalance(@Param("customerId") String customerId);
+
+    @Query("SELECT b.customerId AS customerId, b.balance AS amount FROM PointBalance b WHERE b.customerId IN :customerIds")
+    List<CustomerAmount> findBalances(@Param("customerIds") Collection<String> customerIds);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO point_balance (customer_id, balance, updated_at) " +
+            "VALUES (:customerId, :balance, :now)", nativeQuery = true)
+    int insertIfAbsent(
+            @Param("customerId") String customerId,
+            @Param("balance") long balance,
+            @Param("now") Instant now
+    );
+
+    @Modifying
+    @Query("UPDATE PointBalance b SET b.balance = b.balance + :delta, b.updatedAt = :now " +
+            "WHERE b.customerId = :customerId")
+    int addBalance(
+            @Param("customerId") String customerId,
+            @Param("delta") long delta,
+            @Param("now") Instant now
+    );
+
+    /**
+     * 잔액이 expected 일 때만 delta 를 더한다. 정합성 점검 보정용.
+     */
+    @Modifying
+    @Query("UPDATE PointBalance b SET b.balance = b.balance + :delta, b.updatedAt = :now " +
+            "WHERE b.customerId = :customerId AND b.balance = :expected")
+    int addBalanceIfUnchanged(
+            @Param("customerId") String customerId,
+            @Param("delta") long delta,
+            @Param("expected") long expected,
+            @Param("now") Instant now
+    );
+
+    @Modifying
+    @Query("UPDATE PointBalance b SET b.balance = :balance, b.updatedAt = :now " +
+            "WHERE b.customerId = :customerId")
+    int overwriteBalance(
+            @Param("customerId") String customerId,
+            @Param("balance") long balance,
+            @Param("now") Instant now
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM PointBalance b WHERE b.customerId = :customerId")
+    Optional<PointBalance> findByIdWithLock(@Param("customerId") String customerId);
+
+    @Query("SELECT b FROM PointBalance b WHERE b.customerId > :afterCustomerId ORDER BY b.customerId ASC")
+    List<PointBalance> findPageAfter(@Param("afterCustomerId") String afterCustomerId, Limit limit);
+}
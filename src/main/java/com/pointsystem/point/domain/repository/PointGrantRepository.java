@@ -3,12 +3,15 @@ package com.pointsystem.point.domain.repository;
 import com.pointsystem.point.domain.entity.GrantStatus;
 import com.pointsystem.point.domain.entity.PointGrant;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +24,72 @@ public interface PointGrantRepository extends JpaRepository<PointGrant, String>
             @Param("now") Instant now
     );
 
+    @Query("SELECT COALESCE(SUM(g.amountAvailable), 0) FROM PointGrant g " +
+            "WHERE g.customerId = :customerId AND g.status = :status")
+    Long sumAmountAvailable(
+            @Param("customerId") String customerId,
+            @Param("status") GrantStatus status
+    );
+
+    @Query("SELECT g.customerId AS customerId, SUM(g.amountAvailable) AS amount FROM PointGrant g " +
+            "WHERE g.customerId IN :customerIds AND g.status = :status GROUP BY g.customerId")
+    List<CustomerAmount> sumAmountAvailableByCustomers(
+            @Param("customerIds") Collection<String> customerIds,
+            @Param("status") GrantStatus status
+    );
+
+    @Query("SELECT g.grantType AS grantType, SUM(g.amountAvailable) AS amount, " +
+            "SUM(CASE WHEN g.expiresAt <= :within7Days THEN g.amountAvailable ELSE 0L END) AS expiringWithin7Days, " +
+            "SUM(CASE WHEN g.expiresAt <= :within30Days THEN g.amountAvailable ELSE 0L END) AS expiringWithin30Days, " +
+            "SUM(CASE WHEN g.expiresAt <= :within90Days THEN g.amountAvailable ELSE 0L END) AS expiringWithin90Days, " +
+            "MIN(g.expiresAt) AS nextExpiresAt " +
+            "FROM PointGrant g WHERE g.customerId = :customerId " +
+            "AND g.status = :status AND g.amountAvailable > 0 AND g.expiresAt > :now " +
+            "GROUP BY g.grantType")
+    List<GrantTypeBalance> summarizeAvailableByGrantType(
+            @Param("customerId") String customerId,
+            @Param("status") GrantStatus status,
+            @Param("now") Instant now,
+            @Param("within7Days") Instant within7Days,
+            @Param("within30Days") Instant within30Days,
+            @Param("within90Days") Instant within90Days
+    );
+
+    @Query("SELECT g.customerId FROM PointGrant g WHERE g.grantId = :grantId")
+    Optional<String> findCustomerIdByGrantId(@Param("grantId") String grantId);
+
+    @Query("SELECT new com.pointsystem.point.domain.repository.GrantView(" +
+            "g.grantId, g.customerId, g.grantType, g.amountTotal, g.amountAvailable, g.expiresAt, g.status, g.createdAt) " +
+            "FROM PointGrant g WHERE g.grantId = :grantId")
+    Optional<GrantView> findViewById(@Param("grantId") String grantId);
+
+    /**
+     * 고객의 적립을 최신순으로 조회한다. (createdAt, grantId) 키셋으로 다음 페이지를 읽는다.
+     */
+    @Query("SELECT new com.pointsystem.point.domain.repository.GrantView(" +
+            "g.grantId, g.customerId, g.grantType, g.amountTotal, g.amountAvailable, g.expiresAt, g.status, g.createdAt) " +
+            "FROM PointGrant g " +
+            "WHERE g.customerId = :customerId " +
+            "AND (:status IS NULL OR g.status = :status) " +
+            "ORDER BY g.createdAt DESC, g.grantId DESC")
+    List<GrantView> findGrantPage(@Param("customerId") String customerId,
+                                  @Param("status") GrantStatus status,
+                                  Limit limit);
+
+    @Query("SELECT new com.pointsystem.point.domain.repository.GrantView(" +
+            "g.grantId, g.customerId, g.grantType, g.amountTotal, g.amountAvailable, g.expiresAt, g.status, g.createdAt) " +
+            "FROM PointGrant g " +
+            "WHERE g.customerId = :customerId " +
+            "AND (:status IS NULL OR g.status = :status) " +
+            "AND (g.createdAt < :afterCreatedAt " +
+            "  OR (g.createdAt = :afterCreatedAt AND g.grantId < :afterGrantId)) " +
+            "ORDER BY g.createdAt DESC, g.grantId DESC")
+    List<GrantView> findGrantPageAfter(@Param("customerId") String customerId,
+                                       @Param("status") GrantStatus status,
+                                       @Param("afterCreatedAt") Instant afterCreatedAt,
+                                       @Param("afterGrantId") String afterGrantId,
+                                       Limit limit);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT g FROM PointGrant g WHERE g.grantId = :grantId")
     Optional<PointGrant> findByIdWithLock(@Param("grantId") String grantId);
@@ -35,4 +104,90 @@ public interface PointGrantRepository extends JpaRepository<PointGrant, String>
             @Param("now") Instant now
     );
 
+    @Query("SELECT g FROM PointGrant g WHERE g.customerId = :customerId " +
+            "AND g.status = :status AND g.amountAvailable > 0 AND g.expiresAt > :now " +
+            "ORDER BY CASE WHEN g.grantType = 'MANUAL' THEN 0 ELSE 1 END, g.expiresAt ASC, g.createdAt ASC")
+    List<PointGrant> findUsableGrants(
+            @Param("customerId") String customerId,
+            @Param("status") GrantStatus status,
+            @Param("now") Instant now
+    );
+
+    @Query("SELECT g.grantId AS grantId, g.amountAvailable AS amountAvailable FROM PointGrant g " +
+            "WHERE g.customerId = :customerId " +
+            "AND g.status = :status AND g.amountAvailable > 0 AND g.expiresAt > :now " +
+            "ORDER BY CASE WHEN g.grantType = 'MANUAL' THEN 0 ELSE 1 END, g.expiresAt ASC, g.createdAt ASC")
+    List<GrantCandidate> findUsableGrantCandidates(
+            @Param("customerId") String customerId,
+            @Param("status") GrantStatus status,
+            @Param("now") Instant now,
+            Limit limit
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM PointGrant g WHERE g.grantId IN :grantIds " +
+            "AND g.status = :status AND g.amountAvailable > 0 AND g.expiresAt > :now " +
+            "ORDER BY CASE WHEN g.grantType = 'MANUAL' THEN 0 ELSE 1 END, g.expiresAt ASC, g.createdAt ASC")
+    List<PointGrant> findUsableGrantsByIdsWithLock(
+            @Param("grantIds") Collection<String> grantIds,
+            @Param("status") GrantStatus status,
+            @Param("now") Instant now
+    );
+
+    @Query("SELECT g FROM PointGrant g WHERE g.grantId IN :grantIds " +
+            "AND g.status = :status AND g.amountAvailable > 0 AND g.expiresAt > :now " +
+            "ORDER BY CASE WHEN g.grantType = 'MANUAL' THEN 0 ELSE 1 END, g.expiresAt ASC, g.createdAt ASC")
+    List<PointGrant> findUsableGrantsByIds(
+            @Param("grantIds") Collection<String> grantIds,
+            @Param("status") GrantStatus status,
+            @Param("now") Instant now
+    );
+
+    /**
+     * 병합 가능한(일부 사용된) 적립이 minGrants 건 이상인 고객을 고객 ID 순으로 조회한다.
+     */
+    @Query("SELECT g.customerId FROM PointGrant g WHERE g.status = :status AND g.expiresAt > :now " +
+            "AND g.amountAvailable > 0 AND g.amountAvailable < g.amountTotal " +
+            "AND g.customerId > :afterCustomerId " +
+            "GROUP BY g.customerId HAVING COUNT(g) >= :minGrants ORDER BY g.customerId ASC")
+    List<String> findCompactionCandidates(
+            @Param("status") GrantStatus status,
+            @Param("now") Instant now,
+            @Param("afterCustomerId") String afterCustomerId,
+            @Param("minGrants") long minGrants,
+            Limit limit
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM PointGrant g WHERE g.customerId = :customerId " +
+            "AND g.status = :status AND g.expiresAt > :now " +
+            "AND g.amountAvailable > 0 AND g.amountAvailable < g.amountTotal " +
+            "ORDER BY g.grantType ASC, g.expiresAt ASC, g.createdAt ASC")
+    List<PointGrant> findCompactableGrantsWithLock(
+            @Param("customerId") String customerId,
+            @Param("status") GrantStatus status,
+            @Param("now") Instant now
+    );
+
+    /**
+     * 이전에 병합되어 grantIds 를 가리키던 적립이 새 후속 적립을 가리키도록 바꾼다. (후속 적립 연결을 1단계로 유지)
+     */
+    @Modifying
+    @Query("UPDATE PointGrant g SET g.mergedIntoGrantId = :successorId WHERE g.mergedIntoGrantId IN :grantIds")
+    int repointMergedGrants(
+            @Param("grantIds") Collection<String> grantIds,
+            @Param("successorId") String successorId
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM PointGrant g WHERE g.status = :status AND g.expiresAt <= :now " +
+            "AND (g.expiresAt > :afterExpiresAt OR (g.expiresAt = :afterExpiresAt AND g.grantId > :afterGrantId)) " +
+            "ORDER BY g.expiresAt ASC, g.grantId ASC")
+    List<PointGrant> findExpiredGrantsWithLock(
+            @Param("status") GrantStatus status,
+            @Param("now") Instant now,
+            @Param("afterExpiresAt") Instant afterExpiresAt,
+            @Param("afterGrantId") String afterGrantId,
+            Limit limit
+    );
 }
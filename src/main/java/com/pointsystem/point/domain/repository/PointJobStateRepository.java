@@ -0,0 +1,7 @@
+package com.pointsystem.point.domain.repository;
+
+import com.pointsystem.point.domain.entity.PointJobState;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PointJobStateRepository extends JpaRepository<PointJobState, String> {
+}
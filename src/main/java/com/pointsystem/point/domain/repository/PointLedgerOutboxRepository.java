@@ -0,0 +1,75 @@
+package com.pointsystem.point.domain.repository;
+
+import com.pointsystem.point.domain.entity.OutboxStatus;
+import com.pointsystem.point.domain.entity.PointLedgerOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface PointLedgerOutboxRepository extends JpaRepository<PointLedgerOutbox, String> {
+
+    /**
+     * 다른 릴레이가 선점하지 않았거나 선점이 만료된 전달 대기 이벤트 ID 를 outboxId 키셋으로 읽는다.
+     * (status, outbox_id) 인덱스 범위 조회이며 선점 여부는 읽은 행에서 거른다.
+     */
+    @Query("SELECT o.outboxId FROM PointLedgerOutbox o " +
+            "WHERE o.status = :status AND o.outboxId > :afterOutboxId " +
+            "AND (o.claimedUntil IS NULL OR o.claimedUntil < :now) " +
+            "ORDER BY o.outboxId ASC")
+    List<String> findClaimableIdsAfter(
+            @Param("status") OutboxStatus status,
+            @Param("afterOutboxId") String afterOutboxId,
+            @Param("now") Instant now,
+            Limit limit);
+
+    /**
+     * 조회와 갱신 사이에 다른 릴레이가 선점한 행은 조건에서 빠지므로, 선점한 행은 claimToken 으로 다시 읽는다.
+     */
+    @Modifying
+    @Query("UPDATE PointLedgerOutbox o SET o.claimToken = :claimToken, o.claimedUntil = :claimedUntil " +
+            "WHERE o.outboxId IN :outboxIds AND o.status = :status " +
+            "AND (o.claimedUntil IS NULL OR o.claimedUntil < :now)")
+    int claim(
+            @Param("outboxIds") Collection<String> outboxIds,
+            @Param("status") OutboxStatus status,
+            @Param("claimToken") String claimToken,
+            @Param("claimedUntil") Instant claimedUntil,
+            @Param("now") Instant now);
+
+    @Query("SELECT new com.pointsystem.point.domain.repository.LedgerOutboxEvent(" +
+            "o.outboxId, o.ledgerId, o.customerId, o.eventType, o.payload) " +
+            "FROM PointLedgerOutbox o " +
+            "WHERE o.outboxId IN :outboxIds AND o.claimToken = :claimToken " +
+            "ORDER BY o.outboxId ASC")
+    List<LedgerOutboxEvent> findClaimedEvents(
+            @Param("outboxIds") Collection<String> outboxIds,
+            @Param("claimToken") String claimToken);
+
+    @Modifying
+    @Query("UPDATE PointLedgerOutbox o SET o.claimToken = NULL, o.claimedUntil = NULL " +
+            "WHERE o.outboxId IN :outboxIds AND o.claimToken = :claimToken")
+    int releaseClaim(
+            @Param("outboxIds") Collection<String> outboxIds,
+            @Param("claimToken") String claimToken);
+
+    @Modifying
+    @Query("UPDATE PointLedgerOutbox o SET o.status = :status, o.deliveredAt = :now " +
+            "WHERE o.outboxId IN :outboxIds AND o.claimToken = :claimToken")
+    int markDelivered(
+            @Param("outboxIds") Collection<String> outboxIds,
+            @Param("claimToken") String claimToken,
+            @Param("status") OutboxStatus status,
+            @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM PointLedgerOutbox o WHERE o.status = :status AND o.deliveredAt < :before")
+    int deleteDeliveredBefore(
+            @Param("status") OutboxStatus status,
+            @Param("before") Instant before);
+}
@@ -1,11 +1,90 @@
 package com.pointsystem.point.domain.repository;
 
+import com.pointsystem.point.domain.entity.LedgerEventType;
 import com.pointsystem.point.domain.entity.PointLedger;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface PointLedgerRepository extends JpaRepository<PointLedger, String> {
 
     List<PointLedger> findByCustomerIdOrderByCreatedAtDesc(String customerId);
+
+    /**
+     * 고객 원장의 첫 페이지. (customer_id, created_at, ledger_id) 인덱스를 역순으로 읽는다.
+     * 이벤트 타입 필터는 {@link #findLedgerPageByEventType} 로 나누어, 선택적 조건(:eventType IS NULL OR ...) 때문에
+     * 옵티마이저가 인덱스 접두어를 정하지 못하는 일이 없게 한다.
+     */
+    @Query("SELECT new com.pointsystem.point.domain.repository.LedgerEntry(" +
+            "l.ledgerId, l.eventType, l.refId, l.amount, l.orderId, l.createdAt) " +
+            "FROM PointLedger l " +
+            "WHERE l.customerId = :customerId " +
+            "ORDER BY l.createdAt DESC, l.ledgerId DESC")
+    List<LedgerEntry> findLedgerPage(@Param("customerId") String customerId, Limit limit);
+
+    /**
+     * (createdAt, ledgerId) 커서 이후 페이지. OFFSET 없이 인덱스 위치에서 바로 읽으므로 페이지 깊이와 무관하게 비용이 같다.
+     */
+    @Query("SELECT new com.pointsystem.point.domain.repository.LedgerEntry(" +
+            "l.ledgerId, l.eventType, l.refId, l.amount, l.orderId, l.createdAt) " +
+            "FROM PointLedger l " +
+            "WHERE l.customerId = :customerId " +
+            "AND (l.createdAt < :afterCreatedAt " +
+            "  OR (l.createdAt = :afterCreatedAt AND l.ledgerId < :afterLedgerId)) " +
+            "ORDER BY l.createdAt DESC, l.ledgerId DESC")
+    List<LedgerEntry> findLedgerPageAfter(@Param("customerId") String customerId,
+                                          @Param("afterCreatedAt") Instant afterCreatedAt,
+                                          @Param("afterLedgerId") String afterLedgerId,
+                                          Limit limit);
+
+    /**
+     * 이벤트 타입으로 거른 첫 페이지. (customer_id, event_type, created_at, ledger_id) 인덱스를 역순으로 읽으므로
+     * 드문 이벤트 타입도 다른 타입의 원장을 건너뛰지 않는다.
+     */
+    @Query("SELECT new com.pointsystem.point.domain.repository.LedgerEntry(" +
+            "l.ledgerId, l.eventType, l.refId, l.amount, l.orderId, l.createdAt) " +
+            "FROM PointLedger l " +
+            "WHERE l.customerId = :customerId " +
+            "AND l.eventType = :eventType " +
+            "ORDER BY l.createdAt DESC, l.ledgerId DESC")
+    List<LedgerEntry> findLedgerPageByEventType(@Param("customerId") String customerId,
+                                                @Param("eventType") LedgerEventType eventType,
+                                                Limit limit);
+
+    /**
+     * 이벤트 타입으로 거른 (createdAt, ledgerId) 커서 이후 페이지.
+     */
+    @Query("SELECT new com.pointsystem.point.domain.repository.LedgerEntry(" +
+            "l.ledgerId, l.eventType, l.refId, l.amount, l.orderId, l.createdAt) " +
+            "FROM PointLedger l " +
+            "WHERE l.customerId = :customerId " +
+            "AND l.eventType = :eventType " +
+            "AND (l.createdAt < :afterCreatedAt " +
+            "  OR (l.createdAt = :afterCreatedAt AND l.ledgerId < :afterLedgerId)) " +
+            "ORDER BY l.createdAt DESC, l.ledgerId DESC")
+    List<LedgerEntry> findLedgerPageByEventTypeAfter(@Param("customerId") String customerId,
+                                                     @Param("eventType") LedgerEventType eventType,
+                                                     @Param("afterCreatedAt") Instant afterCreatedAt,
+                                                     @Param("afterLedgerId") String afterLedgerId,
+                                                     Limit limit);
+
+    /**
+     * 보관 기간이 지난 원장을 오래된 순으로 읽는다. (created_at, ledger_id) 인덱스 범위 스캔.
+     */
+    @Query("SELECT new com.pointsystem.point.domain.repository.LedgerArchiveRow(" +
+            "l.ledgerId, l.customerId, l.eventType, l.refId, l.amount, l.orderId, l.createdAt) " +
+            "FROM PointLedger l " +
+            "WHERE l.createdAt < :before " +
+            "ORDER BY l.createdAt ASC, l.ledgerId ASC")
+    List<LedgerArchiveRow> findArchiveCandidates(@Param("before") Instant before, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM PointLedger l WHERE l.ledgerId IN :ledgerIds")
+    int deleteByLedgerIds(@Param("ledgerIds") Collection<String> ledgerIds);
 }
@@ -2,6 +2,11 @@ package com.pointsystem.point.domain.repository;
 
 import com.pointsystem.point.domain.entity.PointPolicy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface PointPolicyRepository extends JpaRepository<PointPolicy, String> {
+
+    @Query("SELECT new com.pointsystem.point.domain.repository.PolicyVersion(MAX(p.updatedAt), COUNT(p)) " +
+            "FROM PointPolicy p")
+    PolicyVersion findVersion();
 }
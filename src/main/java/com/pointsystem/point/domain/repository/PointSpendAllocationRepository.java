@@ -6,15 +6,37 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface PointSpendAllocationRepository extends JpaRepository<PointSpendAllocation, String> {
-    
+
+    /**
+     * 사용건의 배분을 차감 순서대로 조회한다. a.grant.grantId 는 외래 키 컬럼이므로 적립을 조인하지 않는다.
+     */
+    @Query("SELECT new com.pointsystem.point.domain.repository.SpendAllocationView(" +
+            "a.allocationId, a.grant.grantId, a.amountUsed, a.amountCanceled) " +
+            "FROM PointSpendAllocation a WHERE a.spend.spendId = :spendId " +
+            "ORDER BY a.createdAt ASC, a.allocationId ASC")
+    List<SpendAllocationView> findViewsBySpendId(@Param("spendId") String spendId);
+
     @Query("SELECT a FROM PointSpendAllocation a JOIN FETCH a.grant g " +
             "WHERE a.spend.spendId = :spendId " +
-            "ORDER BY CASE WHEN g.expiresAt > :now AND g.status = 'ACTIVE' THEN 0 ELSE 1 END, " +
+            "ORDER BY CASE WHEN g.expiresAt > :now AND g.status IN ('ACTIVE', 'COMPACTED') THEN 0 ELSE 1 END, " +
             "g.expiresAt ASC, a.createdAt ASC")
     List<PointSpendAllocation> findBySpendIdWithGrantForCancel(
             @Param("spendId") String spendId,
             @Param("now") Instant now);
+
+    /**
+     * 여러 사용건의 배분을 한 번에 조회한다. 사용건 안에서는 findBySpendIdWithGrantForCancel 과 같은 순서이다.
+     */
+    @Query("SELECT a FROM PointSpendAllocation a JOIN FETCH a.grant g " +
+            "WHERE a.spend.spendId IN :spendIds " +
+            "ORDER BY a.spend.spendId, " +
+            "CASE WHEN g.expiresAt > :now AND g.status IN ('ACTIVE', 'COMPACTED') THEN 0 ELSE 1 END, " +
+            "g.expiresAt ASC, a.createdAt ASC")
+    List<PointSpendAllocation> findBySpendIdsWithGrantForCancel(
+            @Param("spendIds") Collection<String> spendIds,
+            @Param("now") Instant now);
 }
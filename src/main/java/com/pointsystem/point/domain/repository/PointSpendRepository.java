@@ -7,12 +7,39 @@ import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PointSpendRepository extends JpaRepository<PointSpend, String> {
     boolean existsByCustomerIdAndOrderId(String customerId, String orderId);
 
+    @Query("SELECT new com.pointsystem.point.domain.repository.SpendView(" +
+            "s.spendId, s.customerId, s.orderId, s.amountTotal, s.amountCanceled, s.status, s.createdAt) " +
+            "FROM PointSpend s WHERE s.spendId = :spendId")
+    Optional<SpendView> findViewById(@Param("spendId") String spendId);
+
+    @Query("SELECT s.customerId FROM PointSpend s WHERE s.spendId = :spendId")
+    Optional<String> findCustomerIdBySpendId(@Param("spendId") String spendId);
+
+    /**
+     * 메모리 엔진이 고객을 적재할 때 주문 중복 확인용으로 최근 사용의 주문번호만 읽는다. (customer_id, created_at) 인덱스 범위 조회.
+     */
+    @Query("SELECT s.orderId FROM PointSpend s WHERE s.customerId = :customerId AND s.createdAt >= :since")
+    List<String> findRecentOrderIds(@Param("customerId") String customerId, @Param("since") Instant since);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT s FROM PointSpend s WHERE s.spendId = :spendId")
     Optional<PointSpend> findByIdWithLock(@Param("spendId") String spendId);
+
+    @Query("SELECT s.spendId AS spendId, s.customerId AS customerId FROM PointSpend s WHERE s.spendId IN :spendIds")
+    List<SpendOwner> findOwnersBySpendIds(@Param("spendIds") Collection<String> spendIds);
+
+    /**
+     * 여러 사용건을 사용 ID 순서로 잠근다. 동시에 실행되는 일괄 취소끼리 같은 순서로 잠가 교착을 피한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PointSpend s WHERE s.spendId IN :spendIds ORDER BY s.spendId")
+    List<PointSpend> findAllByIdsWithLock(@Param("spendIds") Collection<String> spendIds);
 }
@@ -0,0 +1,12 @@
+package com.pointsystem.point.domain.repository;
+
+import java.time.Instant;
+
+/**
+ * point_policy 테이블의 변경 여부를 판단하기 위한 버전 정보.
+ * 행 삭제는 updatedAt 으로 감지할 수 없으므로 행 수를 함께 비교한다.
+ */
+public record PolicyVersion(Instant lastUpdatedAt, Long count) {
+
+    public static final PolicyVersion EMPTY = new PolicyVersion(null, 0L);
+}
@@ -0,0 +1,12 @@
+package com.pointsystem.point.domain.repository;
+
+/**
+ * 배분 조회용 프로젝션. 적립 ID 는 외래 키 컬럼에서 읽으므로 적립을 조인하거나 지연 로딩하지 않는다.
+ */
+public record SpendAllocationView(
+        String allocationId,
+        String grantId,
+        long amountUsed,
+        long amountCanceled
+) {
+}
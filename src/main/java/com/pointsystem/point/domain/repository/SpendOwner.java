@@ -0,0 +1,11 @@
+package com.pointsystem.point.domain.repository;
+
+/**
+ * 일괄 취소 시 사용건을 고객별로 묶기 위한 프로젝션.
+ */
+public interface SpendOwner {
+
+    String getSpendId();
+
+    String getCustomerId();
+}
@@ -0,0 +1,19 @@
+package com.pointsystem.point.domain.repository;
+
+import com.pointsystem.point.domain.entity.SpendStatus;
+
+import java.time.Instant;
+
+/**
+ * 사용건 조회용 프로젝션. 배분은 {@link SpendAllocationView} 로 따로 읽는다.
+ */
+public record SpendView(
+        String spendId,
+        String customerId,
+        String orderId,
+        Long amountTotal,
+        Long amountCanceled,
+        SpendStatus status,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,94 @@
+package com.pointsystem.point.engine;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.common.id.IdGenerators;
+import com.pointsystem.point.domain.entity.AmountPlan;
+import com.pointsystem.point.domain.entity.PointGrant;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 메모리 엔진이 보관하는 고객 한 명의 사용 가능 적립과 최근 주문번호.
+ * 파티션 스레드에서만 읽고 바꾸므로 동기화하지 않는다.
+ * 적립은 DB 조회와 같은 우선순위(MANUAL 우선, 만료 임박순, 적립순)로 정렬해 둔다.
+ */
+final class CustomerBook {
+
+    private final String customerId;
+    private final String[] grantIds;
+    private final AmountPlan plan;
+    private final Set<String> orderIds;
+    private long lastLsn;
+
+    private CustomerBook(String customerId, String[] grantIds, AmountPlan plan, Set<String> orderIds) {
+        this.customerId = customerId;
+        this.grantIds = grantIds;
+        this.plan = plan;
+        this.orderIds = orderIds;
+    }
+
+    /**
+     * @param usableGrants 우선순위 순으로 조회한 사용 가능 적립
+     * @param orderIds     최근 사용에 쓰인 주문번호 (적재 후 사용한 주문번호는 {@link #apply} 에서 더한다)
+     */
+    static CustomerBook load(String customerId, List<PointGrant> usableGrants, Collection<String> orderIds) {
+        String[] grantIds = new String[usableGrants.size()];
+        AmountPlan plan = new AmountPlan(usableGrants.size());
+        for (int i = 0; i < grantIds.length; i++) {
+            PointGrant grant = usableGrants.get(i);
+            grantIds[i] = grant.getGrantId();
+            plan.add(grant.getAmountAvailable(), grant.getExpiresAt().toEpochMilli());
+        }
+        return new CustomerBook(customerId, grantIds, plan, new HashSet<>(orderIds));
+    }
+
+    /**
+     * 차감할 배분을 계산한다. 적립 잔액은 WAL 기록 후 {@link #apply(SpendEntry, long)} 에서 줄인다.
+     */
+    List<SpendEntry.Allocation> plan(String orderId, long amount, Instant now) {
+        if (orderIds.contains(orderId)) {
+            throw new BusinessException(ErrorCode.SPEND_DUPLICATE_ORDER);
+        }
+
+        long nowMillis = now.toEpochMilli();
+        if (plan.fill(amount, nowMillis) < amount) {
+            throw new BusinessException(ErrorCode.SPEND_INSUFFICIENT_BALANCE,
+                    String.format("(필요: %d, 보유: %d)", amount, plan.total(nowMillis)));
+        }
+        int end = plan.end();
+        List<SpendEntry.Allocation> allocations = new ArrayList<>(end);
+        for (int i = 0; i < end; i++) {
+            long deducted = plan.taken(i);
+            if (deducted > 0) {
+                allocations.add(new SpendEntry.Allocation(IdGenerators.nextId(), grantIds[i], deducted));
+            }
+        }
+        return allocations;
+    }
+
+    /**
+     * 직전 {@link #plan} 결과를 확정한다. 같은 파티션 작업 안에서 plan 바로 뒤에 호출한다.
+     */
+    void apply(SpendEntry entry, long lsn) {
+        plan.commit();
+        orderIds.add(entry.orderId());
+        lastLsn = lsn;
+    }
+
+    String customerId() {
+        return customerId;
+    }
+
+    /**
+     * 이 고객의 마지막 WAL 레코드. 이 LSN 까지 DB 에 반영되면 DB 와 메모리 상태가 같다.
+     */
+    long lastLsn() {
+        return lastLsn;
+    }
+}
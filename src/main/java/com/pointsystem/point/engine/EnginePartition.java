@@ -0,0 +1,185 @@
+package com.pointsystem.point.engine;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 고객 해시로 나눈 메모리 엔진 파티션. 스레드 하나가 파티션의 모든 고객 상태를 소유한다(단일 writer).
+ * <p>
+ * 고객 상태는 세 가지이다.
+ * <ul>
+ *     <li>없음: 아직 적재하지 않았거나, DB 경로 처리 후 내려놓은 상태</li>
+ *     <li>적재: {@link CustomerBook} 으로 메모리에서 사용을 처리</li>
+ *     <li>대여: 적재 또는 DB 경로 처리를 위해 호출 스레드가 고객을 가져간 상태. 다른 요청은 반환될 때까지 기다린다.</li>
+ * </ul>
+ * DB 조회와 DB 경로 처리는 대여한 호출 스레드에서 실행하므로, 파티션 스레드는 메모리 연산만 한다.
+ */
+final class EnginePartition {
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final int maxBooks;
+    private final AtomicInteger queued = new AtomicInteger();
+    private volatile int bookCount;
+
+    // 파티션 스레드에서만 접근한다. 접근 순서를 유지해 오래 쓰지 않은 고객부터 내려놓는다.
+    private final Map<String, Slot> slots = new LinkedHashMap<>(1024, 0.75f, true);
+
+    EnginePartition(int index, int queueCapacity, int maxBooks) {
+        this.queueCapacity = queueCapacity;
+        this.maxBooks = maxBooks;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().name("point-engine-" + index).daemon().factory());
+    }
+
+    /**
+     * 파티션 스레드에서 작업을 실행하고 결과를 기다린다. 대기열이 가득 차면 실행하지 않고 실패한다.
+     */
+    <T> T call(Callable<T> task) {
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            throw new BusinessException(ErrorCode.CUSTOMER_REQUEST_BUSY);
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queued.decrementAndGet();
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            throw new BusinessException(ErrorCode.CUSTOMER_REQUEST_BUSY);
+        }
+        return await(future);
+    }
+
+    /**
+     * 대여 반환처럼 반드시 실행되어야 하는 작업. 대기열 한도를 적용하지 않는다.
+     */
+    void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * 고객 상태를 찾는다. 없으면 null. 파티션 스레드에서만 호출한다.
+     */
+    Slot find(String customerId) {
+        return slots.get(customerId);
+    }
+
+    /**
+     * 고객을 대여 상태로 바꾼다. 적재되어 있었다면 메모리 상태는 버린다. 파티션 스레드에서만 호출한다.
+     */
+    Slot checkOut(String customerId) {
+        Slot checkedOut = Slot.checkedOut();
+        Slot previous = slots.put(customerId, checkedOut);
+        if (previous != null && previous.book != null) {
+            bookCount--;
+        }
+        return checkedOut;
+    }
+
+    /**
+     * 적재를 마친 고객을 등록하고 대여를 푼다. 파티션 스레드에서만 호출한다.
+     *
+     * @param appliedLsn DB 에 반영이 끝난 LSN. 이보다 뒤 레코드가 없는 고객만 내려놓을 수 있다.
+     */
+    void install(String customerId, Slot checkedOut, CustomerBook book, long appliedLsn) {
+        slots.put(customerId, Slot.ready(book));
+        bookCount++;
+        evictIdle(appliedLsn, customerId);
+        checkedOut.release();
+    }
+
+    /**
+     * 고객을 내려놓고 대여를 푼다. 다음 요청은 DB 에서 다시 적재한다. 파티션 스레드에서만 호출한다.
+     */
+    void release(String customerId, Slot checkedOut) {
+        slots.remove(customerId, checkedOut);
+        checkedOut.release();
+    }
+
+    int bookCount() {
+        return bookCount;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void evictIdle(long appliedLsn, String installed) {
+        if (bookCount <= maxBooks) {
+            return;
+        }
+        Iterator<Map.Entry<String, Slot>> iterator = slots.entrySet().iterator();
+        while (bookCount > maxBooks && iterator.hasNext()) {
+            Map.Entry<String, Slot> entry = iterator.next();
+            Slot slot = entry.getValue();
+            // DB 반영이 끝나지 않은 고객은 내려놓으면 다시 적재할 때 반영 전 잔액을 읽으므로 남겨 둔다.
+            if (slot.book != null && slot.book.lastLsn() <= appliedLsn && !entry.getKey().equals(installed)) {
+                iterator.remove();
+                bookCount--;
+            }
+        }
+    }
+
+    static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.CUSTOMER_REQUEST_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 고객 하나의 상태. book 이 있으면 적재, 없으면 대여 중이며 released 로 반환을 기다린다.
+     */
+    static final class Slot {
+
+        final CustomerBook book;
+        final CompletableFuture<Void> released;
+
+        private Slot(CustomerBook book, CompletableFuture<Void> released) {
+            this.book = book;
+            this.released = released;
+        }
+
+        static Slot ready(CustomerBook book) {
+            return new Slot(book, null);
+        }
+
+        static Slot checkedOut() {
+            return new Slot(null, new CompletableFuture<>());
+        }
+
+        boolean isCheckedOut() {
+            return book == null;
+        }
+
+        void release() {
+            if (released != null) {
+                released.complete(null);
+            }
+        }
+    }
+}
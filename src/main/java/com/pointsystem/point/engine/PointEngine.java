@@ -0,0 +1,322 @@
+package com.pointsystem.point.engine;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.common.id.IdGenerators;
+import com.pointsystem.common.metrics.PointMetrics;
+import com.pointsystem.common.wal.MappedWriteAheadLog;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.controller.dto.PointSpendResponse;
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.entity.SpendStatus;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.domain.repository.PointSpendRepository;
+import com.pointsystem.point.service.PointBalanceService;
+import com.pointsystem.point.service.PointLedgerRecorder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 고객별 사용 가능 적립을 메모리에 두고 사용을 처리하는 엔진 (point.engine.mode=memory).
+ * <p>
+ * 고객은 해시로 파티션에 배정되고, 파티션 스레드 하나가 그 고객들의 적립 잔액을 소유한다.
+ * 사용은 파티션 스레드에서 메모리 차감 후 WAL 에 기록하고, 그룹 fsync 로 디스크에 내려간 뒤 응답한다.
+ * point_spend, point_spend_allocation, point_grant, point_ledger, point_balance 는 {@link PointEngineWriter} 가 비동기로 반영한다.
+ * <p>
+ * 적립, 적립 취소, 사용 취소와 배치 작업은 기존 DB 경로를 그대로 쓴다. 실행 전에 {@link #exclusive} 로 고객을 대여해
+ * 해당 고객의 WAL 레코드가 DB 에 모두 반영될 때까지 기다리고, 끝나면 메모리 상태를 버려 다음 사용 때 DB 에서 다시 적재한다.
+ * <p>
+ * 한 고객의 요청은 한 인스턴스에서만 처리되어야 한다(고객 단위 라우팅).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "point.engine.mode", havingValue = "memory")
+public class PointEngine {
+
+    private final PointGrantRepository grantRepository;
+    private final PointSpendRepository spendRepository;
+    private final PointMetrics metrics;
+    private final MappedWriteAheadLog wal;
+    private final PointEngineWriter writer;
+    private final EnginePartition[] partitions;
+    private final Duration drainTimeout;
+    private final Duration orderIdWindow;
+
+    // WAL 순서와 반영 대기열 순서를 맞추기 위한 락. 파티션 스레드끼리만 잠깐 경합한다.
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // 아직 DB 에 반영되지 않은 사용의 고객. 사용 직후 취소 요청의 고객 조회에 쓴다.
+    private final Map<String, String> pendingSpendOwners = new ConcurrentHashMap<>();
+
+    public PointEngine(PointGrantRepository grantRepository,
+                       PointSpendRepository spendRepository,
+                       PointLedgerRecorder ledgerRecorder,
+                       PointBalanceService balanceService,
+                       NamedParameterJdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       PointMetrics metrics,
+                       @Value("${point.engine.wal.directory:build/point-wal}") String walDirectory,
+                       @Value("${point.engine.wal.segment-size-mb:64}") int segmentSizeMb,
+                       @Value("${point.engine.wal.group-commit-delay-us:0}") long groupCommitDelayMicros,
+                       @Value("${point.engine.partitions:0}") int partitionCount,
+                       @Value("${point.engine.partition-queue-capacity:10000}") int queueCapacity,
+                       @Value("${point.engine.max-customers-per-partition:100000}") int maxCustomersPerPartition,
+                       @Value("${point.engine.writer.batch-size:500}") int writerBatchSize,
+                       @Value("${point.engine.writer.checkpoint-interval-ms:1000}") long checkpointIntervalMillis,
+                       @Value("${point.engine.drain-timeout-ms:5000}") long drainTimeoutMillis,
+                       @Value("${point.engine.order-id-window-hours:24}") long orderIdWindowHours) {
+        this.grantRepository = grantRepository;
+        this.spendRepository = spendRepository;
+        this.metrics = metrics;
+        this.drainTimeout = Duration.ofMillis(drainTimeoutMillis);
+        this.orderIdWindow = Duration.ofHours(orderIdWindowHours);
+        this.wal = MappedWriteAheadLog.open(Path.of(walDirectory), segmentSizeMb * 1024 * 1024,
+                Duration.ofNanos(groupCommitDelayMicros * 1000));
+        this.writer = new PointEngineWriter(wal, jdbcTemplate, transactionTemplate, grantRepository, ledgerRecorder, balanceService, metrics,
+                writerBatchSize, Duration.ofMillis(checkpointIntervalMillis), this::onApplied);
+
+        int count = partitionCount > 0 ? partitionCount : Runtime.getRuntime().availableProcessors();
+        this.partitions = new EnginePartition[count];
+        for (int i = 0; i < count; i++) {
+            partitions[i] = new EnginePartition(i, queueCapacity, maxCustomersPerPartition);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        int recovered = writer.recover();
+        writer.start();
+        metrics.gauge("point.engine.wal.lag", this, engine -> engine.wal.appendedLsn() - engine.writer.appliedLsn());
+        metrics.gauge("point.engine.customers", this, engine -> Arrays.stream(engine.partitions).mapToInt(EnginePartition::bookCount).sum());
+        log.info("메모리 엔진 시작: partitions={}, recoveredEntries={}, lastLsn={}", partitions.length, recovered, wal.appendedLsn());
+    }
+
+    @PreDestroy
+    void stop() {
+        for (EnginePartition partition : partitions) {
+            partition.shutdown();
+        }
+        writer.stop();
+        wal.close();
+        log.info("메모리 엔진 종료: appliedLsn={}", writer.appliedLsn());
+    }
+
+    /**
+     * 메모리에서 사용을 처리한다. WAL 에 내려간 뒤 반환하며, DB 에는 비동기로 반영된다.
+     */
+    public PointSpendResponse spend(PointSpendRequest request) {
+        if (!writer.isRunning()) {
+            // 반영 스레드가 멈추면 WAL 에만 남고 DB 에 반영되지 않는 사용이 쌓이므로 받지 않는다.
+            throw new BusinessException(ErrorCode.ENGINE_UNAVAILABLE);
+        }
+        String customerId = request.customerId();
+        EnginePartition partition = partitionOf(customerId);
+        while (true) {
+            Instant now = Instant.now();
+            Attempt attempt = partition.call(() -> trySpend(partition, request, now));
+            if (attempt instanceof Appended appended) {
+                wal.awaitDurable(appended.lsn());
+                metrics.recordAllocationsCreated(appended.entry().allocations().size());
+                return toResponse(appended.entry());
+            }
+            if (attempt instanceof Load load) {
+                load(partition, customerId, load.slot());
+            } else if (attempt instanceof Busy busy) {
+                busy.released().join();
+            }
+        }
+    }
+
+    /**
+     * 고객을 대여해 DB 경로 작업을 실행한다. 해당 고객의 WAL 레코드가 DB 에 모두 반영된 뒤 실행하고,
+     * 끝나면 메모리 상태를 버린다. 대여 중인 고객의 사용은 반환될 때까지 기다린다.
+     */
+    public <T> T exclusive(String customerId, Supplier<T> action) {
+        EnginePartition partition = partitionOf(customerId);
+        while (true) {
+            Attempt attempt = partition.call(() -> tryCheckOut(partition, customerId));
+            if (attempt instanceof Busy busy) {
+                busy.released().join();
+                continue;
+            }
+            CheckedOut checkedOut = (CheckedOut) attempt;
+            try {
+                drain(customerId, checkedOut.lastLsn());
+                return action.get();
+            } finally {
+                partition.execute(() -> partition.release(customerId, checkedOut.slot()));
+            }
+        }
+    }
+
+    /**
+     * 반영 스레드가 살아 있어 사용을 받을 수 있으면 true.
+     */
+    public boolean isAvailable() {
+        return writer.isRunning();
+    }
+
+    public long appendedLsn() {
+        return wal.appendedLsn();
+    }
+
+    public long appliedLsn() {
+        return writer.appliedLsn();
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 사용이면 고객 ID 를 반환한다.
+     */
+    public Optional<String> findPendingSpendOwner(String spendId) {
+        return Optional.ofNullable(pendingSpendOwners.get(spendId));
+    }
+
+    /**
+     * 지금까지 기록된 WAL 레코드가 모두 DB 에 반영될 때까지 기다린다. 여러 고객을 한 번에 다루는 배치 작업 전에 호출한다.
+     */
+    public void awaitApplied() {
+        long lsn = wal.appendedLsn();
+        if (!writer.awaitApplied(lsn, drainTimeout)) {
+            log.warn("메모리 엔진 DB 반영 대기 시간 초과: lsn={}, appliedLsn={}", lsn, writer.appliedLsn());
+            throw new BusinessException(ErrorCode.CUSTOMER_REQUEST_BUSY);
+        }
+    }
+
+    /**
+     * 고객들의 메모리 상태를 버린다. DB 경로로 적립이 바뀐 뒤 호출하며, 다음 사용 때 DB 에서 다시 적재한다.
+     */
+    public void evict(Collection<String> customerIds) {
+        if (customerIds.isEmpty()) {
+            return;
+        }
+        List<String> targets = List.copyOf(customerIds);
+        // 반영기 스레드에서도 호출되므로 반영 완료를 기다리는 대여는 별도 스레드에서 한다.
+        Thread.ofVirtual().name("point-engine-evict").start(() -> {
+            for (String customerId : targets) {
+                try {
+                    exclusive(customerId, () -> null);
+                } catch (RuntimeException e) {
+                    log.warn("메모리 엔진 고객 상태 제거 실패: customerId={}", customerId, e);
+                }
+            }
+        });
+    }
+
+    private Attempt trySpend(EnginePartition partition, PointSpendRequest request, Instant now) {
+        String customerId = request.customerId();
+        EnginePartition.Slot slot = partition.find(customerId);
+        if (slot == null) {
+            return new Load(partition.checkOut(customerId));
+        }
+        if (slot.isCheckedOut()) {
+            return new Busy(slot.released);
+        }
+
+        CustomerBook book = slot.book;
+        List<SpendEntry.Allocation> allocations = book.plan(request.orderId(), request.amount(), now);
+        SpendEntry entry = new SpendEntry(IdGenerators.nextId(), customerId, request.orderId(), request.amount(), now, allocations);
+        byte[] payload = entry.encode();
+
+        // 반영기가 커밋 후 지우므로 WAL 에 기록하기 전에 넣는다.
+        pendingSpendOwners.put(entry.spendId(), customerId);
+        long lsn;
+        appendLock.lock();
+        try {
+            lsn = wal.append(payload);
+            writer.enqueue(lsn, entry);
+        } catch (RuntimeException e) {
+            pendingSpendOwners.remove(entry.spendId());
+            throw e;
+        } finally {
+            appendLock.unlock();
+        }
+        book.apply(entry, lsn);
+        return new Appended(lsn, entry);
+    }
+
+    private Attempt tryCheckOut(EnginePartition partition, String customerId) {
+        EnginePartition.Slot slot = partition.find(customerId);
+        if (slot != null && slot.isCheckedOut()) {
+            return new Busy(slot.released);
+        }
+        long lastLsn = slot == null ? 0 : slot.book.lastLsn();
+        return new CheckedOut(partition.checkOut(customerId), lastLsn);
+    }
+
+    /**
+     * 대여한 고객의 사용 가능 적립과 최근 주문번호를 호출 스레드에서 DB 로 읽어 파티션에 등록한다.
+     * 적립/취소마다 고객을 다시 적재하므로 주문번호는 order-id-window-hours 안의 것만 읽는다.
+     * 그보다 오래된 주문의 중복 사용은 반영 시 (customer_id, order_id) 유니크 제약에 걸려 수동 처리 대기열로 간다.
+     */
+    private void load(EnginePartition partition, String customerId, EnginePartition.Slot slot) {
+        CustomerBook book = null;
+        try {
+            Instant now = Instant.now();
+            book = CustomerBook.load(customerId,
+                    grantRepository.findUsableGrants(customerId, GrantStatus.ACTIVE, now),
+                    spendRepository.findRecentOrderIds(customerId, now.minus(orderIdWindow)));
+        } finally {
+            CustomerBook loaded = book;
+            partition.execute(() -> {
+                if (loaded != null) {
+                    partition.install(customerId, slot, loaded, writer.appliedLsn());
+                } else {
+                    partition.release(customerId, slot);
+                }
+            });
+        }
+    }
+
+    private void drain(String customerId, long lsn) {
+        if (!writer.awaitApplied(lsn, drainTimeout)) {
+            log.warn("메모리 엔진 DB 반영 대기 시간 초과: customerId={}, lsn={}, appliedLsn={}", customerId, lsn, writer.appliedLsn());
+            throw new BusinessException(ErrorCode.CUSTOMER_REQUEST_BUSY);
+        }
+    }
+
+    private void onApplied(List<SpendEntry> applied, Set<String> conflictedCustomers) {
+        applied.forEach(entry -> pendingSpendOwners.remove(entry.spendId()));
+        evict(conflictedCustomers);
+    }
+
+    private EnginePartition partitionOf(String customerId) {
+        return partitions[Math.floorMod(customerId.hashCode(), partitions.length)];
+    }
+
+    private static PointSpendResponse toResponse(SpendEntry entry) {
+        return new PointSpendResponse(entry.spendId(), entry.customerId(), entry.orderId(), entry.amount(), 0L,
+                SpendStatus.USED, entry.createdAt(),
+                entry.allocations().stream()
+                        .map(a -> new PointSpendResponse.AllocationInfo(a.allocationId(), a.grantId(), a.amount(), 0L))
+                        .toList());
+    }
+
+    private sealed interface Attempt permits Appended, Load, Busy, CheckedOut {
+    }
+
+    private record Appended(long lsn, SpendEntry entry) implements Attempt {
+    }
+
+    private record Load(EnginePartition.Slot slot) implements Attempt {
+    }
+
+    private record Busy(CompletableFuture<Void> released) implements Attempt {
+    }
+
+    private record CheckedOut(EnginePartition.Slot slot, long lastLsn) implements Attempt {
+    }
+}
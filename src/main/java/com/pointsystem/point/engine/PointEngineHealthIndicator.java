@@ -0,0 +1,30 @@
+package com.pointsystem.point.engine;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메모리 엔진 반영 스레드 상태를 /actuator/health 에 노출한다 (pointEngine).
+ * 반영 스레드가 멈추면 엔진은 사용을 거절하므로 DOWN 으로 알려 이 인스턴스로 오는 트래픽을 빼게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "point.engine.mode", havingValue = "memory")
+public class PointEngineHealthIndicator implements HealthIndicator {
+
+    private final PointEngine engine;
+
+    @Override
+    public Health health() {
+        long appendedLsn = engine.appendedLsn();
+        long appliedLsn = engine.appliedLsn();
+        return (engine.isAvailable() ? Health.up() : Health.down())
+                .withDetail("appendedLsn", appendedLsn)
+                .withDetail("appliedLsn", appliedLsn)
+                .withDetail("lag", appendedLsn - appliedLsn)
+                .build();
+    }
+}
@@ -0,0 +1,469 @@
+package com.pointsystem.point.engine;
+
+import com.pointsystem.common.id.IdGenerators;
+import com.pointsystem.common.metrics.PointMetrics;
+import com.pointsystem.common.wal.MappedWriteAheadLog;
+import com.pointsystem.point.domain.entity.AmountPlan;
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.PointLedger;
+import com.pointsystem.point.domain.entity.SpendStatus;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.service.PointBalanceService;
+import com.pointsystem.point.service.PointLedgerRecorder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 메모리 엔진의 사용 레코드를 WAL 순서대로 DB(point_spend, point_spend_allocation, point_grant, point_ledger, point_balance)에 반영한다.
+ * <p>
+ * 레코드가 디스크에 내려간 뒤에만 반영하며, 여러 레코드를 한 트랜잭션에서 JDBC 배치로 쓴다.
+ * 이미 반영되었거나 수동 처리 대기열(point_engine_dead_letter)에 넣은 사용 ID 는 건너뛰므로,
+ * 복구 시 체크포인트 이후 레코드를 다시 반영해도 된다.
+ * 적립 잔액은 상대값으로 차감하고 버전을 올려, 같은 적립을 JPA 로 바꾸는 트랜잭션이 충돌을 감지하게 한다.
+ * <p>
+ * 반영 전에 만료/병합/취소 등으로 적립 차감이 맞지 않으면 배치를 되돌리고 건별로 다시 반영하며, 충돌한 사용은
+ * 현재 사용 가능 적립을 잠가 배분을 다시 계산한다. 다시 계산해도 잔액이 모자라거나 제약을 위반하는 사용은
+ * 수동 처리 대기열에 기록하고, 그 기록이 커밋된 뒤에만 반영 LSN 을 넘긴다. 차감하지 못한 적립으로 배분을 남기지 않는다.
+ */
+@Slf4j
+final class PointEngineWriter {
+
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final String DEAD_LETTER_GRANT_CONFLICT = "GRANT_CONFLICT";
+    private static final String DEAD_LETTER_CONSTRAINT = "CONSTRAINT_VIOLATION";
+
+    private final MappedWriteAheadLog wal;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PointGrantRepository grantRepository;
+    private final PointLedgerRecorder ledgerRecorder;
+    private final PointBalanceService balanceService;
+    private final PointMetrics metrics;
+    private final int batchSize;
+    private final Duration checkpointInterval;
+    private final BiConsumer<List<SpendEntry>, Set<String>> onApplied;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock appliedLock = new ReentrantLock();
+    private final Condition appliedAdvanced = appliedLock.newCondition();
+    private volatile long appliedLsn;
+    private volatile boolean stopping;
+    private volatile boolean failed;
+    private Thread thread;
+    private long lastCheckpointNanos = System.nanoTime();
+
+    /**
+     * @param onApplied 커밋 후 호출. (반영하거나 대기열에 넣은 레코드, 메모리 상태를 다시 적재해야 하는 고객)
+     */
+    PointEngineWriter(MappedWriteAheadLog wal,
+                      NamedParameterJdbcTemplate jdbcTemplate,
+                      TransactionTemplate transactionTemplate,
+                      PointGrantRepository grantRepository,
+                      PointLedgerRecorder ledgerRecorder,
+                      PointBalanceService balanceService,
+                      PointMetrics metrics,
+                      int batchSize,
+                      Duration checkpointInterval,
+                      BiConsumer<List<SpendEntry>, Set<String>> onApplied) {
+        this.wal = wal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.grantRepository = grantRepository;
+        this.ledgerRecorder = ledgerRecorder;
+        this.balanceService = balanceService;
+        this.metrics = metrics;
+        this.batchSize = batchSize;
+        this.checkpointInterval = checkpointInterval;
+        this.onApplied = onApplied;
+        this.appliedLsn = wal.checkpointLsn();
+    }
+
+    /**
+     * 체크포인트 이후 WAL 레코드를 모두 반영한다. 사용 요청을 받기 전에 호출한다.
+     *
+     * @return 반영한 레코드 수
+     */
+    int recover() {
+        List<Pending> pending = new ArrayList<>();
+        wal.replay(entry -> pending.add(new Pending(entry.lsn(), SpendEntry.decode(entry.payload()))));
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            applyWithRetry(pending.subList(from, Math.min(from + batchSize, pending.size())), false);
+        }
+        if (!pending.isEmpty()) {
+            wal.checkpoint(appliedLsn);
+        }
+        appliedLsn = wal.appendedLsn();
+        return pending.size();
+    }
+
+    void start() {
+        thread = Thread.ofPlatform().name("point-engine-writer").daemon().start(this::run);
+    }
+
+    /**
+     * WAL 에 기록한 순서대로 호출해야 한다.
+     */
+    void enqueue(long lsn, SpendEntry entry) {
+        queue.add(new Pending(lsn, entry));
+    }
+
+    long appliedLsn() {
+        return appliedLsn;
+    }
+
+    /**
+     * 해당 LSN 까지 DB 에 반영될 때까지 기다린다.
+     *
+     * @return 제한 시간 안에 반영되면 true
+     */
+    boolean awaitApplied(long lsn, Duration timeout) {
+        if (appliedLsn >= lsn) {
+            return true;
+        }
+        long remaining = timeout.toNanos();
+        appliedLock.lock();
+        try {
+            while (appliedLsn < lsn) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = appliedAdvanced.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    /**
+     * 대기열을 모두 반영하고 멈춘다.
+     */
+    void stop() {
+        stopping = true;
+        if (thread != null) {
+            try {
+                // DB 장애로 재시도가 끝나지 않으면 멈추고, 남은 레코드는 재시작 시 복구에서 반영한다.
+                if (!thread.join(SHUTDOWN_TIMEOUT)) {
+                    thread.interrupt();
+                    thread.join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        wal.checkpoint(appliedLsn);
+    }
+
+    /**
+     * 반영 스레드가 살아 있으면 true. 멈추면 엔진은 새 사용을 받지 않는다.
+     */
+    boolean isRunning() {
+        return thread != null && thread.isAlive() && !failed;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        long backoffMillis = 100;
+        try {
+            while (true) {
+                try {
+                    if (batch.isEmpty()) {
+                        Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                        if (first == null) {
+                            if (stopping) {
+                                return;
+                            }
+                            checkpointIfDue();
+                            continue;
+                        }
+                        batch.add(first);
+                        queue.drainTo(batch, batchSize - 1);
+                    }
+                    wal.awaitDurable(batch.getLast().lsn());
+                    applyWithRetry(batch, false);
+                    batch.clear();
+                    backoffMillis = 100;
+                    checkpointIfDue();
+                } catch (InterruptedException e) {
+                    // 종료할 때만 인터럽트한다. 그 밖의 인터럽트로 반영을 멈추지 않는다.
+                    if (stopping) {
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    if (Thread.interrupted() && stopping) {
+                        return;
+                    }
+                    // WAL flush 실패, 체크포인트 실패 등. 반영하지 못한 배치는 그대로 두고 다시 시도한다.
+                    log.error("메모리 엔진 DB 반영 실패, 재시도: appliedLsn={}, pending={}, backoffMs={}",
+                            appliedLsn, batch.size(), backoffMillis, e);
+                    if (!pause(backoffMillis)) {
+                        return;
+                    }
+                    backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF.toMillis());
+                }
+            }
+        } finally {
+            if (!stopping) {
+                // 종료 중이 아닌데 멈추면(Error 등) 반영되지 않는 사용을 계속 응답하게 되므로 엔진이 새 사용을 거절하게 한다.
+                failed = true;
+                log.error("메모리 엔진 반영 스레드 중단, 사용 요청 거절: appliedLsn={}, appendedLsn={}", appliedLsn, wal.appendedLsn());
+            }
+        }
+    }
+
+    /**
+     * @return 종료 중 인터럽트되면 false
+     */
+    private boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return !stopping;
+        }
+    }
+
+    private void checkpointIfDue() {
+        if (System.nanoTime() - lastCheckpointNanos >= checkpointInterval.toNanos()) {
+            wal.checkpoint(appliedLsn);
+            lastCheckpointNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * @param replan true 면 현재 사용 가능 적립으로 배분을 다시 계산해 반영한다. 건별 반영에서만 사용한다.
+     */
+    private void applyWithRetry(List<Pending> batch, boolean replan) {
+        long backoffMillis = 100;
+        while (true) {
+            try {
+                apply(batch, replan);
+                return;
+            } catch (GrantDebitConflictException | DataIntegrityViolationException e) {
+                if (batch.size() > 1) {
+                    // 충돌하거나 제약을 위반한 레코드를 찾기 위해 건별로 나누어 반영한다.
+                    log.warn("메모리 엔진 배치 반영 실패, 건별 반영으로 전환: size={}", batch.size(), e);
+                    batch.forEach(pending -> applyWithRetry(List.of(pending), false));
+                    return;
+                }
+                Pending pending = batch.getFirst();
+                if (e instanceof GrantDebitConflictException && !replan) {
+                    log.warn("메모리 엔진 적립 차감 충돌, 배분 재계산: lsn={}, spendId={}, customerId={}, {}",
+                            pending.lsn(), pending.entry().spendId(), pending.entry().customerId(), e.getMessage());
+                    metrics.countEngineApplyConflicts(1);
+                    applyWithRetry(batch, true);
+                    return;
+                }
+                park(pending, e);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("메모리 엔진 DB 반영 실패, 재시도: size={}, firstLsn={}, backoffMs={}",
+                        batch.size(), batch.getFirst().lsn(), backoffMillis, e);
+                sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF.toMillis());
+            }
+        }
+    }
+
+    /**
+     * 반영할 수 없는 레코드를 수동 처리 대기열에 기록한다. 기록이 커밋될 때까지 재시도하며, 그 전에는 반영 LSN 을 넘기지 않는다.
+     * 사용은 이미 응답했으므로 운영자가 대기열을 보고 고객 잔액을 바로잡는다.
+     */
+    private void park(Pending pending, RuntimeException cause) {
+        SpendEntry entry = pending.entry();
+        String reason = cause instanceof GrantDebitConflictException ? DEAD_LETTER_GRANT_CONFLICT : DEAD_LETTER_CONSTRAINT;
+        String detail = String.valueOf(cause.getMessage());
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("spendId", entry.spendId())
+                .addValue("lsn", pending.lsn())
+                .addValue("customerId", entry.customerId())
+                .addValue("orderId", entry.orderId())
+                .addValue("amount", entry.amount())
+                .addValue("reason", reason)
+                .addValue("detail", detail.length() > 500 ? detail.substring(0, 500) : detail)
+                .addValue("payload", entry.encode())
+                .addValue("createdAt", OffsetDateTime.now(ZoneOffset.UTC));
+        long backoffMillis = 100;
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("""
+                        INSERT INTO point_engine_dead_letter (spend_id, lsn, customer_id, order_id, amount, reason, detail, payload, created_at)
+                        VALUES (:spendId, :lsn, :customerId, :orderId, :amount, :reason, :detail, :payload, :createdAt)
+                        """, params));
+                break;
+            } catch (RuntimeException e) {
+                log.warn("메모리 엔진 수동 처리 대기열 기록 실패, 재시도: lsn={}, backoffMs={}", pending.lsn(), backoffMillis, e);
+                sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF.toMillis());
+            }
+        }
+        log.error("메모리 엔진 레코드 반영 불가, 수동 처리 대기열에 기록: lsn={}, reason={}, entry={}", pending.lsn(), reason, entry, cause);
+        metrics.countEngineDeadLetter(reason);
+        markApplied(pending.lsn());
+        // 메모리 상태에는 차감되어 있으므로 DB 기준으로 다시 적재하게 한다.
+        onApplied.accept(List.of(entry), Set.of(entry.customerId()));
+    }
+
+    private void apply(List<Pending> batch, boolean replan) {
+        List<SpendEntry> entries = batch.stream().map(Pending::entry).toList();
+        List<SpendEntry> applied = transactionTemplate.execute(status -> applyInTransaction(entries, replan));
+        markApplied(batch.getLast().lsn());
+        // 배분을 다시 계산한 고객은 메모리 상태가 DB 와 다르므로 다시 적재하게 한다.
+        Set<String> replanned = replan ? Set.of(batch.getFirst().entry().customerId()) : Set.of();
+        onApplied.accept(applied == null ? List.of() : applied, replanned);
+    }
+
+    private List<SpendEntry> applyInTransaction(List<SpendEntry> entries, boolean replan) {
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList("""
+                SELECT spend_id FROM point_spend WHERE spend_id IN (:spendIds)
+                UNION ALL
+                SELECT spend_id FROM point_engine_dead_letter WHERE spend_id IN (:spendIds)
+                """, Map.of("spendIds", entries.stream().map(SpendEntry::spendId).toList()), String.class));
+        List<SpendEntry> toApply = entries.stream().filter(entry -> !existing.contains(entry.spendId())).toList();
+        if (toApply.isEmpty()) {
+            return List.of();
+        }
+        if (replan) {
+            toApply = toApply.stream().map(this::replan).toList();
+        }
+        Instant now = Instant.now();
+
+        List<MapSqlParameterSource> spends = new ArrayList<>();
+        List<MapSqlParameterSource> allocations = new ArrayList<>();
+        // 같은 적립의 차감을 합치고 적립 ID 순으로 갱신해 다른 트랜잭션과 잠금 순서를 맞춘다.
+        Map<String, Long> debitByGrant = new TreeMap<>();
+        Map<String, Long> decreaseByCustomer = new TreeMap<>();
+        List<PointLedger> ledgers = new ArrayList<>();
+
+        for (SpendEntry entry : toApply) {
+            OffsetDateTime createdAt = OffsetDateTime.ofInstant(entry.createdAt(), ZoneOffset.UTC);
+            spends.add(new MapSqlParameterSource()
+                    .addValue("spendId", entry.spendId())
+                    .addValue("customerId", entry.customerId())
+                    .addValue("orderId", entry.orderId())
+                    .addValue("amount", entry.amount())
+                    .addValue("status", SpendStatus.USED.name())
+                    .addValue("createdAt", createdAt));
+            for (SpendEntry.Allocation allocation : entry.allocations()) {
+                allocations.add(new MapSqlParameterSource()
+                        .addValue("allocationId", allocation.allocationId())
+                        .addValue("spendId", entry.spendId())
+                        .addValue("grantId", allocation.grantId())
+                        .addValue("amount", allocation.amount())
+                        .addValue("createdAt", createdAt));
+                debitByGrant.merge(allocation.grantId(), allocation.amount(), Long::sum);
+            }
+            decreaseByCustomer.merge(entry.customerId(), entry.amount(), Long::sum);
+            ledgers.add(PointLedger.create(entry.customerId(), LedgerEventType.SPEND, entry.spendId(),
+                    -entry.amount(), entry.orderId(), entry.createdAt()));
+        }
+
+        // 적립을 먼저 차감하고, 하나라도 맞지 않으면 배분을 쓰기 전에 트랜잭션을 되돌린다.
+        List<String> grantIds = new ArrayList<>(debitByGrant.keySet());
+        int[] updated = jdbcTemplate.batchUpdate("""
+                UPDATE point_grant
+                SET amount_available = amount_available - :amount, version = version + 1
+                WHERE grant_id = :grantId AND status = 'ACTIVE' AND amount_available >= :amount
+                """, grantIds.stream()
+                .map(grantId -> new MapSqlParameterSource()
+                        .addValue("grantId", grantId)
+                        .addValue("amount", debitByGrant.get(grantId)))
+                .toArray(MapSqlParameterSource[]::new));
+        List<String> conflicted = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                conflicted.add(grantIds.get(i));
+            }
+        }
+        if (!conflicted.isEmpty()) {
+            throw new GrantDebitConflictException("차감하지 못한 적립: " + conflicted);
+        }
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO point_spend (spend_id, customer_id, order_id, amount_total, amount_canceled, status, created_at, version)
+                VALUES (:spendId, :customerId, :orderId, :amount, 0, :status, :createdAt, 0)
+                """, spends.toArray(MapSqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO point_spend_allocation (allocation_id, spend_id, grant_id, amount_used, amount_canceled, created_at)
+                VALUES (:allocationId, :spendId, :grantId, :amount, 0, :createdAt)
+                """, allocations.toArray(MapSqlParameterSource[]::new));
+
+        ledgerRecorder.recordAll(ledgers);
+        decreaseByCustomer.forEach((customerId, amount) -> balanceService.decrease(customerId, amount, now));
+        return toApply;
+    }
+
+    /**
+     * 고객의 사용 가능 적립을 잠그고 사용 시각 기준으로 배분을 다시 계산한다. 잠근 적립이므로 이어지는 차감은 충돌하지 않는다.
+     *
+     * @throws GrantDebitConflictException 사용 가능 적립이 사용 금액보다 적은 경우
+     */
+    private SpendEntry replan(SpendEntry entry) {
+        List<PointGrant> grants = grantRepository.findUsableGrantsWithLock(entry.customerId(), GrantStatus.ACTIVE, entry.createdAt());
+        AmountPlan plan = new AmountPlan(grants.size());
+        grants.forEach(grant -> plan.add(grant.getAmountAvailable()));
+        if (plan.fill(entry.amount()) < entry.amount()) {
+            throw new GrantDebitConflictException(String.format("배분 재계산 잔액 부족 (필요: %d, 보유: %d)", entry.amount(), plan.total()));
+        }
+        List<SpendEntry.Allocation> allocations = new ArrayList<>(plan.end());
+        for (int i = 0; i < plan.end(); i++) {
+            if (plan.taken(i) > 0) {
+                allocations.add(new SpendEntry.Allocation(IdGenerators.nextId(), grants.get(i).getGrantId(), plan.taken(i)));
+            }
+        }
+        return new SpendEntry(entry.spendId(), entry.customerId(), entry.orderId(), entry.amount(), entry.createdAt(), allocations);
+    }
+
+    private void markApplied(long lsn) {
+        appliedLock.lock();
+        try {
+            appliedLsn = lsn;
+            appliedAdvanced.signalAll();
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("메모리 엔진 DB 반영 재시도 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    private record Pending(long lsn, SpendEntry entry) {
+    }
+
+    /**
+     * 조건부 UPDATE 로 적립을 차감하지 못한 경우. 트랜잭션을 되돌리기 위해 던진다.
+     */
+    private static final class GrantDebitConflictException extends RuntimeException {
+
+        GrantDebitConflictException(String message) {
+            super(message);
+        }
+    }
+}
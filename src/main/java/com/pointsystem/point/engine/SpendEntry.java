@@ -0,0 +1,68 @@
+package com.pointsystem.point.engine;
+
+import java.io.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WAL 에 기록하는 메모리 엔진의 사용 1건. 비동기 반영기가 이 내용으로 사용/배분/원장/적립 잔액을 DB 에 쓴다.
+ */
+record SpendEntry(
+        String spendId,
+        String customerId,
+        String orderId,
+        long amount,
+        Instant createdAt,
+        List<Allocation> allocations
+) {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    record Allocation(String allocationId, String grantId, long amount) {
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 + allocations.size() * 96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(spendId);
+            out.writeUTF(customerId);
+            out.writeUTF(orderId);
+            out.writeLong(amount);
+            out.writeLong(createdAt.getEpochSecond());
+            out.writeInt(createdAt.getNano());
+            out.writeInt(allocations.size());
+            for (Allocation allocation : allocations) {
+                out.writeUTF(allocation.allocationId());
+                out.writeUTF(allocation.grantId());
+                out.writeLong(allocation.amount());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static SpendEntry decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("지원하지 않는 WAL 레코드 형식: " + version);
+            }
+            String spendId = in.readUTF();
+            String customerId = in.readUTF();
+            String orderId = in.readUTF();
+            long amount = in.readLong();
+            Instant createdAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            int size = in.readInt();
+            List<Allocation> allocations = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                allocations.add(new Allocation(in.readUTF(), in.readUTF(), in.readLong()));
+            }
+            return new SpendEntry(spendId, customerId, orderId, amount, createdAt, allocations);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
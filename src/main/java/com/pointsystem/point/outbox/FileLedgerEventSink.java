@@ -0,0 +1,60 @@
+package com.pointsystem.point.outbox;
+
+import com.pointsystem.point.domain.repository.LedgerOutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 원장 이벤트 payload 를 파일에 JSON Lines 로 덧붙인다.
+ * 배치마다 한 번 쓰고 fsync 한 뒤 반환하므로, 반환된 배치는 파일에 남아 있다.
+ * 릴레이는 한 스레드에서만 호출하므로 별도 동기화는 하지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "point.outbox.sink", havingValue = "file")
+public class FileLedgerEventSink implements LedgerEventSink {
+
+    private final Path path;
+
+    public FileLedgerEventSink(@Value("${point.outbox.file.path:build/ledger-events.jsonl}") String path) {
+        this.path = Path.of(path);
+        log.info("원장 이벤트 파일 싱크: path={}", this.path.toAbsolutePath());
+    }
+
+    @Override
+    public void publish(List<LedgerOutboxEvent> events) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                 BufferedWriter writer = new BufferedWriter(
+                         new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8))) {
+                for (LedgerOutboxEvent event : events) {
+                    writer.write(event.payload());
+                    writer.newLine();
+                }
+                writer.flush();
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("원장 이벤트 파일 기록 실패: path=" + path, e);
+        }
+    }
+}
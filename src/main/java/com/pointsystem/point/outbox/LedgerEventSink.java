@@ -0,0 +1,17 @@
+package com.pointsystem.point.outbox;
+
+import com.pointsystem.point.domain.repository.LedgerOutboxEvent;
+
+import java.util.List;
+
+/**
+ * 아웃박스 릴레이가 원장 이벤트를 내보내는 대상 (메시지 브로커, 파일 등).
+ * 전달은 최소 한 번(at-least-once)이므로 수신 측은 outboxId 또는 ledgerId 로 중복을 걸러야 한다.
+ */
+public interface LedgerEventSink {
+
+    /**
+     * 배치 전체를 전달한다. 일부라도 전달하지 못하면 예외를 던지며, 릴레이는 배치 전체를 다음 실행에서 다시 보낸다.
+     */
+    void publish(List<LedgerOutboxEvent> events);
+}
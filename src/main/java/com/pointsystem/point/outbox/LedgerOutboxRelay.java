@@ -0,0 +1,154 @@
+package com.pointsystem.point.outbox;
+
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.point.domain.entity.OutboxStatus;
+import com.pointsystem.point.domain.repository.LedgerOutboxEvent;
+import com.pointsystem.point.domain.repository.PointLedgerOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 아웃박스의 전달 대기 이벤트를 outboxId 키셋 배치로 읽어 싱크로 보내고, 배치 단위로 한 번에 DELIVERED 로 표시한다.
+ * 실행마다 처음부터 다시 읽으므로 앞선 실행이 지나간 뒤에 커밋된 작은 outboxId 도 다음 실행에서 전달된다.
+ * <p>
+ * 여러 인스턴스가 함께 돌아도 같은 배치를 동시에 보내지 않도록, 전달 전에 배치를 claimToken 과 lease(claimedUntil)로
+ * 선점하고 커밋한다. 다른 인스턴스가 선점한 행은 lease 가 끝날 때까지 건너뛴다. 전달에 실패하면 선점을 풀어 다음 실행에서 다시 보낸다.
+ * 싱크 전달 후 표시 전에 멈추면 lease 가 끝난 뒤 같은 배치가 다시 전달될 수 있다 (at-least-once).
+ * 샤딩 모드에서는 샤드마다 차례로 전달하고 정리한다.
+ */
+@Slf4j
+@Component
+public class LedgerOutboxRelay {
+
+    private final PointLedgerOutboxRepository outboxRepository;
+    private final LedgerEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+    private final Duration lease;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public LedgerOutboxRelay(PointLedgerOutboxRepository outboxRepository,
+                             LedgerEventSink sink,
+                             TransactionTemplate transactionTemplate,
+                             ShardRouter shardRouter,
+                             @Value("${point.outbox.relay.enabled:true}") boolean enabled,
+                             @Value("${point.outbox.relay.batch-size:1000}") int batchSize,
+                             @Value("${point.outbox.relay.max-batches-per-run:100}") int maxBatchesPerRun,
+                             @Value("${point.outbox.retention-hours:24}") long retentionHours,
+                             @Value("${point.outbox.relay.lease-seconds:60}") long leaseSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = Duration.ofHours(retentionHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${point.outbox.relay.interval-ms:1000}")
+    public void scheduledRelay() {
+        if (enabled) {
+            relayPending();
+        }
+    }
+
+    /**
+     * @return 이번 실행에서 전달 완료로 표시한 이벤트 수
+     */
+    public int relayPending() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            return shardRouter.sumOverShards(this::relayShard);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int relayShard() {
+        String afterOutboxId = "";
+        int delivered = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            String claimToken = UUID.randomUUID().toString();
+            String after = afterOutboxId;
+            Claim claim = transactionTemplate.execute(status -> claimBatch(after, claimToken));
+            if (claim == null || claim.candidates().isEmpty()) {
+                break;
+            }
+            List<LedgerOutboxEvent> events = claim.events();
+            if (!events.isEmpty()) {
+                List<String> outboxIds = events.stream().map(LedgerOutboxEvent::outboxId).toList();
+                try {
+                    sink.publish(events);
+                } catch (RuntimeException e) {
+                    // 남은 배치는 다음 실행에서 이 배치부터 다시 전달한다.
+                    log.warn("원장 이벤트 전달 실패, 다음 실행에서 재시도: size={}, firstOutboxId={}",
+                            events.size(), events.getFirst().outboxId(), e);
+                    transactionTemplate.executeWithoutResult(status -> outboxRepository.releaseClaim(outboxIds, claimToken));
+                    break;
+                }
+                Instant now = Instant.now();
+                Integer marked = transactionTemplate.execute(status ->
+                        outboxRepository.markDelivered(outboxIds, claimToken, OutboxStatus.DELIVERED, now));
+                delivered += marked == null ? 0 : marked;
+            }
+            if (claim.candidates().size() < batchSize) {
+                break;
+            }
+            afterOutboxId = claim.candidates().getLast();
+        }
+        if (delivered > 0) {
+            log.info("원장 이벤트 릴레이 완료: shard={}, delivered={}", shardRouter.currentShard(), delivered);
+        }
+        return delivered;
+    }
+
+    /**
+     * 선점할 수 있는 이벤트를 골라 lease 동안 선점하고, 이번에 선점한 이벤트만 읽는다.
+     */
+    private Claim claimBatch(String afterOutboxId, String claimToken) {
+        Instant now = Instant.now();
+        List<String> candidates = outboxRepository.findClaimableIdsAfter(
+                OutboxStatus.PENDING, afterOutboxId, now, Limit.of(batchSize));
+        if (candidates.isEmpty()) {
+            return new Claim(candidates, List.of());
+        }
+        outboxRepository.claim(candidates, OutboxStatus.PENDING, claimToken, now.plus(lease), now);
+        return new Claim(candidates, outboxRepository.findClaimedEvents(candidates, claimToken));
+    }
+
+    /**
+     * @param candidates 키셋 다음 위치를 정하는 데 쓰는 후보 ID
+     * @param events     그중 이번에 선점한 이벤트
+     */
+    private record Claim(List<String> candidates, List<LedgerOutboxEvent> events) {
+    }
+
+    @Scheduled(cron = "${point.outbox.purge-cron:0 20 * * * *}")
+    public void purgeDelivered() {
+        Instant before = Instant.now().minus(retention);
+        int deleted = shardRouter.sumOverShards(() -> {
+            Integer count = transactionTemplate.execute(status ->
+                    outboxRepository.deleteDeliveredBefore(OutboxStatus.DELIVERED, before));
+            return count == null ? 0 : count;
+        });
+        log.info("전달 완료 원장 이벤트 정리: before={}, deleted={}", before, deleted);
+    }
+}
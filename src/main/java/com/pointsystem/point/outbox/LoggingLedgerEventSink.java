@@ -0,0 +1,25 @@
+package com.pointsystem.point.outbox;
+
+import com.pointsystem.point.domain.repository.LedgerOutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 원장 이벤트를 로그로만 남긴다. 외부 연동이 없는 로컬/테스트 환경의 기본 싱크.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "point.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingLedgerEventSink implements LedgerEventSink {
+
+    @Override
+    public void publish(List<LedgerOutboxEvent> events) {
+        if (log.isDebugEnabled()) {
+            events.forEach(event -> log.debug("원장 이벤트: outboxId={}, payload={}", event.outboxId(), event.payload()));
+        }
+        log.info("원장 이벤트 전달: size={}", events.size());
+    }
+}
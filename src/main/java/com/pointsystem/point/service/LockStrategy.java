@@ -0,0 +1,15 @@
+package com.pointsystem.point.service;
+
+/**
+ * 사용/사용취소 시 동시성 제어 방식.
+ */
+public enum LockStrategy {
+    /**
+     * 대상 행을 SELECT ... FOR UPDATE 로 잠근다.
+     */
+    PESSIMISTIC,
+    /**
+     * 락 없이 읽고 커밋 시 @Version 으로 충돌을 감지한다. 충돌 시 호출자가 재시도해야 한다.
+     */
+    OPTIMISTIC
+}
@@ -0,0 +1,108 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.point.controller.dto.PointBalanceResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 고객별 잔액 조회 결과 캐시.
+ * 최대 크기를 넘으면 가장 오래 조회되지 않은 고객부터 제거(LRU)하고,
+ * 적립/사용/취소/만료로 잔액이 바뀌면 커밋 이후 해당 고객 항목을 무효화한다.
+ */
+@Slf4j
+@Component
+public class PointBalanceCache {
+
+    private static final int INVALIDATION_STRIPES = 1024;
+
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+    // 조회 중에 무효화가 일어나면 조회 결과를 캐시에 넣지 않기 위한 스트라이프별 무효화 횟수
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    public PointBalanceCache(@Value("${point.balance.cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PointBalanceCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 유효한 캐시 항목이 있으면 반환하고, 없으면 loader 로 계산해 validUntil 까지 보관한다.
+     */
+    public PointBalanceResponse get(String customerId, Instant now, Supplier<Loaded> loader) {
+        synchronized (entries) {
+            Entry entry = entries.get(customerId);
+            if (entry != null && now.isBefore(entry.validUntil())) {
+                return entry.response();
+            }
+        }
+
+        int stripe = stripe(customerId);
+        long invalidationsBefore = invalidations.get(stripe);
+        Loaded loaded = loader.get();
+        synchronized (entries) {
+            if (invalidations.get(stripe) == invalidationsBefore) {
+                entries.put(customerId, new Entry(loaded.response(), loaded.validUntil()));
+            }
+        }
+        return loaded.response();
+    }
+
+    public void evictAfterCommit(String customerId) {
+        evictAfterCommit(List.of(customerId));
+    }
+
+    public void evictAfterCommit(Collection<String> customerIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(customerIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(customerIds);
+            }
+        });
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evict(Collection<String> customerIds) {
+        synchronized (entries) {
+            for (String customerId : customerIds) {
+                invalidations.incrementAndGet(stripe(customerId));
+                entries.remove(customerId);
+            }
+        }
+        log.debug("잔액 캐시 무효화: customerIds={}", customerIds.size());
+    }
+
+    private static int stripe(String customerId) {
+        return (customerId.hashCode() & 0x7fffffff) % INVALIDATION_STRIPES;
+    }
+
+    public record Loaded(PointBalanceResponse response, Instant validUntil) {
+    }
+
+    private record Entry(PointBalanceResponse response, Instant validUntil) {
+    }
+}
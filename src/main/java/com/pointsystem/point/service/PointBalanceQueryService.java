@@ -0,0 +1,83 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.point.controller.dto.PointBalanceResponse;
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.repository.GrantTypeBalance;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 고객 잔액 조회.
+ * 적립 타입별 잔액과 만료 임박 금액을 한 번의 집계 쿼리로 계산하고 PointBalanceCache 에 보관한다.
+ * 캐시 항목은 쓰기 시 무효화되며, 쓰기가 없어도 가장 가까운 만료 시각이나 TTL 이 지나면 다시 계산한다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PointBalanceQueryService {
+
+    private final PointGrantRepository grantRepository;
+    private final PointBalanceCache balanceCache;
+    private final Duration ttl;
+
+    public PointBalanceQueryService(PointGrantRepository grantRepository,
+                                    PointBalanceCache balanceCache,
+                                    @Value("${point.balance.cache.ttl-ms:60000}") long ttlMillis) {
+        this.grantRepository = grantRepository;
+        this.balanceCache = balanceCache;
+        this.ttl = Duration.ofMillis(ttlMillis);
+    }
+
+    public PointBalanceResponse getBalance(String customerId) {
+        Instant now = Instant.now();
+        return balanceCache.get(customerId, now, () -> load(customerId, now));
+    }
+
+    private PointBalanceCache.Loaded load(String customerId, Instant now) {
+        List<GrantTypeBalance> rows = grantRepository.summarizeAvailableByGrantType(
+                customerId, GrantStatus.ACTIVE, now,
+                now.plus(7, ChronoUnit.DAYS),
+                now.plus(30, ChronoUnit.DAYS),
+                now.plus(90, ChronoUnit.DAYS));
+
+        Map<GrantType, Long> byGrantType = new EnumMap<>(GrantType.class);
+        for (GrantType type : GrantType.values()) {
+            byGrantType.put(type, 0L);
+        }
+        long available = 0;
+        long within7Days = 0;
+        long within30Days = 0;
+        long within90Days = 0;
+        Instant validUntil = now.plus(ttl);
+        for (GrantTypeBalance row : rows) {
+            byGrantType.put(row.getGrantType(), row.getAmount());
+            available += row.getAmount();
+            within7Days += row.getExpiringWithin7Days();
+            within30Days += row.getExpiringWithin30Days();
+            within90Days += row.getExpiringWithin90Days();
+            // 적립건이 만료되면 사용 가능 잔액이 바뀌므로 그 전에 다시 계산한다.
+            if (row.getNextExpiresAt().isBefore(validUntil)) {
+                validUntil = row.getNextExpiresAt();
+            }
+        }
+
+        PointBalanceResponse response = new PointBalanceResponse(
+                customerId,
+                available,
+                Collections.unmodifiableMap(byGrantType),
+                new PointBalanceResponse.ExpiringAmounts(within7Days, within30Days, within90Days),
+                now
+        );
+        return new PointBalanceCache.Loaded(response, validUntil);
+    }
+}
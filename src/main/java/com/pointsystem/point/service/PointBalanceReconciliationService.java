@@ -0,0 +1,134 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.metrics.PointMetrics;
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.entity.PointBalance;
+import com.pointsystem.point.domain.repository.CustomerAmount;
+import com.pointsystem.point.domain.repository.PointBalanceRepository;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * point_balance 프로젝션을 point_grant 기준으로 재계산해 불일치(drift)를 탐지한다.
+ * 고객 ID 순으로 페이지 단위 트랜잭션을 나눠 잠금 없이 훑고, 어긋난 고객만 잔액 행을 잠근 뒤 다시 계산해 확인한다.
+ * 잔액 증감은 적립/사용 트랜잭션 안에서 같은 행을 갱신하므로, 잠근 뒤 읽은 두 값은 같은 시점의 커밋 결과이다.
+ * 보정은 절대값이 아니라 확인한 잔액과의 차이를 조건부로 더한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointBalanceReconciliationService {
+
+    private final PointBalanceRepository balanceRepository;
+    private final PointGrantRepository grantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final PointMetrics metrics;
+
+    @Value("${point.balance.reconciliation.page-size:500}")
+    private int pageSize;
+
+    @Value("${point.balance.reconciliation.fix-drift:false}")
+    private boolean fixDrift;
+
+    @Scheduled(cron = "${point.balance.reconciliation.cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * 샤딩 모드에서는 샤드마다 차례로 점검한다.
+     *
+     * @return 불일치가 발견된 고객 수
+     */
+    public int reconcile() {
+        return shardRouter.sumOverShards(this::reconcileShard);
+    }
+
+    private int reconcileShard() {
+        log.info("잔액 프로젝션 정합성 점검 시작: shard={}, pageSize={}, fixDrift={}", shardRouter.currentShard(), pageSize, fixDrift);
+        String cursor = "";
+        int scanned = 0;
+        int drifted = 0;
+
+        while (true) {
+            String after = cursor;
+            PageResult result = transactionTemplate.execute(status -> scanPage(after));
+            if (result == null || result.size() == 0) {
+                break;
+            }
+            scanned += result.size();
+            for (String customerId : result.suspects()) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> recheck(customerId)))) {
+                    drifted++;
+                }
+            }
+            cursor = result.lastCustomerId();
+        }
+
+        log.info("잔액 프로젝션 정합성 점검 완료: shard={}, scanned={}, drifted={}", shardRouter.currentShard(), scanned, drifted);
+        return drifted;
+    }
+
+    /**
+     * 잠금 없이 한 페이지를 비교해 어긋나 보이는 고객을 고른다. 비교 사이에 커밋된 증감 때문에 어긋나 보일 수 있다.
+     */
+    private PageResult scanPage(String afterCustomerId) {
+        List<PointBalance> page = balanceRepository.findPageAfter(afterCustomerId, Limit.of(pageSize));
+        if (page.isEmpty()) {
+            return new PageResult(0, List.of(), afterCustomerId);
+        }
+
+        List<String> customerIds = page.stream().map(PointBalance::getCustomerId).toList();
+        Map<String, Long> actualByCustomer = grantRepository
+                .sumAmountAvailableByCustomers(customerIds, GrantStatus.ACTIVE).stream()
+                .collect(Collectors.toMap(CustomerAmount::getCustomerId, CustomerAmount::getAmount));
+
+        List<String> suspects = page.stream()
+                .filter(balance -> {
+                    long projected = balance.getBalance();
+                    return projected != actualByCustomer.getOrDefault(balance.getCustomerId(), 0L);
+                })
+                .map(PointBalance::getCustomerId)
+                .toList();
+        return new PageResult(page.size(), suspects, page.getLast().getCustomerId());
+    }
+
+    /**
+     * 잔액 행을 잠그고 다시 비교한다. fix-drift 이면 확인한 잔액이 그대로일 때만 차이를 더한다.
+     *
+     * @return 잠근 뒤에도 어긋나면 true
+     */
+    private boolean recheck(String customerId) {
+        metrics.countReconciliationRecheck();
+        PointBalance balance = balanceRepository.findByIdWithLock(customerId).orElse(null);
+        if (balance == null) {
+            return false;
+        }
+        long observed = balance.getBalance();
+        long actual = grantRepository.sumAmountAvailable(customerId, GrantStatus.ACTIVE);
+        if (observed == actual) {
+            return false;
+        }
+        log.warn("잔액 프로젝션 불일치: customerId={}, projected={}, actual={}", customerId, observed, actual);
+        if (fixDrift) {
+            balanceRepository.addBalanceIfUnchanged(customerId, actual - observed, observed, Instant.now());
+        }
+        return true;
+    }
+
+    private record PageResult(int size, List<String> suspects, String lastCustomerId) {
+    }
+}
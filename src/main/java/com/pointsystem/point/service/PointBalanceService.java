@@ -0,0 +1,60 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.repository.PointBalanceRepository;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * point_balance 프로젝션 관리.
+ * 호출자의 트랜잭션 안에서 함께 갱신되어 적립/사용 데이터와 원자적으로 커밋된다.
+ * 갱신한 고객의 잔액 조회 캐시는 커밋 이후 무효화한다.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class PointBalanceService {
+
+    private final PointBalanceRepository balanceRepository;
+    private final PointGrantRepository grantRepository;
+    private final PointBalanceCache balanceCache;
+
+    /**
+     * 프로젝션 잔액을 조회한다. 행이 없으면 point_grant 에서 계산해 초기화한다.
+     */
+    public long getBalance(String customerId, Instant now) {
+        return balanceRepository.findBalance(customerId)
+                .orElseGet(() -> initialize(customerId, now));
+    }
+
+    public void increase(String customerId, long amount, Instant now) {
+        apply(customerId, amount, now);
+    }
+
+    public void decrease(String customerId, long amount, Instant now) {
+        apply(customerId, -amount, now);
+    }
+
+    private void apply(String customerId, long delta, Instant now) {
+        if (delta == 0) {
+            return;
+        }
+        // 행이 없으면 다음 조회 시 point_grant 기준으로 초기화되므로 여기서는 갱신만 한다.
+        int updated = balanceRepository.addBalance(customerId, delta, now);
+        log.debug("잔액 프로젝션 갱신: customerId={}, delta={}, updated={}", customerId, delta, updated);
+        balanceCache.evictAfterCommit(customerId);
+    }
+
+    private long initialize(String customerId, Instant now) {
+        long current = grantRepository.sumAmountAvailable(customerId, GrantStatus.ACTIVE);
+        balanceRepository.insertIfAbsent(customerId, current, now);
+        log.debug("잔액 프로젝션 초기화: customerId={}, balance={}", customerId, current);
+        return current;
+    }
+}
@@ -0,0 +1,189 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.concurrency.DbBulkhead;
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.point.controller.dto.PointBulkGrantItemResult;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.domain.entity.*;
+import com.pointsystem.point.domain.repository.CustomerAmount;
+import com.pointsystem.point.domain.repository.PointBalanceRepository;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.engine.PointEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 캠페인 등 대량 적립 처리.
+ * 요청을 청크 단위 트랜잭션으로 나누어 처리하므로 일부 청크가 실패해도 나머지는 커밋된다.
+ * 청크 안에서는 고객별 잔액을 한 번에 조회하고 적립/원장을 JDBC 배치로 저장한다.
+ * 샤딩 모드에서는 요청을 고객 샤드별로 나누어 청크가 한 샤드의 고객만 담게 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointBulkGrantService {
+
+    private final PointGrantService grantService;
+    private final PointPolicyService policyService;
+    private final PointGrantRepository grantRepository;
+    private final PointLedgerRecorder ledgerRecorder;
+    private final PointBalanceRepository balanceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DbBulkhead dbBulkhead;
+    private final PointBalanceCache balanceCache;
+    private final ObjectProvider<PointEngine> engineProvider;
+    private final ShardRouter shardRouter;
+
+    @Value("${point.grant.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    public List<PointBulkGrantItemResult> grantPoints(List<PointGrantRequest> requests) {
+        log.info("포인트 일괄 적립 요청: size={}, chunkSize={}", requests.size(), chunkSize);
+        PointBulkGrantItemResult[] results = new PointBulkGrantItemResult[requests.size()];
+
+        // 샤드 안에서는 요청 순서를 유지한다. 샤딩을 쓰지 않으면 전체가 하나의 묶음이다.
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByShard.computeIfAbsent(shardRouter.shardOf(requests.get(i).customerId()), shard -> new ArrayList<>()).add(i);
+        }
+        indexesByShard.forEach((shard, indexes) -> shardRouter.runInShard(shard, () -> {
+            for (int from = 0; from < indexes.size(); from += chunkSize) {
+                processChunk(requests, indexes.subList(from, Math.min(from + chunkSize, indexes.size())), results);
+            }
+        }));
+
+        List<PointBulkGrantItemResult> resultList = Arrays.asList(results);
+        long succeeded = resultList.stream().filter(PointBulkGrantItemResult::success).count();
+        log.info("포인트 일괄 적립 완료: size={}, succeeded={}, failed={}", requests.size(), succeeded, requests.size() - succeeded);
+        return resultList;
+    }
+
+    private void processChunk(List<PointGrantRequest> requests, List<Integer> indexes, PointBulkGrantItemResult[] results) {
+        PointBulkGrantItemResult[] chunkResults = new PointBulkGrantItemResult[indexes.size()];
+        try {
+            dbBulkhead.run(() -> transactionTemplate.executeWithoutResult(status -> grantChunk(requests, indexes, chunkResults)));
+            for (int n = 0; n < indexes.size(); n++) {
+                results[indexes.get(n)] = chunkResults[n];
+            }
+        } catch (Exception e) {
+            // 청크 트랜잭션이 롤백되면 검증을 통과했던 건만 건별 트랜잭션으로 다시 처리한다.
+            log.warn("일괄 적립 청크 실패, 건별 처리로 전환: from={}, to={}", indexes.getFirst(), indexes.getLast() + 1, e);
+            for (int n = 0; n < indexes.size(); n++) {
+                int index = indexes.get(n);
+                PointBulkGrantItemResult validated = chunkResults[n];
+                results[index] = validated != null && !validated.success()
+                        ? validated
+                        : grantOne(index, requests.get(index));
+            }
+        }
+        // 메모리 엔진이 적재해 둔 고객은 새 적립이 보이도록 다시 적재하게 한다.
+        engineProvider.ifAvailable(engine -> engine.evict(
+                indexes.stream().map(i -> requests.get(i).customerId()).collect(Collectors.toSet())));
+    }
+
+    private void grantChunk(List<PointGrantRequest> requests, List<Integer> indexes, PointBulkGrantItemResult[] chunkResults) {
+        Instant now = Instant.now();
+        long maxBalance = policyService.getMaxBalancePerUser();
+        Map<String, Long> balances = loadBalances(indexes.stream().map(requests::get).toList(), now);
+        Map<String, Long> exactBalances = new HashMap<>();
+        Map<String, Long> acceptedAmounts = new LinkedHashMap<>();
+
+        List<PointGrant> grants = new ArrayList<>();
+        List<Integer> grantPositions = new ArrayList<>();
+
+        for (int n = 0; n < indexes.size(); n++) {
+            int index = indexes.get(n);
+            PointGrantRequest request = requests.get(index);
+            try {
+                grantService.validateAmount(request.amount());
+                Instant expiresAt = grantService.resolveExpiresAt(request.expiresAt(), now);
+
+                validateBalanceLimit(request.customerId(), balances, exactBalances, acceptedAmounts, request.amount(), maxBalance, now);
+
+                grants.add(PointGrant.create(request.customerId(), request.grantType(), request.amount(), expiresAt, now));
+                grantPositions.add(n);
+                acceptedAmounts.merge(request.customerId(), request.amount(), Long::sum);
+            } catch (BusinessException e) {
+                chunkResults[n] = PointBulkGrantItemResult.failure(index, request.customerId(), e.getErrorCode(), e.getMessage());
+            }
+        }
+
+        grantRepository.saveAll(grants);
+        // 조회 시점의 잔액을 덮어쓰지 않도록 고객별 누적 금액만 증분으로 반영한다.
+        acceptedAmounts.forEach((customerId, amount) -> balanceRepository.addBalance(customerId, amount, now));
+        balanceCache.evictAfterCommit(acceptedAmounts.keySet());
+        List<PointLedger> ledgers = grants.stream()
+                .map(g -> PointLedger.create(g.getCustomerId(), LedgerEventType.GRANT, g.getGrantId(), g.getAmountTotal(), null, now))
+                .toList();
+        ledgerRecorder.recordAll(ledgers);
+
+        for (int k = 0; k < grants.size(); k++) {
+            int n = grantPositions.get(k);
+            PointGrant grant = grants.get(k);
+            chunkResults[n] = PointBulkGrantItemResult.success(indexes.get(n), grant.getCustomerId(), grant.getGrantId());
+        }
+    }
+
+    /**
+     * 청크에 포함된 고객의 잔액 프로젝션을 한 번에 조회하고, 없는 고객은 point_grant 집계로 생성한다.
+     * 조회한 값은 한도 검증에만 쓰며 잔액 갱신은 addBalance 증분으로 한다.
+     */
+    private Map<String, Long> loadBalances(List<PointGrantRequest> chunk, Instant now) {
+        Set<String> customerIds = chunk.stream().map(PointGrantRequest::customerId).collect(Collectors.toSet());
+        Map<String, Long> balances = balanceRepository.findBalances(customerIds).stream()
+                .collect(Collectors.toMap(CustomerAmount::getCustomerId, CustomerAmount::getAmount));
+
+        Set<String> missing = new HashSet<>(customerIds);
+        missing.removeAll(balances.keySet());
+        if (!missing.isEmpty()) {
+            Map<String, Long> sums = grantRepository.sumAmountAvailableByCustomers(missing, GrantStatus.ACTIVE).stream()
+                    .collect(Collectors.toMap(CustomerAmount::getCustomerId, CustomerAmount::getAmount));
+            for (String customerId : missing) {
+                long current = sums.getOrDefault(customerId, 0L);
+                // 동시에 다른 트랜잭션이 먼저 만들었다면 그 행을 그대로 쓴다.
+                balanceRepository.insertIfAbsent(customerId, current, now);
+                balances.put(customerId, current);
+            }
+        }
+        return balances;
+    }
+
+    private void validateBalanceLimit(String customerId, Map<String, Long> balances, Map<String, Long> exactBalances,
+                                      Map<String, Long> acceptedAmounts, long addAmount, long maxBalance, Instant now) {
+        long accepted = acceptedAmounts.getOrDefault(customerId, 0L);
+        long currentBalance = balances.get(customerId) + accepted;
+        if (currentBalance + addAmount > maxBalance) {
+            // 프로젝션에는 만료 적립이 포함될 수 있으므로 한도 초과 시에만 정확히 재계산한다.
+            // 이번 청크에서 승인한 적립은 아직 저장 전이므로 DB 집계에 더해 준다.
+            long stored = exactBalances.computeIfAbsent(customerId, id ->
+                    grantRepository.calculateAvailableBalance(id, GrantStatus.ACTIVE, now));
+            currentBalance = stored + accepted;
+        }
+        if (currentBalance + addAmount > maxBalance) {
+            throw new BusinessException(ErrorCode.GRANT_BALANCE_LIMIT_EXCEEDED,
+                    String.format("(현재: %d, 추가: %d, 한도: %d)", currentBalance, addAmount, maxBalance));
+        }
+    }
+
+    private PointBulkGrantItemResult grantOne(int index, PointGrantRequest request) {
+        try {
+            PointGrant grant = dbBulkhead.execute(() -> grantService.grantPoint(request));
+            return PointBulkGrantItemResult.success(index, request.customerId(), grant.getGrantId());
+        } catch (BusinessException e) {
+            return PointBulkGrantItemResult.failure(index, request.customerId(), e.getErrorCode(), e.getMessage());
+        } catch (Exception e) {
+            log.error("일괄 적립 건별 처리 실패: index={}, customerId={}", index, request.customerId(), e);
+            return PointBulkGrantItemResult.failure(index, request.customerId(), "INTERNAL_ERROR", "서버 오류가 발생했습니다.");
+        }
+    }
+}
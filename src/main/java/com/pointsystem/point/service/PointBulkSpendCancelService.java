@@ -0,0 +1,236 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.concurrency.DbBulkhead;
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.point.controller.dto.PointBulkSpendCancelItemResult;
+import com.pointsystem.point.controller.dto.PointBulkSpendCancelRequest;
+import com.pointsystem.point.domain.entity.*;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.domain.repository.PointSpendAllocationRepository;
+import com.pointsystem.point.domain.repository.PointSpendRepository;
+import com.pointsystem.point.engine.PointEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 대량 환불 등 사용 취소 일괄 처리.
+ * 요청을 고객 ID 순으로 묶어 청크 단위 트랜잭션으로 처리하며, 한 고객의 요청은 같은 청크에 들어간다.
+ * 청크 안에서는 사용건을 사용 ID 순으로 한 번에 잠그고, 배분을 IN 조회 한 번으로 읽고, 복원 적립과 원장을 JDBC 배치로 저장한다.
+ * 청크가 실패하면 해당 청크만 건별 사용 취소로 다시 처리한다.
+ * <p>
+ * 청크 경로는 {@link PointCommandService} 를 거치지 않으므로 고객 락과 명령 지표가 적용되지 않는다.
+ * 청크 트랜잭션은 {@link DbBulkhead} 허가를 얻어 실행하고, 건별 경로는 명령 서비스에서 허가를 얻는다.
+ * 동시에 들어온 단건 사용/취소와의 정합성은 사용건 비관적 락({@code findAllByIdsWithLock})과
+ * 적립/사용 엔티티의 {@code @Version} 으로 지키며, 충돌하면 청크가 롤백되어 건별 경로(명령 서비스)로 다시 처리된다.
+ * 샤딩 모드에서는 사용 ID 에 담긴 샤드별로 나누어 위 과정을 샤드마다 실행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointBulkSpendCancelService {
+
+    private static final int OWNER_LOOKUP_BATCH_SIZE = 1000;
+
+    private final PointSpendRepository spendRepository;
+    private final PointSpendAllocationRepository allocationRepository;
+    private final PointGrantRepository grantRepository;
+    private final PointLedgerRecorder ledgerRecorder;
+    private final PointGrantService grantService;
+    private final PointPolicyService policyService;
+    private final PointBalanceService balanceService;
+    private final PointCommandService commandService;
+    private final TransactionTemplate transactionTemplate;
+    private final DbBulkhead dbBulkhead;
+    private final ObjectProvider<PointEngine> engineProvider;
+    private final ShardRouter shardRouter;
+
+    @Value("${point.spend.bulk-cancel.chunk-size:500}")
+    private int chunkSize;
+
+    public List<PointBulkSpendCancelItemResult> cancelSpends(List<PointBulkSpendCancelRequest.Item> requests) {
+        log.info("포인트 사용 일괄 취소 요청: size={}, chunkSize={}", requests.size(), chunkSize);
+        PointBulkSpendCancelItemResult[] results = new PointBulkSpendCancelItemResult[requests.size()];
+        // 메모리 엔진이 아직 DB 에 반영하지 않은 사용도 조회되도록 반영을 기다린다.
+        PointEngine engine = engineProvider.getIfAvailable();
+        if (engine != null) {
+            engine.awaitApplied();
+        }
+
+        // 사용 ID 에 담긴 샤드별로 소유 고객을 찾고, 청크는 한 샤드의 고객만 담는다.
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByShard.computeIfAbsent(shardRouter.shardOfId(requests.get(i).spendId()), shard -> new ArrayList<>()).add(i);
+        }
+        Set<String> customers = new HashSet<>();
+        indexesByShard.forEach((shard, shardIndexes) -> shardRouter.runInShard(shard,
+                () -> customers.addAll(cancelInShard(requests, shardIndexes, results))));
+        if (engine != null) {
+            // 복원된 적립 잔액이 보이도록 다시 적재하게 한다. 그 전까지는 복원 전 잔액으로 더 적게 사용할 수 있을 뿐이다.
+            engine.evict(customers);
+        }
+
+        List<PointBulkSpendCancelItemResult> resultList = Arrays.asList(results);
+        long succeeded = resultList.stream().filter(PointBulkSpendCancelItemResult::success).count();
+        log.info("포인트 사용 일괄 취소 완료: size={}, succeeded={}, failed={}", requests.size(), succeeded, requests.size() - succeeded);
+        return resultList;
+    }
+
+    /**
+     * @return 취소 대상 사용건의 고객 ID
+     */
+    private Set<String> cancelInShard(List<PointBulkSpendCancelRequest.Item> requests, List<Integer> shardIndexes,
+                                      PointBulkSpendCancelItemResult[] results) {
+        Map<String, String> customerBySpend = findOwners(shardIndexes.stream().map(requests::get).toList());
+        TreeMap<String, List<Integer>> indexesByCustomer = new TreeMap<>();
+        for (int i : shardIndexes) {
+            String customerId = customerBySpend.get(requests.get(i).spendId());
+            if (customerId == null) {
+                results[i] = PointBulkSpendCancelItemResult.failure(i, requests.get(i).spendId(), ErrorCode.SPEND_NOT_FOUND,
+                        ErrorCode.SPEND_NOT_FOUND.getMessage());
+                continue;
+            }
+            indexesByCustomer.computeIfAbsent(customerId, id -> new ArrayList<>()).add(i);
+        }
+
+        List<Integer> chunk = new ArrayList<>();
+        for (List<Integer> indexes : indexesByCustomer.values()) {
+            if (!chunk.isEmpty() && chunk.size() + indexes.size() > chunkSize) {
+                processChunk(requests, chunk, results);
+                chunk = new ArrayList<>();
+            }
+            chunk.addAll(indexes);
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(requests, chunk, results);
+        }
+        return indexesByCustomer.keySet();
+    }
+
+    private Map<String, String> findOwners(List<PointBulkSpendCancelRequest.Item> requests) {
+        List<String> spendIds = requests.stream().map(PointBulkSpendCancelRequest.Item::spendId).distinct().toList();
+        Map<String, String> customerBySpend = new HashMap<>();
+        for (int from = 0; from < spendIds.size(); from += OWNER_LOOKUP_BATCH_SIZE) {
+            List<String> batch = spendIds.subList(from, Math.min(from + OWNER_LOOKUP_BATCH_SIZE, spendIds.size()));
+            dbBulkhead.execute(() -> spendRepository.findOwnersBySpendIds(batch))
+                    .forEach(owner -> customerBySpend.put(owner.getSpendId(), owner.getCustomerId()));
+        }
+        return customerBySpend;
+    }
+
+    private void processChunk(List<PointBulkSpendCancelRequest.Item> requests, List<Integer> indexes,
+                              PointBulkSpendCancelItemResult[] results) {
+        Map<Integer, PointBulkSpendCancelItemResult> chunkResults = new HashMap<>();
+        try {
+            dbBulkhead.run(() -> transactionTemplate.executeWithoutResult(status -> cancelChunk(requests, indexes, chunkResults)));
+            chunkResults.forEach((index, result) -> results[index] = result);
+        } catch (Exception e) {
+            // 청크 트랜잭션이 롤백되면 검증에서 실패한 건은 그대로 두고 나머지를 건별 트랜잭션으로 다시 처리한다.
+            log.warn("일괄 사용 취소 청크 실패, 건별 처리로 전환: size={}", indexes.size(), e);
+            for (int index : indexes) {
+                PointBulkSpendCancelItemResult validated = chunkResults.get(index);
+                results[index] = validated != null && !validated.success()
+                        ? validated
+                        : cancelOne(index, requests.get(index));
+            }
+        }
+    }
+
+    private void cancelChunk(List<PointBulkSpendCancelRequest.Item> requests, List<Integer> indexes,
+                             Map<Integer, PointBulkSpendCancelItemResult> chunkResults) {
+        Instant now = Instant.now();
+        List<String> spendIds = indexes.stream().map(i -> requests.get(i).spendId()).distinct().toList();
+
+        Map<String, PointSpend> spends = spendRepository.findAllByIdsWithLock(spendIds).stream()
+                .collect(Collectors.toMap(PointSpend::getSpendId, Function.identity()));
+        List<PointSpendAllocation> allAllocations = allocationRepository.findBySpendIdsWithGrantForCancel(spendIds, now);
+        Map<String, List<PointSpendAllocation>> allocationsBySpend = allAllocations.stream()
+                .collect(Collectors.groupingBy(a -> a.getSpend().getSpendId(), LinkedHashMap::new, Collectors.toList()));
+        Map<String, PointGrant> successors = grantService.findSuccessors(
+                allAllocations.stream().map(PointSpendAllocation::getGrant).toList());
+
+        // 같은 사용건이 여러 번 요청되면 앞선 취소가 반영된 배분을 이어서 사용한다.
+        Map<String, SpendAllocations> spendAllocations = new HashMap<>();
+        Instant restoreExpiresAt = now.plus(policyService.getDefaultExpireDays(), ChronoUnit.DAYS);
+        List<CanceledItem> canceled = new ArrayList<>();
+        List<PointGrant> restoreGrants = new ArrayList<>();
+        Map<String, Long> increaseByCustomer = new TreeMap<>();
+
+        for (int index : indexes) {
+            PointBulkSpendCancelRequest.Item request = requests.get(index);
+            PointSpend spend = spends.get(request.spendId());
+            try {
+                if (spend == null) {
+                    throw new BusinessException(ErrorCode.SPEND_NOT_FOUND);
+                }
+                PointSpendService.validateCancel(spend, request.cancelAmount());
+
+                SpendAllocations allocations = spendAllocations.computeIfAbsent(spend.getSpendId(),
+                        id -> new SpendAllocations(allocationsBySpend.getOrDefault(id, List.of()), successors));
+                SpendAllocations.CancelDistribution distribution = allocations.cancel(request.cancelAmount(), now);
+
+                // 단건 취소와 같이 만료/취소된 적립분은 취소 1건당 RESTORE 적립 1건으로 합쳐 발급한다.
+                PointGrant restoreGrant = null;
+                if (distribution.restoredAsNew() > 0) {
+                    restoreGrant = PointGrant.create(spend.getCustomerId(), GrantType.RESTORE,
+                            distribution.restoredAsNew(), restoreExpiresAt, now);
+                    restoreGrants.add(restoreGrant);
+                }
+
+                spend.applyCancel(request.cancelAmount());
+                increaseByCustomer.merge(spend.getCustomerId(),
+                        distribution.restoredToOriginal() + distribution.restoredAsNew(), Long::sum);
+                canceled.add(new CanceledItem(index, spend, request.cancelAmount(), distribution, restoreGrant));
+            } catch (BusinessException e) {
+                chunkResults.put(index, PointBulkSpendCancelItemResult.failure(index, request.spendId(),
+                        e.getErrorCode(), e.getMessage()));
+            }
+        }
+
+        grantRepository.saveAll(restoreGrants);
+        List<PointLedger> ledgers = new ArrayList<>();
+        for (CanceledItem item : canceled) {
+            PointSpend spend = item.spend();
+            if (item.restoreGrant() != null) {
+                ledgers.add(PointLedger.create(spend.getCustomerId(), LedgerEventType.RESTORE_GRANT,
+                        item.restoreGrant().getGrantId(), item.restoreGrant().getAmountTotal(), null, now));
+            }
+            ledgers.add(PointLedger.create(spend.getCustomerId(), LedgerEventType.SPEND_CANCEL,
+                    spend.getSpendId(), item.cancelAmount(), spend.getOrderId(), now));
+        }
+        ledgerRecorder.recordAll(ledgers);
+        increaseByCustomer.forEach((customerId, amount) -> balanceService.increase(customerId, amount, now));
+
+        for (CanceledItem item : canceled) {
+            chunkResults.put(item.index(), PointBulkSpendCancelItemResult.success(item.index(), item.spend().getSpendId(),
+                    item.cancelAmount(), item.distribution().restoredToOriginal(), item.distribution().restoredAsNew(),
+                    item.restoreGrant() == null ? null : item.restoreGrant().getGrantId()));
+        }
+    }
+
+    private PointBulkSpendCancelItemResult cancelOne(int index, PointBulkSpendCancelRequest.Item request) {
+        try {
+            return PointBulkSpendCancelItemResult.from(index, commandService.cancelSpend(request.spendId(), request.cancelAmount()));
+        } catch (BusinessException e) {
+            return PointBulkSpendCancelItemResult.failure(index, request.spendId(), e.getErrorCode(), e.getMessage());
+        } catch (Exception e) {
+            log.error("일괄 사용 취소 건별 처리 실패: index={}, spendId={}", index, request.spendId(), e);
+            return PointBulkSpendCancelItemResult.failure(index, request.spendId(), "INTERNAL_ERROR", "서버 오류가 발생했습니다.");
+        }
+    }
+
+    private record CanceledItem(int index, PointSpend spend, long cancelAmount,
+                                SpendAllocations.CancelDistribution distribution, PointGrant restoreGrant) {
+    }
+}
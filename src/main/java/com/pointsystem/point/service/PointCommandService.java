@@ -0,0 +1,199 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.concurrency.ContendedKeyTracker;
+import com.pointsystem.common.concurrency.DbBulkhead;
+import com.pointsystem.common.concurrency.StripedKeyLock;
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.common.metrics.PointMetrics;
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendCancelResult;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.controller.dto.PointSpendResponse;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.PointSpend;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.domain.repository.PointSpendRepository;
+import com.pointsystem.point.engine.PointEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 적립/사용/취소 요청의 진입점.
+ * 트랜잭션 밖에서 고객 단위로 요청을 직렬화한 뒤 각 서비스의 트랜잭션을 시작한다.
+ * 같은 고객의 요청은 DB 커넥션을 잡기 전에 JVM 안에서 대기하므로, 비관적 락은 인스턴스 간 충돌에 대한 안전장치로만 동작한다.
+ * <p>
+ * point.lock.mode=optimistic 이면 사용/사용취소를 락 없이 실행하고 @Version 충돌 시 지터 백오프로 재시도한다.
+ * 충돌이 난 고객은 일정 시간 비관적 모드로 처리하며, 재시도를 모두 소진해도 마지막 한 번은 비관적 모드로 실행한다.
+ * <p>
+ * point.db-bulkhead.enabled=true 이면 트랜잭션 구간의 동시 실행 수를 커넥션 풀 크기로 제한한다({@link DbBulkhead}).
+ * 고객 조회와 트랜잭션 시도마다 허가를 따로 얻으므로, 낙관적 락 재시도의 백오프 동안에는 허가를 잡고 있지 않는다.
+ * <p>
+ * point.engine.mode=memory 이면 사용은 {@link PointEngine} 이 메모리에서 처리하고, 나머지 명령은 엔진에서 고객을 대여해
+ * 기존 DB 경로로 실행한다. 엔진이 고객 단위로 직렬화하므로 고객 락은 사용하지 않는다.
+ * <p>
+ * point.shard.enabled=true 이면 고객 ID 로, 적립 취소와 사용 취소는 적립/사용 ID 에 담긴 샤드 번호로 샤드를 정한 뒤 실행한다.
+ */
+@Slf4j
+@Service
+public class PointCommandService {
+
+    private final PointGrantService grantService;
+    private final PointSpendService spendService;
+    private final PointGrantRepository grantRepository;
+    private final PointSpendRepository spendRepository;
+    private final StripedKeyLock customerLock;
+    private final boolean lockEnabled;
+    private final Duration lockTimeout;
+    private final boolean optimisticMode;
+    private final int maxOptimisticAttempts;
+    private final long backoffMillis;
+    private final ContendedKeyTracker contendedCustomers;
+    private final PointMetrics metrics;
+    private final DbBulkhead dbBulkhead;
+    private final PointEngine engine;
+    private final ShardRouter shardRouter;
+
+    public PointCommandService(PointGrantService grantService,
+                               PointSpendService spendService,
+                               PointGrantRepository grantRepository,
+                               PointSpendRepository spendRepository,
+                               PointMetrics metrics,
+                               DbBulkhead dbBulkhead,
+                               ObjectProvider<PointEngine> engineProvider,
+                               ShardRouter shardRouter,
+                               @Value("${point.customer-lock.enabled:false}") boolean lockEnabled,
+                               @Value("${point.customer-lock.stripes:1024}") int stripes,
+                               @Value("${point.customer-lock.timeout-ms:3000}") long timeoutMillis,
+                               @Value("${point.lock.mode:pessimistic}") String lockMode,
+                               @Value("${point.lock.optimistic.max-attempts:3}") int maxOptimisticAttempts,
+                               @Value("${point.lock.optimistic.backoff-ms:10}") long backoffMillis,
+                               @Value("${point.lock.optimistic.contended-ttl-ms:60000}") long contendedTtlMillis) {
+        this.grantService = grantService;
+        this.spendService = spendService;
+        this.grantRepository = grantRepository;
+        this.spendRepository = spendRepository;
+        this.metrics = metrics;
+        this.lockEnabled = lockEnabled;
+        this.customerLock = new StripedKeyLock(stripes);
+        if (lockEnabled) {
+            metrics.registerCustomerLockQueue(customerLock, StripedKeyLock::queueDepth);
+        }
+        this.lockTimeout = Duration.ofMillis(timeoutMillis);
+        this.optimisticMode = "optimistic".equalsIgnoreCase(lockMode);
+        this.maxOptimisticAttempts = maxOptimisticAttempts;
+        this.backoffMillis = backoffMillis;
+        this.contendedCustomers = new ContendedKeyTracker(Duration.ofMillis(contendedTtlMillis), 100_000);
+        this.dbBulkhead = dbBulkhead;
+        this.engine = engineProvider.getIfAvailable();
+        this.shardRouter = shardRouter;
+    }
+
+    public PointGrant grantPoint(PointGrantRequest request) {
+        return metrics.timeCommand(PointMetrics.GRANT, () -> shardRouter.inCustomerShard(request.customerId(),
+                () -> withCustomerLock(request.customerId(), () -> dbBulkhead.execute(() -> grantService.grantPoint(request)))));
+    }
+
+    public PointGrant cancelPointGrant(String grantId) {
+        return metrics.timeCommand(PointMetrics.GRANT_CANCEL, () -> shardRouter.inIdShard(grantId,
+                () -> withCustomerLock(lookup(() -> grantRepository.findCustomerIdByGrantId(grantId)),
+                        () -> dbBulkhead.execute(() -> grantService.cancelPointGrant(grantId)))));
+    }
+
+    public PointSpend spendPoint(PointSpendRequest request) {
+        return metrics.timeCommand(PointMetrics.SPEND, () -> shardRouter.inCustomerShard(request.customerId(),
+                () -> withCustomerLock(request.customerId(),
+                        () -> withLockStrategy(request.customerId(), strategy -> dbBulkhead.execute(() -> spendService.spendPoint(request, strategy))))));
+    }
+
+    /**
+     * 사용 API 진입점. 메모리 엔진 모드이면 엔진에서 처리하고, 아니면 {@link #spendPoint} 와 같다.
+     */
+    public PointSpendResponse spend(PointSpendRequest request) {
+        if (engine == null) {
+            return PointSpendResponse.from(spendPoint(request));
+        }
+        return metrics.timeCommand(PointMetrics.SPEND, () -> engine.spend(request));
+    }
+
+    public PointSpendCancelResult cancelSpend(String spendId, long cancelAmount) {
+        return metrics.timeCommand(PointMetrics.SPEND_CANCEL, () -> shardRouter.inIdShard(spendId, () -> {
+            // 엔진이 아직 DB 에 반영하지 않은 사용은 엔진에서 고객을 찾는다.
+            String customerId = Optional.ofNullable(engine)
+                    .flatMap(e -> e.findPendingSpendOwner(spendId))
+                    .orElseGet(() -> lookup(() -> spendRepository.findCustomerIdBySpendId(spendId)));
+            return withCustomerLock(customerId,
+                    () -> withLockStrategy(customerId, strategy -> dbBulkhead.execute(() -> spendService.cancelSpend(spendId, cancelAmount, strategy))));
+        }));
+    }
+
+    private String lookup(Supplier<Optional<String>> finder) {
+        // 고객 락, 낙관적 모드, 메모리 엔진이 모두 꺼져 있으면 고객 조회 쿼리도 생략한다.
+        return lockEnabled || optimisticMode || engine != null ? dbBulkhead.execute(finder).orElse(null) : null;
+    }
+
+    private <T> T withLockStrategy(String customerId, Function<LockStrategy, T> action) {
+        if (!optimisticMode || customerId == null || contendedCustomers.isContended(customerId)) {
+            return action.apply(LockStrategy.PESSIMISTIC);
+        }
+
+        for (int attempt = 1; attempt <= maxOptimisticAttempts; attempt++) {
+            try {
+                return action.apply(LockStrategy.OPTIMISTIC);
+            } catch (OptimisticLockingFailureException e) {
+                contendedCustomers.markContended(customerId);
+                log.info("낙관적 락 충돌: customerId={}, attempt={}/{}", customerId, attempt, maxOptimisticAttempts);
+                backoff(attempt);
+            }
+        }
+        log.warn("낙관적 락 재시도 소진, 비관적 모드로 전환: customerId={}", customerId);
+        return action.apply(LockStrategy.PESSIMISTIC);
+    }
+
+    private void backoff(int attempt) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        // 동시에 충돌한 요청들이 같은 시점에 다시 부딪히지 않도록 지수 백오프에 지터를 준다.
+        long ceiling = backoffMillis << Math.min(attempt - 1, 10);
+        long sleep = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+        try {
+            Thread.sleep(sleep);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OptimisticLockingFailureException("재시도 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    private <T> T withCustomerLock(String customerId, Supplier<T> action) {
+        // 대상이 존재하지 않으면 서비스에서 NOT_FOUND 를 응답하도록 그대로 위임한다.
+        if (engine != null && customerId != null) {
+            return engine.exclusive(customerId, action);
+        }
+        if (!lockEnabled || customerId == null) {
+            return action.get();
+        }
+        try {
+            // 허가는 action 안에서 얻으므로 고객 락을 얻은 요청만 허가를 기다리고, 같은 고객의 대기 요청은 허가를 차지하지 않는다.
+            long waitStartedAt = System.nanoTime();
+            return customerLock.execute(customerId, lockTimeout, () -> {
+                metrics.recordCustomerLockWait(System.nanoTime() - waitStartedAt);
+                return action.get();
+            });
+        } catch (StripedKeyLock.LockTimeoutException e) {
+            metrics.countCustomerLockTimeout();
+            log.warn("고객 락 대기 시간 초과: customerId={}, timeout={}", customerId, lockTimeout);
+            throw new BusinessException(ErrorCode.CUSTOMER_REQUEST_BUSY);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.concurrency.RateThrottle;
+import com.pointsystem.common.metrics.PointMetrics;
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.PointLedger;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.engine.PointEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 만료일이 지난 ACTIVE 적립을 EXPIRED 로 종료하고 소멸 원장(EXPIRE)을 기록한다.
+ * (expiresAt, grantId) 키셋으로 청크를 나누어 청크마다 트랜잭션을 커밋하며,
+ * 초당 처리 건수 상한을 두어 운영 DB 에서 사용 트래픽과 함께 실행할 수 있도록 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointExpirationService {
+
+    private final PointGrantRepository grantRepository;
+    private final PointLedgerRecorder ledgerRecorder;
+    private final PointBalanceService balanceService;
+    private final TransactionTemplate transactionTemplate;
+    private final PointMetrics metrics;
+    private final ObjectProvider<PointEngine> engineProvider;
+    private final ShardRouter shardRouter;
+
+    @Value("${point.expiration.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${point.expiration.max-grants-per-second:2000}")
+    private int maxGrantsPerSecond;
+
+    @Scheduled(cron = "${point.expiration.cron:0 */10 * * * *}")
+    public void scheduledExpire() {
+        expireGrants(Instant.now());
+    }
+
+    /**
+     * 샤딩 모드에서는 샤드마다 차례로 처리한다.
+     *
+     * @return 만료 처리된 적립 건수
+     */
+    public int expireGrants(Instant now) {
+        return shardRouter.sumOverShards(() -> expireShard(now));
+    }
+
+    private int expireShard(Instant now) {
+        log.info("적립 만료 처리 시작: shard={}, now={}, chunkSize={}, maxGrantsPerSecond={}",
+                shardRouter.currentShard(), now, chunkSize, maxGrantsPerSecond);
+        RateThrottle throttle = RateThrottle.start(maxGrantsPerSecond);
+        // 메모리 엔진이 기준 시각 전에 처리한 사용을 먼저 DB 에 반영해, 만료 금액에 이미 사용된 금액이 포함되지 않게 한다.
+        engineProvider.ifAvailable(PointEngine::awaitApplied);
+        Cursor cursor = Cursor.START;
+        int expiredCount = 0;
+        long expiredAmount = 0;
+
+        while (true) {
+            Cursor after = cursor;
+            ChunkResult result = transactionTemplate.execute(status -> expireChunk(now, after));
+            if (result == null || result.size() == 0) {
+                break;
+            }
+            expiredCount += result.size();
+            expiredAmount += result.amount();
+            cursor = result.next();
+            if (!throttle.await(expiredCount)) {
+                log.warn("적립 만료 처리 중단: 인터럽트 발생");
+                break;
+            }
+        }
+
+        log.info("적립 만료 처리 완료: shard={}, expiredCount={}, expiredAmount={}", shardRouter.currentShard(), expiredCount, expiredAmount);
+        return expiredCount;
+    }
+
+    private ChunkResult expireChunk(Instant now, Cursor after) {
+        List<PointGrant> grants = metrics.timeLockQuery("expired_grants", () -> grantRepository.findExpiredGrantsWithLock(
+                GrantStatus.ACTIVE, now, after.expiresAt(), after.grantId(), Limit.of(chunkSize)));
+        if (grants.isEmpty()) {
+            return new ChunkResult(0, 0, after);
+        }
+
+        List<PointLedger> ledgers = new ArrayList<>();
+        Map<String, Long> expiredByCustomer = new HashMap<>();
+        long chunkAmount = 0;
+
+        for (PointGrant grant : grants) {
+            long expired = grant.expire(now);
+            if (expired > 0) {
+                ledgers.add(PointLedger.create(grant.getCustomerId(), LedgerEventType.EXPIRE, grant.getGrantId(), -expired, null, now));
+                expiredByCustomer.merge(grant.getCustomerId(), expired, Long::sum);
+                chunkAmount += expired;
+            }
+        }
+
+        ledgerRecorder.recordAll(ledgers);
+        expiredByCustomer.forEach((customerId, amount) -> balanceService.decrease(customerId, amount, now));
+
+        PointGrant last = grants.getLast();
+        return new ChunkResult(grants.size(), chunkAmount, new Cursor(last.getExpiresAt(), last.getGrantId()));
+    }
+
+    private record Cursor(Instant expiresAt, String grantId) {
+        static final Cursor START = new Cursor(Instant.EPOCH, "");
+    }
+
+    private record ChunkResult(int size, long amount, Cursor next) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.concurrency.RateThrottle;
+import com.pointsystem.common.metrics.PointMetrics;
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.PointJobState;
+import com.pointsystem.point.domain.entity.PointLedger;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.domain.repository.PointJobStateRepository;
+import com.pointsystem.point.engine.PointEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 일부 사용된 적립이 많이 쌓인 고객의 적립을 병합한다.
+ * 적립 타입과 만료일(UTC 기준 날짜)이 같은 적립들을 후속 적립 1건으로 합치고,
+ * 원 적립은 COMPACTED 로 종료하면서 후속 적립 ID 를 남긴다. 병합 내역은 COMPACT 원장(금액 0)으로 기록한다.
+ * <p>
+ * 아직 사용되지 않은 적립은 적립 취소가 가능하므로 병합하지 않는다.
+ * 고객 ID 키셋으로 진행하며, 한 번의 실행에서 처리할 고객 수를 넘기면 다음 실행에서 이어서 처리한다.
+ * 진행 위치는 고객 병합과 같은 트랜잭션에서 point_job_state 에 남기므로, 재시작하거나 다른 인스턴스가 실행해도 이어서 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointGrantCompactionService {
+
+    static final String JOB_NAME = "grant-compaction";
+
+    private final PointGrantRepository grantRepository;
+    private final PointJobStateRepository jobStateRepository;
+    private final PointLedgerRecorder ledgerRecorder;
+    private final PointBalanceCache balanceCache;
+    private final TransactionTemplate transactionTemplate;
+    private final PointMetrics metrics;
+    private final ObjectProvider<PointEngine> engineProvider;
+    private final ShardRouter shardRouter;
+
+    @Value("${point.compaction.min-grants:10}")
+    private int minGrants;
+
+    @Value("${point.compaction.page-size:100}")
+    private int pageSize;
+
+    @Value("${point.compaction.max-customers-per-run:1000}")
+    private int maxCustomersPerRun;
+
+    @Value("${point.compaction.max-customers-per-second:50}")
+    private int maxCustomersPerSecond;
+
+    @Scheduled(cron = "${point.compaction.cron:0 0 5 * * *}")
+    public void scheduledCompact() {
+        compact(Instant.now());
+    }
+
+    /**
+     * 샤딩 모드에서는 샤드마다 차례로 처리하며, 고객 수 상한은 샤드별로 적용한다.
+     *
+     * @return 병합으로 종료된 원 적립 건수
+     */
+    public int compact(Instant now) {
+        return shardRouter.sumOverShards(() -> compactShard(now));
+    }
+
+    private int compactShard(Instant now) {
+        int shard = shardRouter.currentShard();
+        // 이전 실행이 중간에 멈춘 위치. 끝까지 처리하면 처음부터 다시 시작한다.
+        String after = jobStateRepository.findById(JOB_NAME).map(PointJobState::getCursor).orElse("");
+        log.info("적립 병합 시작: shard={}, resumeAfter={}, minGrants={}, maxCustomersPerRun={}",
+                shard, after, minGrants, maxCustomersPerRun);
+        RateThrottle throttle = RateThrottle.start(maxCustomersPerSecond);
+        int customers = 0;
+        int compacted = 0;
+        PointEngine engine = engineProvider.getIfAvailable();
+
+        while (customers < maxCustomersPerRun) {
+            List<String> candidates = grantRepository.findCompactionCandidates(
+                    GrantStatus.ACTIVE, now, after, minGrants, Limit.of(Math.min(pageSize, maxCustomersPerRun - customers)));
+            if (candidates.isEmpty()) {
+                after = "";
+                transactionTemplate.executeWithoutResult(status -> saveCursor(""));
+                break;
+            }
+            for (String customerId : candidates) {
+                // 진행 위치를 병합과 함께 커밋해, 중간에 멈춰도 병합한 고객부터 다시 처리하지 않는다.
+                Supplier<Integer> compactOne = () -> transactionTemplate.execute(status -> {
+                    int count = compactCustomer(customerId, now);
+                    saveCursor(customerId);
+                    return count;
+                });
+                // 메모리 엔진 모드에서는 병합으로 적립 ID 가 바뀌므로 고객을 대여해 반영 대기분을 먼저 DB 에 쓴다.
+                Integer merged = engine == null ? compactOne.get() : engine.exclusive(customerId, compactOne);
+                compacted += merged == null ? 0 : merged;
+                customers++;
+                after = customerId;
+                if (!throttle.await(customers)) {
+                    log.warn("적립 병합 중단: 인터럽트 발생, customerId={}", customerId);
+                    return compacted;
+                }
+            }
+        }
+
+        log.info("적립 병합 완료: shard={}, customers={}, compactedGrants={}, resumeAfter={}", shard, customers, compacted, after);
+        return compacted;
+    }
+
+    private void saveCursor(String after) {
+        PointJobState state = jobStateRepository.findById(JOB_NAME)
+                .orElseGet(() -> new PointJobState(JOB_NAME, after));
+        state.moveTo(after);
+        jobStateRepository.save(state);
+    }
+
+    /**
+     * 고객 한 명의 병합 가능한 적립을 잠그고 (적립 타입, 만료일) 그룹별로 병합한다.
+     */
+    int compactCustomer(String customerId, Instant now) {
+        List<PointGrant> grants = metrics.timeLockQuery("compactable_grants",
+                () -> grantRepository.findCompactableGrantsWithLock(customerId, GrantStatus.ACTIVE, now));
+
+        Map<GroupKey, List<PointGrant>> groups = new LinkedHashMap<>();
+        for (PointGrant grant : grants) {
+            if (grant.isCompactable(now)) {
+                groups.computeIfAbsent(GroupKey.of(grant), key -> new ArrayList<>()).add(grant);
+            }
+        }
+
+        int compacted = 0;
+        List<PointLedger> ledgers = new ArrayList<>();
+        for (List<PointGrant> sources : groups.values()) {
+            if (sources.size() < 2) {
+                continue;
+            }
+            PointGrant successor = PointGrant.createSuccessor(sources, now);
+            grantRepository.save(successor);
+
+            List<String> sourceIds = sources.stream().map(PointGrant::getGrantId).toList();
+            grantRepository.repointMergedGrants(sourceIds, successor.getGrantId());
+            sources.forEach(source -> source.compactInto(successor));
+
+            ledgers.add(PointLedger.create(customerId, LedgerEventType.COMPACT, successor.getGrantId(), 0L, null, now));
+            compacted += sources.size();
+            log.debug("적립 병합: customerId={}, successorId={}, sources={}, amountAvailable={}",
+                    customerId, successor.getGrantId(), sources.size(), successor.getAmountAvailable());
+        }
+
+        if (compacted > 0) {
+            ledgerRecorder.recordAll(ledgers);
+            // 잔액은 그대로지만 만료 임박 금액 집계가 달라질 수 있다.
+            balanceCache.evictAfterCommit(customerId);
+        }
+        return compacted;
+    }
+
+    private record GroupKey(GrantType grantType, LocalDate expiryDay) {
+
+        static GroupKey of(PointGrant grant) {
+            return new GroupKey(grant.getGrantType(), LocalDate.ofInstant(grant.getExpiresAt(), ZoneOffset.UTC));
+        }
+    }
+}
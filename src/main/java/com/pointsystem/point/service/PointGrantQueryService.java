@@ -0,0 +1,65 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.controller.dto.PointGrantPageResponse;
+import com.pointsystem.point.controller.dto.PointGrantResponse;
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.repository.GrantView;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 적립 단건/목록 조회. {@link GrantView} 프로젝션으로 읽어 엔티티를 영속성 컨텍스트에 올리지 않는다.
+ * 목록은 (createdAt, grantId) 키셋 커서로 최신순 페이지를 나눈다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class PointGrantQueryService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final PointGrantRepository grantRepository;
+
+    public PointGrantResponse getGrant(String grantId) {
+        return grantRepository.findViewById(grantId)
+                .map(PointGrantResponse::from)
+                .orElseThrow(() -> new BusinessException(ErrorCode.GRANT_NOT_FOUND));
+    }
+
+    public PointGrantPageResponse getGrants(String customerId, GrantStatus status, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    String.format("(size 는 1~%d 이어야 합니다.)", MAX_PAGE_SIZE));
+        }
+
+        // 다음 페이지 존재 여부를 판단하기 위해 한 건 더 읽는다.
+        Limit limit = Limit.of(size + 1);
+        List<GrantView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = grantRepository.findGrantPage(customerId, status, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = grantRepository.findGrantPageAfter(customerId, status, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<GrantView> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            GrantView last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.grantId()).encode();
+        }
+
+        List<PointGrantResponse> grants = page.stream()
+                .map(PointGrantResponse::from)
+                .toList();
+        return new PointGrantPageResponse(grants, nextCursor, hasNext);
+    }
+}
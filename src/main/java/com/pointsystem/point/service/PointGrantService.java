@@ -2,17 +2,20 @@ package com.pointsystem.point.service;
 
 import com.pointsystem.common.exception.BusinessException;
 import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.common.metrics.PointMetrics;
 import com.pointsystem.point.controller.dto.PointGrantRequest;
 import com.pointsystem.point.domain.entity.*;
+import com.pointsystem.point.domain.repository.GrantCandidate;
 import com.pointsystem.point.domain.repository.PointGrantRepository;
-import com.pointsystem.point.domain.repository.PointLedgerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.*;
 
 @Slf4j
 @Service
@@ -22,10 +25,14 @@ public class PointGrantService {
 
     private static final long MAX_EXPIRE_YEARS = 5;
     private static final long MIN_EXPIRE_DAYS = 1;
+    private static final int INITIAL_CANDIDATE_FETCH_SIZE = 8;
+    private static final int CANDIDATE_FETCH_GROWTH = 4;
 
     private final PointGrantRepository grantRepository;
-    private final PointLedgerRepository ledgerRepository;
+    private final PointLedgerRecorder ledgerRecorder;
     private final PointPolicyService policyService;
+    private final PointBalanceService balanceService;
+    private final PointMetrics metrics;
 
     @Transactional
     public PointGrant grantPoint(PointGrantRequest request) {
@@ -45,6 +52,7 @@ public class PointGrantService {
         );
 
         grantRepository.save(grant);
+        balanceService.increase(grant.getCustomerId(), grant.getAmountTotal(), now);
         recordLedger(grant.getCustomerId(), LedgerEventType.GRANT, grant.getGrantId(), grant.getAmountTotal(), now);
 
         log.info("포인트 적립 완료: grantId={}, customerId={}, amount={}", grant.getGrantId(), grant.getCustomerId(), grant.getAmountTotal());
@@ -56,9 +64,18 @@ public class PointGrantService {
         Instant now = Instant.now();
         log.info("포인트 적립 취소 요청: grantId={}", grantId);
 
-        PointGrant grant = grantRepository.findByIdWithLock(grantId)
+        PointGrant grant = metrics.timeLockQuery("grant_by_id", () -> grantRepository.findByIdWithLock(grantId))
                 .orElseThrow(() -> new BusinessException(ErrorCode.GRANT_NOT_FOUND));
 
+        if (grant.getStatus() == GrantStatus.EXPIRED) {
+            throw new BusinessException(ErrorCode.GRANT_ALREADY_EXPIRED);
+        }
+
+        // 병합된 적립은 일부 사용된 적립만 대상이므로 사용된 적립으로 취급한다.
+        if (grant.getStatus() == GrantStatus.COMPACTED) {
+            throw new BusinessException(ErrorCode.GRANT_ALREADY_USED);
+        }
+
         if (!grant.isActive()) {
             throw new BusinessException(ErrorCode.GRANT_ALREADY_CANCELED);
         }
@@ -69,6 +86,7 @@ public class PointGrantService {
 
         long canceledAmount = grant.getAmountTotal();
         grant.cancel();
+        balanceService.decrease(grant.getCustomerId(), canceledAmount, now);
         recordLedger(grant.getCustomerId(), LedgerEventType.GRANT_CANCEL, grant.getGrantId(), -canceledAmount, now);
 
         log.info("포인트 적립 취소 완료: grantId={}, customerId={}, canceledAmount={}", grantId, grant.getCustomerId(), canceledAmount);
@@ -77,6 +95,10 @@ public class PointGrantService {
 
     @Transactional
     public PointGrant restoreGrant(String customerId, long amount, Instant now) {
+        return metrics.timeCommand(PointMetrics.RESTORE, () -> createRestoreGrant(customerId, amount, now));
+    }
+
+    private PointGrant createRestoreGrant(String customerId, long amount, Instant now) {
         log.info("복원 포인트 부여: customerId={}, amount={}", customerId, amount);
         long defaultExpireDays = policyService.getDefaultExpireDays();
         Instant expiresAt = now.plus(defaultExpireDays, ChronoUnit.DAYS);
@@ -90,13 +112,14 @@ public class PointGrantService {
         );
 
         grantRepository.save(grant);
+        balanceService.increase(customerId, amount, now);
         recordLedger(customerId, LedgerEventType.RESTORE_GRANT, grant.getGrantId(), amount, now);
 
         log.info("복원 포인트 부여 완료: grantId={}, customerId={}, amount={}", grant.getGrantId(), customerId, amount);
         return grant;
     }
 
-    private void validateAmount(long amount) {
+    void validateAmount(long amount) {
         long maxGrantPerTransaction = policyService.getMaxGrantPerTransaction();
         if (amount < 1 || amount > maxGrantPerTransaction) {
             throw new BusinessException(ErrorCode.GRANT_AMOUNT_OUT_OF_RANGE,
@@ -104,7 +127,7 @@ public class PointGrantService {
         }
     }
 
-    private Instant resolveExpiresAt(Instant requested, Instant now) {
+    Instant resolveExpiresAt(Instant requested, Instant now) {
         if (requested == null) {
             long defaultDays = policyService.getDefaultExpireDays();
             return now.plus(defaultDays, ChronoUnit.DAYS);
@@ -121,9 +144,12 @@ public class PointGrantService {
     }
 
     private void validateBalanceLimit(String customerId, long addAmount, Instant now) {
-        long currentBalance = grantRepository.calculateAvailableBalance(
-                customerId, GrantStatus.ACTIVE, now);
         long maxBalance = policyService.getMaxBalancePerUser();
+        long currentBalance = balanceService.getBalance(customerId, now);
+        if (currentBalance + addAmount > maxBalance) {
+            // 프로젝션에는 아직 정리되지 않은 만료 적립이 포함될 수 있으므로 한도 초과 시에만 정확히 재계산한다.
+            currentBalance = grantRepository.calculateAvailableBalance(customerId, GrantStatus.ACTIVE, now);
+        }
         log.debug("현재 잔액 : {}, 최대 한도 : {}", currentBalance, maxBalance);
 
         if (currentBalance + addAmount > maxBalance) {
@@ -134,10 +160,92 @@ public class PointGrantService {
 
     private void recordLedger(String customerId, LedgerEventType eventType, String refId, long amount, Instant now) {
         PointLedger ledger = PointLedger.create(customerId, eventType, refId, amount, null, now);
-        ledgerRepository.save(ledger);
+        ledgerRecorder.record(ledger);
     }
 
     public UsableGrants findUsableGrantsWithLock(String customerId, Instant now) {
-        return new UsableGrants(grantRepository.findUsableGrantsWithLock(customerId, GrantStatus.ACTIVE, now));
+        return new UsableGrants(metrics.timeLockQuery("usable_grants",
+                () -> grantRepository.findUsableGrantsWithLock(customerId, GrantStatus.ACTIVE, now)));
+    }
+
+    public UsableGrants findUsableGrants(String customerId, Instant now, LockStrategy lockStrategy) {
+        if (lockStrategy == LockStrategy.PESSIMISTIC) {
+            return findUsableGrantsWithLock(customerId, now);
+        }
+        // 낙관적 모드: 락 없이 읽고, 커밋 시 @Version 충돌로 동시 변경을 감지한다.
+        return new UsableGrants(grantRepository.findUsableGrants(customerId, GrantStatus.ACTIVE, now));
+    }
+
+    /**
+     * 요청 금액을 채우는 데 필요한 적립건까지만 조회(잠금)한다.
+     * 먼저 락 없이 우선순위 순서로 (grantId, amountAvailable) 만 읽어 누적 합이 요청 금액에 닿는 지점까지 대상을 정하고,
+     * 그 적립건들만 다시 읽어 잠근다. 그 사이 다른 요청이 차감해 금액이 모자라면 전체 조회 경로로 다시 읽는다.
+     */
+    public UsableGrants findGrantsCovering(String customerId, long amount, Instant now, LockStrategy lockStrategy) {
+        List<String> grantIds = selectCoveringGrantIds(customerId, amount, now);
+
+        List<PointGrant> grants = lockStrategy == LockStrategy.PESSIMISTIC
+                ? metrics.timeLockQuery("usable_grants_by_ids",
+                        () -> grantRepository.findUsableGrantsByIdsWithLock(grantIds, GrantStatus.ACTIVE, now))
+                : grantRepository.findUsableGrantsByIds(grantIds, GrantStatus.ACTIVE, now);
+        UsableGrants usableGrants = new UsableGrants(grants);
+        if (usableGrants.totalAvailable() >= amount) {
+            return usableGrants;
+        }
+
+        log.info("차감 대상 적립건이 변경되어 전체 조회로 전환: customerId={}, amount={}", customerId, amount);
+        return findUsableGrants(customerId, now, lockStrategy);
+    }
+
+    /**
+     * 병합된 적립의 후속 적립을 원 적립 ID 기준으로 조회한다.
+     */
+    public Map<String, PointGrant> findSuccessors(Collection<PointGrant> grants) {
+        Map<String, String> successorIdBySource = new HashMap<>();
+        for (PointGrant grant : grants) {
+            if (grant.getStatus() == GrantStatus.COMPACTED && grant.getMergedIntoGrantId() != null) {
+                successorIdBySource.put(grant.getGrantId(), grant.getMergedIntoGrantId());
+            }
+        }
+        if (successorIdBySource.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, PointGrant> successorsById = new HashMap<>();
+        grantRepository.findAllById(new HashSet<>(successorIdBySource.values()))
+                .forEach(successor -> successorsById.put(successor.getGrantId(), successor));
+        Map<String, PointGrant> successors = new HashMap<>();
+        successorIdBySource.forEach((sourceId, successorId) -> {
+            PointGrant successor = successorsById.get(successorId);
+            if (successor != null) {
+                successors.put(sourceId, successor);
+            }
+        });
+        return successors;
+    }
+
+    private List<String> selectCoveringGrantIds(String customerId, long amount, Instant now) {
+        int fetchSize = INITIAL_CANDIDATE_FETCH_SIZE;
+        while (true) {
+            List<GrantCandidate> candidates = grantRepository.findUsableGrantCandidates(
+                    customerId, GrantStatus.ACTIVE, now, Limit.of(fetchSize));
+
+            List<String> grantIds = new ArrayList<>();
+            long covered = 0;
+            for (GrantCandidate candidate : candidates) {
+                grantIds.add(candidate.getGrantId());
+                covered += candidate.getAmountAvailable();
+                if (covered >= amount) {
+                    return grantIds;
+                }
+            }
+
+            // 사용 가능한 적립건을 모두 읽었는데도 모자라면 잔액 부족이다.
+            if (candidates.size() < fetchSize) {
+                throw new BusinessException(ErrorCode.SPEND_INSUFFICIENT_BALANCE,
+                        String.format("(필요: %d, 보유: %d)", amount, covered));
+            }
+            fetchSize *= CANDIDATE_FETCH_GROWTH;
+        }
     }
 }
@@ -0,0 +1,112 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.archive.LedgerArchive;
+import com.pointsystem.point.controller.dto.PointLedgerEntryResponse;
+import com.pointsystem.point.controller.dto.PointLedgerPageResponse;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.repository.LedgerEntry;
+import com.pointsystem.point.domain.repository.PointLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 고객 원장 이력 조회.
+ * (createdAt, ledgerId) 키셋 커서로 페이지를 나누므로 오래된 페이지를 조회해도 앞 페이지를 건너뛰는 비용이 없다.
+ * <p>
+ * 보관 기간이 지난 원장은 {@link LedgerArchive} 로 옮겨지므로, point_ledger 만으로 페이지가 채워지지 않거나
+ * 페이지 끝이 아카이브 시각 범위에 걸리면 아카이브를 같은 커서로 읽어 합친다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class PointLedgerQueryService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final PointLedgerRepository ledgerRepository;
+    private final LedgerArchive archive;
+
+    public PointLedgerPageResponse getLedger(String customerId, LedgerEventType eventType, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    String.format("(size 는 1~%d 이어야 합니다.)", MAX_PAGE_SIZE));
+        }
+
+        // 다음 페이지 존재 여부를 판단하기 위해 한 건 더 읽는다.
+        Limit limit = Limit.of(size + 1);
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        List<LedgerEntry> rows = findHot(customerId, eventType, after, limit);
+        rows = mergeArchive(rows, customerId, eventType, after, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<LedgerEntry> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            LedgerEntry last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.ledgerId()).encode();
+        }
+
+        List<PointLedgerEntryResponse> entries = page.stream()
+                .map(PointLedgerEntryResponse::from)
+                .toList();
+        return new PointLedgerPageResponse(entries, nextCursor, hasNext);
+    }
+
+    /**
+     * 필터 유무에 따라 쿼리를 나누어 각자 맞는 인덱스를 쓰게 한다.
+     */
+    private List<LedgerEntry> findHot(String customerId, LedgerEventType eventType, KeysetCursor after, Limit limit) {
+        if (eventType == null) {
+            return after == null
+                    ? ledgerRepository.findLedgerPage(customerId, limit)
+                    : ledgerRepository.findLedgerPageAfter(customerId, after.createdAt(), after.id(), limit);
+        }
+        return after == null
+                ? ledgerRepository.findLedgerPageByEventType(customerId, eventType, limit)
+                : ledgerRepository.findLedgerPageByEventTypeAfter(customerId, eventType, after.createdAt(), after.id(), limit);
+    }
+
+    /**
+     * point_ledger 의 마지막 행이 아카이브의 최대 createdAt 보다 최신이면 아카이브 행이 이 페이지에 들어올 수 없으므로 읽지 않는다.
+     * 아카이브 도중에는 같은 원장이 양쪽에 있을 수 있어 ledgerId 로 중복을 거른다.
+     */
+    private List<LedgerEntry> mergeArchive(List<LedgerEntry> hot, String customerId, LedgerEventType eventType,
+                                           KeysetCursor after, int limit) {
+        Instant archivedUntil = archive.maxCreatedAt();
+        if (archivedUntil == null
+                || (hot.size() >= limit && hot.get(hot.size() - 1).createdAt().isAfter(archivedUntil))) {
+            return hot;
+        }
+        List<LedgerEntry> archived = after == null
+                ? archive.findPage(customerId, eventType, null, null, limit)
+                : archive.findPage(customerId, eventType, after.createdAt(), after.id(), limit);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+
+        List<LedgerEntry> merged = new ArrayList<>(hot.size() + archived.size());
+        Set<String> seen = new HashSet<>();
+        for (LedgerEntry entry : hot) {
+            if (seen.add(entry.ledgerId())) {
+                merged.add(entry);
+            }
+        }
+        for (LedgerEntry entry : archived) {
+            if (seen.add(entry.ledgerId())) {
+                merged.add(entry);
+            }
+        }
+        merged.sort(LedgerArchive.NEWEST_FIRST);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+}
@@ -0,0 +1,71 @@
+package com.pointsystem.point.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.entity.PointLedger;
+import com.pointsystem.point.domain.entity.PointLedgerOutbox;
+import com.pointsystem.point.domain.repository.PointLedgerOutboxRepository;
+import com.pointsystem.point.domain.repository.PointLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 원장과 원장 이벤트 아웃박스를 같은 트랜잭션에서 기록한다.
+ * 호출한 쪽의 트랜잭션에 참여해야 하므로 트랜잭션 밖에서 호출하면 예외가 발생한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class PointLedgerRecorder {
+
+    private final PointLedgerRepository ledgerRepository;
+    private final PointLedgerOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public PointLedger record(PointLedger ledger) {
+        PointLedger saved = ledgerRepository.save(ledger);
+        outboxRepository.save(toOutbox(saved));
+        return saved;
+    }
+
+    public List<PointLedger> recordAll(List<PointLedger> ledgers) {
+        if (ledgers.isEmpty()) {
+            return ledgers;
+        }
+        List<PointLedger> saved = ledgerRepository.saveAll(ledgers);
+        outboxRepository.saveAll(saved.stream().map(this::toOutbox).toList());
+        return saved;
+    }
+
+    private PointLedgerOutbox toOutbox(PointLedger ledger) {
+        try {
+            return PointLedgerOutbox.of(ledger, objectMapper.writeValueAsString(LedgerEventMessage.from(ledger)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("원장 이벤트 직렬화 실패: ledgerId=" + ledger.getLedgerId(), e);
+        }
+    }
+
+    /**
+     * 아웃박스 payload 로 전달되는 원장 이벤트 본문.
+     */
+    record LedgerEventMessage(
+            String ledgerId,
+            String customerId,
+            LedgerEventType eventType,
+            String refId,
+            long amount,
+            String orderId,
+            Instant createdAt
+    ) {
+        static LedgerEventMessage from(PointLedger ledger) {
+            return new LedgerEventMessage(ledger.getLedgerId(), ledger.getCustomerId(), ledger.getEventType(),
+                    ledger.getRefId(), ledger.getAmount(), ledger.getOrderId(), ledger.getCreatedAt());
+        }
+    }
+}
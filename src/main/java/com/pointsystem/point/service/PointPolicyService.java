@@ -1,15 +1,39 @@
 package com.pointsystem.point.service;
 
+import com.pointsystem.common.metrics.PointMetrics;
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.point.domain.entity.PointPolicy;
 import com.pointsystem.point.domain.repository.PointPolicyRepository;
+import com.pointsystem.point.domain.repository.PolicyVersion;
+import io.micrometer.core.instrument.Counter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 정책 조회 서비스.
+ * point_policy 전체를 불변 스냅샷으로 메모리에 보관하여 조회 시 DB 를 거치지 않는다.
+ * 스냅샷은 정책 변경 시 즉시 무효화되며, 다른 인스턴스에서 변경된 값은
+ * point.policy.cache.refresh-interval-ms 주기의 버전(updated_at, 행 수) 비교로 반영된다.
+ * <p>
+ * 정책은 고객에 속하지 않으므로 샤딩을 쓰면 읽기와 쓰기 모두 기본 샤드(0)에서 한다.
+ * 다른 샤드의 트랜잭션 안에서는 기본 샤드를 읽을 수 없으므로, 스냅샷은 기동 시 미리 적재하고
+ * 무효화된 스냅샷도 버리지 않고 다시 적재할 수 있을 때까지 그대로 쓴다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class PointPolicyService {
     public static final String MAX_GRANT_PER_TRANSACTION_CONFIG = "MAX_GRANT_PER_TRANSACTION"; //거래당 최대 부여 가능 금액
     public static final String MAX_BALANCE_PER_USER_CONFIG = "MAX_BALANCE_PER_USER"; //유저당 보유가능한 최대 잔애
@@ -18,32 +42,149 @@ public class PointPolicyService {
     public static final long DEFAULT_MAX_BALANCE_PER_USER = 1_000_000;
     public static final long DEFAULT_EXPIRE_DAYS = 365;
     private final PointPolicyRepository pointPolicyRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final PointMetrics metrics;
+
+    private final Map<String, PolicyCacheCounters> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock snapshotLoadLock = new ReentrantLock();
+    private volatile PolicySnapshot snapshot;
+    private volatile boolean stale;
 
-    //TODO: 성능 위해 추후 캐시 적용
     public long getMaxGrantPerTransaction() {
         return getPolicyValue(MAX_GRANT_PER_TRANSACTION_CONFIG, DEFAULT_MAX_GRANT_PER_TRANSACTION);
     }
 
-    //TODO: 성능 위해 추후 캐시 적용
     public long getMaxBalancePerUser() {
         return getPolicyValue(MAX_BALANCE_PER_USER_CONFIG, DEFAULT_MAX_BALANCE_PER_USER);
     }
 
-    //TODO: 성능 위해 추후 캐시 적용
     public long getDefaultExpireDays() {
         return getPolicyValue(EXPIRE_DAYS_CONFIG, DEFAULT_EXPIRE_DAYS);
     }
 
+    /**
+     * 기본 샤드의 정책 값을 변경하고 커밋 이후 스냅샷을 다시 적재한다.
+     * 다른 샤드의 트랜잭션 안에서 호출하면 IllegalStateException 을 던진다.
+     */
+    public void updatePolicy(String key, String value) {
+        shardRouter.runInShard(ShardRouter.DEFAULT_SHARD, () -> transactionTemplate.executeWithoutResult(status -> {
+            pointPolicyRepository.save(new PointPolicy(key, value));
+            invalidateAfterCommit();
+        }));
+        log.info("정책 변경: key={}, value={}", key, value);
+        // 이후 다른 샤드의 트랜잭션에서 읽더라도 새 값을 쓰도록, 커밋되었으면 바로 다시 적재해 둔다.
+        if (stale && shardRouter.canEnter(ShardRouter.DEFAULT_SHARD)) {
+            refresh();
+        }
+    }
+
+    /**
+     * 기본 샤드에서 스냅샷을 즉시 다시 적재한다.
+     */
+    public void refresh() {
+        this.stale = false;
+        PolicySnapshot loaded = shardRouter.inShard(ShardRouter.DEFAULT_SHARD, () -> {
+            PolicyVersion version = pointPolicyRepository.findVersion();
+            return PolicySnapshot.of(pointPolicyRepository.findAll(), version);
+        });
+        this.snapshot = loaded;
+        log.info("정책 스냅샷 적재: version={}, size={}", loaded.version(), loaded.values().size());
+    }
+
+    /**
+     * 다음 조회에서 스냅샷을 다시 적재하게 한다. 다시 적재할 수 없는 조회는 기존 스냅샷을 그대로 쓴다.
+     */
+    public void invalidate() {
+        this.stale = true;
+    }
+
+    /**
+     * 첫 조회가 다른 샤드의 트랜잭션 안에서 일어나도 정책을 읽을 수 있도록 기동 시 스냅샷을 적재한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("정책 스냅샷 선적재 실패, 첫 조회 또는 주기 갱신에서 다시 적재", e);
+        }
+    }
+
+    /**
+     * 다른 인스턴스의 변경을 감지하기 위해 버전만 조회하고, 달라진 경우에만 전체를 다시 적재한다.
+     * 스냅샷이 없거나 무효화된 채 남아 있으면 트랜잭션 밖인 이 주기에서 다시 적재한다.
+     */
+    @Scheduled(fixedDelayString = "${point.policy.cache.refresh-interval-ms:5000}",
+            initialDelayString = "${point.policy.cache.refresh-interval-ms:5000}")
+    public void refreshIfChanged() {
+        PolicySnapshot current = this.snapshot;
+        try {
+            if (current == null || stale) {
+                refresh();
+                return;
+            }
+            PolicyVersion latest = shardRouter.inShard(ShardRouter.DEFAULT_SHARD, pointPolicyRepository::findVersion);
+            if (!Objects.equals(latest, current.version())) {
+                refresh();
+            }
+        } catch (Exception e) {
+            log.warn("정책 버전 확인 실패, 기존 스냅샷 유지", e);
+        }
+    }
+
     private long getPolicyValue(String key, long defaultValue) {
+        PolicyCacheCounters keyCounters = counters.computeIfAbsent(key, k ->
+                new PolicyCacheCounters(metrics.policyCacheCounter(k, true), metrics.policyCacheCounter(k, false)));
         try {
-            long value = pointPolicyRepository.findById(key)
-                    .map(it -> Long.parseLong(it.getPolicyValue()))
-                    .orElse(defaultValue);
-            log.debug("정책 조회 성공: key={}, value={}", key, value);
+            Long value = currentSnapshot().get(key);
+            if (value == null) {
+                keyCounters.miss().increment();
+                log.debug("정책 없음, 기본값 사용: key={}, defaultValue={}", key, defaultValue);
+                return defaultValue;
+            }
+            keyCounters.hit().increment();
             return value;
         } catch (Exception e) {
+            keyCounters.miss().increment();
             log.warn("정책 조회 실패, 기본값 사용: key={}, defaultValue={}", key, defaultValue, e);
             return defaultValue;
         }
     }
+
+    private PolicySnapshot currentSnapshot() {
+        PolicySnapshot current = this.snapshot;
+        if (current != null && (!stale || !shardRouter.canEnter(ShardRouter.DEFAULT_SHARD))) {
+            return current;
+        }
+        // DB 조회를 synchronized 블록 안에서 하면 가상 스레드가 캐리어 스레드에 고정되므로 ReentrantLock 으로 대기한다.
+        snapshotLoadLock.lock();
+        try {
+            if (this.snapshot == null || stale) {
+                refresh();
+            }
+            return this.snapshot;
+        } finally {
+            snapshotLoadLock.unlock();
+        }
+    }
+
+    private void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    /**
+     * 정책 키별 point.policy.cache 카운터. 미적중은 스냅샷에 값이 없어 기본값을 사용한 경우이다.
+     */
+    private record PolicyCacheCounters(Counter hit, Counter miss) {
+    }
 }
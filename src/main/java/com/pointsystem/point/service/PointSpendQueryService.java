@@ -0,0 +1,51 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.controller.dto.PointSpendResponse;
+import com.pointsystem.point.domain.repository.PointSpendAllocationRepository;
+import com.pointsystem.point.domain.repository.PointSpendRepository;
+import com.pointsystem.point.domain.repository.SpendView;
+import com.pointsystem.point.engine.PointEngine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 사용건 단건 조회. 사용건과 배분을 각각 프로젝션으로 읽어, 배분마다 적립을 지연 로딩하거나 변경 감지하지 않는다.
+ * <p>
+ * 메모리 엔진 모드에서는 응답 직후 조회한 사용건이 아직 DB 에 없을 수 있으므로 반영을 기다린 뒤 읽는다.
+ * 기다리는 동안 커넥션을 잡지 않도록 읽기 전용 트랜잭션은 그 뒤에 시작한다.
+ */
+@Service
+public class PointSpendQueryService {
+
+    private final PointSpendRepository spendRepository;
+    private final PointSpendAllocationRepository allocationRepository;
+    private final ObjectProvider<PointEngine> engineProvider;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PointSpendQueryService(PointSpendRepository spendRepository,
+                                  PointSpendAllocationRepository allocationRepository,
+                                  ObjectProvider<PointEngine> engineProvider,
+                                  PlatformTransactionManager transactionManager) {
+        this.spendRepository = spendRepository;
+        this.allocationRepository = allocationRepository;
+        this.engineProvider = engineProvider;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public PointSpendResponse getSpend(String spendId) {
+        PointEngine engine = engineProvider.getIfAvailable();
+        if (engine != null && engine.findPendingSpendOwner(spendId).isPresent()) {
+            engine.awaitApplied();
+        }
+        return readOnlyTransaction.execute(status -> {
+            SpendView spend = spendRepository.findViewById(spendId)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.SPEND_NOT_FOUND));
+            return PointSpendResponse.from(spend, allocationRepository.findViewsBySpendId(spendId));
+        });
+    }
+}
@@ -2,21 +2,22 @@ package com.pointsystem.point.service;
 
 import com.pointsystem.common.exception.BusinessException;
 import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.common.metrics.PointMetrics;
 import com.pointsystem.point.controller.dto.PointSpendCancelResult;
 import com.pointsystem.point.controller.dto.PointSpendRequest;
 import com.pointsystem.point.domain.entity.*;
 import com.pointsystem.point.domain.repository.PointGrantRepository;
-import com.pointsystem.point.domain.repository.PointLedgerRepository;
 import com.pointsystem.point.domain.repository.PointSpendAllocationRepository;
 import com.pointsystem.point.domain.repository.PointSpendRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -25,12 +26,19 @@ import java.util.List;
 public class PointSpendService {
     private final PointGrantRepository grantRepository;
     private final PointSpendRepository spendRepository;
-    private final PointLedgerRepository ledgerRepository;
+    private final PointLedgerRecorder ledgerRecorder;
     private final PointGrantService grantService;
     private final PointSpendAllocationRepository allocationRepository;
+    private final PointBalanceService balanceService;
+    private final PointMetrics metrics;
 
     @Transactional
     public PointSpend spendPoint(PointSpendRequest request) {
+        return spendPoint(request, LockStrategy.PESSIMISTIC);
+    }
+
+    @Transactional
+    public PointSpend spendPoint(PointSpendRequest request, LockStrategy lockStrategy) {
         Instant now = Instant.now();
         log.info("포인트 사용 요청: customerId={}, amount={}, orderId={}", request.customerId(), request.amount(), request.orderId());
 
@@ -38,7 +46,8 @@ public class PointSpendService {
             throw new BusinessException(ErrorCode.SPEND_DUPLICATE_ORDER);
         }
 
-        UsableGrants usableGrants = grantService.findUsableGrantsWithLock(request.customerId(), now);
+        UsableGrants usableGrants = grantService.findGrantsCovering(request.customerId(), request.amount(), now, lockStrategy);
+        metrics.recordGrantsScanned(usableGrants.size());
 
         usableGrants.validateSufficientBalance(request.amount());
 
@@ -51,8 +60,15 @@ public class PointSpendService {
 
         List<PointSpendAllocation> allocations = usableGrants.deduct(request.amount(), now);
         allocations.forEach(spend::addAllocation);
+        metrics.recordAllocationsCreated(allocations.size());
 
-        spendRepository.save(spend);
+        try {
+            // 동시에 같은 주문으로 들어온 요청은 (customer_id, order_id) 유니크 제약으로 막는다.
+            spendRepository.saveAndFlush(spend);
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException(ErrorCode.SPEND_DUPLICATE_ORDER);
+        }
+        balanceService.decrease(spend.getCustomerId(), spend.getAmountTotal(), now);
         recordLedger(spend.getCustomerId(), LedgerEventType.SPEND, spend.getSpendId(),
                 -spend.getAmountTotal(), spend.getOrderId(), now);
 
@@ -61,12 +77,44 @@ public class PointSpendService {
     }
 
     public PointSpendCancelResult cancelSpend(String spendId, long cancelAmount) {
+        return cancelSpend(spendId, cancelAmount, LockStrategy.PESSIMISTIC);
+    }
+
+    public PointSpendCancelResult cancelSpend(String spendId, long cancelAmount, LockStrategy lockStrategy) {
         Instant now = Instant.now();
         log.info("포인트 사용 취소 요청: spendId={}, cancelAmount={}", spendId, cancelAmount);
 
-        PointSpend spend = spendRepository.findByIdWithLock(spendId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.SPEND_NOT_FOUND));
+        Optional<PointSpend> found = lockStrategy == LockStrategy.PESSIMISTIC
+                ? metrics.timeLockQuery("spend_by_id", () -> spendRepository.findByIdWithLock(spendId))
+                : spendRepository.findById(spendId);
+        PointSpend spend = found.orElseThrow(() -> new BusinessException(ErrorCode.SPEND_NOT_FOUND));
+        validateCancel(spend, cancelAmount);
+        //TODO PointAllocationService 해당 기능 제공하기.
+        List<PointSpendAllocation> spendAllocations = allocationRepository.findBySpendIdWithGrantForCancel(spendId, now);
+        SpendAllocations allocations = new SpendAllocations(spendAllocations,
+                grantService.findSuccessors(spendAllocations.stream().map(PointSpendAllocation::getGrant).toList()));
+        SpendAllocations.CancelDistribution distribution = allocations.cancel(cancelAmount, now);
+
+        long restoredToOriginal = distribution.restoredToOriginal();
+        long restoredAsNew = distribution.restoredAsNew();
+        // 만료/취소된 적립 여러 건에 걸친 금액도 취소 1건당 RESTORE 적립 1건으로 합쳐 발급한다.
+        // 배분별 취소 금액은 각 PointSpendAllocation 에 그대로 남는다.
+        List<PointGrant> newRestoreGrants = restoredAsNew > 0
+                ? List.of(grantService.restoreGrant(spend.getCustomerId(), restoredAsNew, now))
+                : List.of();
+        metrics.recordRestoreGrantsCreated(newRestoreGrants.size());
+
+        spend.applyCancel(cancelAmount);
+        // 만료로 신규 적립된 금액은 restoreGrant 에서 이미 반영된다.
+        balanceService.increase(spend.getCustomerId(), restoredToOriginal, now);
+        recordLedger(spend.getCustomerId(), LedgerEventType.SPEND_CANCEL, spend.getSpendId(),
+                cancelAmount, spend.getOrderId(), now);
+
+        log.info("포인트 사용 취소 완료: spendId={}, cancelAmount={}, restoredToOriginal={}, restoredAsNew={}", spendId, cancelAmount, restoredToOriginal, restoredAsNew);
+        return PointSpendCancelResult.of(spend, cancelAmount, restoredToOriginal, restoredAsNew, newRestoreGrants);
+    }
 
+    static void validateCancel(PointSpend spend, long cancelAmount) {
         if (spend.getStatus() == SpendStatus.CANCELED) {
             throw new BusinessException(ErrorCode.SPEND_ALREADY_CANCELED);
         }
@@ -76,45 +124,10 @@ public class PointSpendService {
             throw new BusinessException(ErrorCode.SPEND_CANCEL_AMOUNT_INVALID,
                     String.format("(취소 가능: %d, 요청: %d)", cancelable, cancelAmount));
         }
-        //TODO PointAllocationService 해당 기능 제공하기.
-        //TODO allocations -> 일급컬랙션으로 리팩토링(취소 처리, deductSpendAmount)
-        List<PointSpendAllocation> allocations = allocationRepository.findBySpendIdWithGrantForCancel(spendId, now);
-
-        long remainingCancel = cancelAmount;
-        long restoredToOriginal = 0;
-        long restoredAsNew = 0;
-        List<PointGrant> newRestoreGrants = new ArrayList<>();
-
-        for (PointSpendAllocation allocation : allocations) {
-            if (remainingCancel <= 0) break;
-
-            long toCancel = allocation.cancelAsPossible(remainingCancel);
-            if (toCancel <= 0) continue;
-
-            PointGrant originalGrant = allocation.getGrant();
-
-            if (!originalGrant.isExpired(now) && originalGrant.isActive()) {
-                originalGrant.credit(toCancel);
-                restoredToOriginal += toCancel;
-            } else {
-                PointGrant restoreGrant = grantService.restoreGrant(spend.getCustomerId(), toCancel, now);
-                newRestoreGrants.add(restoreGrant);
-                restoredAsNew += toCancel;
-            }
-
-            remainingCancel -= toCancel;
-        }
-
-        spend.applyCancel(cancelAmount);
-        recordLedger(spend.getCustomerId(), LedgerEventType.SPEND_CANCEL, spend.getSpendId(),
-                cancelAmount, spend.getOrderId(), now);
-
-        log.info("포인트 사용 취소 완료: spendId={}, cancelAmount={}, restoredToOriginal={}, restoredAsNew={}", spendId, cancelAmount, restoredToOriginal, restoredAsNew);
-        return PointSpendCancelResult.of(spend, cancelAmount, restoredToOriginal, restoredAsNew, newRestoreGrants);
     }
 
     private void recordLedger(String customerId, LedgerEventType eventType, String refId, long amount, String orderId, Instant now) {
         PointLedger ledger = PointLedger.create(customerId, eventType, refId, amount, orderId, now);
-        ledgerRepository.save(ledger);
+        ledgerRecorder.record(ledger);
     }
 }
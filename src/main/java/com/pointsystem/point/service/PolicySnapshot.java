@@ -0,0 +1,33 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.point.domain.entity.PointPolicy;
+import com.pointsystem.point.domain.repository.PolicyVersion;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 특정 시점의 point_policy 전체를 담는 불변 스냅샷.
+ * 숫자로 해석할 수 없는 값은 스냅샷에서 제외되어 기본값이 사용된다.
+ */
+@Slf4j
+record PolicySnapshot(Map<String, Long> values, PolicyVersion version) {
+
+    static PolicySnapshot of(List<PointPolicy> policies, PolicyVersion version) {
+        Map<String, Long> values = new HashMap<>();
+        for (PointPolicy policy : policies) {
+            try {
+                values.put(policy.getPolicyKey(), Long.parseLong(policy.getPolicyValue()));
+            } catch (NumberFormatException e) {
+                log.warn("정책 값 해석 실패, 기본값 사용: key={}, value={}", policy.getPolicyKey(), policy.getPolicyValue());
+            }
+        }
+        return new PolicySnapshot(Map.copyOf(values), version);
+    }
+
+    Long get(String key) {
+        return values.get(key);
+    }
+}
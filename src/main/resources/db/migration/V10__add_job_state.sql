@@ -0,0 +1,11 @@
+-- 배치 작업 진행 위치: 적립 병합이 중간에 멈추거나 재시작되어도 마지막으로 처리한 고객 다음부터 이어서 처리한다.
+CREATE TABLE point_job_state
+(
+    job_name     VARCHAR(50)                 NOT NULL,
+    cursor_value VARCHAR(100)                NOT NULL,
+    updated_at   DATETIME(6)                 NOT NULL,
+    CONSTRAINT pk_point_job_state PRIMARY KEY (job_name)
+);
+
+INSERT INTO point_job_state (job_name, cursor_value, updated_at)
+VALUES ('grant-compaction', '', CURRENT_TIMESTAMP);
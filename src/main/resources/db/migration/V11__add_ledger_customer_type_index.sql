@@ -0,0 +1,2 @@
+-- 이벤트 타입으로 거른 원장 이력 키셋 페이지: 고객의 해당 타입 원장만 (created_at, ledger_id) 역순으로 읽는다
+CREATE INDEX idx_point_ledger_customer_type_created ON point_ledger (customer_id, event_type, created_at, ledger_id);
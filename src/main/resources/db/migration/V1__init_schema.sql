@@ -0,0 +1,100 @@
+-- 포인트 시스템 초기 스키마 (MySQL 기준 타입, 테스트는 H2 MySQL 모드)
+-- 인덱스는 각 Repository 쿼리의 WHERE/ORDER BY 순서에 맞춘다.
+-- MySQL 에는 TIMESTAMP WITH TIME ZONE 이 없으므로 시각은 DATETIME(6) 에 두고 시간대는 hibernate.jdbc.time_zone(UTC)으로 맞춘다.
+
+CREATE TABLE point_policy
+(
+    policy_key   VARCHAR(50)                 NOT NULL,
+    policy_value VARCHAR(100)                NOT NULL,
+    updated_at   DATETIME(6)                 NOT NULL,
+    CONSTRAINT pk_point_policy PRIMARY KEY (policy_key)
+);
+
+CREATE TABLE point_grant
+(
+    grant_id         VARCHAR(36)                 NOT NULL,
+    customer_id      VARCHAR(50)                 NOT NULL,
+    grant_type       VARCHAR(20)                 NOT NULL,
+    amount_total     BIGINT                      NOT NULL,
+    amount_available BIGINT                      NOT NULL,
+    expires_at       DATETIME(6)                 NOT NULL,
+    status           VARCHAR(20)                 NOT NULL,
+    created_at       DATETIME(6)                 NOT NULL,
+    version          BIGINT                      NOT NULL DEFAULT 0,
+    CONSTRAINT pk_point_grant PRIMARY KEY (grant_id)
+);
+
+-- 사용 가능 적립 조회/잠금, 잔액 합계, 잔액 조회 집계
+CREATE INDEX idx_point_grant_customer_status_expires ON point_grant (customer_id, status, expires_at);
+-- 만료 처리 (expiresAt, grantId) 키셋
+CREATE INDEX idx_point_grant_status_expires ON point_grant (status, expires_at, grant_id);
+
+CREATE TABLE point_spend
+(
+    spend_id        VARCHAR(36)                 NOT NULL,
+    customer_id     VARCHAR(50)                 NOT NULL,
+    order_id        VARCHAR(100)                NOT NULL,
+    amount_total    BIGINT                      NOT NULL,
+    amount_canceled BIGINT                      NOT NULL,
+    status          VARCHAR(30)                 NOT NULL,
+    created_at      DATETIME(6)                 NOT NULL,
+    version         BIGINT                      NOT NULL DEFAULT 0,
+    CONSTRAINT pk_point_spend PRIMARY KEY (spend_id),
+    -- 같은 주문의 중복 사용 방지 (existsByCustomerIdAndOrderId 도 이 인덱스를 사용)
+    CONSTRAINT uk_point_spend_customer_order UNIQUE (customer_id, order_id)
+);
+
+CREATE TABLE point_spend_allocation
+(
+    allocation_id   VARCHAR(36)                 NOT NULL,
+    spend_id        VARCHAR(36)                 NOT NULL,
+    grant_id        VARCHAR(36)                 NOT NULL,
+    amount_used     BIGINT                      NOT NULL,
+    amount_canceled BIGINT                      NOT NULL,
+    created_at      DATETIME(6)                 NOT NULL,
+    CONSTRAINT pk_point_spend_allocation PRIMARY KEY (allocation_id),
+    CONSTRAINT fk_point_spend_allocation_spend FOREIGN KEY (spend_id) REFERENCES point_spend (spend_id),
+    CONSTRAINT fk_point_spend_allocation_grant FOREIGN KEY (grant_id) REFERENCES point_grant (grant_id)
+);
+
+-- 사용 취소 시 사용건별 배분 조회
+CREATE INDEX idx_point_spend_allocation_spend ON point_spend_allocation (spend_id);
+CREATE INDEX idx_point_spend_allocation_grant ON point_spend_allocation (grant_id);
+
+CREATE TABLE point_ledger
+(
+    ledger_id   VARCHAR(36)                 NOT NULL,
+    customer_id VARCHAR(50)                 NOT NULL,
+    event_type  VARCHAR(30)                 NOT NULL,
+    ref_id      VARCHAR(36),
+    amount      BIGINT                      NOT NULL,
+    order_id    VARCHAR(100),
+    created_at  DATETIME(6)                 NOT NULL,
+    CONSTRAINT pk_point_ledger PRIMARY KEY (ledger_id)
+);
+
+-- 고객 원장 키셋 페이지 (createdAt, ledgerId)
+CREATE INDEX idx_point_ledger_customer_created ON point_ledger (customer_id, created_at, ledger_id);
+
+CREATE TABLE point_balance
+(
+    customer_id VARCHAR(50)                 NOT NULL,
+    balance     BIGINT                      NOT NULL,
+    updated_at  DATETIME(6)                 NOT NULL,
+    CONSTRAINT pk_point_balance PRIMARY KEY (customer_id)
+);
+
+CREATE TABLE idempotency_record
+(
+    idempotency_key VARCHAR(100)                NOT NULL,
+    operation       VARCHAR(50)                 NOT NULL,
+    request_hash    VARCHAR(64)                 NOT NULL,
+    status          VARCHAR(20)                 NOT NULL,
+    response_status INTEGER,
+    response_body   LONGTEXT,
+    created_at      DATETIME(6)                 NOT NULL,
+    expires_at      DATETIME(6)                 NOT NULL,
+    CONSTRAINT pk_idempotency_record PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_record_expires_at ON idempotency_record (expires_at);
@@ -0,0 +1,9 @@
+-- 기본 정책 값
+INSERT INTO point_policy (policy_key, policy_value, updated_at)
+VALUES ('MAX_GRANT_PER_TRANSACTION', '100000', CURRENT_TIMESTAMP);
+
+INSERT INTO point_policy (policy_key, policy_value, updated_at)
+VALUES ('MAX_BALANCE_PER_USER', '1000000', CURRENT_TIMESTAMP);
+
+INSERT INTO point_policy (policy_key, policy_value, updated_at)
+VALUES ('DEFAULT_EXPIRE_DAYS', '365', CURRENT_TIMESTAMP);
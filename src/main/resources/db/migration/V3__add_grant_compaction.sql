@@ -0,0 +1,4 @@
+-- 적립 병합: 병합된 적립이 합쳐진 후속 적립 ID
+ALTER TABLE point_grant ADD COLUMN merged_into_grant_id VARCHAR(36);
+
+CREATE INDEX idx_point_grant_merged_into ON point_grant (merged_into_grant_id);
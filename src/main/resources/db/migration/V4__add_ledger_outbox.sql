@@ -0,0 +1,18 @@
+-- 원장 이벤트 아웃박스: 원장과 같은 트랜잭션에서 기록하고 릴레이가 외부 시스템으로 전달한다.
+CREATE TABLE point_ledger_outbox
+(
+    outbox_id    VARCHAR(36)                 NOT NULL,
+    ledger_id    VARCHAR(36)                 NOT NULL,
+    customer_id  VARCHAR(50)                 NOT NULL,
+    event_type   VARCHAR(30)                 NOT NULL,
+    payload      TEXT                        NOT NULL,
+    status       VARCHAR(20)                 NOT NULL,
+    created_at   DATETIME(6)                 NOT NULL,
+    delivered_at DATETIME(6),
+    CONSTRAINT pk_point_ledger_outbox PRIMARY KEY (outbox_id)
+);
+
+-- 릴레이 (status, outboxId) 키셋
+CREATE INDEX idx_point_ledger_outbox_status_id ON point_ledger_outbox (status, outbox_id);
+-- 전달 완료 건 정리
+CREATE INDEX idx_point_ledger_outbox_status_delivered ON point_ledger_outbox (status, delivered_at);
@@ -0,0 +1,2 @@
+-- 고객별 적립 목록 조회: (created_at, grant_id) 키셋 페이지
+CREATE INDEX idx_point_grant_customer_created ON point_grant (customer_id, created_at, grant_id);
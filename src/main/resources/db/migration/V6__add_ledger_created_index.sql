@@ -0,0 +1,2 @@
+-- 원장 아카이브 대상 조회: 보관 기간이 지난 행을 (created_at, ledger_id) 순으로 읽는다
+CREATE INDEX idx_point_ledger_created ON point_ledger (created_at, ledger_id);
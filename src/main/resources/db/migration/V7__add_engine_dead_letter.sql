@@ -0,0 +1,17 @@
+-- 메모리 엔진이 DB 에 반영하지 못한 사용 (적립 재배분 실패, 제약 위반). 응답은 이미 했으므로 운영자가 확인해 바로잡는다.
+CREATE TABLE point_engine_dead_letter
+(
+    spend_id    VARCHAR(36)  NOT NULL,
+    lsn         BIGINT       NOT NULL,
+    customer_id VARCHAR(50)  NOT NULL,
+    order_id    VARCHAR(100) NOT NULL,
+    amount      BIGINT       NOT NULL,
+    reason      VARCHAR(30)  NOT NULL,
+    detail      VARCHAR(500),
+    -- WAL 레코드 원본 (SpendEntry 인코딩, 배분 포함)
+    payload     BLOB         NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    CONSTRAINT pk_point_engine_dead_letter PRIMARY KEY (spend_id)
+);
+
+CREATE INDEX idx_point_engine_dead_letter_customer ON point_engine_dead_letter (customer_id);
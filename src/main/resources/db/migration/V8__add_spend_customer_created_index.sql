@@ -0,0 +1,2 @@
+-- 메모리 엔진 고객 적재: 최근 사용의 주문번호를 (customer_id, created_at) 범위로 읽는다
+CREATE INDEX idx_point_spend_customer_created ON point_spend (customer_id, created_at);
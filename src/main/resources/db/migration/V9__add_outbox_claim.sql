@@ -0,0 +1,3 @@
+-- 아웃박스 릴레이 선점: 여러 인스턴스가 같은 배치를 동시에 전달하지 않도록 배치를 lease 동안 선점한다.
+ALTER TABLE point_ledger_outbox ADD COLUMN claim_token VARCHAR(36);
+ALTER TABLE point_ledger_outbox ADD COLUMN claimed_until DATETIME(6);
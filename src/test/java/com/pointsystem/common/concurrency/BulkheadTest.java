@@ -0,0 +1,88 @@
+package com.pointsystem.common.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    void 동시_실행_수가_한도를_넘지_않는다() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.submit(() -> bulkhead.execute(TIMEOUT, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return null;
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(3);
+        assertThat(bulkhead.stats().acquisitions()).isEqualTo(100);
+        assertThat(bulkhead.inUse()).isZero();
+    }
+
+    @Test
+    void 대기_시간을_넘기면_예외가_발생하고_집계된다() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = Thread.ofVirtual().start(() -> bulkhead.execute(TIMEOUT, () -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holding.await();
+
+        assertThatThrownBy(() -> bulkhead.execute(Duration.ofMillis(50), () -> null))
+                .isInstanceOf(Bulkhead.BulkheadFullException.class);
+        assertThat(bulkhead.stats().rejections()).isEqualTo(1);
+
+        release.countDown();
+        holder.join();
+        assertThat(bulkhead.inUse()).isZero();
+    }
+
+    @Test
+    void 작업이_예외로_끝나도_허가를_반납한다() {
+        Bulkhead bulkhead = new Bulkhead(1);
+
+        assertThatThrownBy(() -> bulkhead.execute(TIMEOUT, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(bulkhead.inUse()).isZero();
+        assertThat(bulkhead.execute(TIMEOUT, () -> "ok")).isEqualTo("ok");
+    }
+}
@@ -0,0 +1,43 @@
+package com.pointsystem.common.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContendedKeyTrackerTest {
+
+    @Test
+    void 충돌을_기록한_키는_TTL_동안_경합_상태다() {
+        ContendedKeyTracker tracker = new ContendedKeyTracker(Duration.ofMinutes(1), 10);
+
+        tracker.markContended("customer-1");
+
+        assertThat(tracker.isContended("customer-1")).isTrue();
+        assertThat(tracker.isContended("customer-2")).isFalse();
+    }
+
+    @Test
+    void TTL이_지나면_경합_상태가_해제된다() throws InterruptedException {
+        ContendedKeyTracker tracker = new ContendedKeyTracker(Duration.ofMillis(10), 10);
+
+        tracker.markContended("customer-1");
+        Thread.sleep(30);
+
+        assertThat(tracker.isContended("customer-1")).isFalse();
+        assertThat(tracker.size()).isZero();
+    }
+
+    @Test
+    void 최대_키_수를_넘으면_새_키를_기록하지_않는다() {
+        ContendedKeyTracker tracker = new ContendedKeyTracker(Duration.ofMinutes(1), 2);
+
+        tracker.markContended("customer-1");
+        tracker.markContended("customer-2");
+        tracker.markContended("customer-3");
+
+        assertThat(tracker.size()).isEqualTo(2);
+        assertThat(tracker.isContended("customer-3")).isFalse();
+    }
+}
@@ -0,0 +1,71 @@
+package com.pointsystem.common.concurrency;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.common.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DbBulkheadTest {
+
+    private DbBulkhead bulkhead(int maxConcurrent) {
+        return new DbBulkhead(new PointMetrics(new SimpleMeterRegistry()), true, maxConcurrent, 100);
+    }
+
+    @Test
+    void 허가를_가진_스레드는_중첩_호출에서_허가를_다시_얻지_않는다() {
+        DbBulkhead bulkhead = bulkhead(1);
+
+        String result = bulkhead.execute(() -> bulkhead.execute(() -> "nested"));
+
+        assertThat(result).isEqualTo("nested");
+        assertThat(bulkhead.stats()).hasValueSatisfying(stats -> {
+            assertThat(stats.acquisitions()).isEqualTo(1);
+            assertThat(stats.inUse()).isZero();
+        });
+    }
+
+    @Test
+    void 허가를_얻지_못하면_DB_CONNECTION_BUSY_로_실패한다() throws Exception {
+        DbBulkhead bulkhead = bulkhead(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<?> holder = executor.submit(() -> bulkhead.run(() -> {
+                holding.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            holding.await();
+
+            assertThatThrownBy(() -> bulkhead.execute(() -> "rejected"))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(e -> assertThat(((BusinessException) e).getErrorCode()).isEqualTo(ErrorCode.DB_CONNECTION_BUSY));
+
+            release.countDown();
+            holder.get();
+        }
+        // 허가가 반환되면 다시 얻을 수 있다.
+        assertThat(bulkhead.execute(() -> "acquired")).isEqualTo("acquired");
+    }
+
+    @Test
+    void 비활성화되면_허가_없이_실행한다() {
+        DbBulkhead bulkhead = new DbBulkhead(new PointMetrics(new SimpleMeterRegistry()), false, 1, 100);
+
+        assertThat(bulkhead.execute(() -> bulkhead.execute(() -> "direct"))).isEqualTo("direct");
+        assertThat(bulkhead.stats()).isEmpty();
+    }
+}
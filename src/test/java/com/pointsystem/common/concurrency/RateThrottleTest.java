@@ -0,0 +1,43 @@
+package com.pointsystem.common.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateThrottleTest {
+
+    @Test
+    void 누적_처리량이_초당_상한을_넘으면_그만큼_대기한다() {
+        RateThrottle throttle = RateThrottle.start(1000);
+        long startedAt = System.nanoTime();
+
+        boolean completed = throttle.await(100);
+
+        assertThat(completed).isTrue();
+        // 1000건/초 상한에서 100건은 100ms 이후에 끝난다.
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofMillis(90));
+    }
+
+    @Test
+    void 상한이_0이면_대기하지_않는다() {
+        RateThrottle throttle = RateThrottle.start(0);
+        long startedAt = System.nanoTime();
+
+        assertThat(throttle.await(1_000_000)).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofMillis(100));
+    }
+
+    @Test
+    void 대기_중_인터럽트되면_false_를_반환하고_인터럽트_상태를_유지한다() {
+        RateThrottle throttle = RateThrottle.start(1);
+        Thread.currentThread().interrupt();
+        try {
+            assertThat(throttle.await(10)).isFalse();
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.pointsystem.common.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedKeyLockTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    void 같은_키의_작업은_동시에_실행되지_않는다() throws Exception {
+        StripedKeyLock lock = new StripedKeyLock(16);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                futures.add(executor.submit(() -> lock.execute("customer-1", TIMEOUT, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.onSpinWait();
+                    running.decrementAndGet();
+                    return null;
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(lock.stats().acquisitions()).isEqualTo(50);
+    }
+
+    @Test
+    void 대기_시간을_넘기면_예외가_발생하고_집계된다() throws Exception {
+        StripedKeyLock lock = new StripedKeyLock(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> lock.execute("customer-1", TIMEOUT, () -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        holding.await();
+
+        assertThatThrownBy(() -> lock.execute("customer-1", Duration.ofMillis(50), () -> null))
+                .isInstanceOf(StripedKeyLock.LockTimeoutException.class);
+        assertThat(lock.stats().timeouts()).isEqualTo(1);
+
+        release.countDown();
+        holder.join();
+    }
+
+    @Test
+    void 스트라이프_수는_2의_거듭제곱으로_맞춰진다() {
+        assertThat(new StripedKeyLock(1).stripeCount()).isEqualTo(1);
+        assertThat(new StripedKeyLock(1000).stripeCount()).isEqualTo(1024);
+    }
+}
@@ -0,0 +1,122 @@
+package com.pointsystem.common.id;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdGeneratorTest {
+
+    private static List<String> generate(IdGenerator generator, int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(generator.nextId());
+        }
+        return ids;
+    }
+
+    @Nested
+    class UuidV7_테스트 {
+
+        @Test
+        void 버전7_UUID_형식으로_생성된다() {
+            UUID uuid = UUID.fromString(new UuidV7IdGenerator().nextId());
+
+            assertThat(uuid.version()).isEqualTo(7);
+            assertThat(uuid.variant()).isEqualTo(2);
+        }
+
+        @Test
+        void 상위_비트에_생성_시각이_담긴다() {
+            long before = System.currentTimeMillis();
+            UUID uuid = new UuidV7IdGenerator().next();
+            long after = System.currentTimeMillis();
+
+            long timestamp = uuid.getMostSignificantBits() >>> 16;
+            assertThat(timestamp).isBetween(before, after);
+        }
+
+        @Test
+        void 샤드_번호를_담아_생성하고_다시_읽는다() {
+            UuidV7IdGenerator generator = new UuidV7IdGenerator();
+
+            for (int shard : new int[]{0, 1, 7, UuidV7IdGenerator.MAX_SHARD}) {
+                String id = generator.nextId(shard);
+
+                assertThat(UUID.fromString(id).version()).isEqualTo(7);
+                assertThat(generator.shardOf(id)).isEqualTo(shard);
+            }
+        }
+
+        @Test
+        void 샤드_번호가_범위를_벗어나거나_형식이_다른_ID면_예외가_발생한다() {
+            UuidV7IdGenerator generator = new UuidV7IdGenerator();
+
+            assertThatThrownBy(() -> generator.nextId(UuidV7IdGenerator.MAX_SHARD + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> generator.shardOf(UUID.randomUUID().toString()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class Snowflake_테스트 {
+
+        @Test
+        void 생성된_ID는_중복되지_않고_문자열_순서가_증가한다() {
+            List<String> ids = generate(new SnowflakeIdGenerator(1), 100_000);
+
+            Set<String> unique = new HashSet<>(ids);
+            assertThat(unique).hasSize(ids.size());
+            assertThat(ids).isSorted();
+        }
+
+        @Test
+        void 고정_길이_13자리로_인코딩된다() {
+            assertThat(new SnowflakeIdGenerator(0).nextId()).hasSize(13);
+            assertThat(SnowflakeIdGenerator.encode(0L)).isEqualTo("0000000000000");
+        }
+
+        @Test
+        void 노드_ID가_다르면_같은_시각에도_충돌하지_않는다() {
+            SnowflakeIdGenerator node1 = new SnowflakeIdGenerator(1);
+            SnowflakeIdGenerator node2 = new SnowflakeIdGenerator(2);
+
+            long id1 = node1.nextLong();
+            long id2 = node2.nextLong();
+
+            long nodeMask = SnowflakeIdGenerator.MAX_NODE_ID << SnowflakeIdGenerator.SEQUENCE_BITS;
+            assertThat((id1 & nodeMask) >>> SnowflakeIdGenerator.SEQUENCE_BITS).isEqualTo(1L);
+            assertThat((id2 & nodeMask) >>> SnowflakeIdGenerator.SEQUENCE_BITS).isEqualTo(2L);
+        }
+
+        @Test
+        void 노드_ID가_범위를_벗어나면_예외가_발생한다() {
+            assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void 샤드_번호를_두_자리로_덧붙이고_다시_읽는다() {
+            SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+
+            for (int shard : new int[]{0, 1, 31, 32, SnowflakeIdGenerator.MAX_SHARD}) {
+                String id = generator.nextId(shard);
+
+                assertThat(id).hasSize(15);
+                assertThat(generator.shardOf(id)).isEqualTo(shard);
+            }
+            assertThatThrownBy(() -> generator.nextId(SnowflakeIdGenerator.MAX_SHARD + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> generator.shardOf(generator.nextId()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
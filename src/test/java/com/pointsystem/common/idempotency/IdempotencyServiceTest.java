@@ -0,0 +1,144 @@
+package com.pointsystem.common.idempotency;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.domain.entity.GrantType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class IdempotencyServiceTest {
+
+    private static final PointGrantRequest REQUEST = new PointGrantRequest("test-customer", 1000L, GrantType.SYSTEM, null);
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private ResponseEntity<String> execute(String key, Object request) {
+        return idempotencyService.execute(key, "grant", request, String.class, () ->
+                ResponseEntity.status(HttpStatus.CREATED).body("result-" + executions.incrementAndGet()));
+    }
+
+    @Test
+    void 같은_키로_재요청하면_저장된_응답을_반환한다() {
+        String key = UUID.randomUUID().toString();
+
+        ResponseEntity<String> first = execute(key, REQUEST);
+        ResponseEntity<String> second = execute(key, REQUEST);
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void 메모리_캐시가_비어도_DB에_저장된_응답을_반환한다() {
+        String key = UUID.randomUUID().toString();
+        execute(key, REQUEST);
+
+        idempotencyService.clearCache();
+        ResponseEntity<String> replayed = execute(key, REQUEST);
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(replayed.getBody()).isEqualTo("result-1");
+        assertThat(repository.findById(key)).get()
+                .extracting(IdempotencyRecord::getStatus)
+                .isEqualTo(IdempotencyStatus.COMPLETED);
+    }
+
+    @Test
+    void 같은_키로_다른_요청을_보내면_예외가_발생한다() {
+        String key = UUID.randomUUID().toString();
+        execute(key, REQUEST);
+
+        PointGrantRequest other = new PointGrantRequest("test-customer", 2000L, GrantType.SYSTEM, null);
+
+        assertThatThrownBy(() -> execute(key, other))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(e -> assertThat(((BusinessException) e).getErrorCode())
+                        .isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED));
+    }
+
+    @Test
+    void 키가_없으면_매번_실행한다() {
+        execute(null, REQUEST);
+        execute(null, REQUEST);
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 실패한_요청은_같은_키로_다시_실행할_수_있다() {
+        String key = UUID.randomUUID().toString();
+
+        assertThatThrownBy(() -> idempotencyService.execute(key, "grant", REQUEST, String.class, () -> {
+            throw new BusinessException(ErrorCode.GRANT_BALANCE_LIMIT_EXCEEDED);
+        })).isInstanceOf(BusinessException.class);
+
+        ResponseEntity<String> retried = execute(key, REQUEST);
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(retried.getBody()).isEqualTo("result-1");
+    }
+
+    @Test
+    void 응답을_저장하지_못하고_남은_선점은_타임아웃_후_다시_선점한다() {
+        String requestHash = requestHashOf(REQUEST);
+        String staleKey = UUID.randomUUID().toString();
+        String freshKey = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        // 요청 커밋 후 응답 저장 전에 프로세스가 죽은 상황
+        repository.save(IdempotencyRecord.start(staleKey, "grant", requestHash, now.minus(Duration.ofMinutes(5)), now.plus(Duration.ofHours(1))));
+        repository.save(IdempotencyRecord.start(freshKey, "grant", requestHash, now, now.plus(Duration.ofHours(1))));
+
+        ResponseEntity<String> retried = execute(staleKey, REQUEST);
+
+        assertThat(retried.getBody()).isEqualTo("result-2");
+        assertThat(repository.findById(staleKey)).get()
+                .extracting(IdempotencyRecord::getStatus)
+                .isEqualTo(IdempotencyStatus.COMPLETED);
+        assertThatThrownBy(() -> execute(freshKey, REQUEST))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(e -> assertThat(((BusinessException) e).getErrorCode())
+                        .isEqualTo(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS));
+    }
+
+    @Test
+    void 키_중복이_아닌_무결성_오류는_선점_중으로_처리하지_않는다() {
+        String key = UUID.randomUUID().toString();
+        String tooLongOperation = "o".repeat(51);
+
+        assertThatThrownBy(() -> idempotencyService.execute(key, tooLongOperation, REQUEST, String.class,
+                () -> ResponseEntity.ok("never")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(executions.get()).isZero();
+    }
+
+    /**
+     * 같은 요청의 해시는 한 번 처리한 기록에서 얻는다.
+     */
+    private String requestHashOf(Object request) {
+        String key = UUID.randomUUID().toString();
+        execute(key, request);
+        return repository.findById(key).orElseThrow().getRequestHash();
+    }
+}
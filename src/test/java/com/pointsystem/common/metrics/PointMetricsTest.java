@@ -0,0 +1,92 @@
+package com.pointsystem.common.metrics;
+
+import com.pointsystem.common.concurrency.StripedKeyLock;
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PointMetrics metrics = new PointMetrics(registry);
+
+    @Test
+    void 성공한_명령은_success_로_기록한다() {
+        String result = metrics.timeCommand(PointMetrics.SPEND, () -> "ok");
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(registry.get(PointMetrics.COMMAND_TIMER)
+                .tag("operation", "spend").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 업무_예외는_에러_코드로_기록한다() {
+        assertThatThrownBy(() -> metrics.timeCommand(PointMetrics.SPEND, () -> {
+            throw new BusinessException(ErrorCode.SPEND_INSUFFICIENT_BALANCE);
+        })).isInstanceOf(BusinessException.class);
+
+        assertThat(registry.get(PointMetrics.COMMAND_TIMER)
+                .tag("operation", "spend")
+                .tag("outcome", ErrorCode.SPEND_INSUFFICIENT_BALANCE.getCode())
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 예상하지_못한_예외는_unexpected_로_기록한다() {
+        assertThatThrownBy(() -> metrics.timeCommand(PointMetrics.GRANT, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get(PointMetrics.COMMAND_TIMER)
+                .tag("operation", "grant").tag("outcome", "unexpected").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 잠금_조회_시간을_쿼리별로_기록한다() {
+        metrics.timeLockQuery("grant_by_id", () -> 1);
+        metrics.timeLockQuery("grant_by_id", () -> 2);
+
+        assertThat(registry.get(PointMetrics.LOCK_WAIT_TIMER)
+                .tag("query", "grant_by_id").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void 사용_건별_분포를_기록한다() {
+        metrics.recordGrantsScanned(12);
+        metrics.recordAllocationsCreated(3);
+        metrics.recordRestoreGrantsCreated(1);
+
+        assertThat(registry.get(PointMetrics.GRANTS_SCANNED).summary().totalAmount()).isEqualTo(12);
+        assertThat(registry.get(PointMetrics.ALLOCATIONS_CREATED).summary().totalAmount()).isEqualTo(3);
+        assertThat(registry.get(PointMetrics.RESTORE_GRANTS_CREATED).summary().totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void 에러_코드별로_카운트한다() {
+        metrics.countError("SPEND_001", 400);
+        metrics.countError("SPEND_001", 400);
+        metrics.countError("INTERNAL_ERROR", 500);
+
+        assertThat(registry.get(PointMetrics.ERRORS).tag("code", "SPEND_001").counter().count()).isEqualTo(2);
+        assertThat(registry.get(PointMetrics.ERRORS).tag("code", "INTERNAL_ERROR").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 고객_락_대기열과_대기_시간과_시간_초과를_기록한다() {
+        StripedKeyLock lock = new StripedKeyLock(1);
+        metrics.registerCustomerLockQueue(lock, StripedKeyLock::queueDepth);
+
+        metrics.recordCustomerLockWait(TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.countCustomerLockTimeout();
+
+        assertThat(registry.get(PointMetrics.CUSTOMER_LOCK_QUEUE).gauge().value()).isZero();
+        assertThat(registry.get(PointMetrics.CUSTOMER_LOCK_WAIT).timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+        assertThat(registry.get(PointMetrics.CUSTOMER_LOCK_TIMEOUTS).counter().count()).isEqualTo(1);
+    }
+}
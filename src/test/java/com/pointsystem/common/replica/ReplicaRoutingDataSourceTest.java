@@ -0,0 +1,47 @@
+package com.pointsystem.common.replica;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:replica-test-primary";
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica-test-replica";
+
+    private final DriverManagerDataSource primary = new DriverManagerDataSource(PRIMARY_URL);
+    private final DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL);
+    private final LazyConnectionDataSourceProxy dataSource = proxy();
+
+    private LazyConnectionDataSourceProxy proxy() {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica));
+        return proxy;
+    }
+
+    private String urlOf(boolean readOnly) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            return connection.getMetaData().getURL();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void 복제본을_요청하지_않은_읽기_전용_조회는_기본_DB를_사용한다() {
+        assertThat(urlOf(true)).isEqualTo(PRIMARY_URL);
+    }
+
+    @Test
+    void 복제본을_요청한_읽기_전용_조회만_복제본을_사용한다() {
+        assertThat(ReplicaContext.read(() -> urlOf(true))).isEqualTo(REPLICA_URL);
+        assertThat(ReplicaContext.read(() -> urlOf(false))).isEqualTo(PRIMARY_URL);
+        assertThat(ReplicaContext.isRequested()).isFalse();
+    }
+}
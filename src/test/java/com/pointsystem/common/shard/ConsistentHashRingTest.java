@@ -0,0 +1,68 @@
+package com.pointsystem.common.shard;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void 샤드가_하나면_모든_키가_0번_샤드다() {
+        ConsistentHashRing ring = new ConsistentHashRing(1, 128);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(ring.shardOf("cust-" + i)).isZero();
+        }
+    }
+
+    @Test
+    void 키가_샤드에_고르게_나뉜다() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, 128);
+        int[] counts = new int[4];
+
+        for (int i = 0; i < KEYS; i++) {
+            counts[ring.shardOf("cust-" + i)]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(KEYS / 4 * 8 / 10, KEYS / 4 * 12 / 10);
+        }
+    }
+
+    @Test
+    void 같은_키는_항상_같은_샤드로_간다() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, 128);
+        ConsistentHashRing other = new ConsistentHashRing(4, 128);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(other.shardOf("cust-" + i)).isEqualTo(ring.shardOf("cust-" + i));
+        }
+    }
+
+    @Test
+    void 샤드를_늘리면_새_샤드로_가는_키만_옮겨진다() {
+        ConsistentHashRing before = new ConsistentHashRing(4, 128);
+        ConsistentHashRing after = new ConsistentHashRing(5, 128);
+        int moved = 0;
+
+        for (int i = 0; i < KEYS; i++) {
+            int from = before.shardOf("cust-" + i);
+            int to = after.shardOf("cust-" + i);
+            if (from != to) {
+                assertThat(to).isEqualTo(4);
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 5 * 7 / 10, KEYS / 5 * 13 / 10);
+    }
+
+    @Test
+    void 샤드_수나_가상_노드_수가_1보다_작으면_예외가_발생한다() {
+        assertThatThrownBy(() -> new ConsistentHashRing(0, 128)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashRing(2, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
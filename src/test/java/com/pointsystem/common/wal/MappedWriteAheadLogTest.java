@@ -0,0 +1,122 @@
+package com.pointsystem.common.wal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedWriteAheadLogTest {
+
+    private static final int SEGMENT_BYTES = 1024;
+
+    @TempDir
+    Path directory;
+
+    private MappedWriteAheadLog open() {
+        return MappedWriteAheadLog.open(directory, SEGMENT_BYTES, Duration.ZERO);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> replay(MappedWriteAheadLog wal) {
+        List<String> payloads = new ArrayList<>();
+        wal.replay(entry -> payloads.add(entry.lsn() + ":" + new String(entry.payload(), StandardCharsets.UTF_8)));
+        return payloads;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".wal")).sorted().toList();
+        }
+    }
+
+    @Test
+    void 덧붙인_레코드는_LSN_순서로_디스크에_내려간다() {
+        try (MappedWriteAheadLog wal = open()) {
+            long first = wal.append(bytes("a"));
+            long second = wal.append(bytes("b"));
+
+            wal.awaitDurable(second);
+
+            assertThat(first).isEqualTo(1L);
+            assertThat(second).isEqualTo(2L);
+            assertThat(wal.durableLsn()).isGreaterThanOrEqualTo(second);
+        }
+    }
+
+    @Test
+    void 다시_열면_체크포인트_이후_레코드만_재생하고_이어서_덧붙인다() {
+        try (MappedWriteAheadLog wal = open()) {
+            wal.append(bytes("a"));
+            wal.append(bytes("b"));
+            wal.awaitDurable(wal.append(bytes("c")));
+            wal.checkpoint(1L);
+        }
+
+        try (MappedWriteAheadLog wal = open()) {
+            assertThat(wal.checkpointLsn()).isEqualTo(1L);
+            assertThat(replay(wal)).containsExactly("2:b", "3:c");
+            assertThat(wal.append(bytes("d"))).isEqualTo(4L);
+        }
+    }
+
+    @Test
+    void 쓰다_만_레코드는_열_때_잘라낸다() throws IOException {
+        long end;
+        try (MappedWriteAheadLog wal = open()) {
+            wal.append(bytes("a"));
+            wal.awaitDurable(wal.append(bytes("b")));
+            end = 2L * (MappedWriteAheadLog.HEADER_BYTES + 1);
+        }
+        // 길이만 기록되고 CRC/LSN/payload 가 맞지 않는 레코드를 흉내 낸다.
+        try (FileChannel channel = FileChannel.open(segmentFiles().getFirst(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 5), end);
+        }
+
+        try (MappedWriteAheadLog wal = open()) {
+            assertThat(replay(wal)).containsExactly("1:a", "2:b");
+            assertThat(wal.append(bytes("c"))).isEqualTo(3L);
+        }
+        try (MappedWriteAheadLog wal = open()) {
+            assertThat(replay(wal)).containsExactly("1:a", "2:b", "3:c");
+        }
+    }
+
+    @Test
+    void 세그먼트가_차면_다음_세그먼트로_넘어가고_체크포인트로_이전_세그먼트를_지운다() throws IOException {
+        byte[] payload = new byte[200];
+        long last = 0;
+        try (MappedWriteAheadLog wal = open()) {
+            for (int i = 0; i < 10; i++) {
+                last = wal.append(payload);
+            }
+            wal.awaitDurable(last);
+            assertThat(segmentFiles()).hasSizeGreaterThan(2);
+
+            wal.checkpoint(last - 1);
+
+            assertThat(segmentFiles()).hasSize(1);
+        }
+
+        try (MappedWriteAheadLog wal = open()) {
+            List<Long> lsns = new ArrayList<>();
+            wal.replay(entry -> lsns.add(entry.lsn()));
+            assertThat(lsns).containsExactly(last);
+            assertThat(wal.append(payload)).isEqualTo(last + 1);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.pointsystem.point.archive;
+
+import com.pointsystem.point.controller.dto.PointLedgerEntryResponse;
+import com.pointsystem.point.controller.dto.PointLedgerPageResponse;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.entity.PointLedger;
+import com.pointsystem.point.domain.repository.PointLedgerRepository;
+import com.pointsystem.point.service.PointLedgerQueryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 세그먼트 파일은 트랜잭션 롤백으로 지워지지 않으므로 테스트마다 다른 고객을 사용한다.
+ */
+@Transactional
+@SpringBootTest(properties = {
+        "point.ledger.archive.directory=build/test-ledger-archive/${random.uuid}",
+        "point.ledger.archive.horizon-days=30",
+        "point.ledger.archive.segment-max-rows=3"
+})
+class LedgerArchiverTest {
+
+    @Autowired
+    private LedgerArchiver archiver;
+    @Autowired
+    private LedgerArchive archive;
+    @Autowired
+    private PointLedgerRepository ledgerRepository;
+    @Autowired
+    private PointLedgerQueryService ledgerQueryService;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private String newCustomer() {
+        return "archive-" + UUID.randomUUID();
+    }
+
+    private void ledger(String customerId, LedgerEventType type, long amount, Instant createdAt) {
+        ledgerRepository.save(PointLedger.create(customerId, type, "ref", amount, null, createdAt));
+    }
+
+    private List<PointLedgerEntryResponse> readAll(String customerId, LedgerEventType eventType, int size) {
+        List<PointLedgerEntryResponse> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            PointLedgerPageResponse page = ledgerQueryService.getLedger(customerId, eventType, cursor, size);
+            all.addAll(page.entries());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    @Test
+    void 보관_기간이_지난_원장만_세그먼트로_옮긴다() {
+        String customerId = newCustomer();
+        for (int i = 0; i < 5; i++) {
+            ledger(customerId, LedgerEventType.GRANT, 100L, now.minus(60 + i, ChronoUnit.DAYS));
+        }
+        ledger(customerId, LedgerEventType.SPEND, -100L, now.minus(1, ChronoUnit.DAYS));
+        ledgerRepository.flush();
+
+        int archived = archiver.archive(now);
+
+        // 다른 테스트가 커밋한 오래된 원장도 함께 옮겨질 수 있으므로 건수는 이 고객 기준으로 확인한다.
+        assertThat(archived).isGreaterThanOrEqualTo(5);
+        assertThat(ledgerRepository.findByCustomerIdOrderByCreatedAtDesc(customerId))
+                .singleElement()
+                .satisfies(l -> assertThat(l.getEventType()).isEqualTo(LedgerEventType.SPEND));
+        assertThat(archive.findPage(customerId, null, null, null, 10)).hasSize(5);
+    }
+
+    @Test
+    void 원장_조회는_테이블과_아카이브를_이어서_최신순으로_읽는다() {
+        String customerId = newCustomer();
+        for (int i = 0; i < 4; i++) {
+            ledger(customerId, LedgerEventType.GRANT, 100L, now.minus(40 + i, ChronoUnit.DAYS));
+        }
+        for (int i = 0; i < 3; i++) {
+            ledger(customerId, LedgerEventType.SPEND, -100L, now.minus(i, ChronoUnit.HOURS));
+        }
+        ledgerRepository.flush();
+        archiver.archive(now);
+
+        List<PointLedgerEntryResponse> all = readAll(customerId, null, 2);
+
+        assertThat(all).hasSize(7);
+        assertThat(all).extracting(PointLedgerEntryResponse::ledgerId).doesNotHaveDuplicates();
+        assertThat(all).extracting(PointLedgerEntryResponse::createdAt).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(readAll(customerId, LedgerEventType.GRANT, 3)).hasSize(4);
+    }
+
+    @Test
+    void 아카이브_후_삭제되지_않은_원장은_중복_없이_조회되고_다음_실행에서_지운다() {
+        String customerId = newCustomer();
+        ledger(customerId, LedgerEventType.GRANT, 100L, now.minus(90, ChronoUnit.DAYS));
+        ledgerRepository.flush();
+        // 세그먼트를 쓴 뒤 point_ledger 삭제 전에 멈춘 상황
+        archive.append(ledgerRepository.findArchiveCandidates(now.minus(30, ChronoUnit.DAYS), Limit.of(10)));
+
+        assertThat(readAll(customerId, null, 10)).hasSize(1);
+
+        archiver.archive(now);
+
+        assertThat(ledgerRepository.findByCustomerIdOrderByCreatedAtDesc(customerId)).isEmpty();
+        assertThat(readAll(customerId, null, 10)).hasSize(1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.pointsystem.point.archive;
+
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.repository.LedgerArchiveRow;
+import com.pointsystem.point.domain.repository.LedgerEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LedgerSegmentTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00.123456Z");
+
+    @TempDir
+    Path directory;
+
+    private static LedgerArchiveRow row(String ledgerId, String customerId, long secondsAfterBase) {
+        return new LedgerArchiveRow(ledgerId, customerId, LedgerEventType.GRANT, "ref-" + ledgerId, 100L, null,
+                BASE.plusSeconds(secondsAfterBase));
+    }
+
+    @Test
+    void 고객_원장을_최신순으로_읽는다() throws IOException {
+        LedgerSegment segment = LedgerSegment.write(directory, 1, List.of(
+                row("l-1", "customer-a", 0),
+                row("l-2", "customer-b", 1),
+                new LedgerArchiveRow("l-3", "customer-a", LedgerEventType.SPEND, null, -50L, "order-1", BASE.plusSeconds(2)),
+                row("l-4", "customer-a", 2)));
+
+        List<LedgerEntry> entries = LedgerSegment.open(segment.path()).read("customer-a");
+
+        assertThat(entries).extracting(LedgerEntry::ledgerId).containsExactly("l-4", "l-3", "l-1");
+        assertThat(entries.get(1)).isEqualTo(
+                new LedgerEntry("l-3", LedgerEventType.SPEND, null, -50L, "order-1", BASE.plusSeconds(2)));
+        assertThat(segment.minCreatedAt()).isEqualTo(BASE);
+        assertThat(segment.maxCreatedAt()).isEqualTo(BASE.plusSeconds(2));
+    }
+
+    @Test
+    void 없는_고객은_빈_목록이다() throws IOException {
+        LedgerSegment segment = LedgerSegment.write(directory, 1, List.of(row("l-1", "customer-a", 0)));
+
+        assertThat(segment.read("customer-0")).isEmpty();
+        assertThat(segment.read("customer-z")).isEmpty();
+    }
+
+    @Test
+    void 여러_블록에_걸친_고객도_모두_읽는다() throws IOException {
+        List<LedgerArchiveRow> rows = new ArrayList<>();
+        int count = LedgerSegment.BLOCK_ROWS * 2 + 10;
+        for (int i = 0; i < count; i++) {
+            rows.add(row(String.format("l-%06d", i), i % 3 == 0 ? "customer-a" : "customer-b", i));
+        }
+
+        LedgerSegment segment = LedgerSegment.write(directory, 7, rows);
+
+        List<LedgerEntry> entries = segment.read("customer-b");
+        assertThat(entries).hasSize((int) rows.stream().filter(r -> r.customerId().equals("customer-b")).count());
+        assertThat(entries).extracting(LedgerEntry::createdAt).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(segment.ledgerIds()).hasSize(count).doesNotHaveDuplicates();
+        assertThat(segment.sequence()).isEqualTo(7L);
+    }
+
+    @Test
+    void 고객_필터로_없는_고객을_걸러_낸다() throws IOException {
+        List<LedgerArchiveRow> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(row("l-" + i, "customer-" + i, i));
+        }
+        LedgerSegment.write(directory, 1, rows);
+
+        LedgerSegment segment = LedgerSegment.open(LedgerSegment.pathOf(directory, 1));
+
+        assertThat(rows).allMatch(r -> segment.mightContain(r.customerId()));
+        long falsePositives = Stream.iterate(0, i -> i + 1).limit(10_000)
+                .filter(i -> segment.mightContain("absent-" + i))
+                .count();
+        assertThat(falsePositives).isLessThan(500);
+    }
+
+    @Test
+    void 쓰기가_끝나면_임시_파일이_남지_않는다() throws IOException {
+        LedgerSegment.write(directory, 1, List.of(row("l-1", "customer-a", 0)));
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactly(LedgerSegment.pathOf(directory, 1).getFileName().toString());
+        }
+    }
+
+    @Test
+    void 세그먼트_파일이_아니면_열지_않는다() throws IOException {
+        Path path = LedgerSegment.pathOf(directory, 1);
+        Files.write(path, new byte[64]);
+
+        assertThatThrownBy(() -> LedgerSegment.open(path)).isInstanceOf(IOException.class);
+    }
+}
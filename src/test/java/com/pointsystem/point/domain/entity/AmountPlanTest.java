@@ -0,0 +1,107 @@
+package com.pointsystem.point.domain.entity;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AmountPlanTest {
+
+    private static final long NOW = 1_000_000L;
+
+    private AmountPlan planOf(long... limits) {
+        AmountPlan plan = new AmountPlan(limits.length);
+        for (long limit : limits) {
+            plan.add(limit);
+        }
+        return plan;
+    }
+
+    @Nested
+    class fill_테스트 {
+
+        @Test
+        void 앞에서부터_한도까지_채운다() {
+            AmountPlan plan = planOf(1000, 2000, 3000);
+
+            long filled = plan.fill(2500);
+
+            assertThat(filled).isEqualTo(2500L);
+            assertThat(plan.end()).isEqualTo(2);
+            assertThat(plan.taken(0)).isEqualTo(1000L);
+            assertThat(plan.taken(1)).isEqualTo(1500L);
+            assertThat(plan.taken(2)).isZero();
+        }
+
+        @Test
+        void 한도_합계가_모자라면_채운_금액만_반환한다() {
+            AmountPlan plan = planOf(1000, 2000);
+
+            assertThat(plan.fill(5000)).isEqualTo(3000L);
+            assertThat(plan.end()).isEqualTo(2);
+        }
+
+        @Test
+        void 다시_계산하면_이전_결과를_지운다() {
+            AmountPlan plan = planOf(1000, 2000, 3000);
+            plan.fill(5000);
+
+            plan.fill(500);
+
+            assertThat(plan.taken(0)).isEqualTo(500L);
+            assertThat(plan.taken(1)).isZero();
+            assertThat(plan.taken(2)).isZero();
+        }
+
+        @Test
+        void 만료된_칸은_건너뛴다() {
+            AmountPlan plan = new AmountPlan(2);
+            plan.add(1000, NOW);
+            plan.add(2000, NOW + 1);
+
+            assertThat(plan.fill(1500, NOW)).isEqualTo(1500L);
+            assertThat(plan.taken(0)).isZero();
+            assertThat(plan.taken(1)).isEqualTo(1500L);
+            assertThat(plan.total(NOW)).isEqualTo(2000L);
+            assertThat(plan.total()).isEqualTo(3000L);
+        }
+
+        @Test
+        void 처음_크기보다_많이_넣을_수_있다() {
+            AmountPlan plan = new AmountPlan(1);
+            for (int i = 0; i < 100; i++) {
+                plan.add(10);
+            }
+
+            assertThat(plan.size()).isEqualTo(100);
+            assertThat(plan.fill(1000)).isEqualTo(1000L);
+        }
+    }
+
+    @Nested
+    class commit_테스트 {
+
+        @Test
+        void 계산한_금액만큼_한도를_줄이고_이어서_계산한다() {
+            AmountPlan plan = planOf(1000, 2000);
+            plan.fill(1500);
+
+            plan.commit();
+
+            assertThat(plan.limit(0)).isZero();
+            assertThat(plan.limit(1)).isEqualTo(1500L);
+            assertThat(plan.total()).isEqualTo(1500L);
+            assertThat(plan.fill(1500)).isEqualTo(1500L);
+            assertThat(plan.taken(1)).isEqualTo(1500L);
+        }
+
+        @Test
+        void 계산하지_않고_확정하면_한도가_바뀌지_않는다() {
+            AmountPlan plan = planOf(1000);
+
+            plan.commit();
+
+            assertThat(plan.limit(0)).isEqualTo(1000L);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.pointsystem.point.domain.entity;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpendAllocationsTest {
+
+    private static final String CUSTOMER_ID = "test-customer";
+    private static final Instant NOW = Instant.now();
+
+    private PointGrant createGrant(long amount, Instant expiresAt) {
+        return PointGrant.create(CUSTOMER_ID, GrantType.SYSTEM, amount, expiresAt, NOW.minus(10, ChronoUnit.DAYS));
+    }
+
+    private List<PointSpendAllocation> spendAll(PointGrant... grants) {
+        long total = 0;
+        for (PointGrant grant : grants) {
+            total += grant.getAmountAvailable();
+        }
+        return new UsableGrants(List.of(grants)).deduct(total, NOW);
+    }
+
+    @Nested
+    class cancel_테스트 {
+
+        @Test
+        void 유효한_적립에는_원래_적립으로_복원한다() {
+            PointGrant grant = createGrant(1000, NOW.plus(30, ChronoUnit.DAYS));
+            SpendAllocations allocations = new SpendAllocations(spendAll(grant));
+
+            SpendAllocations.CancelDistribution distribution = allocations.cancel(400, NOW);
+
+            assertThat(distribution.restoredToOriginal()).isEqualTo(400L);
+            assertThat(distribution.restoredAsNew()).isZero();
+            assertThat(grant.getAmountAvailable()).isEqualTo(400L);
+        }
+
+        @Test
+        void 만료된_적립분은_신규_적립_대상으로_분리한다() {
+            PointGrant valid = createGrant(500, NOW.plus(30, ChronoUnit.DAYS));
+            PointGrant expired = createGrant(1000, NOW.plus(1, ChronoUnit.DAYS));
+            SpendAllocations allocations = new SpendAllocations(spendAll(valid, expired));
+
+            SpendAllocations.CancelDistribution distribution = allocations.cancel(1200, NOW.plus(2, ChronoUnit.DAYS));
+
+            assertThat(distribution.restoredToOriginal()).isEqualTo(500L);
+            assertThat(distribution.restoredAsNew()).isEqualTo(700L);
+            assertThat(expired.getAmountAvailable()).isEqualTo(0L);
+        }
+
+        @Test
+        void 이미_취소된_배분은_건너뛴다() {
+            PointGrant grantA = createGrant(300, NOW.plus(30, ChronoUnit.DAYS));
+            PointGrant grantB = createGrant(300, NOW.plus(30, ChronoUnit.DAYS));
+            List<PointSpendAllocation> spent = spendAll(grantA, grantB);
+            SpendAllocations allocations = new SpendAllocations(spent);
+            allocations.cancel(300, NOW);
+
+            SpendAllocations.CancelDistribution distribution = allocations.cancel(200, NOW);
+
+            assertThat(distribution.restoredToOriginal()).isEqualTo(200L);
+            assertThat(spent.get(0).remainingCancelable()).isEqualTo(0L);
+            assertThat(spent.get(1).getAmountCanceled()).isEqualTo(200L);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.pointsystem.point.domain.repository;
+
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.entity.OutboxStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 핫패스 쿼리의 실행 계획 회귀 테스트.
+ * Repository 메서드를 실제로 실행해 Hibernate 가 만든 SQL 을 잡고, H2 EXPLAIN 으로 전체 스캔(tableScan)으로 떨어지지 않는지 검사한다.
+ * 쿼리를 바꾸면 테스트도 바뀐 SQL 을 그대로 확인한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.pointsystem.point.domain.repository.QueryPlanTest$SqlCapture")
+@Transactional
+class QueryPlanTest {
+
+    private static final String CUSTOMER_ID = "plan-customer";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PointGrantRepository grantRepository;
+    @Autowired
+    private PointSpendRepository spendRepository;
+    @Autowired
+    private PointSpendAllocationRepository allocationRepository;
+    @Autowired
+    private PointLedgerRepository ledgerRepository;
+    @Autowired
+    private PointLedgerOutboxRepository outboxRepository;
+
+    @BeforeEach
+    void setUp() {
+        // 빈 테이블이 아닌 상태에서 계획을 확인하도록 여러 고객의 데이터를 넣어 둔다.
+        Timestamp now = Timestamp.from(Instant.now());
+        Timestamp later = Timestamp.from(Instant.now().plus(30, ChronoUnit.DAYS));
+        for (int i = 0; i < 200; i++) {
+            String customerId = "plan-customer-" + (i % 20);
+            jdbcTemplate.update("INSERT INTO point_grant (grant_id, customer_id, grant_type, amount_total, amount_available, " +
+                            "expires_at, status, created_at, version) VALUES (?, ?, 'SYSTEM', 100, 100, ?, 'ACTIVE', ?, 0)",
+                    "plan-grant-" + i, customerId, later, now);
+            jdbcTemplate.update("INSERT INTO point_spend (spend_id, customer_id, order_id, amount_total, amount_canceled, " +
+                            "status, created_at, version) VALUES (?, ?, ?, 10, 0, 'USED', ?, 0)",
+                    "plan-spend-" + i, customerId, "plan-order-" + i, now);
+            jdbcTemplate.update("INSERT INTO point_spend_allocation (allocation_id, spend_id, grant_id, amount_used, " +
+                            "amount_canceled, created_at) VALUES (?, ?, ?, 10, 0, ?)",
+                    "plan-allocation-" + i, "plan-spend-" + i, "plan-grant-" + i, now);
+            jdbcTemplate.update("INSERT INTO point_ledger (ledger_id, customer_id, event_type, ref_id, amount, order_id, " +
+                            "created_at) VALUES (?, ?, 'GRANT', ?, 100, NULL, ?)",
+                    "plan-ledger-" + i, customerId, "plan-grant-" + i, now);
+        }
+    }
+
+    @Test
+    void 사용_가능_적립_조회는_고객_상태_만료일_인덱스를_사용한다() {
+        String plan = explainCaptured("point_grant",
+                () -> grantRepository.findUsableGrantsWithLock(CUSTOMER_ID, GrantStatus.ACTIVE, Instant.now()));
+
+        assertIndexScan(plan, "idx_point_grant_customer_status_expires");
+    }
+
+    @Test
+    void 사용_후보_적립_조회는_고객_상태_만료일_인덱스를_사용한다() {
+        String plan = explainCaptured("point_grant", () -> grantRepository.findUsableGrantCandidates(
+                CUSTOMER_ID, GrantStatus.ACTIVE, Instant.now(), Limit.of(64)));
+
+        assertIndexScan(plan, "idx_point_grant_customer_status_expires");
+    }
+
+    @Test
+    void 사용_후보_적립_잠금_조회는_적립_PK를_사용한다() {
+        String plan = explainCaptured("point_grant", () -> grantRepository.findUsableGrantsByIdsWithLock(
+                List.of("plan-grant-1", "plan-grant-2", "plan-grant-3"), GrantStatus.ACTIVE, Instant.now()));
+
+        assertIndexScan(plan, "PRIMARY_KEY");
+    }
+
+    @Test
+    void 사용_가능_잔액_합계는_고객_상태_만료일_인덱스를_사용한다() {
+        String plan = explainCaptured("point_grant",
+                () -> grantRepository.calculateAvailableBalance(CUSTOMER_ID, GrantStatus.ACTIVE, Instant.now()));
+
+        assertIndexScan(plan, "idx_point_grant_customer_status_expires");
+    }
+
+    @Test
+    void 만료_대상_조회는_상태_만료일_인덱스를_사용한다() {
+        String plan = explainCaptured("point_grant", () -> grantRepository.findExpiredGrantsWithLock(
+                GrantStatus.ACTIVE, Instant.now(), Instant.EPOCH, "", Limit.of(500)));
+
+        assertIndexScan(plan, "idx_point_grant_status_expires");
+    }
+
+    @Test
+    void 주문_중복_확인은_고객_주문_유니크_인덱스를_사용한다() {
+        String plan = explainCaptured("point_spend",
+                () -> spendRepository.existsByCustomerIdAndOrderId(CUSTOMER_ID, "order-001"));
+
+        assertIndexScan(plan, "uk_point_spend_customer_order");
+    }
+
+    @Test
+    void 메모리_엔진_최근_주문번호_조회는_고객_생성일시_인덱스를_사용한다() {
+        String plan = explainCaptured("point_spend",
+                () -> spendRepository.findRecentOrderIds(CUSTOMER_ID, Instant.now().minus(1, ChronoUnit.DAYS)));
+
+        assertIndexScan(plan, "idx_point_spend_customer_created");
+    }
+
+    @Test
+    void 사용_취소_배분_조회는_사용건_인덱스와_적립_PK를_사용한다() {
+        String plan = explainCaptured("point_spend_allocation",
+                () -> allocationRepository.findBySpendIdWithGrantForCancel("plan-spend-1", Instant.now()));
+
+        assertIndexScan(plan, "idx_point_spend_allocation_spend");
+    }
+
+    @Test
+    void 원장_페이지_조회는_고객_생성일시_인덱스를_사용한다() {
+        String plan = explainCaptured("point_ledger", () -> ledgerRepository.findLedgerPageAfter(
+                CUSTOMER_ID, Instant.now(), "z", Limit.of(21)));
+
+        assertIndexScan(plan, "idx_point_ledger_customer_created");
+    }
+
+    @Test
+    void 이벤트_타입_원장_페이지_조회는_고객_타입_생성일시_인덱스를_사용한다() {
+        String plan = explainCaptured("point_ledger", () -> ledgerRepository.findLedgerPageByEventTypeAfter(
+                CUSTOMER_ID, LedgerEventType.SPEND, Instant.now(), "z", Limit.of(21)));
+
+        assertIndexScan(plan, "idx_point_ledger_customer_type_created");
+    }
+
+    @Test
+    void 적립_목록_페이지_조회는_고객_생성일시_인덱스를_사용한다() {
+        String plan = explainCaptured("point_grant", () -> grantRepository.findGrantPageAfter(
+                CUSTOMER_ID, null, Instant.now(), "z", Limit.of(21)));
+
+        assertIndexScan(plan, "idx_point_grant_customer_created");
+    }
+
+    @Test
+    void 아웃박스_릴레이_조회는_상태_ID_인덱스를_사용한다() {
+        String plan = explainCaptured("point_ledger_outbox",
+                () -> outboxRepository.findClaimableIdsAfter(OutboxStatus.PENDING, "", Instant.now(), Limit.of(1000)));
+
+        assertIndexScan(plan, "idx_point_ledger_outbox_status_id");
+    }
+
+    @Test
+    void 원장_아카이브_대상_조회는_생성일시_인덱스를_사용한다() {
+        String plan = explainCaptured("point_ledger",
+                () -> ledgerRepository.findArchiveCandidates(Instant.now(), Limit.of(100000)));
+
+        assertIndexScan(plan, "idx_point_ledger_created");
+    }
+
+    /**
+     * Repository 메서드를 실행해 Hibernate 가 만든 SQL 을 잡고, 그 SQL 을 EXPLAIN 한다.
+     * H2 는 파라미터 값을 받기 전에 실행 계획을 정하므로 파라미터는 NULL 로 바인딩한다.
+     */
+    private String explainCaptured(String table, Runnable query) {
+        SqlCapture.clear();
+        query.run();
+        String sql = SqlCapture.statements().stream()
+                .filter(statement -> statement.regionMatches(true, 0, "select", 0, 6))
+                .filter(statement -> statement.contains(" " + table + " "))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("실행된 " + table + " 조회 SQL 이 없습니다: " + SqlCapture.statements()));
+        return explain(sql);
+    }
+
+    private String explain(String sql) {
+        List<String> rows = jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+        }, (rs, rowNum) -> rs.getString(1));
+        return "SQL: " + sql + "\n" + String.join("\n", rows);
+    }
+
+    private void assertIndexScan(String plan, String indexName) {
+        assertThat(plan).as("실행 계획:%n%s", plan)
+                .doesNotContainIgnoringCase("tableScan")
+                .containsIgnoringCase(indexName);
+    }
+
+    /**
+     * Hibernate 가 실행하는 SQL 을 모은다. hibernate.session_factory.statement_inspector 로 등록한다.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static List<String> statements() {
+            return List.copyOf(STATEMENTS);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
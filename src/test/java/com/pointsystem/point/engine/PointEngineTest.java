@@ -0,0 +1,122 @@
+package com.pointsystem.point.engine;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.controller.dto.PointSpendResponse;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.SpendStatus;
+import com.pointsystem.point.domain.repository.PointBalanceRepository;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.domain.repository.PointLedgerRepository;
+import com.pointsystem.point.domain.repository.PointSpendRepository;
+import com.pointsystem.point.service.PointCommandService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * DB 반영이 별도 스레드에서 커밋되므로 테스트 트랜잭션을 사용하지 않고 테스트마다 다른 고객을 사용한다.
+ */
+@SpringBootTest(properties = {
+        "point.engine.mode=memory",
+        "point.engine.partitions=2",
+        "point.engine.wal.directory=build/test-point-wal/${random.uuid}",
+        "point.engine.wal.segment-size-mb=1"
+})
+class PointEngineTest {
+
+    @Autowired
+    private PointEngine engine;
+    @Autowired
+    private PointCommandService commandService;
+    @Autowired
+    private PointGrantRepository grantRepository;
+    @Autowired
+    private PointSpendRepository spendRepository;
+    @Autowired
+    private PointLedgerRepository ledgerRepository;
+    @Autowired
+    private PointBalanceRepository balanceRepository;
+
+    private String newCustomer() {
+        return "engine-" + UUID.randomUUID();
+    }
+
+    private PointGrant grant(String customerId, long amount) {
+        return commandService.grantPoint(new PointGrantRequest(customerId, amount, GrantType.SYSTEM, null));
+    }
+
+    @Test
+    void 메모리에서_차감한_사용이_DB에_반영된다() {
+        String customerId = newCustomer();
+        PointGrant grantA = grant(customerId, 500L);
+        PointGrant grantB = grant(customerId, 500L);
+
+        PointSpendResponse first = commandService.spend(new PointSpendRequest(customerId, "order-1", 300L));
+        PointSpendResponse second = commandService.spend(new PointSpendRequest(customerId, "order-2", 400L));
+        engine.awaitApplied();
+
+        assertThat(second.allocations()).hasSize(2);
+        assertThat(spendRepository.findById(first.spendId())).hasValueSatisfying(spend -> {
+            assertThat(spend.getAmountTotal()).isEqualTo(300L);
+            assertThat(spend.getStatus()).isEqualTo(SpendStatus.USED);
+        });
+        assertThat(grantRepository.findById(grantA.getGrantId()).orElseThrow().getAmountAvailable()).isZero();
+        assertThat(grantRepository.findById(grantB.getGrantId()).orElseThrow().getAmountAvailable()).isEqualTo(300L);
+        assertThat(balanceRepository.findBalance(customerId)).contains(300L);
+        assertThat(ledgerRepository.findByCustomerIdOrderByCreatedAtDesc(customerId))
+                .filteredOn(ledger -> ledger.getEventType() == LedgerEventType.SPEND)
+                .hasSize(2);
+    }
+
+    @Test
+    void 같은_주문의_중복_사용과_잔액_부족은_메모리에서_거절한다() {
+        String customerId = newCustomer();
+        grant(customerId, 1000L);
+        commandService.spend(new PointSpendRequest(customerId, "order-1", 600L));
+
+        assertThatThrownBy(() -> commandService.spend(new PointSpendRequest(customerId, "order-1", 100L)))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(e -> assertThat(((BusinessException) e).getErrorCode())
+                        .isEqualTo(ErrorCode.SPEND_DUPLICATE_ORDER));
+        assertThatThrownBy(() -> commandService.spend(new PointSpendRequest(customerId, "order-2", 500L)))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(e -> assertThat(((BusinessException) e).getErrorCode())
+                        .isEqualTo(ErrorCode.SPEND_INSUFFICIENT_BALANCE));
+    }
+
+    @Test
+    void 반영_전_사용도_바로_취소할_수_있다() {
+        String customerId = newCustomer();
+        grant(customerId, 1000L);
+        PointSpendResponse spend = commandService.spend(new PointSpendRequest(customerId, "order-1", 700L));
+
+        commandService.cancelSpend(spend.spendId(), 700L);
+
+        assertThat(spendRepository.findById(spend.spendId()).orElseThrow().getStatus()).isEqualTo(SpendStatus.CANCELED);
+        assertThat(balanceRepository.findBalance(customerId)).contains(1000L);
+    }
+
+    @Test
+    void 적립_후에는_다시_적재해_새_적립으로_사용한다() {
+        String customerId = newCustomer();
+        grant(customerId, 500L);
+        commandService.spend(new PointSpendRequest(customerId, "order-1", 500L));
+
+        grant(customerId, 800L);
+        PointSpendResponse spend = commandService.spend(new PointSpendRequest(customerId, "order-2", 800L));
+        engine.awaitApplied();
+
+        assertThat(spend.amountTotal()).isEqualTo(800L);
+        assertThat(balanceRepository.findBalance(customerId)).contains(0L);
+    }
+}
@@ -0,0 +1,206 @@
+package com.pointsystem.point.engine;
+
+import com.pointsystem.common.id.IdGenerators;
+import com.pointsystem.common.metrics.PointMetrics;
+import com.pointsystem.common.wal.MappedWriteAheadLog;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.repository.PointBalanceRepository;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.domain.repository.PointLedgerRepository;
+import com.pointsystem.point.domain.repository.PointSpendRepository;
+import com.pointsystem.point.service.PointBalanceService;
+import com.pointsystem.point.service.PointCommandService;
+import com.pointsystem.point.service.PointLedgerRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 반영기를 직접 만들어 WAL 에 남은 레코드를 재시작 복구 경로({@link PointEngineWriter#recover()})로 반영한다. 반영이 별도 트랜잭션으로 커밋되므로 테스트 트랜잭션을 사용하지 않는다.
+ */
+@SpringBootTest
+class PointEngineWriterTest {
+
+    @TempDir
+    Path walDirectory;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private PointGrantRepository grantRepository;
+    @Autowired
+    private PointSpendRepository spendRepository;
+    @Autowired
+    private PointBalanceRepository balanceRepository;
+    @Autowired
+    private PointLedgerRepository ledgerRepository;
+    @Autowired
+    private PointLedgerRecorder ledgerRecorder;
+    @Autowired
+    private PointBalanceService balanceService;
+    @Autowired
+    private PointMetrics metrics;
+    @Autowired
+    private PointCommandService commandService;
+
+    private MappedWriteAheadLog wal;
+
+    @AfterEach
+    void tearDown() {
+        if (wal != null) {
+            wal.close();
+        }
+    }
+
+    private MappedWriteAheadLog openWal() {
+        wal = MappedWriteAheadLog.open(walDirectory, 1024 * 1024, Duration.ZERO);
+        return wal;
+    }
+
+    private PointEngineWriter writer() {
+        return new PointEngineWriter(wal, jdbcTemplate, transactionTemplate, grantRepository, ledgerRecorder, balanceService, metrics,
+                100, Duration.ofSeconds(1), (applied, reload) -> {
+                });
+    }
+
+    private long append(SpendEntry entry) {
+        long lsn = wal.append(entry.encode());
+        wal.awaitDurable(lsn);
+        return lsn;
+    }
+
+    private String newCustomer() {
+        return "writer-" + UUID.randomUUID();
+    }
+
+    private PointGrant grant(String customerId, long amount) {
+        return commandService.grantPoint(new PointGrantRequest(customerId, amount, GrantType.SYSTEM, null));
+    }
+
+    private SpendEntry spend(String customerId, String orderId, long amount, String grantId) {
+        return new SpendEntry(IdGenerators.nextId(), customerId, orderId, amount, Instant.now(),
+                List.of(new SpendEntry.Allocation(IdGenerators.nextId(), grantId, amount)));
+    }
+
+    private String deadLetterReason(String spendId) {
+        List<String> reasons = jdbcTemplate.queryForList(
+                "SELECT reason FROM point_engine_dead_letter WHERE spend_id = :spendId", Map.of("spendId", spendId), String.class);
+        return reasons.isEmpty() ? null : reasons.getFirst();
+    }
+
+    @Test
+    void 체크포인트_전에_멈춘_WAL은_재시작할_때_DB에_반영하고_이미_반영한_레코드는_건너뛴다() throws Exception {
+        String customerId = newCustomer();
+        PointGrant grant = grant(customerId, 1000L);
+        openWal();
+        SpendEntry first = spend(customerId, "order-1", 300L, grant.getGrantId());
+        SpendEntry second = spend(customerId, "order-2", 200L, grant.getGrantId());
+        append(first);
+        append(second);
+        // 응답 후 반영 전에 프로세스가 멈춘 상황
+        wal.close();
+
+        openWal();
+        assertThat(writer().recover()).isEqualTo(2);
+
+        assertThat(spendRepository.findById(first.spendId())).isPresent();
+        assertThat(spendRepository.findById(second.spendId())).isPresent();
+        assertThat(grantRepository.findById(grant.getGrantId()).orElseThrow().getAmountAvailable()).isEqualTo(500L);
+        assertThat(balanceRepository.findBalance(customerId)).contains(500L);
+
+        // 반영 후 체크포인트를 남기기 전에 멈춘 상황: 같은 레코드를 다시 읽어도 두 번 차감하지 않는다.
+        wal.close();
+        Files.delete(walDirectory.resolve("checkpoint"));
+        openWal();
+        assertThat(writer().recover()).isEqualTo(2);
+
+        assertThat(grantRepository.findById(grant.getGrantId()).orElseThrow().getAmountAvailable()).isEqualTo(500L);
+        assertThat(balanceRepository.findBalance(customerId)).contains(500L);
+        assertThat(ledgerRepository.findByCustomerIdOrderByCreatedAtDesc(customerId))
+                .filteredOn(ledger -> ledger.getEventType() == LedgerEventType.SPEND)
+                .hasSize(2);
+    }
+
+    @Test
+    void 반영_전에_취소된_적립의_사용은_현재_적립으로_다시_배분한다() {
+        String customerId = newCustomer();
+        PointGrant canceled = grant(customerId, 500L);
+        PointGrant remaining = grant(customerId, 500L);
+        openWal();
+        SpendEntry entry = spend(customerId, "order-1", 300L, canceled.getGrantId());
+        append(entry);
+        commandService.cancelPointGrant(canceled.getGrantId());
+
+        writer().recover();
+
+        assertThat(spendRepository.findById(entry.spendId())).isPresent();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT grant_id, amount_used FROM point_spend_allocation WHERE spend_id = :spendId",
+                Map.of("spendId", entry.spendId())))
+                .extracting(row -> row.get("grant_id"), row -> ((Number) row.get("amount_used")).longValue())
+                .containsExactly(tuple(remaining.getGrantId(), 300L));
+        assertThat(grantRepository.findById(remaining.getGrantId()).orElseThrow().getAmountAvailable()).isEqualTo(200L);
+        assertThat(balanceRepository.findBalance(customerId)).contains(200L);
+        assertThat(deadLetterReason(entry.spendId())).isNull();
+    }
+
+    @Test
+    void 다시_배분할_적립이_없으면_수동_처리_대기열에_기록하고_다음_레코드를_반영한다() {
+        String customerId = newCustomer();
+        PointGrant canceled = grant(customerId, 500L);
+        String otherCustomerId = newCustomer();
+        PointGrant other = grant(otherCustomerId, 500L);
+        openWal();
+        SpendEntry parked = spend(customerId, "order-1", 300L, canceled.getGrantId());
+        SpendEntry next = spend(otherCustomerId, "order-1", 100L, other.getGrantId());
+        append(parked);
+        long lastLsn = append(next);
+        commandService.cancelPointGrant(canceled.getGrantId());
+
+        PointEngineWriter writer = writer();
+        writer.recover();
+
+        assertThat(writer.appliedLsn()).isEqualTo(lastLsn);
+        assertThat(spendRepository.findById(parked.spendId())).isEmpty();
+        assertThat(deadLetterReason(parked.spendId())).isEqualTo("GRANT_CONFLICT");
+        assertThat(spendRepository.findById(next.spendId())).isPresent();
+        assertThat(balanceRepository.findBalance(otherCustomerId)).contains(400L);
+    }
+
+    @Test
+    void 같은_주문으로_이미_사용했으면_수동_처리_대기열에_기록한다() {
+        String customerId = newCustomer();
+        PointGrant grant = grant(customerId, 1000L);
+        commandService.spendPoint(new PointSpendRequest(customerId, "order-1", 100L));
+        openWal();
+        SpendEntry duplicate = spend(customerId, "order-1", 200L, grant.getGrantId());
+        append(duplicate);
+
+        writer().recover();
+
+        assertThat(spendRepository.findById(duplicate.spendId())).isEmpty();
+        assertThat(deadLetterReason(duplicate.spendId())).isEqualTo("CONSTRAINT_VIOLATION");
+        assertThat(grantRepository.findById(grant.getGrantId()).orElseThrow().getAmountAvailable()).isEqualTo(900L);
+    }
+}
@@ -0,0 +1,183 @@
+package com.pointsystem.point.outbox;
+
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.entity.OutboxStatus;
+import com.pointsystem.point.domain.repository.LedgerOutboxEvent;
+import com.pointsystem.point.domain.repository.PointLedgerOutboxRepository;
+import com.pointsystem.point.service.PointGrantService;
+import com.pointsystem.point.service.PointSpendService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 테스트 트랜잭션 안에서 릴레이를 직접 실행한다. 커밋되지 않은 이벤트는 다른 테스트 컨텍스트의 스케줄 릴레이에 보이지 않는다.
+ */
+@SpringBootTest(properties = {
+        "point.outbox.relay.enabled=false",
+        "point.outbox.relay.batch-size=2",
+        "point.outbox.relay.max-batches-per-run=100000"
+})
+@Transactional
+class LedgerOutboxRelayTest {
+
+    private static final String CUSTOMER_ID = "outbox-customer";
+
+    @Autowired
+    private LedgerOutboxRelay relay;
+    @Autowired
+    private CapturingSink sink;
+    @Autowired
+    private PointGrantService grantService;
+    @Autowired
+    private PointSpendService spendService;
+    @Autowired
+    private PointLedgerOutboxRepository outboxRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        sink.reset();
+    }
+
+    @Test
+    void 원장과_같은_트랜잭션에서_아웃박스_이벤트가_기록된다() {
+        grantService.grantPoint(new PointGrantRequest(CUSTOMER_ID, 1000L, GrantType.SYSTEM, null));
+        spendService.spendPoint(new PointSpendRequest(CUSTOMER_ID, "order-outbox-1", 300L));
+
+        List<LedgerOutboxEvent> pending = pendingEvents();
+
+        assertThat(pending).extracting(LedgerOutboxEvent::eventType)
+                .containsExactlyInAnyOrder(LedgerEventType.GRANT, LedgerEventType.SPEND);
+        assertThat(pending).allSatisfy(event -> assertThat(event.payload())
+                .contains("\"ledgerId\":\"" + event.ledgerId() + "\"")
+                .contains("\"customerId\":\"" + CUSTOMER_ID + "\""));
+    }
+
+    @Test
+    void 릴레이는_배치_단위로_전달하고_전달_완료로_표시한다() {
+        grantService.grantPoint(new PointGrantRequest(CUSTOMER_ID, 1000L, GrantType.SYSTEM, null));
+        grantService.grantPoint(new PointGrantRequest(CUSTOMER_ID, 500L, GrantType.SYSTEM, null));
+        spendService.spendPoint(new PointSpendRequest(CUSTOMER_ID, "order-outbox-1", 300L));
+
+        relay.relayPending();
+
+        assertThat(sink.published()).filteredOn(event -> CUSTOMER_ID.equals(event.customerId())).hasSize(3);
+        assertThat(sink.batchSizes()).allMatch(size -> size <= 2);
+        assertThat(pendingEvents()).isEmpty();
+
+        sink.reset();
+        relay.relayPending();
+        assertThat(sink.published()).noneMatch(event -> CUSTOMER_ID.equals(event.customerId()));
+    }
+
+    @Test
+    void 싱크_전달이_실패하면_전달_대기로_남고_다음_실행에서_전달된다() {
+        grantService.grantPoint(new PointGrantRequest(CUSTOMER_ID, 1000L, GrantType.SYSTEM, null));
+        sink.failNext();
+
+        relay.relayPending();
+        assertThat(pendingEvents()).hasSize(1);
+
+        relay.relayPending();
+        assertThat(sink.published()).filteredOn(event -> CUSTOMER_ID.equals(event.customerId())).hasSize(1);
+        assertThat(pendingEvents()).isEmpty();
+    }
+
+    @Test
+    void 다른_릴레이가_선점한_이벤트는_lease_가_끝날_때까지_전달하지_않는다() {
+        grantService.grantPoint(new PointGrantRequest(CUSTOMER_ID, 1000L, GrantType.SYSTEM, null));
+        grantService.grantPoint(new PointGrantRequest(CUSTOMER_ID, 500L, GrantType.SYSTEM, null));
+        List<String> outboxIds = pendingEvents().stream().map(LedgerOutboxEvent::outboxId).toList();
+        Instant now = Instant.now();
+        // 다른 인스턴스가 첫 이벤트를 선점해 전달 중인 상황
+        outboxRepository.claim(List.of(outboxIds.getFirst()), OutboxStatus.PENDING, "other-relay", now.plusSeconds(60), now);
+
+        relay.relayPending();
+
+        assertThat(sink.published()).filteredOn(event -> CUSTOMER_ID.equals(event.customerId()))
+                .extracting(LedgerOutboxEvent::outboxId)
+                .containsExactly(outboxIds.get(1));
+        assertThat(pendingEvents()).extracting(LedgerOutboxEvent::outboxId).containsExactly(outboxIds.getFirst());
+
+        // lease 가 끝나면 다시 선점해 전달한다.
+        outboxRepository.claim(List.of(outboxIds.getFirst()), OutboxStatus.PENDING, "other-relay", now.minusSeconds(1), now.plusSeconds(120));
+        relay.relayPending();
+
+        assertThat(pendingEvents()).isEmpty();
+    }
+
+    private List<LedgerOutboxEvent> pendingEvents() {
+        // JdbcTemplate 조회는 Hibernate 자동 flush 를 거치지 않으므로 아직 쓰이지 않은 아웃박스 행을 먼저 내린다.
+        entityManager.flush();
+        return jdbcTemplate.query("SELECT outbox_id, ledger_id, customer_id, event_type, payload FROM point_ledger_outbox " +
+                        "WHERE status = ? AND customer_id = ? ORDER BY outbox_id",
+                (rs, rowNum) -> new LedgerOutboxEvent(rs.getString("outbox_id"), rs.getString("ledger_id"),
+                        rs.getString("customer_id"), LedgerEventType.valueOf(rs.getString("event_type")), rs.getString("payload")),
+                OutboxStatus.PENDING.name(), CUSTOMER_ID);
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        @Primary
+        CapturingSink capturingSink() {
+            return new CapturingSink();
+        }
+    }
+
+    static class CapturingSink implements LedgerEventSink {
+
+        private final List<LedgerOutboxEvent> published = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private boolean failNext;
+
+        @Override
+        public void publish(List<LedgerOutboxEvent> events) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("싱크 장애");
+            }
+            published.addAll(events);
+            batchSizes.add(events.size());
+        }
+
+        void failNext() {
+            failNext = true;
+        }
+
+        void reset() {
+            published.clear();
+            batchSizes.clear();
+            failNext = false;
+        }
+
+        List<LedgerOutboxEvent> published() {
+            return published;
+        }
+
+        List<Integer> batchSizes() {
+            return batchSizes;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.point.controller.dto.PointBalanceResponse;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커밋 이후 캐시 무효화를 확인해야 하므로 테스트 트랜잭션을 사용하지 않고 테스트마다 다른 고객을 사용한다.
+ */
+@SpringBootTest
+class PointBalanceQueryServiceTest {
+
+    @Autowired
+    private PointBalanceQueryService balanceQueryService;
+    @Autowired
+    private PointGrantService grantService;
+    @Autowired
+    private PointSpendService spendService;
+    @Autowired
+    private PointGrantRepository grantRepository;
+
+    private String newCustomer() {
+        return "balance-" + UUID.randomUUID();
+    }
+
+    private PointGrant grant(String customerId, long amount, GrantType type, long expireDays) {
+        return grantService.grantPoint(new PointGrantRequest(
+                customerId, amount, type, Instant.now().plus(expireDays, ChronoUnit.DAYS)));
+    }
+
+    @Nested
+    class getBalance_테스트 {
+
+        @Test
+        void 적립_타입별_잔액과_만료_임박_금액을_집계한다() {
+            String customerId = newCustomer();
+            grant(customerId, 1000L, GrantType.MANUAL, 5);
+            grant(customerId, 2000L, GrantType.SYSTEM, 20);
+            grant(customerId, 3000L, GrantType.SYSTEM, 60);
+            grant(customerId, 4000L, GrantType.SYSTEM, 200);
+
+            PointBalanceResponse response = balanceQueryService.getBalance(customerId);
+
+            assertThat(response.available()).isEqualTo(10000L);
+            assertThat(response.byGrantType())
+                    .containsEntry(GrantType.MANUAL, 1000L)
+                    .containsEntry(GrantType.SYSTEM, 9000L)
+                    .containsEntry(GrantType.RESTORE, 0L);
+            assertThat(response.expiring().within7Days()).isEqualTo(1000L);
+            assertThat(response.expiring().within30Days()).isEqualTo(3000L);
+            assertThat(response.expiring().within90Days()).isEqualTo(6000L);
+        }
+
+        @Test
+        void 적립이_없으면_0을_반환한다() {
+            PointBalanceResponse response = balanceQueryService.getBalance(newCustomer());
+
+            assertThat(response.available()).isZero();
+            assertThat(response.expiring().within90Days()).isZero();
+        }
+    }
+
+    @Nested
+    class 캐시_테스트 {
+
+        @Test
+        void 잔액_변경이_없으면_캐시된_값을_반환한다() {
+            String customerId = newCustomer();
+            PointGrant grant = grant(customerId, 1000L, GrantType.SYSTEM, 100);
+            PointBalanceResponse first = balanceQueryService.getBalance(customerId);
+
+            // 서비스를 거치지 않은 변경은 무효화되지 않는다.
+            grant.debit(300L);
+            grantRepository.save(grant);
+
+            assertThat(balanceQueryService.getBalance(customerId)).isSameAs(first);
+        }
+
+        @Test
+        void 사용_커밋_후에는_다시_계산한다() {
+            String customerId = newCustomer();
+            grant(customerId, 1000L, GrantType.SYSTEM, 100);
+            balanceQueryService.getBalance(customerId);
+
+            spendService.spendPoint(new PointSpendRequest(customerId, "order-001", 400L));
+
+            assertThat(balanceQueryService.getBalance(customerId).available()).isEqualTo(600L);
+        }
+
+        @Test
+        void 적립_커밋_후에는_다시_계산한다() {
+            String customerId = newCustomer();
+            grant(customerId, 1000L, GrantType.SYSTEM, 100);
+            balanceQueryService.getBalance(customerId);
+
+            grant(customerId, 500L, GrantType.MANUAL, 100);
+
+            PointBalanceResponse response = balanceQueryService.getBalance(customerId);
+            assertThat(response.available()).isEqualTo(1500L);
+            assertThat(response.byGrantType()).containsEntry(GrantType.MANUAL, 500L);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.PointSpend;
+import com.pointsystem.point.domain.repository.PointBalanceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "point.balance.reconciliation.fix-drift=true")
+@Transactional
+class PointBalanceServiceTest {
+
+    private static final String CUSTOMER_ID = "balance-customer";
+    @Autowired
+    private PointGrantService grantService;
+    @Autowired
+    private PointSpendService spendService;
+    @Autowired
+    private PointBalanceReconciliationService reconciliationService;
+    @Autowired
+    private PointBalanceRepository balanceRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private PointGrant createGrant(long amount) {
+        return grantService.grantPoint(
+                new PointGrantRequest(CUSTOMER_ID, amount, GrantType.SYSTEM, null));
+    }
+
+    private long projectedBalance() {
+        return balanceRepository.findBalance(CUSTOMER_ID).orElseThrow();
+    }
+
+    @Nested
+    class 프로젝션_갱신_테스트 {
+
+        @Test
+        void 적립시_잔액이_증가한다() {
+            createGrant(1000L);
+            createGrant(500L);
+
+            assertThat(projectedBalance()).isEqualTo(1500L);
+        }
+
+        @Test
+        void 적립_취소시_잔액이_감소한다() {
+            createGrant(1000L);
+            PointGrant grant = createGrant(500L);
+
+            grantService.cancelPointGrant(grant.getGrantId());
+
+            assertThat(projectedBalance()).isEqualTo(1000L);
+        }
+
+        @Test
+        void 사용과_사용취소가_잔액에_반영된다() {
+            createGrant(1000L);
+            PointSpend spend = spendService.spendPoint(
+                    new PointSpendRequest(CUSTOMER_ID, "order-001", 700L));
+            assertThat(projectedBalance()).isEqualTo(300L);
+
+            spendService.cancelSpend(spend.getSpendId(), 200L);
+
+            assertThat(projectedBalance()).isEqualTo(500L);
+        }
+
+        @Test
+        void 만료_적립의_사용취소는_복원_적립으로_반영된다() {
+            PointGrant grant = createGrant(1000L);
+            PointSpend spend = spendService.spendPoint(
+                    new PointSpendRequest(CUSTOMER_ID, "order-001", 600L));
+
+            entityManager.createNativeQuery(
+                            "UPDATE point_grant SET expires_at = :expiredAt WHERE grant_id = :grantId")
+                    .setParameter("expiredAt", Instant.now().minus(1, ChronoUnit.DAYS))
+                    .setParameter("grantId", grant.getGrantId())
+                    .executeUpdate();
+            entityManager.flush();
+            entityManager.clear();
+
+            spendService.cancelSpend(spend.getSpendId(), 600L);
+
+            // 만료된 원 적립 잔액(400)은 만료 정리 전까지 프로젝션에 남아 있다.
+            assertThat(projectedBalance()).isEqualTo(1000L);
+        }
+    }
+
+    @Nested
+    class 정합성_점검_테스트 {
+
+        @Test
+        void 불일치가_없으면_0을_반환한다() {
+            createGrant(1000L);
+
+            assertThat(reconciliationService.reconcile()).isZero();
+        }
+
+        @Test
+        void 잔액이_같으면_127보다_큰_값이어도_잠그고_다시_비교하지_않는다() {
+            createGrant(1000L);
+            double rechecksBefore = rechecks();
+
+            assertThat(reconciliationService.reconcile()).isZero();
+
+            assertThat(rechecks()).isEqualTo(rechecksBefore);
+        }
+
+        @Test
+        void 불일치를_탐지하고_보정한다() {
+            createGrant(1000L);
+            balanceRepository.overwriteBalance(CUSTOMER_ID, 99L, Instant.now());
+
+            int drifted = reconciliationService.reconcile();
+
+            assertThat(drifted).isEqualTo(1);
+            assertThat(projectedBalance()).isEqualTo(1000L);
+        }
+
+        private double rechecks() {
+            return meterRegistry.get("point.balance.reconciliation.rechecks").counter().count();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.controller.dto.PointBulkGrantItemResult;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.repository.PointBalanceRepository;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.domain.repository.PointLedgerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 청크 롤백과 건별 재처리는 실제 커밋이 필요하므로 해당 테스트만 테스트 트랜잭션 없이 고객을 새로 만들어 쓴다.
+ */
+@SpringBootTest(properties = "point.grant.bulk.chunk-size=3")
+class PointBulkGrantServiceTest {
+
+    @Autowired
+    private PointBulkGrantService bulkGrantService;
+    @Autowired
+    private PointGrantService grantService;
+    @Autowired
+    private PointGrantRepository grantRepository;
+    @Autowired
+    private PointLedgerRepository ledgerRepository;
+    @Autowired
+    private PointBalanceRepository balanceRepository;
+
+    private PointGrantRequest request(String customerId, long amount) {
+        return new PointGrantRequest(customerId, amount, GrantType.SYSTEM, null);
+    }
+
+    @Test
+    @Transactional
+    void 모든_건이_적립되고_원장과_잔액이_반영된다() {
+        List<PointGrantRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            requests.add(request("bulk-" + (i % 2), 1000L));
+        }
+
+        List<PointBulkGrantItemResult> results = bulkGrantService.grantPoints(requests);
+
+        assertThat(results).hasSize(7).allMatch(PointBulkGrantItemResult::success);
+        PointGrant grant = grantRepository.findById(results.get(0).grantId()).orElseThrow();
+        assertThat(grant.getAmountTotal()).isEqualTo(1000L);
+        assertThat(ledgerRepository.findByCustomerIdOrderByCreatedAtDesc("bulk-0"))
+                .hasSize(4)
+                .allMatch(l -> l.getEventType() == LedgerEventType.GRANT);
+        assertThat(balanceRepository.findBalance("bulk-0")).contains(4000L);
+        assertThat(balanceRepository.findBalance("bulk-1")).contains(3000L);
+    }
+
+    @Test
+    @Transactional
+    void 일부_건이_실패해도_나머지는_적립된다() {
+        List<PointGrantRequest> requests = List.of(
+                request("bulk-0", 1000L),
+                request("bulk-1", 0L),
+                request("bulk-2", 1000L)
+        );
+
+        List<PointBulkGrantItemResult> results = bulkGrantService.grantPoints(requests);
+
+        assertThat(results.get(0).success()).isTrue();
+        assertThat(results.get(1).success()).isFalse();
+        assertThat(results.get(1).errorCode()).isEqualTo(ErrorCode.GRANT_AMOUNT_OUT_OF_RANGE.getCode());
+        assertThat(results.get(2).success()).isTrue();
+    }
+
+    @Test
+    @Transactional
+    void 같은_청크_안의_누적_금액으로_보유_한도를_검증한다() {
+        // 기존 적립 900,000 + 청크 내 100,000 까지만 허용
+        for (int i = 0; i < 9; i++) {
+            grantService.grantPoint(request("bulk-limit", 100_000L));
+        }
+
+        List<PointBulkGrantItemResult> results = bulkGrantService.grantPoints(List.of(
+                request("bulk-limit", 60_000L),
+                request("bulk-limit", 40_000L),
+                request("bulk-limit", 1L)
+        ));
+
+        assertThat(results.get(0).success()).isTrue();
+        assertThat(results.get(1).success()).isTrue();
+        assertThat(results.get(2).success()).isFalse();
+        assertThat(results.get(2).errorCode()).isEqualTo(ErrorCode.GRANT_BALANCE_LIMIT_EXCEEDED.getCode());
+    }
+
+    @Test
+    void 청크가_롤백되면_건별로_다시_처리해_나머지는_커밋된다() {
+        String customerA = "bulk-" + UUID.randomUUID();
+        String customerB = "bulk-" + UUID.randomUUID();
+        // 컬럼 길이를 넘는 고객 ID 는 검증을 통과한 뒤 INSERT 에서 실패해 첫 청크 전체를 롤백시킨다.
+        String tooLong = "x".repeat(51);
+
+        List<PointBulkGrantItemResult> results = bulkGrantService.grantPoints(List.of(
+                request(customerA, 1000L),
+                request(tooLong, 1000L),
+                request(customerB, 1000L),
+                request(customerA, 500L)
+        ));
+
+        assertThat(results.get(0).success()).isTrue();
+        assertThat(results.get(1).success()).isFalse();
+        assertThat(results.get(1).errorCode()).isEqualTo("INTERNAL_ERROR");
+        assertThat(results.get(2).success()).isTrue();
+        assertThat(results.get(3).success()).isTrue();
+        assertThat(grantRepository.findAllById(List.of(results.get(0).grantId(), results.get(2).grantId(), results.get(3).grantId())))
+                .hasSize(3);
+        assertThat(ledgerRepository.findByCustomerIdOrderByCreatedAtDesc(customerA)).hasSize(2);
+        assertThat(balanceRepository.findBalance(customerA)).contains(1500L);
+        assertThat(balanceRepository.findBalance(customerB)).contains(1000L);
+    }
+}
@@ -0,0 +1,192 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.controller.dto.PointBulkSpendCancelItemResult;
+import com.pointsystem.point.controller.dto.PointBulkSpendCancelRequest;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.domain.entity.*;
+import com.pointsystem.point.domain.repository.PointBalanceRepository;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.domain.repository.PointLedgerRepository;
+import com.pointsystem.point.domain.repository.PointSpendRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 청크 롤백과 건별 재처리는 실제 커밋이 필요하므로 해당 테스트만 테스트 트랜잭션 없이 고객을 새로 만들어 쓴다.
+ */
+@SpringBootTest(properties = "point.spend.bulk-cancel.chunk-size=2")
+class PointBulkSpendCancelServiceTest {
+
+    @Autowired
+    private PointBulkSpendCancelService bulkSpendCancelService;
+    @Autowired
+    private PointGrantService grantService;
+    @Autowired
+    private PointSpendService spendService;
+    @Autowired
+    private PointGrantRepository grantRepository;
+    @Autowired
+    private PointSpendRepository spendRepository;
+    @Autowired
+    private PointLedgerRepository ledgerRepository;
+    @Autowired
+    private PointBalanceRepository balanceRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private PointGrant grant(String customerId, long amount) {
+        return grantService.grantPoint(new PointGrantRequest(customerId, amount, GrantType.SYSTEM, null));
+    }
+
+    private PointSpend spend(String customerId, String orderId, long amount) {
+        return spendService.spendPoint(new PointSpendRequest(customerId, orderId, amount));
+    }
+
+    private PointBulkSpendCancelRequest.Item item(PointSpend spend, long cancelAmount) {
+        return new PointBulkSpendCancelRequest.Item(spend.getSpendId(), cancelAmount);
+    }
+
+    @Test
+    @Transactional
+    void 여러_고객의_사용건을_취소하고_원장과_잔액이_반영된다() {
+        grant("bulk-cancel-0", 1000L);
+        grant("bulk-cancel-1", 1000L);
+        PointSpend spendA = spend("bulk-cancel-0", "order-a", 300L);
+        PointSpend spendB = spend("bulk-cancel-0", "order-b", 200L);
+        PointSpend spendC = spend("bulk-cancel-1", "order-c", 500L);
+
+        List<PointBulkSpendCancelItemResult> results = bulkSpendCancelService.cancelSpends(List.of(
+                item(spendC, 500L),
+                item(spendA, 300L),
+                item(spendB, 50L)
+        ));
+
+        assertThat(results).hasSize(3).allMatch(PointBulkSpendCancelItemResult::success);
+        assertThat(results).extracting(PointBulkSpendCancelItemResult::index).containsExactly(0, 1, 2);
+        assertThat(results.get(2).restoredToOriginalGrants()).isEqualTo(50L);
+
+        assertThat(spendRepository.findById(spendA.getSpendId()).orElseThrow().getStatus()).isEqualTo(SpendStatus.CANCELED);
+        assertThat(spendRepository.findById(spendB.getSpendId()).orElseThrow().getStatus()).isEqualTo(SpendStatus.PARTIALLY_CANCELED);
+        assertThat(balanceRepository.findBalance("bulk-cancel-0")).contains(850L);
+        assertThat(balanceRepository.findBalance("bulk-cancel-1")).contains(1000L);
+        assertThat(ledgerRepository.findByCustomerIdOrderByCreatedAtDesc("bulk-cancel-0"))
+                .filteredOn(l -> l.getEventType() == LedgerEventType.SPEND_CANCEL)
+                .hasSize(2);
+    }
+
+    @Test
+    @Transactional
+    void 일부_건이_실패해도_나머지는_취소된다() {
+        grant("bulk-cancel-0", 1000L);
+        PointSpend spend = spend("bulk-cancel-0", "order-a", 300L);
+
+        List<PointBulkSpendCancelItemResult> results = bulkSpendCancelService.cancelSpends(List.of(
+                item(spend, 100L),
+                new PointBulkSpendCancelRequest.Item("unknown-spend", 100L),
+                item(spend, 500L),
+                item(spend, 200L)
+        ));
+
+        assertThat(results.get(0).success()).isTrue();
+        assertThat(results.get(1).errorCode()).isEqualTo(ErrorCode.SPEND_NOT_FOUND.getCode());
+        assertThat(results.get(2).errorCode()).isEqualTo(ErrorCode.SPEND_CANCEL_AMOUNT_INVALID.getCode());
+        // 같은 사용건의 앞선 취소가 반영된 상태에서 남은 200원을 취소한다.
+        assertThat(results.get(3).success()).isTrue();
+        assertThat(spendRepository.findById(spend.getSpendId()).orElseThrow().getStatus()).isEqualTo(SpendStatus.CANCELED);
+    }
+
+    @Test
+    @Transactional
+    void 만료된_적립분은_취소_건마다_RESTORE_적립_한_건으로_복원된다() {
+        PointGrant grantA = grant("bulk-cancel-0", 500L);
+        PointGrant grantB = grant("bulk-cancel-0", 500L);
+        PointSpend spend = spend("bulk-cancel-0", "order-a", 1000L);
+        for (PointGrant grant : List.of(grantA, grantB)) {
+            entityManager.createNativeQuery(
+                            "UPDATE point_grant SET expires_at = :expiredAt WHERE grant_id = :grantId")
+                    .setParameter("expiredAt", Instant.now().minus(1, ChronoUnit.DAYS))
+                    .setParameter("grantId", grant.getGrantId())
+                    .executeUpdate();
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<PointBulkSpendCancelItemResult> results = bulkSpendCancelService.cancelSpends(List.of(item(spend, 1000L)));
+
+        PointBulkSpendCancelItemResult result = results.getFirst();
+        assertThat(result.success()).isTrue();
+        assertThat(result.restoredAsNewGrants()).isEqualTo(1000L);
+        PointGrant restoreGrant = grantRepository.findById(result.restoreGrantId()).orElseThrow();
+        assertThat(restoreGrant.getGrantType()).isEqualTo(GrantType.RESTORE);
+        assertThat(restoreGrant.getAmountTotal()).isEqualTo(1000L);
+        assertThat(ledgerRepository.findByCustomerIdOrderByCreatedAtDesc("bulk-cancel-0"))
+                .filteredOn(l -> l.getEventType() == LedgerEventType.RESTORE_GRANT)
+                .hasSize(1);
+    }
+
+    @Test
+    void 청크가_롤백되면_건별로_다시_처리해_나머지는_커밋된다() {
+        // 고객 ID 순으로 청크가 나뉘도록 같은 접두어를 쓴다: [A, B] / [C]
+        String prefix = "bc-" + UUID.randomUUID();
+        String customerA = prefix + "-a";
+        String customerB = prefix + "-b";
+        String customerC = prefix + "-c";
+        for (String customerId : List.of(customerA, customerB, customerC)) {
+            grant(customerId, 1000L);
+        }
+        PointSpend spendA = spend(customerA, "order-a", 300L);
+        PointSpend spendB = spend(customerB, "order-b", 300L);
+        PointSpend spendC = spend(customerC, "order-c", 300L);
+        // A 의 잔액 프로젝션을 BIGINT 상한 근처로 두어 잔액 증가 UPDATE 가 검증을 통과한 뒤 DB 에서 실패하게 한다.
+        long nearMax = Long.MAX_VALUE - 100L;
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("DELETE FROM point_balance WHERE customer_id = :customerId")
+                    .setParameter("customerId", customerA)
+                    .executeUpdate();
+            entityManager.createNativeQuery(
+                            "INSERT INTO point_balance (customer_id, balance, updated_at) VALUES (:customerId, :balance, :now)")
+                    .setParameter("customerId", customerA)
+                    .setParameter("balance", nearMax)
+                    .setParameter("now", Instant.now())
+                    .executeUpdate();
+        });
+
+        List<PointBulkSpendCancelItemResult> results = bulkSpendCancelService.cancelSpends(List.of(
+                item(spendC, 300L),
+                item(spendA, 300L),
+                item(spendB, 300L)
+        ));
+
+        assertThat(results.get(0).success()).isTrue();
+        assertThat(results.get(1).success()).isFalse();
+        assertThat(results.get(1).errorCode()).isEqualTo("INTERNAL_ERROR");
+        // 첫 청크는 롤백된 뒤 B 만 건별로 다시 취소되고, 다른 청크의 C 는 청크 트랜잭션으로 커밋된다.
+        assertThat(results.get(2).success()).isTrue();
+        assertThat(spendRepository.findById(spendA.getSpendId()).orElseThrow().getStatus()).isEqualTo(SpendStatus.USED);
+        assertThat(spendRepository.findById(spendB.getSpendId()).orElseThrow().getStatus()).isEqualTo(SpendStatus.CANCELED);
+        assertThat(spendRepository.findById(spendC.getSpendId()).orElseThrow().getStatus()).isEqualTo(SpendStatus.CANCELED);
+        assertThat(balanceRepository.findBalance(customerA)).contains(nearMax);
+        assertThat(ledgerRepository.findByCustomerIdOrderByCreatedAtDesc(customerA))
+                .noneMatch(l -> l.getEventType() == LedgerEventType.SPEND_CANCEL);
+        for (String customerId : List.of(customerB, customerC)) {
+            assertThat(ledgerRepository.findByCustomerIdOrderByCreatedAtDesc(customerId))
+                    .filteredOn(l -> l.getEventType() == LedgerEventType.SPEND_CANCEL)
+                    .hasSize(1);
+        }
+    }
+}
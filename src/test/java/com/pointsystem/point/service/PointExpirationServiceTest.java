@@ -0,0 +1,107 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.domain.entity.*;
+import com.pointsystem.point.domain.repository.PointBalanceRepository;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.domain.repository.PointLedgerRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "point.expiration.chunk-size=2")
+@Transactional
+class PointExpirationServiceTest {
+
+    private static final String CUSTOMER_ID = "expire-customer";
+    @Autowired
+    private PointExpirationService expirationService;
+    @Autowired
+    private PointGrantService grantService;
+    @Autowired
+    private PointSpendService spendService;
+    @Autowired
+    private PointGrantRepository grantRepository;
+    @Autowired
+    private PointLedgerRepository ledgerRepository;
+    @Autowired
+    private PointBalanceRepository balanceRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private PointGrant createGrant(long amount) {
+        return grantService.grantPoint(new PointGrantRequest(CUSTOMER_ID, amount, GrantType.SYSTEM, null));
+    }
+
+    private void forceExpire(PointGrant grant) {
+        entityManager.createNativeQuery(
+                        "UPDATE point_grant SET expires_at = :expiredAt WHERE grant_id = :grantId")
+                .setParameter("expiredAt", Instant.now().minus(1, ChronoUnit.DAYS))
+                .setParameter("grantId", grant.getGrantId())
+                .executeUpdate();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void 만료된_적립을_EXPIRED로_종료하고_소멸_원장을_기록한다() {
+        PointGrant expired1 = createGrant(1000L);
+        PointGrant expired2 = createGrant(700L);
+        PointGrant expired3 = createGrant(300L);
+        PointGrant valid = createGrant(500L);
+        spendService.spendPoint(new PointSpendRequest(CUSTOMER_ID, "order-001", 400L));
+        forceExpire(expired1);
+        forceExpire(expired2);
+        forceExpire(expired3);
+
+        int count = expirationService.expireGrants(Instant.now());
+
+        assertThat(count).isEqualTo(3);
+        assertThat(grantRepository.findById(expired1.getGrantId()).orElseThrow().getStatus()).isEqualTo(GrantStatus.EXPIRED);
+        assertThat(grantRepository.findById(expired1.getGrantId()).orElseThrow().getAmountAvailable()).isZero();
+        assertThat(grantRepository.findById(valid.getGrantId()).orElseThrow().getStatus()).isEqualTo(GrantStatus.ACTIVE);
+
+        List<PointLedger> expireLedgers = ledgerRepository.findByCustomerIdOrderByCreatedAtDesc(CUSTOMER_ID).stream()
+                .filter(l -> l.getEventType() == LedgerEventType.EXPIRE)
+                .toList();
+        assertThat(expireLedgers).extracting(PointLedger::getAmount)
+                .containsExactlyInAnyOrder(-600L, -700L, -300L);
+
+        assertThat(balanceRepository.findBalance(CUSTOMER_ID)).contains(500L);
+    }
+
+    @Test
+    void 만료_처리된_적립은_다시_처리하지_않는다() {
+        PointGrant grant = createGrant(1000L);
+        forceExpire(grant);
+        expirationService.expireGrants(Instant.now());
+
+        int count = expirationService.expireGrants(Instant.now());
+
+        assertThat(count).isZero();
+    }
+
+    @Test
+    void 만료_처리된_적립은_취소할_수_없다() {
+        PointGrant grant = createGrant(1000L);
+        forceExpire(grant);
+        expirationService.expireGrants(Instant.now());
+
+        assertThatThrownBy(() -> grantService.cancelPointGrant(grant.getGrantId()))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(e -> assertThat(((BusinessException) e).getErrorCode())
+                        .isEqualTo(ErrorCode.GRANT_ALREADY_EXPIRED));
+    }
+}
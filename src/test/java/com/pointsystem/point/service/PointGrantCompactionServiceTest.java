@@ -0,0 +1,186 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendCancelResult;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.domain.entity.*;
+import com.pointsystem.point.domain.repository.PointGrantRepository;
+import com.pointsystem.point.domain.repository.PointJobStateRepository;
+import com.pointsystem.point.domain.repository.PointLedgerRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "point.compaction.min-grants=2",
+        "point.compaction.max-customers-per-second=0"
+})
+@Transactional
+class PointGrantCompactionServiceTest {
+
+    private static final String CUSTOMER_ID = "compaction-customer";
+    private static final Instant EXPIRY_DAY = Instant.now().plus(10, ChronoUnit.DAYS).truncatedTo(ChronoUnit.DAYS);
+
+    @Autowired
+    private PointGrantCompactionService compactionService;
+    @Autowired
+    private PointGrantService grantService;
+    @Autowired
+    private PointSpendService spendService;
+    @Autowired
+    private PointGrantRepository grantRepository;
+    @Autowired
+    private PointLedgerRepository ledgerRepository;
+    @Autowired
+    private PointJobStateRepository jobStateRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private PointGrant grant(GrantType type, long amount, int expiryHour) {
+        return grantService.grantPoint(new PointGrantRequest(
+                CUSTOMER_ID, amount, type, EXPIRY_DAY.plus(expiryHour, ChronoUnit.HOURS)));
+    }
+
+    private void use(PointGrant grant, long amount) {
+        grant.debit(amount);
+        grantRepository.save(grant);
+    }
+
+    private PointGrant reload(PointGrant grant) {
+        return grantRepository.findById(grant.getGrantId()).orElseThrow();
+    }
+
+    private PointJobState jobState() {
+        return jobStateRepository.findById(PointGrantCompactionService.JOB_NAME).orElseThrow();
+    }
+
+    @Nested
+    class compact_테스트 {
+
+        @Test
+        void 같은_타입과_만료일의_일부_사용된_적립을_하나로_병합한다() {
+            PointGrant first = grant(GrantType.SYSTEM, 1000L, 3);
+            PointGrant second = grant(GrantType.SYSTEM, 1000L, 1);
+            PointGrant third = grant(GrantType.SYSTEM, 1000L, 2);
+            use(first, 100L);
+            use(second, 100L);
+            use(third, 100L);
+
+            int compacted = compactionService.compact(Instant.now());
+            entityManager.flush();
+            entityManager.clear();
+
+            assertThat(compacted).isGreaterThanOrEqualTo(3);
+            PointGrant source = reload(first);
+            assertThat(source.getStatus()).isEqualTo(GrantStatus.COMPACTED);
+            assertThat(source.getAmountAvailable()).isZero();
+
+            PointGrant successor = grantRepository.findById(source.getMergedIntoGrantId()).orElseThrow();
+            assertThat(successor.getStatus()).isEqualTo(GrantStatus.ACTIVE);
+            assertThat(successor.getGrantType()).isEqualTo(GrantType.SYSTEM);
+            assertThat(successor.getAmountTotal()).isEqualTo(3000L);
+            assertThat(successor.getAmountAvailable()).isEqualTo(2700L);
+            assertThat(successor.getExpiresAt()).isEqualTo(EXPIRY_DAY.plus(1, ChronoUnit.HOURS));
+            assertThat(successor.isCancelable()).isFalse();
+            assertThat(reload(second).getMergedIntoGrantId()).isEqualTo(successor.getGrantId());
+            assertThat(reload(third).getMergedIntoGrantId()).isEqualTo(successor.getGrantId());
+
+            assertThat(grantRepository.calculateAvailableBalance(CUSTOMER_ID, GrantStatus.ACTIVE, Instant.now()))
+                    .isEqualTo(2700L);
+            List<PointLedger> ledgers = ledgerRepository.findByCustomerIdOrderByCreatedAtDesc(CUSTOMER_ID);
+            assertThat(ledgers.getFirst().getEventType()).isEqualTo(LedgerEventType.COMPACT);
+            assertThat(ledgers.getFirst().getRefId()).isEqualTo(successor.getGrantId());
+            assertThat(ledgers.getFirst().getAmount()).isZero();
+        }
+
+        @Test
+        void 저장된_진행_위치_다음_고객부터_이어서_처리하고_끝까지_처리하면_처음부터_다시_시작한다() {
+            PointGrant first = grant(GrantType.SYSTEM, 1000L, 1);
+            PointGrant second = grant(GrantType.SYSTEM, 1000L, 2);
+            use(first, 100L);
+            use(second, 100L);
+            // 이전 실행(다른 인스턴스일 수도 있다)이 이 고객까지 처리하고 멈춘 상태
+            jobState().moveTo(CUSTOMER_ID);
+
+            compactionService.compact(Instant.now());
+
+            assertThat(reload(first).getStatus()).isEqualTo(GrantStatus.ACTIVE);
+            assertThat(jobState().getCursor()).isEmpty();
+
+            compactionService.compact(Instant.now());
+            entityManager.flush();
+            entityManager.clear();
+
+            assertThat(reload(first).getStatus()).isEqualTo(GrantStatus.COMPACTED);
+        }
+
+        @Test
+        void 사용되지_않은_적립과_다른_타입의_적립은_병합하지_않는다() {
+            PointGrant used = grant(GrantType.SYSTEM, 1000L, 1);
+            PointGrant unused = grant(GrantType.SYSTEM, 1000L, 2);
+            PointGrant manual = grant(GrantType.MANUAL, 1000L, 3);
+            use(used, 100L);
+            use(manual, 100L);
+
+            int compacted = compactionService.compactCustomer(CUSTOMER_ID, Instant.now());
+
+            assertThat(compacted).isZero();
+            assertThat(reload(used).getStatus()).isEqualTo(GrantStatus.ACTIVE);
+            assertThat(reload(unused).getStatus()).isEqualTo(GrantStatus.ACTIVE);
+            assertThat(reload(manual).getStatus()).isEqualTo(GrantStatus.ACTIVE);
+        }
+
+        @Test
+        void 만료일이_다르면_병합하지_않는다() {
+            PointGrant today = grant(GrantType.SYSTEM, 1000L, 1);
+            PointGrant nextDay = grant(GrantType.SYSTEM, 1000L, 25);
+            use(today, 100L);
+            use(nextDay, 100L);
+
+            int compacted = compactionService.compactCustomer(CUSTOMER_ID, Instant.now());
+
+            assertThat(compacted).isZero();
+        }
+    }
+
+    @Nested
+    class 병합_후_사용취소_테스트 {
+
+        @Test
+        void 병합된_적립에서_사용한_금액은_후속_적립에_복원된다() {
+            PointGrant first = grant(GrantType.SYSTEM, 1000L, 1);
+            PointGrant second = grant(GrantType.SYSTEM, 1000L, 2);
+            PointGrant third = grant(GrantType.SYSTEM, 1000L, 3);
+            // first 1000 전액, second 500 사용
+            PointSpend spend = spendService.spendPoint(new PointSpendRequest(CUSTOMER_ID, "order-001", 1500L));
+            use(third, 100L);
+
+            compactionService.compactCustomer(CUSTOMER_ID, Instant.now());
+            entityManager.flush();
+            entityManager.clear();
+
+            String successorId = reload(second).getMergedIntoGrantId();
+            assertThat(successorId).isNotNull().isEqualTo(reload(third).getMergedIntoGrantId());
+            assertThat(reload(first).getStatus()).isEqualTo(GrantStatus.ACTIVE);
+
+            PointSpendCancelResult result = spendService.cancelSpend(spend.getSpendId(), 1500L);
+            entityManager.flush();
+            entityManager.clear();
+
+            assertThat(result.restoredToOriginalGrants()).isEqualTo(1500L);
+            assertThat(result.newRestoreGrants()).isEmpty();
+            assertThat(reload(first).getAmountAvailable()).isEqualTo(1000L);
+            // 후속 적립: second 500 + third 900 + 복원 500
+            assertThat(grantRepository.findById(successorId).orElseThrow().getAmountAvailable()).isEqualTo(1900L);
+        }
+    }
+}
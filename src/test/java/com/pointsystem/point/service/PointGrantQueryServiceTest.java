@@ -0,0 +1,117 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.controller.dto.PointGrantPageResponse;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointGrantResponse;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Transactional
+@SpringBootTest
+class PointGrantQueryServiceTest {
+
+    private static final String CUSTOMER_ID = "grant-query-customer";
+
+    @Autowired
+    private PointGrantQueryService grantQueryService;
+    @Autowired
+    private PointGrantService grantService;
+    @Autowired
+    private PointSpendService spendService;
+
+    private PointGrant grant(String customerId, long amount) {
+        return grantService.grantPoint(new PointGrantRequest(customerId, amount, GrantType.SYSTEM, null));
+    }
+
+    @Nested
+    class getGrant_테스트 {
+
+        @Test
+        void 적립건의_현재_잔액과_상태를_조회한다() {
+            PointGrant grant = grant(CUSTOMER_ID, 1000L);
+            spendService.spendPoint(new PointSpendRequest(CUSTOMER_ID, "order-1", 300L));
+
+            PointGrantResponse response = grantQueryService.getGrant(grant.getGrantId());
+
+            assertThat(response.grantId()).isEqualTo(grant.getGrantId());
+            assertThat(response.amountTotal()).isEqualTo(1000L);
+            assertThat(response.amountAvailable()).isEqualTo(700L);
+            assertThat(response.status()).isEqualTo(GrantStatus.ACTIVE);
+        }
+
+        @Test
+        void 없는_적립건이면_GRANT_NOT_FOUND_예외가_발생한다() {
+            assertThatThrownBy(() -> grantQueryService.getGrant("unknown-grant"))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(e -> assertThat(((BusinessException) e).getErrorCode())
+                            .isEqualTo(ErrorCode.GRANT_NOT_FOUND));
+        }
+    }
+
+    @Nested
+    class getGrants_테스트 {
+
+        @Test
+        void 커서로_최신순_페이지를_이어서_조회한다() {
+            List<PointGrant> grants = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                grants.add(grant(CUSTOMER_ID, 100L * (i + 1)));
+            }
+            grant("other-customer", 100L);
+
+            List<PointGrantResponse> collected = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                PointGrantPageResponse page = grantQueryService.getGrants(CUSTOMER_ID, null, cursor, 2);
+                collected.addAll(page.grants());
+                cursor = page.nextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertThat(pages).isEqualTo(3);
+            assertThat(collected).extracting(PointGrantResponse::grantId)
+                    .containsExactlyInAnyOrderElementsOf(grants.stream().map(PointGrant::getGrantId).toList());
+            assertThat(collected).isSortedAccordingTo(Comparator
+                    .comparing(PointGrantResponse::createdAt)
+                    .thenComparing(PointGrantResponse::grantId)
+                    .reversed());
+        }
+
+        @Test
+        void 상태로_걸러서_조회한다() {
+            PointGrant canceled = grant(CUSTOMER_ID, 100L);
+            grant(CUSTOMER_ID, 200L);
+            grantService.cancelPointGrant(canceled.getGrantId());
+
+            PointGrantPageResponse page = grantQueryService.getGrants(CUSTOMER_ID, GrantStatus.CANCELED, null, 20);
+
+            assertThat(page.grants()).extracting(PointGrantResponse::grantId).containsExactly(canceled.getGrantId());
+            assertThat(page.hasNext()).isFalse();
+        }
+
+        @Test
+        void 페이지_크기가_범위를_벗어나면_INVALID_INPUT_예외가_발생한다() {
+            assertThatThrownBy(() -> grantQueryService.getGrants(CUSTOMER_ID, null, null, PointGrantQueryService.MAX_PAGE_SIZE + 1))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(e -> assertThat(((BusinessException) e).getErrorCode())
+                            .isEqualTo(ErrorCode.INVALID_INPUT));
+        }
+    }
+}
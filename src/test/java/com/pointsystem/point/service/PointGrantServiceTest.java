@@ -193,4 +193,61 @@ class PointGrantServiceTest {
                             .isEqualTo(ErrorCode.GRANT_ALREADY_USED));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class findGrantsCovering_테스트 {
+
+        private PointGrant grant(long amount, GrantType type, long expireDays) {
+            return grantService.grantPoint(new PointGrantRequest(
+                    CUSTOMER_ID, amount, type, Instant.now().plus(expireDays, ChronoUnit.DAYS)));
+        }
+
+        @Test
+        void 요청_금액을_채우는_적립건까지만_조회한다() {
+            PointGrant first = grant(1000L, GrantType.SYSTEM, 10);
+            PointGrant second = grant(1000L, GrantType.SYSTEM, 20);
+            grant(1000L, GrantType.SYSTEM, 30);
+
+            UsableGrants result = grantService.findGrantsCovering(CUSTOMER_ID, 1500L, Instant.now(), LockStrategy.PESSIMISTIC);
+
+            assertThat(result.totalAvailable()).isEqualTo(2000L);
+            List<PointSpendAllocation> allocations = result.deduct(1500L, Instant.now());
+            assertThat(allocations).extracting(a -> a.getGrant().getGrantId())
+                    .containsExactly(first.getGrantId(), second.getGrantId());
+        }
+
+        @Test
+        void 수기_적립이_만료일과_관계없이_먼저_선택된다() {
+            grant(1000L, GrantType.SYSTEM, 10);
+            PointGrant manual = grant(1000L, GrantType.MANUAL, 300);
+
+            UsableGrants result = grantService.findGrantsCovering(CUSTOMER_ID, 500L, Instant.now(), LockStrategy.OPTIMISTIC);
+
+            assertThat(result.totalAvailable()).isEqualTo(1000L);
+            assertThat(result.deduct(500L, Instant.now()))
+                    .extracting(a -> a.getGrant().getGrantId())
+                    .containsExactly(manual.getGrantId());
+        }
+
+        @Test
+        void 후보를_여러_번_나눠_읽어도_필요한_만큼_조회한다() {
+            for (int i = 0; i < 20; i++) {
+                grant(100L, GrantType.SYSTEM, 10 + i);
+            }
+
+            UsableGrants result = grantService.findGrantsCovering(CUSTOMER_ID, 1500L, Instant.now(), LockStrategy.PESSIMISTIC);
+
+            assertThat(result.totalAvailable()).isEqualTo(1500L);
+        }
+
+        @Test
+        void 잔액이_부족하면_예외가_발생한다() {
+            grant(1000L, GrantType.SYSTEM, 10);
+
+            assertThatThrownBy(() -> grantService.findGrantsCovering(CUSTOMER_ID, 5000L, Instant.now(), LockStrategy.PESSIMISTIC))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(e -> assertThat(((BusinessException) e).getErrorCode())
+                            .isEqualTo(ErrorCode.SPEND_INSUFFICIENT_BALANCE));
+        }
+    }
+}
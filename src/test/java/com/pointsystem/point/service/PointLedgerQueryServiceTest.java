@@ -0,0 +1,107 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.controller.dto.PointLedgerEntryResponse;
+import com.pointsystem.point.controller.dto.PointLedgerPageResponse;
+import com.pointsystem.point.domain.entity.LedgerEventType;
+import com.pointsystem.point.domain.entity.PointLedger;
+import com.pointsystem.point.domain.repository.PointLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Transactional
+@SpringBootTest
+class PointLedgerQueryServiceTest {
+
+    private static final String CUSTOMER_ID = "ledger-customer";
+
+    @Autowired
+    private PointLedgerQueryService ledgerQueryService;
+
+    @Autowired
+    private PointLedgerRepository ledgerRepository;
+
+    @BeforeEach
+    void setUp() {
+        Instant base = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            LedgerEventType type = i % 2 == 0 ? LedgerEventType.GRANT : LedgerEventType.SPEND;
+            ledgerRepository.save(
+                    PointLedger.create(CUSTOMER_ID, type, "ref-" + i, i % 2 == 0 ? 100L : -100L, null, base.plusSeconds(i)));
+        }
+        // 같은 시각의 항목은 ledgerId 로 순서를 정한다.
+        ledgerRepository.save(
+                PointLedger.create(CUSTOMER_ID, LedgerEventType.GRANT, "ref-5", 100L, null, base.plusSeconds(4)));
+        ledgerRepository.save(PointLedger.create("other-customer", LedgerEventType.GRANT, "ref-x", 100L, null, base));
+        ledgerRepository.flush();
+    }
+
+    @Nested
+    class getLedger_테스트 {
+
+        @Test
+        void 커서로_전체_이력을_최신순으로_빠짐없이_조회한다() {
+            List<PointLedgerEntryResponse> all = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                PointLedgerPageResponse page = ledgerQueryService.getLedger(CUSTOMER_ID, null, cursor, 2);
+                all.addAll(page.entries());
+                cursor = page.nextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertThat(pages).isEqualTo(3);
+            assertThat(all).hasSize(6);
+            assertThat(all).extracting(PointLedgerEntryResponse::ledgerId).doesNotHaveDuplicates();
+            assertThat(all).extracting(PointLedgerEntryResponse::createdAt)
+                    .isSortedAccordingTo((a, b) -> b.compareTo(a));
+        }
+
+        @Test
+        void 마지막_페이지는_다음_커서가_없다() {
+            PointLedgerPageResponse page = ledgerQueryService.getLedger(CUSTOMER_ID, null, null, 10);
+
+            assertThat(page.entries()).hasSize(6);
+            assertThat(page.hasNext()).isFalse();
+            assertThat(page.nextCursor()).isNull();
+        }
+
+        @Test
+        void 이벤트_타입으로_필터링한다() {
+            PointLedgerPageResponse page = ledgerQueryService.getLedger(CUSTOMER_ID, LedgerEventType.SPEND, null, 10);
+
+            assertThat(page.entries()).hasSize(2)
+                    .allMatch(e -> e.eventType() == LedgerEventType.SPEND);
+        }
+
+        @Test
+        void 커서_형식이_잘못되면_예외가_발생한다() {
+            assertThatThrownBy(() -> ledgerQueryService.getLedger(CUSTOMER_ID, null, "not-a-cursor", 10))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(e -> assertThat(((BusinessException) e).getErrorCode())
+                            .isEqualTo(ErrorCode.INVALID_INPUT));
+        }
+
+        @Test
+        void 페이지_크기가_범위를_벗어나면_예외가_발생한다() {
+            assertThatThrownBy(() -> ledgerQueryService.getLedger(CUSTOMER_ID, null, null, PointLedgerQueryService.MAX_PAGE_SIZE + 1))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(e -> assertThat(((BusinessException) e).getErrorCode())
+                            .isEqualTo(ErrorCode.INVALID_INPUT));
+        }
+    }
+}
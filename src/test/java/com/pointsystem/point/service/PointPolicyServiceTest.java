@@ -2,15 +2,19 @@ package com.pointsystem.point.service;
 
 import com.pointsystem.point.domain.entity.PointPolicy;
 import com.pointsystem.point.domain.repository.PointPolicyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+@SpringBootTest(properties = "point.policy.cache.refresh-interval-ms=3600000")
 @Transactional
 class PointPolicyServiceTest {
 
@@ -20,12 +24,23 @@ class PointPolicyServiceTest {
     @Autowired
     private PointPolicyRepository policyRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void restoreSnapshot() {
+        // 롤백된 정책이 캐시에 남지 않도록 커밋된 값으로 다시 적재한다.
+        TestTransaction.end();
+        policyService.refresh();
+    }
+
     @Nested
     class getMaxGrantPerTransaction_테스트 {
 
         @Test
         void DB에_값이_있으면_해당_값을_반환한다() {
             policyRepository.save(new PointPolicy("MAX_GRANT_PER_TRANSACTION", "50000"));
+            policyService.refresh();
 
             long result = policyService.getMaxGrantPerTransaction();
 
@@ -35,6 +50,7 @@ class PointPolicyServiceTest {
         @Test
         void DB에_값이_없으면_기본값을_반환한다() {
             policyRepository.deleteById("MAX_GRANT_PER_TRANSACTION");
+            policyService.refresh();
 
             long result = policyService.getMaxGrantPerTransaction();
 
@@ -44,6 +60,7 @@ class PointPolicyServiceTest {
         @Test
         void DB_값이_숫자가_아니면_기본값을_반환한다() {
             policyRepository.save(new PointPolicy("MAX_GRANT_PER_TRANSACTION", "abc"));
+            policyService.refresh();
 
             long result = policyService.getMaxGrantPerTransaction();
 
@@ -57,6 +74,7 @@ class PointPolicyServiceTest {
         @Test
         void DB에_값이_있으면_해당_값을_반환한다() {
             policyRepository.save(new PointPolicy("MAX_BALANCE_PER_USER", "3000000"));
+            policyService.refresh();
 
             long result = policyService.getMaxBalancePerUser();
 
@@ -66,6 +84,7 @@ class PointPolicyServiceTest {
         @Test
         void DB에_값이_없으면_기본값을_반환한다() {
             policyRepository.deleteById("MAX_BALANCE_PER_USER");
+            policyService.refresh();
 
             long result = policyService.getMaxBalancePerUser();
 
@@ -75,6 +94,7 @@ class PointPolicyServiceTest {
         @Test
         void DB_값이_숫자가_아니면_기본값을_반환한다() {
             policyRepository.save(new PointPolicy("MAX_BALANCE_PER_USER", "abc"));
+            policyService.refresh();
 
             long result = policyService.getMaxBalancePerUser();
 
@@ -88,6 +108,7 @@ class PointPolicyServiceTest {
         @Test
         void DB에_값이_있으면_해당_값을_반환한다() {
             policyRepository.save(new PointPolicy("DEFAULT_EXPIRE_DAYS", "180"));
+            policyService.refresh();
 
             long result = policyService.getDefaultExpireDays();
 
@@ -97,6 +118,7 @@ class PointPolicyServiceTest {
         @Test
         void DB에_값이_없으면_기본값을_반환한다() {
             policyRepository.deleteById("DEFAULT_EXPIRE_DAYS");
+            policyService.refresh();
 
             long result = policyService.getDefaultExpireDays();
 
@@ -106,10 +128,62 @@ class PointPolicyServiceTest {
         @Test
         void DB_값이_숫자가_아니면_기본값을_반환한다() {
             policyRepository.save(new PointPolicy("DEFAULT_EXPIRE_DAYS", "abc"));
+            policyService.refresh();
 
             long result = policyService.getDefaultExpireDays();
 
             assertThat(result).isEqualTo(PointPolicyService.DEFAULT_EXPIRE_DAYS);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class 캐시_테스트 {
+
+        @Test
+        void 갱신_전까지는_스냅샷_값을_반환한다() {
+            policyService.refresh();
+            long before = policyService.getMaxGrantPerTransaction();
+
+            policyRepository.save(new PointPolicy("MAX_GRANT_PER_TRANSACTION", "777"));
+
+            assertThat(policyService.getMaxGrantPerTransaction()).isEqualTo(before);
+        }
+
+        @Test
+        void 무효화하면_다음_조회시_다시_적재한다() {
+            policyRepository.save(new PointPolicy("MAX_GRANT_PER_TRANSACTION", "777"));
+            policyRepository.flush();
+
+            policyService.invalidate();
+
+            assertThat(policyService.getMaxGrantPerTransaction()).isEqualTo(777L);
+        }
+
+        @Test
+        void 키별_적중_미적중_횟수를_집계한다() {
+            policyRepository.deleteById("DEFAULT_EXPIRE_DAYS");
+            policyService.refresh();
+            double hitsBefore = hitsOf("MAX_GRANT_PER_TRANSACTION");
+            double missesBefore = missesOf("DEFAULT_EXPIRE_DAYS");
+
+            policyService.getMaxGrantPerTransaction();
+            policyService.getDefaultExpireDays();
+
+            assertThat(hitsOf("MAX_GRANT_PER_TRANSACTION")).isEqualTo(hitsBefore + 1);
+            assertThat(missesOf("DEFAULT_EXPIRE_DAYS")).isEqualTo(missesBefore + 1);
+        }
+
+        private double hitsOf(String key) {
+            return countOf(key, "hit");
+        }
+
+        private double missesOf(String key) {
+            return countOf(key, "miss");
+        }
+
+        private double countOf(String key, String result) {
+            Counter counter = meterRegistry.find("point.policy.cache").tag("key", key).tag("result", result).counter();
+            return counter == null ? 0 : counter.count();
+        }
+    }
+}
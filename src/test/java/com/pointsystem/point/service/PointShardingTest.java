@@ -0,0 +1,214 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.common.shard.ShardRouter;
+import com.pointsystem.common.shard.ShardRoutingDataSource;
+import com.pointsystem.point.controller.PointQueryController;
+import com.pointsystem.point.controller.dto.PointBulkGrantItemResult;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.controller.dto.PointSpendResponse;
+import com.pointsystem.point.domain.entity.GrantStatus;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.SpendStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "point.shard.enabled=true",
+        "point.shard.count=3",
+        "point.shard.datasources[0].jdbc-url=jdbc:h2:mem:points-shard-0;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "point.shard.datasources[0].username=sa",
+        "point.shard.datasources[1].jdbc-url=jdbc:h2:mem:points-shard-1;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "point.shard.datasources[1].username=sa",
+        "point.shard.datasources[2].jdbc-url=jdbc:h2:mem:points-shard-2;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "point.shard.datasources[2].username=sa"
+})
+class PointShardingTest {
+
+    private static final int SHARDS = 3;
+
+    @Autowired
+    private PointCommandService commandService;
+    @Autowired
+    private PointBulkGrantService bulkGrantService;
+    @Autowired
+    private PointExpirationService expirationService;
+    @Autowired
+    private PointQueryController queryController;
+    @Autowired
+    private PointPolicyService policyService;
+    @Autowired
+    private ShardRouter shardRouter;
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 테스트끼리 데이터가 섞이지 않도록 매번 새 고객 ID 를 만들되, 원하는 샤드에 배정되는 것을 고른다.
+     */
+    private String customerIn(int shard) {
+        while (true) {
+            String customerId = "shard-" + UUID.randomUUID();
+            if (shardRouter.shardOf(customerId) == shard) {
+                return customerId;
+            }
+        }
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shardRoutingDataSource.shards().get(shard));
+    }
+
+    private long count(int shard, String table, String customerId) {
+        Long count = jdbc(shard).queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE customer_id = ?", Long.class, customerId);
+        return count == null ? 0 : count;
+    }
+
+    private PointGrant grant(String customerId, long amount) {
+        return commandService.grantPoint(new PointGrantRequest(customerId, amount, GrantType.MANUAL, null));
+    }
+
+    @Test
+    void 고객의_적립과_원장은_배정된_샤드에만_저장된다() {
+        for (int shard = 0; shard < SHARDS; shard++) {
+            String customerId = customerIn(shard);
+
+            PointGrant grant = grant(customerId, 1000L);
+
+            assertThat(shardRouter.shardOfId(grant.getGrantId())).isEqualTo(shard);
+            for (int other = 0; other < SHARDS; other++) {
+                long expected = other == shard ? 1 : 0;
+                assertThat(count(other, "point_grant", customerId)).isEqualTo(expected);
+                assertThat(count(other, "point_ledger", customerId)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void 적립_ID로_샤드를_찾아_조회하고_취소한다() {
+        String customerId = customerIn(2);
+        PointGrant grant = grant(customerId, 1000L);
+
+        assertThat(queryController.getGrant(grant.getGrantId()).getBody().amountAvailable()).isEqualTo(1000L);
+
+        PointGrant canceled = commandService.cancelPointGrant(grant.getGrantId());
+
+        assertThat(canceled.getStatus()).isEqualTo(GrantStatus.CANCELED);
+        assertThat(queryController.getBalance(customerId).getBody().available()).isZero();
+    }
+
+    @Test
+    void 사용과_사용_취소는_고객_샤드에서_처리된다() {
+        String customerId = customerIn(1);
+        grant(customerId, 1000L);
+
+        PointSpendResponse spend = commandService.spend(new PointSpendRequest(customerId, "order-1", 300L));
+        commandService.cancelSpend(spend.spendId(), 100L);
+
+        assertThat(shardRouter.shardOfId(spend.spendId())).isEqualTo(1);
+        assertThat(count(1, "point_spend", customerId)).isEqualTo(1);
+        PointSpendResponse found = queryController.getSpend(spend.spendId()).getBody();
+        assertThat(found.amountCanceled()).isEqualTo(100L);
+        assertThat(found.status()).isEqualTo(SpendStatus.PARTIALLY_CANCELED);
+        assertThat(queryController.getBalance(customerId).getBody().available()).isEqualTo(800L);
+        assertThat(queryController.getLedger(customerId, null, null, 20).getBody().entries()).hasSize(3);
+    }
+
+    @Test
+    void 일괄_적립은_샤드별로_나누어_처리하고_요청_순서대로_결과를_반환한다() {
+        List<String> customers = List.of(customerIn(2), customerIn(0), customerIn(1), customerIn(2));
+        List<PointGrantRequest> requests = new ArrayList<>();
+        for (String customerId : customers) {
+            requests.add(new PointGrantRequest(customerId, 500L, GrantType.SYSTEM, null));
+        }
+
+        List<PointBulkGrantItemResult> results = bulkGrantService.grantPoints(requests);
+
+        assertThat(results).hasSize(4).allMatch(PointBulkGrantItemResult::success);
+        for (int i = 0; i < results.size(); i++) {
+            String customerId = customers.get(i);
+            assertThat(results.get(i).index()).isEqualTo(i);
+            assertThat(results.get(i).customerId()).isEqualTo(customerId);
+            assertThat(shardRouter.shardOfId(results.get(i).grantId())).isEqualTo(shardRouter.shardOf(customerId));
+            assertThat(count(shardRouter.shardOf(customerId), "point_grant", customerId)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void 만료_처리는_모든_샤드의_적립을_처리한다() {
+        List<PointGrant> grants = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            PointGrant grant = grant(customerIn(shard), 700L);
+            jdbc(shard).update("UPDATE point_grant SET expires_at = ? WHERE grant_id = ?",
+                    Timestamp.from(Instant.now().minusSeconds(60)), grant.getGrantId());
+            grants.add(grant);
+        }
+
+        int expired = expirationService.expireGrants(Instant.now());
+
+        assertThat(expired).isEqualTo(SHARDS);
+        for (PointGrant grant : grants) {
+            assertThat(queryController.getGrant(grant.getGrantId()).getBody().status()).isEqualTo(GrantStatus.EXPIRED);
+        }
+    }
+
+    @Test
+    void 형식이_맞지_않는_ID는_기본_샤드에서_찾을_수_없음으로_응답한다() {
+        assertThatThrownBy(() -> queryController.getGrant("unknown-grant"))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(e -> assertThat(((BusinessException) e).getErrorCode()).isEqualTo(ErrorCode.GRANT_NOT_FOUND));
+    }
+
+    @Test
+    void 정책은_기본_샤드에만_저장되고_다른_샤드_고객의_거래에도_적용된다() {
+        String customerId = customerIn(2);
+        long original = policyService.getMaxGrantPerTransaction();
+
+        policyService.updatePolicy(PointPolicyService.MAX_GRANT_PER_TRANSACTION_CONFIG, "500");
+        try {
+            assertThat(policyValue(0)).isEqualTo("500");
+            assertThat(policyValue(2)).isNotEqualTo("500");
+            assertThatThrownBy(() -> grant(customerId, 600L))
+                    .isInstanceOf(BusinessException.class)
+                    .satisfies(e -> assertThat(((BusinessException) e).getErrorCode()).isEqualTo(ErrorCode.GRANT_AMOUNT_OUT_OF_RANGE));
+
+            // 다른 샤드의 트랜잭션 안에서는 무효화된 스냅샷을 다시 적재하지 않고 그대로 쓴다.
+            policyService.invalidate();
+            shardRouter.runInShard(2, () -> transactionTemplate.executeWithoutResult(status ->
+                    assertThat(policyService.getMaxGrantPerTransaction()).isEqualTo(500L)));
+        } finally {
+            policyService.updatePolicy(PointPolicyService.MAX_GRANT_PER_TRANSACTION_CONFIG, String.valueOf(original));
+        }
+    }
+
+    private String policyValue(int shard) {
+        List<String> values = jdbc(shard).queryForList(
+                "SELECT policy_value FROM point_policy WHERE policy_key = ?", String.class,
+                PointPolicyService.MAX_GRANT_PER_TRANSACTION_CONFIG);
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    @Test
+    void 트랜잭션_안에서는_다른_샤드로_바꿀_수_없다() {
+        shardRouter.runInShard(0, () -> transactionTemplate.executeWithoutResult(status ->
+                assertThatThrownBy(() -> shardRouter.inShard(1, () -> null))
+                        .isInstanceOf(IllegalStateException.class)));
+    }
+}
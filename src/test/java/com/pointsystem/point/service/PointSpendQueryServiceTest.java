@@ -0,0 +1,68 @@
+package com.pointsystem.point.service;
+
+import com.pointsystem.common.exception.BusinessException;
+import com.pointsystem.common.exception.ErrorCode;
+import com.pointsystem.point.controller.dto.PointGrantRequest;
+import com.pointsystem.point.controller.dto.PointSpendRequest;
+import com.pointsystem.point.controller.dto.PointSpendResponse;
+import com.pointsystem.point.domain.entity.GrantType;
+import com.pointsystem.point.domain.entity.PointGrant;
+import com.pointsystem.point.domain.entity.PointSpend;
+import com.pointsystem.point.domain.entity.SpendStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@Transactional
+@SpringBootTest
+class PointSpendQueryServiceTest {
+
+    private static final String CUSTOMER_ID = "spend-query-customer";
+
+    @Autowired
+    private PointSpendQueryService spendQueryService;
+    @Autowired
+    private PointGrantService grantService;
+    @Autowired
+    private PointSpendService spendService;
+
+    private PointGrant grant(long amount) {
+        return grantService.grantPoint(new PointGrantRequest(CUSTOMER_ID, amount, GrantType.SYSTEM, null));
+    }
+
+    @Test
+    void 사용건과_적립건별_차감_내역을_조회한다() {
+        PointGrant grantA = grant(500L);
+        PointGrant grantB = grant(500L);
+        PointSpend spend = spendService.spendPoint(new PointSpendRequest(CUSTOMER_ID, "order-1", 800L));
+        spendService.cancelSpend(spend.getSpendId(), 100L);
+
+        PointSpendResponse response = spendQueryService.getSpend(spend.getSpendId());
+
+        assertThat(response.spendId()).isEqualTo(spend.getSpendId());
+        assertThat(response.amountTotal()).isEqualTo(800L);
+        assertThat(response.amountCanceled()).isEqualTo(100L);
+        assertThat(response.status()).isEqualTo(SpendStatus.PARTIALLY_CANCELED);
+        assertThat(response.allocations())
+                .extracting(PointSpendResponse.AllocationInfo::grantId, PointSpendResponse.AllocationInfo::amountUsed)
+                .containsExactlyInAnyOrder(
+                        tuple(grantA.getGrantId(), 500L),
+                        tuple(grantB.getGrantId(), 300L));
+        assertThat(response.allocations())
+                .extracting(PointSpendResponse.AllocationInfo::amountCanceled)
+                .containsOnly(0L, 100L);
+    }
+
+    @Test
+    void 없는_사용건이면_SPEND_NOT_FOUND_예외가_발생한다() {
+        assertThatThrownBy(() -> spendQueryService.getSpend("unknown-spend"))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(e -> assertThat(((BusinessException) e).getErrorCode())
+                        .isEqualTo(ErrorCode.SPEND_NOT_FOUND));
+    }
+}
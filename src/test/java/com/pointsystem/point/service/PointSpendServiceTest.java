@@ -259,6 +259,39 @@ class PointSpendServiceTest {
             assertThat(hasRestoreLedger).isTrue();
         }
 
+        @Test
+        void 만료된_Grant가_여러_건이어도_RESTORE_Grant는_한_건만_발급된다() {
+            List<PointGrant> grants = List.of(createGrant(300L), createGrant(300L), createGrant(300L));
+            PointSpend spend = spendService.spendPoint(
+                    new PointSpendRequest(CUSTOMER_ID, "order-001", 900L));
+
+            for (PointGrant grant : grants) {
+                entityManager.createNativeQuery(
+                                "UPDATE point_grant SET expires_at = :expiredAt WHERE grant_id = :grantId")
+                        .setParameter("expiredAt", Instant.now().minus(1, ChronoUnit.DAYS))
+                        .setParameter("grantId", grant.getGrantId())
+                        .executeUpdate();
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            PointSpendCancelResult result = spendService.cancelSpend(spend.getSpendId(), 900L);
+
+            assertThat(result.restoredAsNewGrants()).isEqualTo(900L);
+            assertThat(result.newRestoreGrants()).hasSize(1);
+            assertThat(result.newRestoreGrants().get(0).getAmountTotal()).isEqualTo(900L);
+
+            long restoreLedgers = ledgerRepository.findByCustomerIdOrderByCreatedAtDesc(CUSTOMER_ID).stream()
+                    .filter(l -> l.getEventType() == LedgerEventType.RESTORE_GRANT)
+                    .count();
+            assertThat(restoreLedgers).isEqualTo(1);
+
+            // 배분별 취소 이력은 그대로 남는다.
+            assertThat(result.spend().getAllocations())
+                    .hasSize(3)
+                    .allSatisfy(a -> assertThat(a.getAmountCanceled()).isEqualTo(300L));
+        }
+
         @Test
         void 부분_취소시_유효한_적립부터_우선_복원된다() {
             // Grant A: 만료 예정 → 사용 후 만료시킴
@@ -343,4 +376,36 @@ class PointSpendServiceTest {
         }
     }
 
-}
\ No newline at end of file
+    @Nested
+    class 낙관적_락_모드_테스트 {
+
+        @Test
+        void 락_없이_사용하면_Grant_버전이_증가한다() {
+            PointGrant grant = createGrant(1000L);
+            entityManager.flush();
+            Long versionBefore = grant.getVersion();
+
+            spendService.spendPoint(new PointSpendRequest(CUSTOMER_ID, "order-001", 300L), LockStrategy.OPTIMISTIC);
+            entityManager.flush();
+            entityManager.clear();
+
+            PointGrant updated = grantRepository.findById(grant.getGrantId()).orElseThrow();
+            assertThat(updated.getAmountAvailable()).isEqualTo(700L);
+            assertThat(updated.getVersion()).isGreaterThan(versionBefore);
+        }
+
+        @Test
+        void 락_없이_취소해도_원래_Grant에_잔액이_복원된다() {
+            PointGrant grant = createGrant(1000L);
+            PointSpend spend = spendService.spendPoint(
+                    new PointSpendRequest(CUSTOMER_ID, "order-001", 600L), LockStrategy.OPTIMISTIC);
+
+            PointSpendCancelResult result = spendService.cancelSpend(spend.getSpendId(), 600L, LockStrategy.OPTIMISTIC);
+
+            assertThat(result.spend().getStatus()).isEqualTo(SpendStatus.CANCELED);
+            PointGrant updated = grantRepository.findById(grant.getGrantId()).orElseThrow();
+            assertThat(updated.getAmountAvailable()).isEqualTo(1000L);
+        }
+    }
+
+}